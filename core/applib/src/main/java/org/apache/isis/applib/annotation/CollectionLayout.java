@@ -76,6 +76,20 @@
     Where hidden() default Where.NOT_SPECIFIED;
 
 
+    // //////////////////////////////////////
+
+    /**
+     * Whether the contents of this (parented) collection should only be loaded once the collection is scrolled into
+     * view (rather than with the rest of the page).
+     *
+     * <p>
+     *     If lazily loaded, the number of elements is still shown, obtained from the size of the collection; for
+     *     lazily-loaded persistent collections this is typically a count query.
+     * </p>
+     */
+    LazyLoad lazyLoad() default LazyLoad.AS_CONFIGURED;
+
+
     // //////////////////////////////////////
 
     /**
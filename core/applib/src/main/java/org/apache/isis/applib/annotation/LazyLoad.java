@@ -0,0 +1,44 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.applib.annotation;
+
+/**
+ * Whether the contents of a (parented) collection are loaded, and rendered, only once the collection is visible.
+ *
+ * @see CollectionLayout#lazyLoad()
+ */
+public enum LazyLoad {
+    /**
+     * As per the default policy configured in <tt>isis.properties</tt>.
+     *
+     * <p>
+     *     If no policy is configured, then collections are loaded eagerly.
+     * </p>
+     */
+    AS_CONFIGURED,
+    /**
+     * Render a placeholder, and only load the contents once it is scrolled into view.
+     */
+    ENABLED,
+    /**
+     * Load the contents along with the rest of the page (even if otherwise configured to load lazily).
+     */
+    DISABLED
+}
@@ -30,6 +30,7 @@
 import com.google.common.base.Function;
 import com.google.common.collect.Lists;
 
+import org.apache.isis.applib.annotation.LazyLoad;
 import org.apache.isis.applib.annotation.Where;
 import org.apache.isis.applib.layout.links.Link;
 
@@ -132,6 +133,21 @@ public void setDefaultView(String defaultView) {
     }
 
 
+    private LazyLoad lazyLoad;
+
+    /**
+     * Whether the contents of the collection are loaded only once scrolled into view.
+     */
+    @XmlAttribute(required = false)
+    public LazyLoad getLazyLoad() {
+        return lazyLoad;
+    }
+
+    public void setLazyLoad(LazyLoad lazyLoad) {
+        this.lazyLoad = lazyLoad;
+    }
+
+
     private Where hidden;
 
     @Override
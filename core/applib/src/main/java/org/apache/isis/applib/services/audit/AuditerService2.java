@@ -0,0 +1,44 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.applib.services.audit;
+
+import java.util.List;
+
+import org.apache.isis.applib.annotation.Programmatic;
+
+/**
+ * Extends {@link AuditerService} so that all of the changed properties of a transaction are passed in a single
+ * call, for example to allow them to be persisted using a batch insert.
+ *
+ * <p>
+ *     If implemented, then the framework calls {@link #auditAll(List)} <i>instead of</i>
+ *     {@link AuditerService#audit(java.util.UUID, int, String, org.apache.isis.applib.services.bookmark.Bookmark, String, String, String, String, String, java.sql.Timestamp) audit(...)}.
+ *     Implementations that only need to adapt to the per-property method can use {@link AuditEntry#auditTo(AuditerService)}.
+ * </p>
+ */
+public interface AuditerService2 extends AuditerService {
+
+    /**
+     * The entries all belong to the same transaction (and so have the same
+     * {@link AuditEntry#getInteractionId() interaction id} and {@link AuditEntry#getSequence() sequence}).
+     */
+    @Programmatic
+    void auditAll(final List<AuditEntry> auditEntries);
+
+}
@@ -57,6 +57,10 @@ public void unregister(Object domainService) {}
         @Override
         public void post(Object event) {}
         @Override
+        public boolean hasSubscribersFor(Class<?> eventType) {
+            return false;
+        }
+        @Override
         protected EventBusImplementation getEventBusImplementation() {
             return null;
         }
@@ -209,6 +213,21 @@ public void post(Object event) {
     }
 
 
+    /**
+     * Whether an event of the specified type could be received by any subscriber (that is, one subscribing to that
+     * type or to any of its supertypes).
+     *
+     * <p>
+     *     Allows the framework to avoid creating (and posting) events, such as those for the hide and disable
+     *     phases of domain events, that no subscriber is interested in.  This implementation conservatively returns
+     *     <tt>true</tt>; subclasses may refine it.
+     * </p>
+     */
+    @Programmatic
+    public boolean hasSubscribersFor(final Class<?> eventType) {
+        return true;
+    }
+
     protected boolean hasPosted() {
         return this.eventBusImplementation != null;
     }
@@ -0,0 +1,175 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.applib.services.eventbus;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.isis.applib.Identifier;
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.applib.util.ObjectContracts;
+
+/**
+ * A detached copy of an event, as delivered to {@link PostCommitEventSubscriber}s once the transaction in which it
+ * was posted has committed.
+ *
+ * <p>
+ *     All references to domain objects are replaced by {@link Bookmark}s (collections are copied, with their
+ *     elements replaced likewise); the domain objects themselves can be looked up again (using the
+ *     <tt>BookmarkService</tt>) within the subscriber's own session.  Any other values are passed as is.
+ * </p>
+ */
+public class PostCommitEvent {
+
+    private final Class<?> eventType;
+    private final UUID transactionId;
+    private final String user;
+    private final AbstractDomainEvent.Phase eventPhase;
+    private final Identifier identifier;
+    private final Bookmark source;
+    private final Bookmark mixedIn;
+    private final List<Object> arguments;
+    private final Object oldValue;
+    private final Object newValue;
+    private final Object value;
+    private final Object event;
+
+    public PostCommitEvent(
+            final Class<?> eventType,
+            final UUID transactionId,
+            final String user,
+            final AbstractDomainEvent.Phase eventPhase,
+            final Identifier identifier,
+            final Bookmark source,
+            final Bookmark mixedIn,
+            final List<Object> arguments,
+            final Object oldValue,
+            final Object newValue,
+            final Object value,
+            final Object event) {
+        this.eventType = eventType;
+        this.transactionId = transactionId;
+        this.user = user;
+        this.eventPhase = eventPhase;
+        this.identifier = identifier;
+        this.source = source;
+        this.mixedIn = mixedIn;
+        this.arguments = arguments;
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+        this.value = value;
+        this.event = event;
+    }
+
+    /**
+     * The class of the event as posted.
+     */
+    public Class<?> getEventType() {
+        return eventType;
+    }
+
+    /**
+     * The transaction in which the event was posted.
+     */
+    public UUID getTransactionId() {
+        return transactionId;
+    }
+
+    /**
+     * The user that posted the event.
+     */
+    public String getUser() {
+        return user;
+    }
+
+    /**
+     * For domain events, the phase (always {@link AbstractDomainEvent.Phase#EXECUTED executed}), else <tt>null</tt>.
+     */
+    public AbstractDomainEvent.Phase getEventPhase() {
+        return eventPhase;
+    }
+
+    /**
+     * For domain events, the identifier of the action, property or collection, else <tt>null</tt>.
+     */
+    public Identifier getIdentifier() {
+        return identifier;
+    }
+
+    /**
+     * For domain events and lifecycle events, the object that was interacted with or whose lifecycle changed.
+     */
+    public Bookmark getSource() {
+        return source;
+    }
+
+    /**
+     * For action domain events of a mixin action, the mixed-in object; else <tt>null</tt>.
+     */
+    public Bookmark getMixedIn() {
+        return mixedIn;
+    }
+
+    /**
+     * For action domain events, the arguments of the action invocation; else <tt>null</tt>.
+     */
+    public List<Object> getArguments() {
+        return arguments;
+    }
+
+    /**
+     * For property domain events, the value of the property before it was modified; else <tt>null</tt>.
+     */
+    public Object getOldValue() {
+        return oldValue;
+    }
+
+    /**
+     * For property domain events, the value of the property after it was modified; else <tt>null</tt>.
+     */
+    public Object getNewValue() {
+        return newValue;
+    }
+
+    /**
+     * For collection domain events, the object added to or removed from the collection; else <tt>null</tt>.
+     */
+    public Object getValue() {
+        return value;
+    }
+
+    /**
+     * For events that are neither domain events nor lifecycle events (that is, events defined and posted by the
+     * application itself), the event as posted; else <tt>null</tt>.
+     *
+     * <p>
+     *     Because such events are passed as is, it is the application's responsibility that they do not hold
+     *     references to domain objects.
+     * </p>
+     */
+    public Object getEvent() {
+        return event;
+    }
+
+    @Override
+    public String toString() {
+        return ObjectContracts.toString(this, "eventType,transactionId,user,identifier,source");
+    }
+
+}
@@ -0,0 +1,41 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.applib.services.eventbus;
+
+import org.apache.isis.applib.annotation.Programmatic;
+
+/**
+ * SPI to be notified of failures to deliver events to {@link PostCommitEventSubscriber}s.
+ *
+ * <p>
+ *     If no implementation is available then failures are simply logged.
+ * </p>
+ */
+public interface PostCommitEventErrorHandler {
+
+    /**
+     * @param event - the event that could not be delivered
+     * @param subscriber - the subscriber that threw the exception, or <tt>null</tt> if the event could not be queued
+     *                   for delivery at all (eg because the queue was full)
+     * @param exception - the exception thrown
+     */
+    @Programmatic
+    void onError(PostCommitEvent event, PostCommitEventSubscriber subscriber, Exception exception);
+
+}
@@ -0,0 +1,62 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.applib.services.eventbus;
+
+import org.apache.isis.applib.annotation.Programmatic;
+
+/**
+ * Implemented by domain services that are notified of events only once the transaction in which they were posted
+ * has committed.
+ *
+ * <p>
+ *     Unlike regular subscribers (which are called synchronously, on the thread posting the event and within its
+ *     transaction), these subscribers are called asynchronously, by a background thread.  This makes them suitable
+ *     for side-effects (such as sending notifications or updating search indexes) that the end-user need not wait for
+ *     and that should not occur at all if the transaction is rolled back.
+ * </p>
+ *
+ * <p>
+ *     Implementations need not (and should not, unless they also have synchronous subscriber methods)
+ *     {@link EventBusService#register(Object) register} with the {@link EventBusService}; they are discovered
+ *     automatically.  Each committed transaction's events are delivered within a session of their own, running as
+ *     the same user, with each call to {@link #onCommitted(PostCommitEvent)} in its own transaction.  Any exception
+ *     thrown is passed to the {@link PostCommitEventErrorHandler}(s), if any, otherwise is logged.
+ * </p>
+ *
+ * <p>
+ *     Domain events ({@link AbstractDomainEvent} subclasses) are delivered only for the
+ *     {@link AbstractDomainEvent.Phase#EXECUTED executed} phase.
+ * </p>
+ */
+public interface PostCommitEventSubscriber {
+
+    /**
+     * Whether events of the specified type (as posted) should be delivered to this subscriber.
+     *
+     * <p>
+     *     Called on the posting thread for every event posted, so should be cheap.
+     * </p>
+     */
+    @Programmatic
+    boolean isSubscribedTo(Class<?> eventType);
+
+    @Programmatic
+    void onCommitted(PostCommitEvent event);
+
+}
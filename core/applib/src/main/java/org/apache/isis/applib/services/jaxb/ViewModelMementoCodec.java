@@ -0,0 +1,45 @@
+/**
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.isis.applib.services.jaxb;
+
+import org.apache.isis.applib.annotation.Programmatic;
+
+/**
+ * Converts JAXB-annotated ({@link javax.xml.bind.annotation.XmlRootElement}) view models to and from the
+ * (URL-safe) mementos that identify them, and clones them.
+ *
+ * <p>
+ *     If no implementation is available then the framework uses the {@link JaxbService} and the
+ *     {@link org.apache.isis.applib.services.urlencoding.UrlEncodingService} directly.
+ * </p>
+ */
+public interface ViewModelMementoCodec {
+
+    @Programmatic
+    String encode(Object viewModel);
+
+    /**
+     * Must also be able to decode any mementos produced by {@link JaxbService#toXml(Object)} and then
+     * {@link org.apache.isis.applib.services.urlencoding.UrlEncodingService#encode(String)}, as used previously.
+     */
+    @Programmatic
+    <T> T decode(Class<T> viewModelClass, String memento);
+
+    @Programmatic
+    <T> T clone(T viewModel);
+
+}
@@ -0,0 +1,51 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.applib.services.publish;
+
+import java.util.List;
+
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.schema.chg.v1.ChangesDto;
+import org.apache.isis.schema.ixn.v1.InteractionDto;
+
+/**
+ * Extends {@link PublisherService} so that the publisher can receive the serialized representations of
+ * interactions and changed objects in batches, delivered asynchronously after the transaction has committed.
+ *
+ * <p>
+ *     Batch delivery is only used if enabled (see <tt>isis.services.publish.async.enabled</tt>); otherwise the
+ *     publisher is called synchronously, as per {@link PublisherService}.  When it is enabled, the DTOs are captured
+ *     at the point that they would otherwise have been published, but are only handed off once (and if) the
+ *     transaction commits.  Within each batch, and across batches, the DTOs are delivered in the order in which they
+ *     were captured; consecutive DTOs of the same type are delivered in the same call.
+ * </p>
+ *
+ * <p>
+ *     Calls are made from a dedicated background thread, with no
+ *     {@link org.apache.isis.applib.services.xactn.TransactionService transaction} or session in place.
+ * </p>
+ */
+public interface PublisherService2 extends PublisherService {
+
+    @Programmatic
+    void publishInteractions(final List<InteractionDto> interactionDtos);
+
+    @Programmatic
+    void publishChanges(final List<ChangesDto> changesDtos);
+}
@@ -0,0 +1,101 @@
+/**
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.isis.applib.util;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+
+/**
+ * Thread-confined pools of {@link Marshaller}s and {@link Unmarshaller}s, one of each per {@link JAXBContext}.
+ *
+ * <p>
+ *     Creating a (un)marshaller is relatively expensive, but they are not thread-safe and so cannot be shared.
+ *     Instead each thread retains (at most) one of each per context, reused by subsequent calls on that thread.
+ *     An acquired (un)marshaller is removed from the pool until {@link #release(JAXBContext, Marshaller) released},
+ *     so nested use (eg from within an <code>XmlAdapter</code>) simply creates a new one.
+ * </p>
+ *
+ * <p>
+ *     Callers must not leave any properties or listeners set on a released (un)marshaller, other than
+ *     {@link Marshaller#JAXB_FORMATTED_OUTPUT}, which is set on every {@link #acquireMarshaller(JAXBContext, boolean)}.
+ * </p>
+ */
+public final class JaxbMarshallers {
+
+    private JaxbMarshallers(){}
+
+    private static final ThreadLocal<Map<JAXBContext, Marshaller>> marshallers =
+            new ThreadLocal<Map<JAXBContext, Marshaller>>() {
+                @Override
+                protected Map<JAXBContext, Marshaller> initialValue() {
+                    return new IdentityHashMap<>();
+                }
+            };
+
+    private static final ThreadLocal<Map<JAXBContext, Unmarshaller>> unmarshallers =
+            new ThreadLocal<Map<JAXBContext, Unmarshaller>>() {
+                @Override
+                protected Map<JAXBContext, Unmarshaller> initialValue() {
+                    return new IdentityHashMap<>();
+                }
+            };
+
+    public static Marshaller acquireMarshaller(
+            final JAXBContext jaxbContext,
+            final boolean formatted) throws JAXBException {
+        Marshaller marshaller = marshallers.get().remove(jaxbContext);
+        if(marshaller == null) {
+            marshaller = jaxbContext.createMarshaller();
+        }
+        marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, formatted);
+        return marshaller;
+    }
+
+    public static void release(final JAXBContext jaxbContext, final Marshaller marshaller) {
+        final Map<JAXBContext, Marshaller> pool = marshallers.get();
+        if(!pool.containsKey(jaxbContext)) {
+            pool.put(jaxbContext, marshaller);
+        }
+    }
+
+    public static Unmarshaller acquireUnmarshaller(final JAXBContext jaxbContext) throws JAXBException {
+        final Unmarshaller unmarshaller = unmarshallers.get().remove(jaxbContext);
+        return unmarshaller != null ? unmarshaller : jaxbContext.createUnmarshaller();
+    }
+
+    public static void release(final JAXBContext jaxbContext, final Unmarshaller unmarshaller) {
+        final Map<JAXBContext, Unmarshaller> pool = unmarshallers.get();
+        if(!pool.containsKey(jaxbContext)) {
+            pool.put(jaxbContext, unmarshaller);
+        }
+    }
+
+    /**
+     * Discards the (un)marshallers retained by the current thread, eg before returning it to a container's pool
+     * on undeployment.
+     */
+    public static void clear() {
+        marshallers.remove();
+        unmarshallers.remove();
+    }
+
+}
@@ -35,8 +35,9 @@
 
 
 /**
- * Helper methods for converting {@link javax.xml.bind.annotation.XmlRootElement}-annotated class to-and-from XML.  Intended primarily for
- * test use only (the {@link JAXBContext} is not cached).
+ * Helper methods for converting {@link javax.xml.bind.annotation.XmlRootElement}-annotated class to-and-from XML.
+ * The {@link JAXBContext} for each class is cached, and (un)marshallers are
+ * {@link JaxbMarshallers pooled per thread}.
  *
  * <p>
  * For example usage, see <a href="https://github.com/isisaddons/isis-module-publishmq">Isis addons' publishmq module</a> (non-ASF)
@@ -49,10 +50,14 @@ private JaxbUtil(){}
     public static <T> T fromXml(
             final Reader reader,
             final Class<T> dtoClass) {
-        Unmarshaller un = null;
+        final JAXBContext jaxbContext = jaxbContextFor(dtoClass);
         try {
-            un = jaxbContextFor(dtoClass).createUnmarshaller();
-            return (T) un.unmarshal(reader);
+            final Unmarshaller un = JaxbMarshallers.acquireUnmarshaller(jaxbContext);
+            try {
+                return (T) un.unmarshal(reader);
+            } finally {
+                JaxbMarshallers.release(jaxbContext, un);
+            }
         } catch (JAXBException e) {
             throw new RuntimeException(e);
         }
@@ -75,12 +80,14 @@ public static <T> String toXml(final T dto) {
     }
 
     public static <T> void toXml(final T dto, final Writer writer) {
-        Marshaller m = null;
+        final JAXBContext jaxbContext = jaxbContextFor(dto.getClass());
         try {
-            final Class<?> aClass = dto.getClass();
-            m = jaxbContextFor(aClass).createMarshaller();
-            m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
-            m.marshal(dto, writer);
+            final Marshaller m = JaxbMarshallers.acquireMarshaller(jaxbContext, true);
+            try {
+                m.marshal(dto, writer);
+            } finally {
+                JaxbMarshallers.release(jaxbContext, m);
+            }
         } catch (JAXBException e) {
             throw new RuntimeException(e);
         }
@@ -0,0 +1,347 @@
+/**
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.isis.schema.services.jaxb;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import javax.annotation.PostConstruct;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.common.io.BaseEncoding;
+
+import org.apache.isis.applib.NonRecoverableException;
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.domain.DomainObjectList;
+import org.apache.isis.applib.services.jaxb.JaxbService;
+import org.apache.isis.applib.services.jaxb.ViewModelMementoCodec;
+import org.apache.isis.applib.services.registry.ServiceRegistry;
+import org.apache.isis.applib.services.urlencoding.UrlEncodingService;
+import org.apache.isis.applib.util.JaxbUtil;
+import org.apache.isis.schema.utils.jaxbadapters.PersistentEntitiesAdapter;
+import org.apache.isis.schema.utils.jaxbadapters.PersistentEntityAdapter;
+
+/**
+ * Default implementation of {@link ViewModelMementoCodec}.
+ *
+ * <p>
+ *     View models are marshalled to unformatted XML, which is then (unless {@link #KEY_COMPRESS disabled})
+ *     deflated and base64url-encoded; such mementos are prefixed with <tt>~</tt> so that they can be distinguished
+ *     from those produced previously (using the {@link UrlEncodingService}), which can still be decoded.
+ *     Marshallers and unmarshallers are pooled per {@link JAXBContext}, and the XML of recently decoded mementos is
+ *     cached.  (The view models themselves are not cached, because they are mutable and any references they hold
+ *     to entities must be resolved afresh in each session).
+ * </p>
+ */
+@DomainService(
+        nature = NatureOfService.DOMAIN,
+        menuOrder = "" + Integer.MAX_VALUE
+)
+public class ViewModelMementoCodecDefault implements ViewModelMementoCodec {
+
+    public static final String KEY_COMPRESS = "isis.services.viewModelMementoCodec.compress";
+    public static final boolean KEY_COMPRESS_DEFAULT = true;
+
+    public static final String KEY_POOL_SIZE = "isis.services.viewModelMementoCodec.poolSize";
+    public static final int KEY_POOL_SIZE_DEFAULT = 16;
+
+    /**
+     * The maximum total size (in bytes) of the XML (and mementos) cached; a memento whose XML is larger than a
+     * sixteenth of this is not cached at all, so that a few large mementos cannot displace all others.
+     */
+    public static final String KEY_CACHE_MAX_BYTES = "isis.services.viewModelMementoCodec.cacheMaxBytes";
+    public static final int KEY_CACHE_MAX_BYTES_DEFAULT = 16 * 1024 * 1024;
+
+    public static final String KEY_MAX_DECODED_SIZE = "isis.services.viewModelMementoCodec.maxDecodedSize";
+    public static final int KEY_MAX_DECODED_SIZE_DEFAULT = 10 * 1024 * 1024;
+
+    static final String COMPRESSED_PREFIX = "~";
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final BaseEncoding BASE_ENCODING = BaseEncoding.base64Url().omitPadding();
+    private static final Map<String, Object> COMPACT =
+            ImmutableMap.<String, Object>of(Marshaller.JAXB_FORMATTED_OUTPUT, false);
+
+    private boolean compress = KEY_COMPRESS_DEFAULT;
+    private int poolSize = KEY_POOL_SIZE_DEFAULT;
+    private int maxDecodedSize = KEY_MAX_DECODED_SIZE_DEFAULT;
+    private int cacheMaxEntryBytes = KEY_CACHE_MAX_BYTES_DEFAULT / 16;
+    private Cache<String, byte[]> xmlByMemento = newCache(KEY_CACHE_MAX_BYTES_DEFAULT);
+
+    private final ConcurrentMap<JAXBContext, BlockingQueue<Marshaller>> marshallersByContext = Maps.newConcurrentMap();
+    private final ConcurrentMap<JAXBContext, BlockingQueue<Unmarshaller>> unmarshallersByContext = Maps.newConcurrentMap();
+
+    //region > init
+
+    @Programmatic
+    @PostConstruct
+    public void init(final Map<String,String> properties) {
+        init(getBooleanElse(properties, KEY_COMPRESS, KEY_COMPRESS_DEFAULT),
+             getIntElse(properties, KEY_POOL_SIZE, KEY_POOL_SIZE_DEFAULT),
+             getIntElse(properties, KEY_CACHE_MAX_BYTES, KEY_CACHE_MAX_BYTES_DEFAULT),
+             getIntElse(properties, KEY_MAX_DECODED_SIZE, KEY_MAX_DECODED_SIZE_DEFAULT));
+    }
+
+    void init(final boolean compress, final int poolSize, final int cacheMaxBytes, final int maxDecodedSize) {
+        this.compress = compress;
+        this.poolSize = Math.max(1, poolSize);
+        this.cacheMaxEntryBytes = cacheMaxBytes / 16;
+        this.xmlByMemento = newCache(cacheMaxBytes);
+        this.maxDecodedSize = maxDecodedSize;
+    }
+
+    private static Cache<String, byte[]> newCache(final int cacheMaxBytes) {
+        return CacheBuilder.newBuilder()
+                .maximumWeight(Math.max(0, cacheMaxBytes))
+                .weigher(new Weigher<String, byte[]>() {
+                    @Override
+                    public int weigh(final String memento, final byte[] xml) {
+                        return memento.length() + xml.length;
+                    }
+                })
+                .build();
+    }
+
+    private static int getIntElse(final Map<String, String> properties, final String key, final int dflt) {
+        final String value = properties.get(key);
+        return value != null ? Integer.parseInt(value.trim()) : dflt;
+    }
+
+    private static boolean getBooleanElse(final Map<String, String> properties, final String key, final boolean dflt) {
+        final String value = properties.get(key);
+        return value != null ? Boolean.parseBoolean(value.trim()) : dflt;
+    }
+
+    //endregion
+
+    //region > encode, decode, clone
+
+    @Programmatic
+    @Override
+    public String encode(final Object viewModel) {
+        final byte[] xml = toXml(viewModel);
+        if(!compress) {
+            return urlEncodingService.encode(new String(xml, UTF_8));
+        }
+        return COMPRESSED_PREFIX + BASE_ENCODING.encode(deflate(xml));
+    }
+
+    @Programmatic
+    @Override
+    public <T> T decode(final Class<T> viewModelClass, final String memento) {
+        byte[] xml = xmlByMemento.getIfPresent(memento);
+        if(xml == null) {
+            xml = memento.startsWith(COMPRESSED_PREFIX)
+                    ? inflate(BASE_ENCODING.decode(memento.substring(COMPRESSED_PREFIX.length())))
+                    : urlEncodingService.decode(memento).getBytes(UTF_8);
+            if(xml.length <= cacheMaxEntryBytes) {
+                xmlByMemento.put(memento, xml);
+            }
+        }
+        return fromXml(viewModelClass, xml);
+    }
+
+    @Programmatic
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T clone(final T viewModel) {
+        return (T) fromXml(viewModel.getClass(), toXml(viewModel));
+    }
+
+    //endregion
+
+    //region > toXml, fromXml
+
+    private byte[] toXml(final Object viewModel) {
+        if(viewModel instanceof DomainObjectList) {
+            // requires a JAXBContext specific to the element type, as provided by the JaxbService.
+            return jaxbService.toXml(viewModel, COMPACT).getBytes(UTF_8);
+        }
+        final JAXBContext context = JaxbUtil.jaxbContextFor(viewModel.getClass());
+        try {
+            final Marshaller marshaller = acquireMarshaller(context);
+            final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            marshaller.marshal(viewModel, baos);
+            release(marshallersByContext, context, marshaller);
+            return baos.toByteArray();
+        } catch (final JAXBException ex) {
+            throw new NonRecoverableException(
+                    "Error marshalling view model to XML; view model class is '" + viewModel.getClass().getName() + "'", ex);
+        }
+    }
+
+    private <T> T fromXml(final Class<T> viewModelClass, final byte[] xml) {
+        if(DomainObjectList.class.isAssignableFrom(viewModelClass)) {
+            return jaxbService.fromXml(viewModelClass, new String(xml, UTF_8));
+        }
+        final JAXBContext context = JaxbUtil.jaxbContextFor(viewModelClass);
+        try {
+            final Unmarshaller unmarshaller = acquireUnmarshaller(context);
+            final Object viewModel = unmarshaller.unmarshal(new ByteArrayInputStream(xml));
+            release(unmarshallersByContext, context, unmarshaller);
+            return viewModelClass.cast(viewModel);
+        } catch (final JAXBException ex) {
+            throw new NonRecoverableException("Error unmarshalling XML", ex);
+        }
+    }
+
+    //endregion
+
+    //region > pooling
+
+    private Marshaller acquireMarshaller(final JAXBContext context) throws JAXBException {
+        final Marshaller pooled = poolFor(marshallersByContext, context).poll();
+        if(pooled != null) {
+            return pooled;
+        }
+        final Marshaller marshaller = context.createMarshaller();
+        marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, false);
+        marshaller.setAdapter(PersistentEntityAdapter.class,
+                serviceRegistry.injectServicesInto(new PersistentEntityAdapter()));
+        marshaller.setAdapter(PersistentEntitiesAdapter.class,
+                serviceRegistry.injectServicesInto(new PersistentEntitiesAdapter()));
+        return marshaller;
+    }
+
+    private Unmarshaller acquireUnmarshaller(final JAXBContext context) throws JAXBException {
+        final Unmarshaller pooled = poolFor(unmarshallersByContext, context).poll();
+        if(pooled != null) {
+            return pooled;
+        }
+        final Unmarshaller unmarshaller = context.createUnmarshaller();
+        unmarshaller.setAdapter(PersistentEntityAdapter.class,
+                serviceRegistry.injectServicesInto(new PersistentEntityAdapter()));
+        unmarshaller.setAdapter(PersistentEntitiesAdapter.class,
+                serviceRegistry.injectServicesInto(new PersistentEntitiesAdapter()));
+        return unmarshaller;
+    }
+
+    /**
+     * Only called if the (un)marshaller was used successfully; if the pool is already full then it is discarded.
+     */
+    private static <T> void release(
+            final ConcurrentMap<JAXBContext, BlockingQueue<T>> poolsByContext,
+            final JAXBContext context,
+            final T pooled) {
+        poolsByContext.get(context).offer(pooled);
+    }
+
+    private <T> BlockingQueue<T> poolFor(
+            final ConcurrentMap<JAXBContext, BlockingQueue<T>> poolsByContext,
+            final JAXBContext context) {
+        BlockingQueue<T> pool = poolsByContext.get(context);
+        if(pool == null) {
+            final BlockingQueue<T> newPool = new ArrayBlockingQueue<>(poolSize);
+            pool = poolsByContext.putIfAbsent(context, newPool);
+            if(pool == null) {
+                pool = newPool;
+            }
+        }
+        return pool;
+    }
+
+    int pooledMarshallersFor(final Class<?> viewModelClass) {
+        final BlockingQueue<Marshaller> pool = marshallersByContext.get(JaxbUtil.jaxbContextFor(viewModelClass));
+        return pool != null ? pool.size() : 0;
+    }
+
+    long cachedMementos() {
+        return xmlByMemento.size();
+    }
+
+    //endregion
+
+    //region > deflate, inflate
+
+    private static byte[] deflate(final byte[] bytes) {
+        final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            final ByteArrayOutputStream baos = new ByteArrayOutputStream(bytes.length / 2 + 16);
+            final byte[] buf = new byte[1024];
+            while(!deflater.finished()) {
+                baos.write(buf, 0, deflater.deflate(buf));
+            }
+            return baos.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Mementos are provided by the client, so the size of the inflated XML is bounded.
+     */
+    private byte[] inflate(final byte[] bytes) {
+        final Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes);
+            final ByteArrayOutputStream baos = new ByteArrayOutputStream(bytes.length * 4);
+            final byte[] buf = new byte[1024];
+            while(!inflater.finished()) {
+                final int inflated = inflater.inflate(buf);
+                if(inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Truncated memento");
+                }
+                baos.write(buf, 0, inflated);
+                if(baos.size() > maxDecodedSize) {
+                    throw new IOException("Memento exceeds " + maxDecodedSize + " bytes when decoded");
+                }
+            }
+            return baos.toByteArray();
+        } catch (final DataFormatException | IOException ex) {
+            throw new NonRecoverableException("Invalid view model memento", ex);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    //endregion
+
+    //region > injected services
+
+    @javax.inject.Inject
+    JaxbService jaxbService;
+
+    @javax.inject.Inject
+    UrlEncodingService urlEncodingService;
+
+    @javax.inject.Inject
+    ServiceRegistry serviceRegistry;
+
+    //endregion
+
+}
@@ -34,6 +34,7 @@
 
 import com.google.common.io.Resources;
 
+import org.apache.isis.applib.util.JaxbMarshallers;
 import org.apache.isis.applib.util.JaxbUtil;
 import org.apache.isis.schema.chg.v1.ChangesDto;
 
@@ -54,8 +55,12 @@ static JAXBContext getJaxbContext() {
 
     public static ChangesDto fromXml(final Reader reader) {
         try {
-            final Unmarshaller un = getJaxbContext().createUnmarshaller();
-            return (ChangesDto) un.unmarshal(reader);
+            final Unmarshaller un = JaxbMarshallers.acquireUnmarshaller(getJaxbContext());
+            try {
+                return (ChangesDto) un.unmarshal(reader);
+            } finally {
+                JaxbMarshallers.release(getJaxbContext(), un);
+            }
         } catch (JAXBException e) {
             throw new RuntimeException(e);
         }
@@ -81,14 +86,45 @@ public static String toXml(final ChangesDto changesDto) {
     }
 
     public static void toXml(final ChangesDto changesDto, final Writer writer) {
+        toXml(changesDto, writer, true);
+    }
+
+    /**
+     * As {@link #toXml(ChangesDto)}, but without any indentation or line breaks.
+     */
+    public static String toCompactXml(final ChangesDto changesDto) {
+        final CharArrayWriter caw = new CharArrayWriter();
+        toXml(changesDto, caw, false);
+        return caw.toString();
+    }
+
+    private static void toXml(final ChangesDto changesDto, final Writer writer, final boolean formatted) {
         try {
-            final Marshaller m = getJaxbContext().createMarshaller();
-            m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
-            m.marshal(changesDto, writer);
+            final Marshaller m = JaxbMarshallers.acquireMarshaller(getJaxbContext(), formatted);
+            try {
+                m.marshal(changesDto, writer);
+            } finally {
+                JaxbMarshallers.release(getJaxbContext(), m);
+            }
         } catch (JAXBException e) {
             throw new RuntimeException(e);
         }
     }
+
+    /**
+     * Encodes using the compact {@link DtoBinaryCodec binary encoding}, an alternative to XML for storage and
+     * transport.
+     */
+    public static byte[] toBytes(final ChangesDto changesDto) {
+        return DtoBinaryCodec.encode(getJaxbContext(), changesDto);
+    }
+
+    /**
+     * Decodes from the {@link #toBytes(ChangesDto) binary encoding}.
+     */
+    public static ChangesDto fromBytes(final byte[] bytes) {
+        return (ChangesDto) DtoBinaryCodec.decode(getJaxbContext(), bytes);
+    }
     //endregion
 
 
@@ -33,6 +33,7 @@
 
 import com.google.common.io.Resources;
 
+import org.apache.isis.applib.util.JaxbMarshallers;
 import org.apache.isis.applib.util.JaxbUtil;
 import org.apache.isis.schema.cmd.v1.ActionDto;
 import org.apache.isis.schema.cmd.v1.CommandDto;
@@ -58,8 +59,12 @@ static JAXBContext getJaxbContext() {
 
     public static CommandDto fromXml(final Reader reader) {
         try {
-            final Unmarshaller un = getJaxbContext().createUnmarshaller();
-            return (CommandDto) un.unmarshal(reader);
+            final Unmarshaller un = JaxbMarshallers.acquireUnmarshaller(getJaxbContext());
+            try {
+                return (CommandDto) un.unmarshal(reader);
+            } finally {
+                JaxbMarshallers.release(getJaxbContext(), un);
+            }
         } catch (JAXBException e) {
             throw new RuntimeException(e);
         }
@@ -85,15 +90,46 @@ public static String toXml(final CommandDto commandDto) {
     }
 
     public static void toXml(final CommandDto commandDto, final Writer writer) {
+        toXml(commandDto, writer, true);
+    }
+
+    /**
+     * As {@link #toXml(CommandDto)}, but without any indentation or line breaks.
+     */
+    public static String toCompactXml(final CommandDto commandDto) {
+        final CharArrayWriter caw = new CharArrayWriter();
+        toXml(commandDto, caw, false);
+        return caw.toString();
+    }
+
+    private static void toXml(final CommandDto commandDto, final Writer writer, final boolean formatted) {
         try {
-            final Marshaller m = getJaxbContext().createMarshaller();
-            m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
-            m.marshal(commandDto, writer);
+            final Marshaller m = JaxbMarshallers.acquireMarshaller(getJaxbContext(), formatted);
+            try {
+                m.marshal(commandDto, writer);
+            } finally {
+                JaxbMarshallers.release(getJaxbContext(), m);
+            }
         } catch (JAXBException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Encodes using the compact {@link DtoBinaryCodec binary encoding}, an alternative to XML for storage and
+     * transport.
+     */
+    public static byte[] toBytes(final CommandDto commandDto) {
+        return DtoBinaryCodec.encode(getJaxbContext(), commandDto);
+    }
+
+    /**
+     * Decodes from the {@link #toBytes(CommandDto) binary encoding}.
+     */
+    public static CommandDto fromBytes(final byte[] bytes) {
+        return (CommandDto) DtoBinaryCodec.decode(getJaxbContext(), bytes);
+    }
+
     //endregion
 
     public static OidsDto targetsFor(final CommandDto dto) {
@@ -0,0 +1,335 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.schema.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.bind.UnmarshallerHandler;
+
+import com.google.common.collect.Lists;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+import org.xml.sax.helpers.DefaultHandler;
+
+import org.apache.isis.applib.util.JaxbMarshallers;
+
+/**
+ * A compact binary encoding of JAXB-annotated DTOs (such as the {@link org.apache.isis.schema.cmd.v1.CommandDto},
+ * {@link org.apache.isis.schema.ixn.v1.InteractionDto} and {@link org.apache.isis.schema.chg.v1.ChangesDto}), as an
+ * alternative to XML for storage and transport.
+ *
+ * <p>
+ *     Rather than being bound to any particular schema, the DTO is marshalled (using its {@link JAXBContext}) as a
+ *     stream of SAX events, each of which is written as a single token byte followed by its fields.  Every string
+ *     (namespace URI, element/attribute name or text) is written as a varint: either a reference to a string already
+ *     seen, or a length-prefixed UTF-8 literal, which (unless very long) is interned for subsequent reference.  Element
+ *     names, namespaces and the many repeated values (type names, oids, user names) are therefore only written once.
+ *     Decoding replays the same events into an {@link UnmarshallerHandler}, so the DTO is recreated exactly as if from
+ *     its XML.
+ * </p>
+ */
+public final class DtoBinaryCodec {
+
+    private DtoBinaryCodec(){}
+
+    private static final byte[] MAGIC = { 'I', 'S', 'B', 1 };
+
+    private static final int END_DOCUMENT = 0;
+    private static final int START_PREFIX_MAPPING = 1;
+    private static final int END_PREFIX_MAPPING = 2;
+    private static final int START_ELEMENT = 3;
+    private static final int END_ELEMENT = 4;
+    private static final int CHARACTERS = 5;
+
+    /**
+     * Strings longer than this (eg encoded blobs) are written as literals but not interned.
+     */
+    private static final int MAX_INTERNED_LENGTH = 256;
+
+    // string refs: 0 = interned literal follows, 1 = literal follows (not interned), otherwise index + 2
+    private static final int REF_INTERNED_LITERAL = 0;
+    private static final int REF_LITERAL = 1;
+    private static final int REF_OFFSET = 2;
+
+    /**
+     * Whether the bytes were (or at least, purport to be) encoded by {@link #encode(JAXBContext, Object)}.
+     */
+    public static boolean isEncoded(final byte[] bytes) {
+        return bytes != null
+                && bytes.length >= MAGIC.length
+                && Arrays.equals(Arrays.copyOf(bytes, MAGIC.length), MAGIC);
+    }
+
+    public static byte[] encode(final JAXBContext jaxbContext, final Object dto) {
+        final Encoder encoder = new Encoder();
+        try {
+            final Marshaller marshaller = JaxbMarshallers.acquireMarshaller(jaxbContext, false);
+            try {
+                marshaller.marshal(dto, encoder);
+            } finally {
+                JaxbMarshallers.release(jaxbContext, marshaller);
+            }
+        } catch (JAXBException e) {
+            throw new RuntimeException(e);
+        }
+        return encoder.toByteArray();
+    }
+
+    public static Object decode(final JAXBContext jaxbContext, final byte[] bytes) {
+        if(!isEncoded(bytes)) {
+            throw new IllegalArgumentException("Not in binary DTO encoding");
+        }
+        try {
+            final Unmarshaller unmarshaller = JaxbMarshallers.acquireUnmarshaller(jaxbContext);
+            try {
+                final UnmarshallerHandler handler = unmarshaller.getUnmarshallerHandler();
+                new Decoder(bytes).replayInto(handler);
+                return handler.getResult();
+            } finally {
+                JaxbMarshallers.release(jaxbContext, unmarshaller);
+            }
+        } catch (JAXBException | SAXException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    //region > Encoder
+
+    private static class Encoder extends DefaultHandler {
+
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream(512);
+        private final Map<String, Integer> interned = new HashMap<>();
+
+        Encoder() {
+            out.write(MAGIC, 0, MAGIC.length);
+        }
+
+        @Override
+        public void startPrefixMapping(final String prefix, final String uri) {
+            out.write(START_PREFIX_MAPPING);
+            writeString(prefix);
+            writeString(uri);
+        }
+
+        @Override
+        public void endPrefixMapping(final String prefix) {
+            out.write(END_PREFIX_MAPPING);
+            writeString(prefix);
+        }
+
+        @Override
+        public void startElement(
+                final String uri, final String localName, final String qName, final Attributes attributes) {
+            out.write(START_ELEMENT);
+            writeString(uri);
+            writeString(localName);
+            writeString(qName);
+            final int length = attributes.getLength();
+            writeVarint(length);
+            for (int i = 0; i < length; i++) {
+                writeString(attributes.getURI(i));
+                writeString(attributes.getLocalName(i));
+                writeString(attributes.getQName(i));
+                writeString(attributes.getValue(i));
+            }
+        }
+
+        @Override
+        public void endElement(final String uri, final String localName, final String qName) {
+            out.write(END_ELEMENT);
+        }
+
+        @Override
+        public void characters(final char[] ch, final int start, final int length) {
+            if(length == 0) {
+                return;
+            }
+            out.write(CHARACTERS);
+            writeString(new String(ch, start, length));
+        }
+
+        @Override
+        public void endDocument() {
+            out.write(END_DOCUMENT);
+        }
+
+        private void writeString(final String str) {
+            final String s = str != null ? str : "";
+            final Integer index = interned.get(s);
+            if(index != null) {
+                writeVarint(index + REF_OFFSET);
+                return;
+            }
+            if(s.length() <= MAX_INTERNED_LENGTH) {
+                interned.put(s, interned.size());
+                writeVarint(REF_INTERNED_LITERAL);
+            } else {
+                writeVarint(REF_LITERAL);
+            }
+            final byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+            writeVarint(utf8.length);
+            out.write(utf8, 0, utf8.length);
+        }
+
+        private void writeVarint(final int value) {
+            int v = value;
+            while((v & ~0x7F) != 0) {
+                out.write((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            out.write(v);
+        }
+
+        byte[] toByteArray() {
+            return out.toByteArray();
+        }
+    }
+
+    //endregion
+
+    //region > Decoder
+
+    private static class Decoder {
+
+        private static class Element {
+            private final String uri;
+            private final String localName;
+            private final String qName;
+            Element(final String uri, final String localName, final String qName) {
+                this.uri = uri;
+                this.localName = localName;
+                this.qName = qName;
+            }
+        }
+
+        private final byte[] bytes;
+        private int pos = MAGIC.length;
+        private final List<String> interned = Lists.newArrayList();
+
+        Decoder(final byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        void replayInto(final UnmarshallerHandler handler) throws SAXException {
+            final Deque<Element> elements = new ArrayDeque<>();
+            handler.startDocument();
+            for(;;) {
+                final int token = readByte();
+                switch (token) {
+                case END_DOCUMENT:
+                    if(!elements.isEmpty()) {
+                        throw new IllegalArgumentException("Binary DTO encoding ended within an element");
+                    }
+                    handler.endDocument();
+                    return;
+                case START_PREFIX_MAPPING:
+                    final String prefix = readString();
+                    handler.startPrefixMapping(prefix, readString());
+                    break;
+                case END_PREFIX_MAPPING:
+                    handler.endPrefixMapping(readString());
+                    break;
+                case START_ELEMENT:
+                    final Element element = new Element(readString(), readString(), readString());
+                    final AttributesImpl attributes = new AttributesImpl();
+                    final int length = readVarint();
+                    for (int i = 0; i < length; i++) {
+                        attributes.addAttribute(readString(), readString(), readString(), "CDATA", readString());
+                    }
+                    elements.push(element);
+                    handler.startElement(element.uri, element.localName, element.qName, attributes);
+                    break;
+                case END_ELEMENT:
+                    if(elements.isEmpty()) {
+                        throw new IllegalArgumentException("Binary DTO encoding has unbalanced elements");
+                    }
+                    final Element ended = elements.pop();
+                    handler.endElement(ended.uri, ended.localName, ended.qName);
+                    break;
+                case CHARACTERS:
+                    final char[] chars = readString().toCharArray();
+                    handler.characters(chars, 0, chars.length);
+                    break;
+                default:
+                    throw new IllegalArgumentException(
+                            "Binary DTO encoding has unknown token " + token + " at position " + (pos - 1));
+                }
+            }
+        }
+
+        private String readString() {
+            final int ref = readVarint();
+            if(ref >= REF_OFFSET) {
+                final int index = ref - REF_OFFSET;
+                if(index >= interned.size()) {
+                    throw new IllegalArgumentException("Binary DTO encoding has unknown string reference " + index);
+                }
+                return interned.get(index);
+            }
+            final int length = readVarint();
+            if(length > bytes.length - pos) {
+                throw new IllegalArgumentException("Binary DTO encoding is truncated");
+            }
+            final String s = new String(bytes, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            if(ref == REF_INTERNED_LITERAL) {
+                interned.add(s);
+            }
+            return s;
+        }
+
+        private int readVarint() {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                final int b = readByte();
+                value |= (b & 0x7F) << shift;
+                if((b & 0x80) == 0) {
+                    if(value < 0) {
+                        break;
+                    }
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Binary DTO encoding has malformed length at position " + pos);
+        }
+
+        private int readByte() {
+            if(pos >= bytes.length) {
+                throw new IllegalArgumentException("Binary DTO encoding is truncated");
+            }
+            return bytes[pos++] & 0xFF;
+        }
+    }
+
+    //endregion
+
+}
@@ -41,6 +41,7 @@
 import org.apache.isis.applib.services.bookmark.Bookmark;
 import org.apache.isis.applib.services.bookmark.BookmarkService;
 import org.apache.isis.applib.services.iactn.Interaction;
+import org.apache.isis.applib.util.JaxbMarshallers;
 import org.apache.isis.applib.util.JaxbUtil;
 import org.apache.isis.schema.cmd.v1.ParamDto;
 import org.apache.isis.schema.cmd.v1.ParamsDto;
@@ -73,8 +74,12 @@ static JAXBContext getJaxbContext() {
 
     public static InteractionDto fromXml(final Reader reader) {
         try {
-            final Unmarshaller un = getJaxbContext().createUnmarshaller();
-            return (InteractionDto) un.unmarshal(reader);
+            final Unmarshaller un = JaxbMarshallers.acquireUnmarshaller(getJaxbContext());
+            try {
+                return (InteractionDto) un.unmarshal(reader);
+            } finally {
+                JaxbMarshallers.release(getJaxbContext(), un);
+            }
         } catch (JAXBException e) {
             throw new RuntimeException(e);
         }
@@ -100,14 +105,45 @@ public static String toXml(final InteractionDto interactionDto) {
     }
 
     public static void toXml(final InteractionDto interactionDto, final Writer writer) {
+        toXml(interactionDto, writer, true);
+    }
+
+    /**
+     * As {@link #toXml(InteractionDto)}, but without any indentation or line breaks.
+     */
+    public static String toCompactXml(final InteractionDto interactionDto) {
+        final CharArrayWriter caw = new CharArrayWriter();
+        toXml(interactionDto, caw, false);
+        return caw.toString();
+    }
+
+    private static void toXml(final InteractionDto interactionDto, final Writer writer, final boolean formatted) {
         try {
-            final Marshaller m = getJaxbContext().createMarshaller();
-            m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
-            m.marshal(interactionDto, writer);
+            final Marshaller m = JaxbMarshallers.acquireMarshaller(getJaxbContext(), formatted);
+            try {
+                m.marshal(interactionDto, writer);
+            } finally {
+                JaxbMarshallers.release(getJaxbContext(), m);
+            }
         } catch (JAXBException e) {
             throw new RuntimeException(e);
         }
     }
+
+    /**
+     * Encodes using the compact {@link DtoBinaryCodec binary encoding}, an alternative to XML for storage and
+     * transport.
+     */
+    public static byte[] toBytes(final InteractionDto interactionDto) {
+        return DtoBinaryCodec.encode(getJaxbContext(), interactionDto);
+    }
+
+    /**
+     * Decodes from the {@link #toBytes(InteractionDto) binary encoding}.
+     */
+    public static InteractionDto fromBytes(final byte[] bytes) {
+        return (InteractionDto) DtoBinaryCodec.decode(getJaxbContext(), bytes);
+    }
     //endregion
 
     //region > newInteractionDto
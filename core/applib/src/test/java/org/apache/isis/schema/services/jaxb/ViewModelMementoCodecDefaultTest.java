@@ -0,0 +1,180 @@
+/**
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.isis.schema.services.jaxb;
+
+import java.util.Collections;
+
+import javax.xml.bind.annotation.XmlRootElement;
+
+import com.google.common.base.Strings;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.NonRecoverableException;
+import org.apache.isis.applib.services.jaxb.JaxbService;
+import org.apache.isis.applib.services.registry.ServiceRegistry;
+import org.apache.isis.applib.services.urlencoding.UrlEncodingServiceUsingBaseEncoding;
+import org.apache.isis.core.unittestsupport.jmocking.JMockActions;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+
+public class ViewModelMementoCodecDefaultTest {
+
+    @XmlRootElement(name = "customerViewModel")
+    public static class CustomerViewModel {
+        private String name;
+        private String notes;
+        public String getName() {
+            return name;
+        }
+        public void setName(final String name) {
+            this.name = name;
+        }
+        public String getNotes() {
+            return notes;
+        }
+        public void setNotes(final String notes) {
+            this.notes = notes;
+        }
+    }
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private ServiceRegistry mockServiceRegistry;
+
+    private ViewModelMementoCodecDefault codec;
+    private CustomerViewModel viewModel;
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockServiceRegistry).injectServicesInto(with(any(Object.class)));
+            will(JMockActions.returnArgument(0));
+        }});
+
+        codec = new ViewModelMementoCodecDefault();
+        codec.jaxbService = new JaxbService.Simple();
+        codec.urlEncodingService = new UrlEncodingServiceUsingBaseEncoding();
+        codec.serviceRegistry = mockServiceRegistry;
+        codec.init(Collections.<String, String>emptyMap());
+
+        viewModel = new CustomerViewModel();
+        viewModel.setName("Fred Smith");
+        viewModel.setNotes(Strings.repeat("likes long walks on the beach; ", 20));
+    }
+
+    @Test
+    public void round_trip() throws Exception {
+        final String memento = codec.encode(viewModel);
+
+        assertThat(memento.startsWith(ViewModelMementoCodecDefault.COMPRESSED_PREFIX), is(true));
+        final CustomerViewModel decoded = codec.decode(CustomerViewModel.class, memento);
+        assertThat(decoded.getName(), is("Fred Smith"));
+        assertThat(decoded.getNotes(), is(viewModel.getNotes()));
+    }
+
+    @Test
+    public void is_shorter_than_previously() throws Exception {
+        final String previous = codec.urlEncodingService.encode(codec.jaxbService.toXml(viewModel));
+
+        assertThat(codec.encode(viewModel).length(), is(lessThan(previous.length() / 4)));
+    }
+
+    @Test
+    public void decodes_previous_mementos() throws Exception {
+        final String previous = codec.urlEncodingService.encode(codec.jaxbService.toXml(viewModel));
+
+        final CustomerViewModel decoded = codec.decode(CustomerViewModel.class, previous);
+        assertThat(decoded.getName(), is("Fred Smith"));
+    }
+
+    @Test
+    public void when_not_compressing() throws Exception {
+        codec.init(false, 1, 0, 1000);
+
+        final String memento = codec.encode(viewModel);
+
+        assertThat(memento.startsWith(ViewModelMementoCodecDefault.COMPRESSED_PREFIX), is(false));
+        assertThat(codec.urlEncodingService.decode(memento).contains("\n"), is(false));
+        assertThat(codec.decode(CustomerViewModel.class, memento).getName(), is("Fred Smith"));
+    }
+
+    @Test
+    public void decoded_view_models_are_never_shared() throws Exception {
+        final String memento = codec.encode(viewModel);
+
+        final CustomerViewModel decoded1 = codec.decode(CustomerViewModel.class, memento);
+        final CustomerViewModel decoded2 = codec.decode(CustomerViewModel.class, memento);
+
+        assertThat(decoded2, is(not(sameInstance(decoded1))));
+    }
+
+    @Test
+    public void marshallers_are_pooled() throws Exception {
+        codec.encode(viewModel);
+        codec.encode(viewModel);
+
+        assertThat(codec.pooledMarshallersFor(CustomerViewModel.class), is(1));
+    }
+
+    @Test
+    public void decoded_xml_is_cached() throws Exception {
+        codec.init(true, 1, 16 * 1024, 100000);
+
+        codec.decode(CustomerViewModel.class, codec.encode(viewModel));
+
+        assertThat(codec.cachedMementos(), is(1L));
+    }
+
+    @Test
+    public void large_decoded_xml_is_not_cached() throws Exception {
+        // so no more than 10 bytes per entry
+        codec.init(true, 1, 160, 100000);
+
+        final CustomerViewModel decoded = codec.decode(CustomerViewModel.class, codec.encode(viewModel));
+
+        assertThat(decoded.getName(), is("Fred Smith"));
+        assertThat(codec.cachedMementos(), is(0L));
+    }
+
+    @Test
+    public void clone_view_model() throws Exception {
+        final CustomerViewModel cloned = codec.clone(viewModel);
+
+        assertThat(cloned, is(not(sameInstance(viewModel))));
+        assertThat(cloned.getName(), is("Fred Smith"));
+    }
+
+    @Test(expected = NonRecoverableException.class)
+    public void when_decoded_size_exceeds_limit() throws Exception {
+        codec.init(true, 1, 0, 100);
+
+        codec.decode(CustomerViewModel.class, codec.encode(viewModel));
+    }
+
+}
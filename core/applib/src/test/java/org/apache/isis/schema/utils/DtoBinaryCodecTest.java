@@ -0,0 +1,135 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.schema.utils;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.schema.chg.v1.ChangesDto;
+import org.apache.isis.schema.chg.v1.ObjectsDto;
+import org.apache.isis.schema.cmd.v1.ParamDto;
+import org.apache.isis.schema.common.v1.InteractionType;
+import org.apache.isis.schema.common.v1.OidDto;
+import org.apache.isis.schema.common.v1.OidsDto;
+import org.apache.isis.schema.ixn.v1.InteractionDto;
+import org.apache.isis.schema.ixn.v1.MemberExecutionDto;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class DtoBinaryCodecTest {
+
+    @Test
+    public void interaction_roundtrip() throws Exception {
+        final InteractionDto dto = newInteractionDto();
+
+        final byte[] bytes = InteractionDtoUtils.toBytes(dto);
+        final InteractionDto recreated = InteractionDtoUtils.fromBytes(bytes);
+
+        assertThat(DtoBinaryCodec.isEncoded(bytes), is(true));
+        assertThat(InteractionDtoUtils.toXml(recreated), is(InteractionDtoUtils.toXml(dto)));
+        assertThat(bytes.length, is(lessThan(InteractionDtoUtils.toCompactXml(dto).length())));
+    }
+
+    @Test
+    public void changes_roundtrip() throws Exception {
+        final ChangesDto dto = new ChangesDto();
+        dto.setMajorVersion("1");
+        dto.setMinorVersion("0");
+        dto.setTransactionId("a2b4c6");
+        dto.setUser("freddyUser");
+        final ObjectsDto objectsDto = new ObjectsDto();
+        objectsDto.setLoaded(3);
+        objectsDto.setUpdated(oids("CUS", "1", "CUS", "2", "ORD", "3"));
+        objectsDto.setCreated(new OidsDto());
+        objectsDto.setDeleted(new OidsDto());
+        dto.setObjects(objectsDto);
+
+        final ChangesDto recreated = ChangesDtoUtils.fromBytes(ChangesDtoUtils.toBytes(dto));
+
+        assertThat(ChangesDtoUtils.toXml(recreated), is(ChangesDtoUtils.toXml(dto)));
+    }
+
+    @Test
+    public void compact_xml_is_equivalent() throws Exception {
+        final InteractionDto dto = newInteractionDto();
+
+        final String compactXml = InteractionDtoUtils.toCompactXml(dto);
+
+        assertThat(compactXml.contains("\n"), is(false));
+        assertThat(InteractionDtoUtils.toXml(InteractionDtoUtils.fromXml(compactXml)),
+                is(InteractionDtoUtils.toXml(dto)));
+    }
+
+    @Test
+    public void xml_is_not_encoded() throws Exception {
+        assertThat(DtoBinaryCodec.isEncoded(InteractionDtoUtils.toXml(newInteractionDto()).getBytes("UTF-8")),
+                is(false));
+        assertThat(DtoBinaryCodec.isEncoded(null), is(false));
+    }
+
+    @Test
+    public void when_truncated_then_rejected() throws Exception {
+        final byte[] bytes = InteractionDtoUtils.toBytes(newInteractionDto());
+
+        try {
+            InteractionDtoUtils.fromBytes(Arrays.copyOf(bytes, bytes.length / 2));
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    private static InteractionDto newInteractionDto() {
+        final MemberExecutionDto executionDto = InteractionDtoUtils.newActionInvocation(
+                1, new Bookmark("CUS", "12345"), "John Customer",
+                "com.mycompany.Customer#placeOrder", Arrays.<ParamDto>asList(),
+                "freddyUser");
+        executionDto.setInteractionType(InteractionType.ACTION_INVOCATION);
+
+        final InteractionDto interactionDto = new InteractionDto();
+        interactionDto.setMajorVersion("1");
+        interactionDto.setMinorVersion("0");
+        interactionDto.setTransactionId("a2b4c6");
+        interactionDto.setExecution(executionDto);
+
+        InteractionDtoUtils.addParamArg(interactionDto, "aString", String.class, "Fred", null);
+        InteractionDtoUtils.addParamArg(interactionDto, "anotherString", String.class, "Fred", null);
+        InteractionDtoUtils.addParamArg(interactionDto, "anInt", Integer.class, 123454321, null);
+        InteractionDtoUtils.addParamArg(interactionDto, "nullInt", Integer.class, (Integer) null, null);
+        InteractionDtoUtils.addParamArg(interactionDto, "aReference", Bookmark.class, new Bookmark("ORD", "12345"), null);
+        InteractionDtoUtils.addParamArg(interactionDto, "anotherReference", Bookmark.class, new Bookmark("ORD", "12346"), null);
+        return interactionDto;
+    }
+
+    private static OidsDto oids(final String... typesAndIds) {
+        final OidsDto oidsDto = new OidsDto();
+        for (int i = 0; i < typesAndIds.length; i += 2) {
+            final OidDto oidDto = new OidDto();
+            oidDto.setType(typesAndIds[i]);
+            oidDto.setId(typesAndIds[i + 1]);
+            oidsDto.getOid().add(oidDto);
+        }
+        return oidsDto;
+    }
+
+}
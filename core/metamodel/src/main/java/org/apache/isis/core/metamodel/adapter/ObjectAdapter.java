@@ -146,6 +146,15 @@ public interface ObjectAdapter extends Instance, org.apache.isis.applib.annotati
      */
     String getIconName();
 
+    /**
+     * Returns the CSS class (if any) to use when rendering this object, as per its
+     * {@link org.apache.isis.core.metamodel.facets.members.cssclass.CssClassFacet}.
+     *
+     * <p>
+     * May return <code>null</code> if no CSS class is specified.
+     */
+    String getCssClass();
+
     /**
      * Checks the version of this adapter to make sure that it does not differ
      * from the specified version.
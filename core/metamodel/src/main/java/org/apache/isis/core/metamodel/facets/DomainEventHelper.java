@@ -69,6 +69,12 @@ public ActionDomainEvent<?> postEventForAction(
             final Command command,
             final ObjectAdapter resultAdapter) {
 
+        final boolean hasSubscribers = hasSubscribersFor(eventType);
+        if(!hasSubscribers && !phase.isExecutingOrLater()) {
+            // nothing could veto, so don't bother creating the event
+            return null;
+        }
+
         try {
             final ActionDomainEvent<?> event;
 
@@ -122,7 +128,9 @@ public ActionDomainEvent<?> postEventForAction(
                 }
             }
 
-            getEventBusService().post(event);
+            if(hasSubscribers) {
+                getEventBusService().post(event);
+            }
             return event;
         } catch (Exception e) {
             throw new FatalException(e);
@@ -195,6 +203,12 @@ private static List<Object> asList(final Object[] arguments) {
             final Object oldValue,
             final Object newValue) {
 
+        final boolean hasSubscribers = hasSubscribersFor(eventType);
+        if(!hasSubscribers && !phase.isExecutingOrLater()) {
+            // nothing could veto, so don't bother creating the event
+            return null;
+        }
+
         try {
             final PropertyDomainEvent<?, ?> event;
             final Object source = ObjectAdapter.Util.unwrap(targetAdapter);
@@ -214,7 +228,9 @@ private static List<Object> asList(final Object[] arguments) {
             // just in case the actual new value held by the object is different from that applied
             setEventNewValue(event, newValue);
 
-            this.getEventBusService().post(event);
+            if(hasSubscribers) {
+                getEventBusService().post(event);
+            }
             return event;
         } catch (Exception e) {
             throw new FatalException(e);
@@ -285,6 +301,13 @@ static <S,T> PropertyDomainEvent<S,T> newPropertyDomainEvent(
             final ObjectAdapter targetAdapter,
             final CollectionDomainEvent.Of of,
             final Object reference) {
+
+        final boolean hasSubscribers = hasSubscribersFor(eventType);
+        if(!hasSubscribers && !phase.isExecutingOrLater()) {
+            // nothing could veto, so don't bother creating the event
+            return null;
+        }
+
         try {
             final CollectionDomainEvent<?, ?> event;
             if (existingEvent != null && phase.isExecuted()) {
@@ -300,7 +323,9 @@ static <S,T> PropertyDomainEvent<S,T> newPropertyDomainEvent(
             event.setEventPhase(phase);
             event.setPhase(AbstractInteractionEvent.Phase.from(phase));
 
-            getEventBusService().post(event);
+            if(hasSubscribers) {
+                getEventBusService().post(event);
+            }
             return event;
         } catch (Exception e) {
             throw new FatalException(e);
@@ -409,6 +434,15 @@ <S, T> CollectionDomainEvent<S, T> newCollectionDomainEvent(
 
     //region > eventBusService
 
+    /**
+     * The events for the hide, disable and validate phases are only of interest to subscribers, so are not even
+     * created if there are none.  Those for the executing and executed phases are still created (they are also
+     * recorded against the command and the interaction's execution), but not posted.
+     */
+    private boolean hasSubscribersFor(final Class<?> eventType) {
+        return eventType == null || getEventBusService().hasSubscribersFor(eventType);
+    }
+
     private EventBusService getEventBusService() {
         // previously this method used to cache, however it prevents integration tests
         // from switching out the EventBusService with a mock.
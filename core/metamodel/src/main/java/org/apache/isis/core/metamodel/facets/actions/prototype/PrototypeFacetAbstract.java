@@ -26,12 +26,18 @@
 import org.apache.isis.core.metamodel.facetapi.Facet;
 import org.apache.isis.core.metamodel.facetapi.FacetHolder;
 import org.apache.isis.core.metamodel.facets.MarkerFacetAbstract;
+import org.apache.isis.core.metamodel.interactions.InstanceIndependentAdviceCache;
+import org.apache.isis.core.metamodel.interactions.InstanceIndependentInteractionAdvisor;
+import org.apache.isis.core.metamodel.interactions.InteractionContext;
 import org.apache.isis.core.metamodel.interactions.VisibilityContext;
 
-public abstract class PrototypeFacetAbstract extends MarkerFacetAbstract implements PrototypeFacet {
+public abstract class PrototypeFacetAbstract extends MarkerFacetAbstract implements PrototypeFacet,
+        InstanceIndependentInteractionAdvisor {
 
     private final DeploymentCategory deploymentCategory;
 
+    private final InstanceIndependentAdviceCache instanceIndependentAdviceCache = new InstanceIndependentAdviceCache();
+
     public static Class<? extends Facet> type() {
         return PrototypeFacet.class;
     }
@@ -49,6 +55,19 @@ public String hides(
                 : null;
     }
 
+    /**
+     * Depends only upon the deployment category.
+     */
+    @Override
+    public Object instanceIndependentKey(final InteractionContext<?> ic) {
+        return INDEPENDENT;
+    }
+
+    @Override
+    public InstanceIndependentAdviceCache getInstanceIndependentAdviceCache() {
+        return instanceIndependentAdviceCache;
+    }
+
     protected DeploymentCategory getDeploymentCategory() {
         return deploymentCategory;
     }
@@ -57,4 +57,9 @@ public String hiddenReason(final ObjectAdapter targetAdapter, final Where whereC
         return "Hidden on " + where().getFriendlyName();
     }
 
+    @Override
+    protected boolean isInstanceIndependent() {
+        return true;
+    }
+
 }
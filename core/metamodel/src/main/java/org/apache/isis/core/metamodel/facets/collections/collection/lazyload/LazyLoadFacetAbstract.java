@@ -0,0 +1,41 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.metamodel.facets.collections.collection.lazyload;
+
+import org.apache.isis.applib.annotation.LazyLoad;
+import org.apache.isis.core.metamodel.facetapi.Facet;
+import org.apache.isis.core.metamodel.facetapi.FacetHolder;
+import org.apache.isis.core.metamodel.facets.SingleValueFacetAbstract;
+
+public abstract class LazyLoadFacetAbstract extends SingleValueFacetAbstract<LazyLoad> implements LazyLoadFacet {
+
+    public static Class<? extends Facet> type() {
+        return LazyLoadFacet.class;
+    }
+
+    public LazyLoadFacetAbstract(final LazyLoad value, final FacetHolder holder) {
+        super(type(), value, holder);
+    }
+
+    @Override
+    public boolean isLazy() {
+        return value() == LazyLoad.ENABLED;
+    }
+}
@@ -86,7 +86,11 @@ public void process(final ProcessMethodContext processMethodContext) {
             defaultViewFacet = DefaultViewFacetForCollectionLayoutAnnotation.create(collectionLayout, getConfiguration(), holder);
         }
         FacetUtil.addFacet(defaultViewFacet);
-        
+
+
+        // lazyLoad
+        FacetUtil.addFacet(LazyLoadFacetForCollectionLayoutAnnotation.create(collectionLayout, getConfiguration(), holder));
+
 
         // named
         NamedFacet namedFacet = NamedFacetOnCollectionFromLayoutProperties.create(properties, holder);
@@ -49,4 +49,9 @@ public String hiddenReason(final ObjectAdapter targetAdapter, final Where whereC
         return "Hidden on " + where().getFriendlyName();
     }
 
+    @Override
+    protected boolean isInstanceIndependent() {
+        return true;
+    }
+
 }
@@ -0,0 +1,47 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.metamodel.facets.collections.layout;
+
+import org.apache.isis.applib.annotation.LazyLoad;
+import org.apache.isis.applib.layout.component.CollectionLayoutData;
+import org.apache.isis.core.metamodel.facetapi.FacetHolder;
+import org.apache.isis.core.metamodel.facets.collections.collection.lazyload.LazyLoadFacet;
+import org.apache.isis.core.metamodel.facets.collections.collection.lazyload.LazyLoadFacetAbstract;
+
+public class LazyLoadFacetForCollectionXml extends LazyLoadFacetAbstract {
+
+    private LazyLoadFacetForCollectionXml(final LazyLoad value, final FacetHolder holder) {
+        super(value, holder);
+    }
+
+    public static LazyLoadFacet create(
+            final CollectionLayoutData collectionLayout,
+            final FacetHolder holder) {
+        if (collectionLayout == null) {
+            return null;
+        }
+        final LazyLoad lazyLoad = collectionLayout.getLazyLoad();
+        if (lazyLoad == null || lazyLoad == LazyLoad.AS_CONFIGURED) {
+            // retain the facet derived from annotations (which has already resolved any configured default)
+            return null;
+        }
+        return new LazyLoadFacetForCollectionXml(lazyLoad, holder);
+    }
+}
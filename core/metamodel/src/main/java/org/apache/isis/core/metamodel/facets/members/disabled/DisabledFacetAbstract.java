@@ -29,11 +29,15 @@
 import org.apache.isis.core.metamodel.facetapi.FacetHolder;
 import org.apache.isis.core.metamodel.facets.WhenAndWhereValueFacetAbstract;
 import org.apache.isis.core.metamodel.interactions.ActionUsabilityContext;
+import org.apache.isis.core.metamodel.interactions.InstanceIndependentAdviceCache;
+import org.apache.isis.core.metamodel.interactions.InstanceIndependentInteractionAdvisor;
+import org.apache.isis.core.metamodel.interactions.InteractionContext;
 import org.apache.isis.core.metamodel.interactions.UsabilityContext;
 import org.apache.isis.core.metamodel.specloader.specimpl.OneToManyAssociationContributee;
 import org.apache.isis.core.metamodel.specloader.specimpl.OneToOneAssociationContributee;
 
-public abstract class DisabledFacetAbstract extends WhenAndWhereValueFacetAbstract implements DisabledFacet {
+public abstract class DisabledFacetAbstract extends WhenAndWhereValueFacetAbstract implements DisabledFacet,
+        InstanceIndependentInteractionAdvisor {
 
     public static Class<? extends Facet> type() {
         return DisabledFacet.class;
@@ -41,6 +45,8 @@ public static Class<? extends Facet> type() {
 
     private final Semantics semantics;
 
+    private final InstanceIndependentAdviceCache instanceIndependentAdviceCache = new InstanceIndependentAdviceCache();
+
     public enum Semantics {
         DISABLED,
         ENABLED;
@@ -90,6 +96,36 @@ public String disables(final UsabilityContext<? extends UsabilityEvent> ic) {
         return null;
     }
 
+    /**
+     * Whether the {@link #disabledReason(ObjectAdapter) disabled reason} does not depend upon the target; if so (and
+     * the same is true of any underlying facet), it is evaluated only once.
+     */
+    protected boolean isInstanceIndependent() {
+        return false;
+    }
+
+    @Override
+    public Object instanceIndependentKey(final InteractionContext<?> ic) {
+        if(isInvertedSemantics()) {
+            return INDEPENDENT;
+        }
+        if(!isInstanceIndependent()) {
+            return null;
+        }
+        final Facet underlyingFacet = getUnderlyingFacet();
+        if(underlyingFacet != null &&
+            !(underlyingFacet instanceof DisabledFacetAbstract &&
+              ((DisabledFacetAbstract) underlyingFacet).isInstanceIndependent())) {
+            return null;
+        }
+        return INDEPENDENT;
+    }
+
+    @Override
+    public InstanceIndependentAdviceCache getInstanceIndependentAdviceCache() {
+        return instanceIndependentAdviceCache;
+    }
+
     @Override
     public boolean isInvertedSemantics() {
         return semantics == Semantics.ENABLED;
@@ -38,4 +38,9 @@ public String disabledReason(final ObjectAdapter target) {
         return "Always disabled";
     }
 
+    @Override
+    protected boolean isInstanceIndependent() {
+        return true;
+    }
+
 }
@@ -71,6 +71,14 @@ public String disabledReason(final ObjectAdapter targetAdapter) {
         return null;
     }
 
+    /**
+     * Only {@link When#UNTIL_PERSISTED} and {@link When#ONCE_PERSISTED} depend upon the target.
+     */
+    @Override
+    protected boolean isInstanceIndependent() {
+        return when() == When.ALWAYS || when() == When.NEVER;
+    }
+
     private String disabledReasonElse(final String defaultReason) {
         return !Strings.isNullOrEmpty(reason) ? reason : defaultReason;
     }
@@ -27,6 +27,9 @@
 import org.apache.isis.core.metamodel.facetapi.FacetHolder;
 import org.apache.isis.core.metamodel.facets.WhenAndWhereValueFacetAbstract;
 import org.apache.isis.core.metamodel.facets.all.hide.HiddenFacet;
+import org.apache.isis.core.metamodel.interactions.InstanceIndependentAdviceCache;
+import org.apache.isis.core.metamodel.interactions.InstanceIndependentInteractionAdvisor;
+import org.apache.isis.core.metamodel.interactions.InteractionContext;
 import org.apache.isis.core.metamodel.interactions.VisibilityContext;
 
 /**
@@ -46,7 +49,10 @@
  *     of facets returned contains no duplicates.
  * </p>
  */
-public abstract class HiddenFacetAbstract extends WhenAndWhereValueFacetAbstract implements HiddenFacet {
+public abstract class HiddenFacetAbstract extends WhenAndWhereValueFacetAbstract implements HiddenFacet,
+        InstanceIndependentInteractionAdvisor {
+
+    private final InstanceIndependentAdviceCache instanceIndependentAdviceCache = new InstanceIndependentAdviceCache();
 
     public HiddenFacetAbstract(final Class<? extends Facet> facetType, final When when, Where where, final FacetHolder holder) {
         super(facetType, holder, when, where);
@@ -70,6 +76,24 @@ public String hides(final VisibilityContext<? extends VisibilityEvent> ic) {
      */
     protected abstract String hiddenReason(ObjectAdapter target, Where whereContext);
 
+    /**
+     * Whether the {@link #hiddenReason(ObjectAdapter, Where) hidden reason} depends only upon the where context,
+     * not the target; if so, it is evaluated only once per where context.
+     */
+    protected boolean isInstanceIndependent() {
+        return false;
+    }
+
+    @Override
+    public Object instanceIndependentKey(final InteractionContext<?> ic) {
+        return isInstanceIndependent() ? INDEPENDENT : null;
+    }
+
+    @Override
+    public InstanceIndependentAdviceCache getInstanceIndependentAdviceCache() {
+        return instanceIndependentAdviceCache;
+    }
+
     @Override
     public Class<? extends Facet>[] facetTypes() {
         return new Class[]{facetType(), HiddenFacet.class};
@@ -64,4 +64,12 @@ public String hiddenReason(final ObjectAdapter targetAdapter, Where whereContext
         return null;
     }
 
+    /**
+     * Only {@link When#UNTIL_PERSISTED} and {@link When#ONCE_PERSISTED} depend upon the target.
+     */
+    @Override
+    protected boolean isInstanceIndependent() {
+        return when() == When.ALWAYS || when() == When.NEVER;
+    }
+
 }
@@ -50,4 +50,9 @@ public String hiddenReason(final ObjectAdapter targetAdapter, final Where whereC
         }
         return "Hidden on " + where().getFriendlyName();
     }
+
+    @Override
+    protected boolean isInstanceIndependent() {
+        return true;
+    }
 }
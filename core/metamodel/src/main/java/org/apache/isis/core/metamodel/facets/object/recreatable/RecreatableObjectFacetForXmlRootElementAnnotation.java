@@ -20,6 +20,7 @@
 package org.apache.isis.core.metamodel.facets.object.recreatable;
 
 import org.apache.isis.applib.services.jaxb.JaxbService;
+import org.apache.isis.applib.services.jaxb.ViewModelMementoCodec;
 import org.apache.isis.applib.services.urlencoding.UrlEncodingService;
 import org.apache.isis.core.metamodel.facetapi.FacetHolder;
 import org.apache.isis.core.metamodel.facets.PostConstructMethodCache;
@@ -39,6 +40,11 @@ public RecreatableObjectFacetForXmlRootElementAnnotation(
     @Override
     protected Object doInstantiate(final Class<?> viewModelClass, final String mementoStr) {
 
+        final ViewModelMementoCodec viewModelMementoCodec = getViewModelMementoCodec();
+        if(viewModelMementoCodec != null) {
+            return viewModelMementoCodec.decode(viewModelClass, mementoStr);
+        }
+
         final String xmlStr = getUrlEncodingService().decode(mementoStr);
         final Object viewModelPojo = getJaxbService().fromXml(viewModelClass, xmlStr);
 
@@ -48,6 +54,11 @@ protected Object doInstantiate(final Class<?> viewModelClass, final String memen
     @Override
     public String memento(final Object pojo) {
 
+        final ViewModelMementoCodec viewModelMementoCodec = getViewModelMementoCodec();
+        if(viewModelMementoCodec != null) {
+            return viewModelMementoCodec.encode(pojo);
+        }
+
         final String xml = getJaxbService().toXml(pojo);
         final String encoded = getUrlEncodingService().encode(xml);
 
@@ -66,6 +77,10 @@ public boolean isImplicitlyImmutable() {
 
     @Override
     public Object clone(Object pojo) {
+        final ViewModelMementoCodec viewModelMementoCodec = getViewModelMementoCodec();
+        if(viewModelMementoCodec != null) {
+            return viewModelMementoCodec.clone(pojo);
+        }
         final String xml = getJaxbService().toXml(pojo);
         final Object cloned = getJaxbService().fromXml(pojo.getClass(), xml);
         return cloned;
@@ -76,6 +91,10 @@ private JaxbService getJaxbService() {
         return servicesInjector.lookupService(JaxbService.class);
     }
 
+    private ViewModelMementoCodec getViewModelMementoCodec() {
+        return servicesInjector.lookupService(ViewModelMementoCodec.class);
+    }
+
     private UrlEncodingService getUrlEncodingService() {
         return servicesInjector.lookupService(UrlEncodingService.class);
     }
@@ -19,6 +19,7 @@
 
 package org.apache.isis.core.metamodel.facets.properties.disabled.fromimmutable;
 
+import org.apache.isis.applib.annotation.When;
 import org.apache.isis.applib.annotation.Where;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.facetapi.FacetHolder;
@@ -36,4 +37,9 @@ public String disabledReason(final ObjectAdapter target) {
         return when().appliesTo(target) ? "Immutable" : null;
     }
 
+    @Override
+    protected boolean isInstanceIndependent() {
+        return when() == When.ALWAYS || when() == When.NEVER;
+    }
+
 }
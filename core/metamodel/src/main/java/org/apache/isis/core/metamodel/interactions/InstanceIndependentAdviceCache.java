@@ -0,0 +1,74 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.metamodel.interactions;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.base.Optional;
+
+import org.apache.isis.applib.annotation.Where;
+
+/**
+ * The advice (reason, or no reason) of an {@link InstanceIndependentInteractionAdvisor}, by key.
+ *
+ * <p>
+ * Thread-safe; shared by all interactions with the (application-scoped) facet that owns it.
+ * </p>
+ */
+public final class InstanceIndependentAdviceCache {
+
+    /**
+     * Keys may include per-user state (eg roles), so bound the size of the cache; if exceeded it is simply cleared.
+     */
+    static final int MAX_SIZE = 1000;
+
+    private volatile ConcurrentMap<List<Object>, Optional<String>> reasonByKey;
+
+    static List<Object> keyFor(final InteractionContext<?> ic, final Where where, final Object advisorKey) {
+        // the identifier's (cached) string form, rather than the identifier itself, for a cheap and exact equality
+        return Arrays.<Object>asList(ic.getInteractionType(), ic.getIdentifier().toString(), where, advisorKey);
+    }
+
+    /**
+     * @return <tt>null</tt> if not cached, otherwise the (possibly absent) reason.
+     */
+    Optional<String> get(final List<Object> key) {
+        final ConcurrentMap<List<Object>, Optional<String>> map = reasonByKey;
+        return map != null ? map.get(key) : null;
+    }
+
+    void put(final List<Object> key, final String reason) {
+        ConcurrentMap<List<Object>, Optional<String>> map = reasonByKey;
+        if(map == null) {
+            map = reasonByKey = new ConcurrentHashMap<>(4, 0.75f, 1);
+        } else if(map.size() >= MAX_SIZE) {
+            map.clear();
+        }
+        map.put(key, Optional.fromNullable(reason));
+    }
+
+    public void clear() {
+        reasonByKey = null;
+    }
+
+}
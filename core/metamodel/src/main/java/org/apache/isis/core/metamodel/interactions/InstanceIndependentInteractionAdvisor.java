@@ -0,0 +1,55 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.metamodel.interactions;
+
+/**
+ * Mix-in interface for {@link HidingInteractionAdvisor}s and {@link DisablingInteractionAdvisor}s whose advice
+ * (in some or all circumstances) does not depend upon the target object or its state; for example static
+ * <tt>@Property(hidden=...)</tt> or <tt>@Action(restrictTo=...)</tt> semantics.
+ *
+ * <p>
+ * {@link InteractionUtils} evaluates such advice only once for each combination of member, interaction type,
+ * {@link org.apache.isis.applib.annotation.Where where} context and the {@link #instanceIndependentKey(InteractionContext) key}
+ * returned by the facet, thereafter reusing the (cached) reason for every other target object.
+ * </p>
+ *
+ * <p>
+ * The cache lives as long as the facet, so only advice that is fixed by the metamodel should be cached.  Authorization,
+ * in particular, is not: permissions can be revoked at runtime and an authorizor may also take the target into account.
+ * </p>
+ */
+public interface InstanceIndependentInteractionAdvisor extends InteractionAdvisorFacet {
+
+    /**
+     * Key to return if the advice depends upon nothing other than the member and the where context.
+     */
+    Object INDEPENDENT = "independent";
+
+    /**
+     * If the advice for this context does not depend upon the target, then the key of whatever other state it does
+     * depend upon (eg the roles of the current user), else {@link #INDEPENDENT} if it depends on nothing else.
+     *
+     * @return <tt>null</tt> if the advice does depend upon the target (and so must not be cached).
+     */
+    Object instanceIndependentKey(InteractionContext<?> ic);
+
+    InstanceIndependentAdviceCache getInstanceIndependentAdviceCache();
+
+}
@@ -21,6 +21,8 @@
 
 import java.util.List;
 
+import com.google.common.base.Optional;
+
 import org.apache.isis.core.metamodel.consent.InteractionResult;
 import org.apache.isis.core.metamodel.consent.InteractionResultSet;
 import org.apache.isis.core.metamodel.facetapi.Facet;
@@ -37,7 +39,7 @@ public static InteractionResult isVisibleResult(final FacetHolder facetHolder, f
         final List<Facet> facets = facetHolder.getFacets(FacetFilters.isA(HidingInteractionAdvisor.class));
         for (final Facet facet : facets) {
             final HidingInteractionAdvisor advisor = (HidingInteractionAdvisor) facet;
-            result.advise(advisor.hides(context), advisor);
+            result.advise(hides(advisor, context), advisor);
         }
         return result;
     }
@@ -47,12 +49,60 @@ public static InteractionResult isUsableResult(final FacetHolder facetHolder, fi
         final List<Facet> facets = facetHolder.getFacets(FacetFilters.isA(DisablingInteractionAdvisor.class));
         for (final Facet facet : facets) {
             final DisablingInteractionAdvisor advisor = (DisablingInteractionAdvisor) facet;
-            final String disables = advisor.disables(context);
+            final String disables = disables(advisor, context);
             result.advise(disables, advisor);
         }
         return result;
     }
 
+    /**
+     * Consults the advisor, unless it is an {@link InstanceIndependentInteractionAdvisor} that has already advised
+     * for an equivalent context.
+     */
+    private static String hides(final HidingInteractionAdvisor advisor, final VisibilityContext<?> context) {
+        if(!(advisor instanceof InstanceIndependentInteractionAdvisor)) {
+            return advisor.hides(context);
+        }
+        final InstanceIndependentInteractionAdvisor iia = (InstanceIndependentInteractionAdvisor) advisor;
+        final Object advisorKey = iia.instanceIndependentKey(context);
+        if(advisorKey == null) {
+            return advisor.hides(context);
+        }
+        final InstanceIndependentAdviceCache cache = iia.getInstanceIndependentAdviceCache();
+        final List<Object> key = InstanceIndependentAdviceCache.keyFor(context, context.getWhere(), advisorKey);
+        final Optional<String> cached = cache.get(key);
+        if(cached != null) {
+            return cached.orNull();
+        }
+        final String reason = advisor.hides(context);
+        cache.put(key, reason);
+        return reason;
+    }
+
+    /**
+     * Consults the advisor, unless it is an {@link InstanceIndependentInteractionAdvisor} that has already advised
+     * for an equivalent context.
+     */
+    private static String disables(final DisablingInteractionAdvisor advisor, final UsabilityContext<?> context) {
+        if(!(advisor instanceof InstanceIndependentInteractionAdvisor)) {
+            return advisor.disables(context);
+        }
+        final InstanceIndependentInteractionAdvisor iia = (InstanceIndependentInteractionAdvisor) advisor;
+        final Object advisorKey = iia.instanceIndependentKey(context);
+        if(advisorKey == null) {
+            return advisor.disables(context);
+        }
+        final InstanceIndependentAdviceCache cache = iia.getInstanceIndependentAdviceCache();
+        final List<Object> key = InstanceIndependentAdviceCache.keyFor(context, context.getWhere(), advisorKey);
+        final Optional<String> cached = cache.get(key);
+        if(cached != null) {
+            return cached.orNull();
+        }
+        final String reason = advisor.disables(context);
+        cache.put(key, reason);
+        return reason;
+    }
+
     public static InteractionResult isValidResult(final FacetHolder facetHolder, final ValidityContext<?> context) {
         final InteractionResult result = new InteractionResult(context.createInteractionEvent());
         final List<Facet> facets = facetHolder.getFacets(FacetFilters.isA(ValidatingInteractionAdvisor.class));
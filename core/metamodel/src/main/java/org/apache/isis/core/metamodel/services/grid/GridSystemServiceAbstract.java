@@ -32,6 +32,7 @@
 import org.apache.isis.applib.annotation.ActionLayout;
 import org.apache.isis.applib.annotation.BookmarkPolicy;
 import org.apache.isis.applib.annotation.LabelPosition;
+import org.apache.isis.applib.annotation.LazyLoad;
 import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.annotation.Where;
 import org.apache.isis.applib.layout.component.ActionLayoutData;
@@ -69,10 +70,12 @@
 import org.apache.isis.core.metamodel.facets.all.hide.HiddenFacet;
 import org.apache.isis.core.metamodel.facets.all.named.NamedFacet;
 import org.apache.isis.core.metamodel.facets.collections.collection.defaultview.DefaultViewFacet;
+import org.apache.isis.core.metamodel.facets.collections.collection.lazyload.LazyLoadFacet;
 import org.apache.isis.core.metamodel.facets.collections.layout.CssClassFacetForCollectionXml;
 import org.apache.isis.core.metamodel.facets.collections.layout.DefaultViewFacetForCollectionXml;
 import org.apache.isis.core.metamodel.facets.collections.layout.DescribedAsFacetForCollectionXml;
 import org.apache.isis.core.metamodel.facets.collections.layout.HiddenFacetForCollectionXml;
+import org.apache.isis.core.metamodel.facets.collections.layout.LazyLoadFacetForCollectionXml;
 import org.apache.isis.core.metamodel.facets.collections.layout.NamedFacetForCollectionXml;
 import org.apache.isis.core.metamodel.facets.collections.layout.PagedFacetForCollectionXml;
 import org.apache.isis.core.metamodel.facets.collections.layout.SortedByFacetForCollectionXml;
@@ -344,6 +347,7 @@ public void visit(final CollectionLayoutData collectionLayoutData) {
                 FacetUtil.addOrReplaceFacet(
                         DescribedAsFacetForCollectionXml.create(collectionLayoutData, oneToManyAssociation));
                 FacetUtil.addOrReplaceFacet(HiddenFacetForCollectionXml.create(collectionLayoutData, oneToManyAssociation));
+                FacetUtil.addOrReplaceFacet(LazyLoadFacetForCollectionXml.create(collectionLayoutData, oneToManyAssociation));
                 FacetUtil.addOrReplaceFacet(NamedFacetForCollectionXml.create(collectionLayoutData, oneToManyAssociation));
                 FacetUtil.addOrReplaceFacet(PagedFacetForCollectionXml.create(collectionLayoutData, oneToManyAssociation));
                 FacetUtil.addOrReplaceFacet(SortedByFacetForCollectionXml.create(collectionLayoutData, oneToManyAssociation));
@@ -427,6 +431,7 @@ public void visit(final CollectionLayoutData collectionLayoutData) {
                 setDefaultViewIfAny(collectionLayoutData, collection);
                 setDescribedAsIfAny(collectionLayoutData, collection);
                 setHiddenIfAny(collectionLayoutData, collection);
+                setLazyLoadIfAny(collectionLayoutData, collection);
                 setNamedIfAny(collectionLayoutData, collection);
                 setPagedIfAny(collectionLayoutData, collection);
                 setSortedByIfAny(collectionLayoutData, collection);
@@ -517,6 +522,15 @@ protected void setDefaultViewIfAny(
         }
     }
 
+    protected void setLazyLoadIfAny(
+            final CollectionLayoutData collectionLayoutData,
+            final FacetHolder facetHolder) {
+        final LazyLoadFacet lazyLoadFacet = facetHolder.getFacet(LazyLoadFacet.class);
+        if(isDoOp(lazyLoadFacet) && lazyLoadFacet.isLazy()) {
+            collectionLayoutData.setLazyLoad(LazyLoad.ENABLED);
+        }
+    }
+
     protected void setDescribedAsIfAny(
             final HasDescribedAs hasDescribedAs,
             final FacetHolder facetHolder) {
@@ -42,6 +42,18 @@ void publishAction(
     @Programmatic
     void publishProperty(final Interaction.Execution execution);
 
+    /**
+     * Called once the transaction has committed, to hand off anything captured for asynchronous publishing.
+     */
+    @Programmatic
+    void transactionCommitted();
+
+    /**
+     * Called if the transaction is aborted, to discard anything captured for asynchronous publishing.
+     */
+    @Programmatic
+    void transactionAborted();
+
 
     interface Block<T> {
         T exec();
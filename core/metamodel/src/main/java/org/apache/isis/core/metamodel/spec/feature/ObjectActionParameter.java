@@ -112,6 +112,19 @@ ObjectAdapter[] getChoices(
             final ObjectAdapter[] argumentsIfAvailable,
             final InteractionInitiatedBy interactionInitiatedBy);
 
+    /**
+     * The number of leading arguments (of those passed to
+     * {@link #getChoices(ObjectAdapter, ObjectAdapter[], InteractionInitiatedBy)}) that the choices for this
+     * parameter may depend upon; for a <tt>choicesNXxx</tt> supporting method this is the number of parameters that
+     * it declares.
+     *
+     * <p>
+     *     Allows viewers to reuse previously obtained choices while none of these arguments has changed.  May
+     *     overestimate, but must never underestimate.
+     * </p>
+     */
+    int getChoicesDependentArgumentCount();
+
 
     ObjectAdapter getDefault(ObjectAdapter adapter);
 
@@ -21,6 +21,7 @@
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.google.common.base.Function;
 import com.google.common.base.Predicate;
@@ -274,6 +275,7 @@ public boolean apply(final ObjectSpecification objectSpecification) {
         // the cache (SpecificationCacheDefault will fail-fast as not initialized
         cache.init();
 
+        bumpGeneration();
     }
 
     private void loadSpecificationsFor(
@@ -307,6 +309,7 @@ public void shutdown() {
         state = State.NOT_INITIALIZED;
 
         cache.clear();
+        bumpGeneration();
     }
 
     //endregion
@@ -338,6 +341,7 @@ public void invalidateCache(final Class<?> cls) {
             }
             spec = spec.superclass();
         }
+        bumpGeneration();
     }
 
 
@@ -347,6 +351,38 @@ private void recache(final ObjectSpecification newSpec) {
 
     //endregion
 
+    //region > generation
+
+    /**
+     * Shared across all instances, so that a generation is never reused even if the metamodel is rebuilt from
+     * scratch (as happens in integration tests).
+     */
+    private static final AtomicLong generationSequence = new AtomicLong();
+
+    private volatile long generation = generationSequence.incrementAndGet();
+
+    /**
+     * Identifies the current state of the metamodel; changes whenever it is initialized, validated or whenever
+     * any specification is {@link #invalidateCache(Class) invalidated}.
+     *
+     * <p>
+     * Allows viewers to cache representations derived purely from the metamodel (for example, the
+     * <tt>domain-types</tt> resources and swagger spec of the Restful Objects viewer), discarding them if the
+     * generation changes.  In production the metamodel is frozen once validated, so this never changes
+     * thereafter.
+     * </p>
+     */
+    @Programmatic
+    public long getGeneration() {
+        return generation;
+    }
+
+    private void bumpGeneration() {
+        generation = generationSequence.incrementAndGet();
+    }
+
+    //endregion
+
     //region > validation
 
     private ValidationFailures validationFailures;
@@ -357,6 +393,7 @@ public void validateAndAssert() {
         validationFailures.assertNone();
 
         cache.init();
+        bumpGeneration();
     }
 
     @Programmatic
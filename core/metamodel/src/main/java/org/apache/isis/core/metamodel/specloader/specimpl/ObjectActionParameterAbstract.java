@@ -19,6 +19,7 @@
 
 package org.apache.isis.core.metamodel.specloader.specimpl;
 
+import java.lang.reflect.Method;
 import java.util.List;
 
 import com.google.common.collect.Lists;
@@ -41,6 +42,7 @@
 import org.apache.isis.core.metamodel.facetapi.FacetHolder;
 import org.apache.isis.core.metamodel.facetapi.FeatureType;
 import org.apache.isis.core.metamodel.facetapi.MultiTypedFacet;
+import org.apache.isis.core.metamodel.facets.ImperativeFacet;
 import org.apache.isis.core.metamodel.facets.TypedHolder;
 import org.apache.isis.core.metamodel.facets.all.describedas.DescribedAsFacet;
 import org.apache.isis.core.metamodel.facets.all.named.NamedFacet;
@@ -343,6 +345,25 @@ public ObjectAdapter[] getChoices(
         return findChoices(target, args, interactionInitiatedBy);
     }
 
+    @Override
+    public int getChoicesDependentArgumentCount() {
+        final ActionParameterChoicesFacet facet = getFacet(ActionParameterChoicesFacet.class);
+        if (facet == null) {
+            return 0;
+        }
+        final ImperativeFacet imperativeFacet = ImperativeFacet.Util.getImperativeFacet(facet);
+        if (imperativeFacet == null) {
+            // eg choices from an enum or bounded type, or from a parented collection; not dependent on any arguments
+            return 0;
+        }
+        // for contributed actions, this includes the contributee (so overestimates by one, which is safe)
+        int count = 0;
+        for (final Method method : imperativeFacet.getMethods()) {
+            count = Math.max(count, method.getParameterTypes().length);
+        }
+        return count;
+    }
+
     private ObjectAdapter[] findChoices(
             final ObjectAdapter target,
             final List<ObjectAdapter> args,
@@ -0,0 +1,65 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.threadpool;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe tracking of the last, maximum and average of a series of latencies (eg between work being queued and
+ * being completed), as reported by the <code>Statistics</code> of the framework's queued services.
+ */
+public class LatencyStatistics {
+
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalMillis = new AtomicLong();
+    private final AtomicLong maxMillis = new AtomicLong();
+    private volatile long lastMillis;
+
+    public void record(final long millis) {
+        lastMillis = millis;
+        totalMillis.addAndGet(millis);
+        count.incrementAndGet();
+        long max;
+        while(millis > (max = maxMillis.get())) {
+            if(maxMillis.compareAndSet(max, millis)) {
+                break;
+            }
+        }
+    }
+
+    public long getLastMillis() {
+        return lastMillis;
+    }
+
+    public long getMaxMillis() {
+        return maxMillis.get();
+    }
+
+    public double getAverageMillis() {
+        final long count = this.count.get();
+        return count > 0 ? (double) totalMillis.get() / count : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("avg %.1f ms, max %d ms", getAverageMillis(), getMaxMillis());
+    }
+
+}
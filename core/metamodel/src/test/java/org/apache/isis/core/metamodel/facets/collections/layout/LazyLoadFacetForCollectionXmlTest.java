@@ -0,0 +1,66 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.facets.collections.layout;
+
+import org.junit.Test;
+
+import org.apache.isis.applib.annotation.LazyLoad;
+import org.apache.isis.applib.layout.component.CollectionLayoutData;
+import org.apache.isis.core.metamodel.facetapi.FacetHolder;
+import org.apache.isis.core.metamodel.facetapi.FacetHolderImpl;
+import org.apache.isis.core.metamodel.facets.collections.collection.lazyload.LazyLoadFacet;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class LazyLoadFacetForCollectionXmlTest {
+
+    private final FacetHolder holder = new FacetHolderImpl();
+
+    @Test
+    public void when_enabled() throws Exception {
+        final LazyLoadFacet facet = LazyLoadFacetForCollectionXml.create(layoutData(LazyLoad.ENABLED), holder);
+
+        assertThat(facet.value(), is(LazyLoad.ENABLED));
+        assertThat(facet.isLazy(), is(true));
+    }
+
+    @Test
+    public void when_disabled() throws Exception {
+        final LazyLoadFacet facet = LazyLoadFacetForCollectionXml.create(layoutData(LazyLoad.DISABLED), holder);
+
+        assertThat(facet.value(), is(LazyLoad.DISABLED));
+        assertThat(facet.isLazy(), is(false));
+    }
+
+    @Test
+    public void when_as_configured_or_not_specified_then_none() throws Exception {
+        assertThat(LazyLoadFacetForCollectionXml.create(layoutData(LazyLoad.AS_CONFIGURED), holder), is(nullValue()));
+        assertThat(LazyLoadFacetForCollectionXml.create(layoutData(null), holder), is(nullValue()));
+        assertThat(LazyLoadFacetForCollectionXml.create(null, holder), is(nullValue()));
+    }
+
+    private static CollectionLayoutData layoutData(final LazyLoad lazyLoad) {
+        final CollectionLayoutData collectionLayoutData = new CollectionLayoutData();
+        collectionLayoutData.setLazyLoad(lazyLoad);
+        return collectionLayoutData;
+    }
+
+}
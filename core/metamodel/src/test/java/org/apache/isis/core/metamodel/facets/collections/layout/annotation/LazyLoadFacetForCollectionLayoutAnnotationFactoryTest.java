@@ -0,0 +1,116 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.facets.collections.layout.annotation;
+
+import java.lang.reflect.Method;
+import java.util.SortedSet;
+
+import com.google.common.collect.Sets;
+
+import org.apache.isis.applib.annotation.CollectionLayout;
+import org.apache.isis.applib.annotation.LazyLoad;
+import org.apache.isis.core.commons.config.IsisConfiguration;
+import org.apache.isis.core.metamodel.facets.AbstractFacetFactoryTest;
+import org.apache.isis.core.metamodel.facets.FacetFactory.ProcessMethodContext;
+import org.apache.isis.core.metamodel.facets.collections.collection.lazyload.LazyLoadConfiguration;
+import org.apache.isis.core.metamodel.facets.collections.collection.lazyload.LazyLoadFacet;
+import org.apache.isis.core.metamodel.facets.collections.layout.CollectionLayoutFacetFactory;
+import org.apache.isis.core.metamodel.facets.collections.layout.LazyLoadFacetForCollectionLayoutAnnotation;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.Assert.assertThat;
+
+public class LazyLoadFacetForCollectionLayoutAnnotationFactoryTest extends AbstractFacetFactoryTest {
+
+    private CollectionLayoutFacetFactory facetFactory;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        facetFactory = new CollectionLayoutFacetFactory() {
+            @Override protected IsisConfiguration getConfiguration() {
+                return stubConfiguration;
+            }
+        };
+    }
+
+    static class Customer {
+        @SuppressWarnings("unused")
+        public SortedSet<String> getFirstNames() {
+            return Sets.newTreeSet();
+        }
+
+        @SuppressWarnings("unused")
+        @CollectionLayout(lazyLoad = LazyLoad.ENABLED)
+        public SortedSet<String> getOrders() {
+            return Sets.newTreeSet();
+        }
+
+        @SuppressWarnings("unused")
+        @CollectionLayout(lazyLoad = LazyLoad.DISABLED)
+        public SortedSet<String> getAddresses() {
+            return Sets.newTreeSet();
+        }
+    }
+
+    public void testWhenNotAnnotatedAndNotConfiguredThenEager() {
+        final LazyLoadFacet facet = processAndGetFacet("getFirstNames");
+
+        assertThat(facet.value(), is(LazyLoad.DISABLED));
+        assertThat(facet.isLazy(), is(false));
+    }
+
+    public void testWhenNotAnnotatedThenAsConfigured() {
+        stubConfiguration.add(LazyLoadConfiguration.LAZY_LOAD_KEY, "true");
+
+        final LazyLoadFacet facet = processAndGetFacet("getFirstNames");
+
+        assertThat(facet.value(), is(LazyLoad.ENABLED));
+        assertThat(facet.isLazy(), is(true));
+    }
+
+    public void testWhenEnabled() {
+        final LazyLoadFacet facet = processAndGetFacet("getOrders");
+
+        assertThat(facet.isLazy(), is(true));
+    }
+
+    public void testWhenDisabledThenOverridesConfiguration() {
+        stubConfiguration.add(LazyLoadConfiguration.LAZY_LOAD_KEY, "true");
+
+        final LazyLoadFacet facet = processAndGetFacet("getAddresses");
+
+        assertThat(facet.value(), is(LazyLoad.DISABLED));
+        assertThat(facet.isLazy(), is(false));
+    }
+
+    private LazyLoadFacet processAndGetFacet(final String methodName) {
+        final Method method = findMethod(Customer.class, methodName);
+
+        facetFactory.process(new ProcessMethodContext(Customer.class, null, null, method, methodRemover, facetedMethod));
+
+        final LazyLoadFacet facet = facetedMethod.getFacet(LazyLoadFacet.class);
+        assertThat(facet, is(notNullValue()));
+        assertThat(facet, is(instanceOf(LazyLoadFacetForCollectionLayoutAnnotation.class)));
+        return facet;
+    }
+
+}
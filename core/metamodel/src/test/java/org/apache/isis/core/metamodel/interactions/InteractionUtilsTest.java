@@ -0,0 +1,176 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.interactions;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.Identifier;
+import org.apache.isis.applib.annotation.Where;
+import org.apache.isis.applib.events.VisibilityEvent;
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.commons.authentication.AuthenticationSessionProvider;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
+import org.apache.isis.core.metamodel.consent.InteractionResult;
+import org.apache.isis.core.metamodel.facetapi.Facet;
+import org.apache.isis.core.metamodel.facetapi.FacetAbstract;
+import org.apache.isis.core.metamodel.facetapi.FacetHolder;
+import org.apache.isis.core.metamodel.facetapi.FacetHolderImpl;
+import org.apache.isis.core.runtime.authorization.AuthorizationManager;
+import org.apache.isis.core.runtime.authorization.standard.AuthorizationFacetAbstract;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class InteractionUtilsTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private ObjectAdapter mockTarget1;
+    @Mock
+    private ObjectAdapter mockTarget2;
+
+    @Mock
+    private AuthorizationManager mockAuthorizationManager;
+    @Mock
+    private AuthenticationSessionProvider mockAuthenticationSessionProvider;
+    @Mock
+    private AuthenticationSession mockAuthenticationSession;
+
+    interface HiddenCountingFacet extends Facet {
+    }
+
+    static class HiddenCountingFacetAbstract extends FacetAbstract implements HidingInteractionAdvisor {
+        int count;
+        private final String reason;
+
+        HiddenCountingFacetAbstract(final FacetHolder holder, final String reason) {
+            super(HiddenCountingFacet.class, holder, Derivation.NOT_DERIVED);
+            this.reason = reason;
+        }
+
+        @Override
+        public String hides(final VisibilityContext<? extends VisibilityEvent> ic) {
+            count++;
+            return reason;
+        }
+    }
+
+    static class InstanceIndependentHiddenFacet extends HiddenCountingFacetAbstract
+            implements InstanceIndependentInteractionAdvisor {
+        private final InstanceIndependentAdviceCache cache = new InstanceIndependentAdviceCache();
+
+        InstanceIndependentHiddenFacet(final FacetHolder holder, final String reason) {
+            super(holder, reason);
+        }
+
+        @Override
+        public Object instanceIndependentKey(final InteractionContext<?> ic) {
+            return INDEPENDENT;
+        }
+
+        @Override
+        public InstanceIndependentAdviceCache getInstanceIndependentAdviceCache() {
+            return cache;
+        }
+    }
+
+    private FacetHolderImpl facetHolder;
+    private Identifier identifier;
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockTarget1).getObject();
+            will(returnValue(new Object()));
+            allowing(mockTarget2).getObject();
+            will(returnValue(new Object()));
+        }});
+        facetHolder = new FacetHolderImpl();
+        identifier = Identifier.propertyOrCollectionIdentifier(Object.class, "name");
+    }
+
+    @Test
+    public void when_instance_independent_then_evaluated_once_per_where() throws Exception {
+        final InstanceIndependentHiddenFacet facet = new InstanceIndependentHiddenFacet(facetHolder, "Hidden");
+        facetHolder.addFacet(facet);
+
+        assertThat(isVisibleReason(mockTarget1, Where.OBJECT_FORMS), is("Hidden"));
+        assertThat(isVisibleReason(mockTarget2, Where.OBJECT_FORMS), is("Hidden"));
+        assertThat(facet.count, is(1));
+
+        assertThat(isVisibleReason(mockTarget2, Where.ALL_TABLES), is("Hidden"));
+        assertThat(facet.count, is(2));
+    }
+
+    @Test
+    public void when_instance_independent_and_not_hidden_then_also_cached() throws Exception {
+        final InstanceIndependentHiddenFacet facet = new InstanceIndependentHiddenFacet(facetHolder, null);
+        facetHolder.addFacet(facet);
+
+        assertThat(isVisibleReason(mockTarget1, Where.OBJECT_FORMS), is(nullValue()));
+        assertThat(isVisibleReason(mockTarget2, Where.OBJECT_FORMS), is(nullValue()));
+        assertThat(facet.count, is(1));
+    }
+
+    @Test
+    public void when_not_instance_independent_then_evaluated_every_time() throws Exception {
+        final HiddenCountingFacetAbstract facet = new HiddenCountingFacetAbstract(facetHolder, "Hidden");
+        facetHolder.addFacet(facet);
+
+        isVisibleReason(mockTarget1, Where.OBJECT_FORMS);
+        isVisibleReason(mockTarget2, Where.OBJECT_FORMS);
+        assertThat(facet.count, is(2));
+    }
+
+    @Test
+    public void authorization_is_evaluated_every_time_so_that_revoked_permissions_take_effect() throws Exception {
+        facetHolder.addFacet(new AuthorizationFacetAbstract(
+                facetHolder, mockAuthorizationManager, mockAuthenticationSessionProvider) {});
+
+        context.checking(new Expectations() {{
+            allowing(mockAuthenticationSessionProvider).getAuthenticationSession();
+            will(returnValue(mockAuthenticationSession));
+
+            oneOf(mockAuthorizationManager).isVisible(mockAuthenticationSession, mockTarget1, identifier);
+            will(returnValue(true));
+            oneOf(mockAuthorizationManager).isVisible(mockAuthenticationSession, mockTarget2, identifier);
+            will(returnValue(false));
+        }});
+
+        assertThat(isVisibleReason(mockTarget1, Where.OBJECT_FORMS), is(nullValue()));
+        assertThat(isVisibleReason(mockTarget2, Where.OBJECT_FORMS), is("Not authorized to view"));
+    }
+
+    private String isVisibleReason(final ObjectAdapter target, final Where where) {
+        final PropertyVisibilityContext ic =
+                new PropertyVisibilityContext(target, identifier, InteractionInitiatedBy.USER, where);
+        final InteractionResult result = InteractionUtils.isVisibleResult(facetHolder, ic);
+        return result.getReason();
+    }
+
+}
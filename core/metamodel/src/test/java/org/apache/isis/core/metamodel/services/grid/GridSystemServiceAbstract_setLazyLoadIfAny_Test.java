@@ -0,0 +1,80 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.services.grid;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.isis.applib.annotation.LazyLoad;
+import org.apache.isis.applib.layout.component.CollectionLayoutData;
+import org.apache.isis.core.metamodel.facetapi.FacetHolder;
+import org.apache.isis.core.metamodel.facetapi.FacetHolderImpl;
+import org.apache.isis.core.metamodel.facetapi.FacetUtil;
+import org.apache.isis.core.metamodel.facets.collections.collection.lazyload.LazyLoadFacetAbstract;
+import org.apache.isis.core.metamodel.services.grid.bootstrap3.GridSystemServiceBS3;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class GridSystemServiceAbstract_setLazyLoadIfAny_Test {
+
+    static class LazyLoadFacetForTesting extends LazyLoadFacetAbstract {
+        LazyLoadFacetForTesting(final LazyLoad value, final FacetHolder holder) {
+            super(value, holder);
+        }
+    }
+
+    private GridSystemServiceAbstract<?> gridSystemService;
+    private FacetHolder facetHolder;
+    private CollectionLayoutData collectionLayoutData;
+
+    @Before
+    public void setUp() throws Exception {
+        gridSystemService = new GridSystemServiceBS3();
+        facetHolder = new FacetHolderImpl();
+        collectionLayoutData = new CollectionLayoutData();
+    }
+
+    @Test
+    public void when_lazy() throws Exception {
+        FacetUtil.addFacet(new LazyLoadFacetForTesting(LazyLoad.ENABLED, facetHolder));
+
+        gridSystemService.setLazyLoadIfAny(collectionLayoutData, facetHolder);
+
+        assertThat(collectionLayoutData.getLazyLoad(), is(LazyLoad.ENABLED));
+    }
+
+    @Test
+    public void when_eager_then_left_unset() throws Exception {
+        FacetUtil.addFacet(new LazyLoadFacetForTesting(LazyLoad.DISABLED, facetHolder));
+
+        gridSystemService.setLazyLoadIfAny(collectionLayoutData, facetHolder);
+
+        assertThat(collectionLayoutData.getLazyLoad(), is(nullValue()));
+    }
+
+    @Test
+    public void when_no_facet_then_left_unset() throws Exception {
+        gridSystemService.setLazyLoadIfAny(collectionLayoutData, facetHolder);
+
+        assertThat(collectionLayoutData.getLazyLoad(), is(nullValue()));
+    }
+
+}
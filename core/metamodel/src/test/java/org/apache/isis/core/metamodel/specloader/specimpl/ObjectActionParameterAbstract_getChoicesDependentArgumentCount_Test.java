@@ -0,0 +1,141 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.specloader.specimpl;
+
+import java.util.List;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
+import org.apache.isis.core.metamodel.facetapi.FeatureType;
+import org.apache.isis.core.metamodel.facets.TypedHolder;
+import org.apache.isis.core.metamodel.facets.param.choices.ActionParameterChoicesFacet;
+import org.apache.isis.core.metamodel.facets.param.choices.ActionParameterChoicesFacetNone;
+import org.apache.isis.core.metamodel.facets.param.choices.methodnum.ActionParameterChoicesFacetViaMethod;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ObjectActionParameterAbstract_getChoicesDependentArgumentCount_Test {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private ObjectActionDefault parentAction;
+    @Mock
+    private TypedHolder actionParamPeer;
+
+    public static class Customer {
+        public void placeOrder(final String category, final String product, final int quantity) {
+        }
+        public List<String> choices0PlaceOrder() {
+            return null;
+        }
+        public List<String> choices1PlaceOrder(final String category) {
+            return null;
+        }
+        public List<Integer> choices2PlaceOrder(final String category, final String product) {
+            return null;
+        }
+    }
+
+    private static class ObjectActionParameterAbstractToTest extends ObjectActionParameterAbstract {
+        private ObjectActionParameterAbstractToTest(final int number, final ObjectActionDefault objectAction, final TypedHolder peer) {
+            super(FeatureType.ACTION_PARAMETER_SCALAR, number, objectAction, peer);
+        }
+
+        @Override
+        public ObjectAdapter get(final ObjectAdapter owner, final InteractionInitiatedBy interactionInitiatedBy) {
+            return null;
+        }
+
+        @Override
+        public String isValid(
+                final ObjectAdapter objectAdapter,
+                final Object proposedValue,
+                final InteractionInitiatedBy interactionInitiatedBy) {
+            return null;
+        }
+    }
+
+    private ObjectActionParameterAbstractToTest objectActionParameter;
+
+    @Before
+    public void setUp() throws Exception {
+        objectActionParameter = new ObjectActionParameterAbstractToTest(2, parentAction, actionParamPeer);
+    }
+
+    @Test
+    public void when_no_choices() throws Exception {
+        givenChoicesFacet(null);
+
+        assertThat(objectActionParameter.getChoicesDependentArgumentCount(), is(0));
+    }
+
+    @Test
+    public void when_choices_not_from_a_method() throws Exception {
+        givenChoicesFacet(new ActionParameterChoicesFacetNone(actionParamPeer, null, null, null, null));
+
+        assertThat(objectActionParameter.getChoicesDependentArgumentCount(), is(0));
+    }
+
+    @Test
+    public void when_choices_method_with_no_parameters() throws Exception {
+        givenChoicesFacet(viaMethod("choices0PlaceOrder"));
+
+        assertThat(objectActionParameter.getChoicesDependentArgumentCount(), is(0));
+    }
+
+    @Test
+    public void when_choices_method_with_parameters() throws Exception {
+        givenChoicesFacet(viaMethod("choices1PlaceOrder", String.class));
+        assertThat(objectActionParameter.getChoicesDependentArgumentCount(), is(1));
+    }
+
+    @Test
+    public void when_choices_method_with_all_preceding_parameters() throws Exception {
+        givenChoicesFacet(viaMethod("choices2PlaceOrder", String.class, String.class));
+        assertThat(objectActionParameter.getChoicesDependentArgumentCount(), is(2));
+    }
+
+    private ActionParameterChoicesFacetViaMethod viaMethod(final String methodName, final Class<?>... parameterTypes)
+            throws NoSuchMethodException {
+        return new ActionParameterChoicesFacetViaMethod(
+                Customer.class.getMethod(methodName, parameterTypes), String.class, actionParamPeer,
+                null, null, null, null);
+    }
+
+    private void givenChoicesFacet(final ActionParameterChoicesFacet facet) {
+        context.checking(new Expectations() {
+            {
+                allowing(actionParamPeer).getFacet(ActionParameterChoicesFacet.class);
+                will(returnValue(facet));
+            }
+        });
+    }
+
+}
@@ -0,0 +1,158 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.export;
+
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.apache.isis.applib.annotation.Where;
+import org.apache.isis.applib.filter.Filter;
+import org.apache.isis.applib.filter.Filters;
+import org.apache.isis.applib.layout.grid.Grid;
+import org.apache.isis.applib.services.tablecol.TableColumnOrderService;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.facets.all.hide.HiddenFacet;
+import org.apache.isis.core.metamodel.facets.object.grid.GridFacet;
+import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.Contributed;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+
+/**
+ * Determines the properties rendered as the columns of a table of objects, either of a parented collection or of a
+ * standalone collection (eg returned by an action); used both to render tables and to export their contents.
+ */
+public final class CollectionColumns {
+
+    private CollectionColumns() {
+    }
+
+    /**
+     * The properties that are statically visible in tables, excluding any that reference the parent object,
+     * ordered by the first {@link TableColumnOrderService} (if any) that provides an order.
+     *
+     * @param parentAdapterIfAny - the owning object, if a parented collection.
+     * @param collectionIdIfAny - the collection's id, if a parented collection.
+     */
+    public static List<ObjectAssociation> propertiesFor(
+            final ObjectSpecification elementSpec,
+            final ObjectAdapter parentAdapterIfAny,
+            final String collectionIdIfAny,
+            final ServicesInjector servicesInjector) {
+
+        // same code also appears in EntityPage.
+        // we need to do this here otherwise any tables will render the columns in the wrong order until at least
+        // one object of that type has been rendered via EntityPage.
+        final GridFacet gridFacet = elementSpec.getFacet(GridFacet.class);
+        if(gridFacet != null) {
+            // the facet should always exist, in fact
+            // just enough to ask for the metadata.
+            // This will cause the current ObjectSpec to be updated as a side effect.
+            final Grid unused = gridFacet.getGrid();
+        }
+
+        final Where whereContext = whereFor(parentAdapterIfAny);
+        final ObjectSpecification parentSpecIfAny =
+                parentAdapterIfAny != null ? parentAdapterIfAny.getSpecification() : null;
+
+        @SuppressWarnings("unchecked")
+        final Filter<ObjectAssociation> filter = Filters.and(
+                ObjectAssociation.Filters.PROPERTIES,
+                ObjectAssociation.Filters.staticallyVisible(whereContext),
+                associationDoesNotReferenceParent(parentSpecIfAny));
+
+        final List<? extends ObjectAssociation> propertyList = elementSpec.getAssociations(Contributed.INCLUDED, filter);
+        final Map<String, ObjectAssociation> propertyById = Maps.newLinkedHashMap();
+        for (final ObjectAssociation property : propertyList) {
+            propertyById.put(property.getId(), property);
+        }
+        List<String> propertyIds = Lists.newArrayList(propertyById.keySet());
+
+        // optional SPI to reorder
+        final List<TableColumnOrderService> tableColumnOrderServices =
+                servicesInjector.lookupServices(TableColumnOrderService.class);
+
+        for (final TableColumnOrderService tableColumnOrderService : tableColumnOrderServices) {
+            final List<String> propertyReorderedIds = reordered(
+                    tableColumnOrderService, elementSpec, parentAdapterIfAny, collectionIdIfAny, propertyIds);
+            if(propertyReorderedIds != null) {
+                propertyIds = propertyReorderedIds;
+                break;
+            }
+        }
+
+        final List<ObjectAssociation> properties = Lists.newArrayList();
+        for (final String propertyId : propertyIds) {
+            final ObjectAssociation property = propertyById.get(propertyId);
+            if(property != null) {
+                properties.add(property);
+            }
+        }
+        return properties;
+    }
+
+    public static Where whereFor(final ObjectAdapter parentAdapterIfAny) {
+        return parentAdapterIfAny != null
+                ? Where.PARENTED_TABLES
+                : Where.STANDALONE_TABLES;
+    }
+
+    private static List<String> reordered(
+            final TableColumnOrderService tableColumnOrderService,
+            final ObjectSpecification elementSpec,
+            final ObjectAdapter parentAdapterIfAny,
+            final String collectionIdIfAny,
+            final List<String> propertyIds) {
+
+        final Class<?> collectionType = elementSpec.getCorrespondingClass();
+
+        if(parentAdapterIfAny != null) {
+            final Object parent = parentAdapterIfAny.getObject();
+            return tableColumnOrderService.orderParented(parent, collectionIdIfAny, collectionType, propertyIds);
+        } else {
+            return tableColumnOrderService.orderStandalone(collectionType, propertyIds);
+        }
+    }
+
+    static Filter<ObjectAssociation> associationDoesNotReferenceParent(final ObjectSpecification parentSpec) {
+        if(parentSpec == null) {
+            return Filters.any();
+        }
+        return new Filter<ObjectAssociation>() {
+            @Override
+            public boolean accept(ObjectAssociation association) {
+                final HiddenFacet facet = association.getFacet(HiddenFacet.class);
+                if(facet == null) {
+                    return true;
+                }
+                if (facet.where() != Where.REFERENCES_PARENT) {
+                    return true;
+                }
+                final ObjectSpecification assocSpec = association.getSpecification();
+                final boolean associationSpecIsOfParentSpec = parentSpec.isOfType(assocSpec);
+                final boolean isVisible = !associationSpecIsOfParentSpec;
+                return isVisible;
+            }
+        };
+    }
+
+}
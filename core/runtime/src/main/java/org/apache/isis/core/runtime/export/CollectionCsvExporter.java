@@ -0,0 +1,229 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.applib.annotation.Where;
+import org.apache.isis.core.commons.config.IsisConfiguration;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+
+/**
+ * Exports the elements of a collection as CSV (RFC 4180, UTF-8), with a column for the title of each element and
+ * then a column for each of the {@link CollectionColumns#propertiesFor(ObjectSpecification, ObjectAdapter, String,
+ * org.apache.isis.core.metamodel.services.ServicesInjector) properties} that would be shown in a table.
+ *
+ * <p>
+ *     The rows are written (and flushed) in chunks of {@link #KEY_CHUNK_SIZE configurable} size; after each chunk the
+ *     adapters created while writing it are {@link PersistenceSession#evictAdaptersExcept(Set) evicted}, so that
+ *     memory usage is bounded by the chunk size rather than by the number of elements.  For this to be effective the
+ *     provided elements should themselves be obtained lazily.
+ * </p>
+ */
+public class CollectionCsvExporter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CollectionCsvExporter.class);
+
+    public static final String MIME_TYPE = "text/csv";
+
+    public static final String KEY_ENABLED = "isis.viewers.collection.export.enabled";
+    public static final boolean KEY_ENABLED_DEFAULT = true;
+
+    public static final String KEY_CHUNK_SIZE = "isis.viewers.collection.export.chunkSize";
+    public static final int KEY_CHUNK_SIZE_DEFAULT = 500;
+
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final ObjectSpecification elementSpec;
+    private final ObjectAdapter parentAdapterIfAny;
+    private final List<ObjectAssociation> properties;
+    private final Where where;
+    private final PersistenceSession persistenceSession;
+    private final int chunkSize;
+
+    /**
+     * @param parentAdapterIfAny - the owning object, if a parented collection.
+     * @param collectionIdIfAny - the collection's id, if a parented collection.
+     */
+    public CollectionCsvExporter(
+            final ObjectSpecification elementSpec,
+            final ObjectAdapter parentAdapterIfAny,
+            final String collectionIdIfAny,
+            final PersistenceSession persistenceSession) {
+        this(elementSpec, parentAdapterIfAny,
+                CollectionColumns.propertiesFor(
+                        elementSpec, parentAdapterIfAny, collectionIdIfAny, persistenceSession.getServicesInjector()),
+                persistenceSession,
+                chunkSizeFrom(persistenceSession.getConfiguration()));
+    }
+
+    CollectionCsvExporter(
+            final ObjectSpecification elementSpec,
+            final ObjectAdapter parentAdapterIfAny,
+            final List<ObjectAssociation> properties,
+            final PersistenceSession persistenceSession,
+            final int chunkSize) {
+        this.elementSpec = elementSpec;
+        this.parentAdapterIfAny = parentAdapterIfAny;
+        this.properties = properties;
+        this.where = CollectionColumns.whereFor(parentAdapterIfAny);
+        this.persistenceSession = persistenceSession;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    public static boolean isEnabled(final IsisConfiguration configuration) {
+        return configuration.getBoolean(KEY_ENABLED, KEY_ENABLED_DEFAULT);
+    }
+
+    public static int chunkSizeFrom(final IsisConfiguration configuration) {
+        return configuration.getInteger(KEY_CHUNK_SIZE, KEY_CHUNK_SIZE_DEFAULT);
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * A file name for the export, derived from the provided name (eg of the collection).
+     */
+    public static String fileNameFor(final String name) {
+        final String baseName = name != null ? name.trim().replaceAll("[^A-Za-z0-9._-]+", "-") : "";
+        return (baseName.isEmpty() ? "export" : baseName) + ".csv";
+    }
+
+    /**
+     * Writes a header row and then a row for each element, to the provided stream (which is flushed but not closed).
+     *
+     * @return the number of rows written (excluding the header).
+     */
+    public int export(final Iterable<ObjectAdapter> elements, final OutputStream outputStream) throws IOException {
+
+        final Set<ObjectAdapter> retained = persistenceSession.getMappedAdapters();
+
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        // so that (in particular) Excel recognises the encoding
+        writer.write(BYTE_ORDER_MARK);
+        writeHeader(writer);
+
+        int rows = 0;
+        for (final ObjectAdapter element : elements) {
+            if(element == null) {
+                continue;
+            }
+            writeRow(writer, element);
+            if(++rows % chunkSize == 0) {
+                writer.flush();
+                persistenceSession.evictAdaptersExcept(retained);
+            }
+        }
+        writer.flush();
+        persistenceSession.evictAdaptersExcept(retained);
+
+        if(LOG.isDebugEnabled()) {
+            LOG.debug("exported {} rows of {}", rows, elementSpec.getFullIdentifier());
+        }
+        return rows;
+    }
+
+    private void writeHeader(final Writer writer) throws IOException {
+        writeCell(writer, (parentAdapterIfAny != null ? "Related " : "") + "Object");
+        for (final ObjectAssociation property : properties) {
+            writer.write(',');
+            writeCell(writer, property.getName());
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeRow(final Writer writer, final ObjectAdapter element) throws IOException {
+        writeCell(writer, element.titleString(parentAdapterIfAny));
+        for (final ObjectAssociation property : properties) {
+            writer.write(',');
+            writeCell(writer, valueOf(element, property));
+        }
+        writer.write("\r\n");
+    }
+
+    private String valueOf(final ObjectAdapter element, final ObjectAssociation property) {
+        if(property.isVisible(element, InteractionInitiatedBy.USER, where).isVetoed()) {
+            return null;
+        }
+        final ObjectAdapter valueAdapter = property.get(element, InteractionInitiatedBy.USER);
+        return valueAdapter != null ? valueAdapter.titleString(null) : null;
+    }
+
+    /**
+     * Values that a spreadsheet would interpret as a formula are prefixed with <tt>'</tt> (and quoted), so that they
+     * are shown as text instead (guarding against CSV/formula injection).
+     */
+    static void writeCell(final Writer writer, final String value) throws IOException {
+        if(value == null || value.isEmpty()) {
+            return;
+        }
+        final boolean formula = isFormula(value);
+        if(!formula && !requiresQuoting(value)) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        if(formula) {
+            writer.write('\'');
+        }
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static boolean isFormula(final String value) {
+        switch (value.charAt(0)) {
+        case '=':
+        case '+':
+        case '-':
+        case '@':
+        case '\t':
+        case '\r':
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    private static boolean requiresQuoting(final String value) {
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if(c == ',' || c == '"' || c == '\r' || c == '\n') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -305,12 +305,19 @@ private String objectTitleString(ObjectAdapter contextAdapterIfAny) {
         if (getObject() instanceof String) {
             return (String) getObject();
         }
+        final PresentationMemo.Entry memo = presentationMemoEntry();
+        if (memo != null && memo.hasTitle(contextAdapterIfAny)) {
+            return memo.getTitle();
+        }
         final ObjectSpecification specification = getSpecification();
         String title = specification.getTitle(contextAdapterIfAny, this);
         
         if (title == null) {
             title = getDefaultTitle();
         }
+        if (memo != null) {
+            memo.setTitle(contextAdapterIfAny, title);
+        }
         return title;
     }
 
@@ -401,7 +408,42 @@ private String aggregateResolveStateCode() {
      */
     @Override
     public String getIconName() {
-        return getSpecification().getIconName(this);
+        final PresentationMemo.Entry memo = presentationMemoEntry();
+        if (memo != null && memo.hasIconName()) {
+            return memo.getIconName();
+        }
+        final String iconName = getSpecification().getIconName(this);
+        if (memo != null) {
+            memo.setIconName(iconName);
+        }
+        return iconName;
+    }
+
+    //endregion
+
+    //region > cssClass
+
+    @Override
+    public String getCssClass() {
+        final PresentationMemo.Entry memo = presentationMemoEntry();
+        if (memo != null && memo.hasCssClass()) {
+            return memo.getCssClass();
+        }
+        final String cssClass = getSpecification().getCssClass(this);
+        if (memo != null) {
+            memo.setCssClass(cssClass);
+        }
+        return cssClass;
+    }
+
+    //endregion
+
+    //region > presentationMemo
+
+    private PresentationMemo.Entry presentationMemoEntry() {
+        return persistenceSession != null
+                ? persistenceSession.getPresentationMemo().entryFor(this)
+                : null;
     }
 
     //endregion
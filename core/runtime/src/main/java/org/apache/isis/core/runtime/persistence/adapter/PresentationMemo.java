@@ -0,0 +1,229 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.persistence.adapter;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.base.Objects;
+import com.google.common.collect.Sets;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.oid.Oid;
+import org.apache.isis.core.metamodel.adapter.oid.RootOid;
+import org.apache.isis.core.metamodel.adapter.version.Version;
+
+/**
+ * Memoizes the title, icon name and CSS class of persistent objects for the duration of a
+ * {@link org.apache.isis.core.runtime.system.persistence.PersistenceSession}, keyed by the identity (and
+ * {@link Version version}) of their {@link ObjectAdapter adapter}.
+ *
+ * <p>
+ *     Within a single interaction the same object is typically rendered many times (breadcrumbs, bookmarks, the
+ *     entity header, links from other objects, drop-downs and so on), each of which would otherwise re-evaluate its
+ *     title (potentially also navigating to and evaluating the titles of referenced objects).
+ * </p>
+ *
+ * <p>
+ *     Only persistent (root) objects are memoized, because only their changes are
+ *     {@link #invalidate(ObjectAdapter) notified} (by the
+ *     {@link org.apache.isis.core.runtime.services.changes.ChangedObjectsServiceInternal}).  Once an object has been
+ *     enlisted as changed it is never memoized again in this session (it may be modified further without being
+ *     re-enlisted); and because the title of one object may be derived from another, every enlistment discards all
+ *     of the memoized values.
+ * </p>
+ *
+ * <p>
+ *     Disabled by default: a title derived from state not tracked as a change (the current user or date, a
+ *     non-persistent field, or data changed by another session) would otherwise be stale for the rest of the session.
+ * </p>
+ *
+ * <p>
+ *     Not thread-safe; like the {@link org.apache.isis.core.runtime.system.persistence.PersistenceSession} that owns
+ *     it, it is only ever used by a single thread.
+ * </p>
+ */
+public class PresentationMemo {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PresentationMemo.class);
+
+    public static final String KEY_ENABLED = "isis.persistor.memoizeTitles";
+    public static final boolean KEY_ENABLED_DEFAULT = false;
+
+    private final boolean enabled;
+    private final PresentationMemoStatistics statistics;
+
+    private final Map<ObjectAdapter, Entry> entryByAdapter = new IdentityHashMap<>();
+    private final Set<ObjectAdapter> enlistedAdapters = Sets.newIdentityHashSet();
+
+    private long hits;
+    private long misses;
+    private long invalidations;
+
+    public PresentationMemo(final boolean enabled, final PresentationMemoStatistics statistics) {
+        this.enabled = enabled;
+        this.statistics = statistics;
+    }
+
+    /**
+     * The memoized values for the adapter, or <tt>null</tt> if it cannot be memoized.
+     */
+    Entry entryFor(final ObjectAdapter adapter) {
+        if(!enabled) {
+            return null;
+        }
+        final Oid oid = adapter.getOid();
+        if(!(oid instanceof RootOid) || !oid.isPersistent() || enlistedAdapters.contains(adapter)) {
+            return null;
+        }
+        final Version version = oid.getVersion();
+        Entry entry = entryByAdapter.get(adapter);
+        if(entry == null || !Objects.equal(entry.version, version)) {
+            entry = new Entry(version);
+            entryByAdapter.put(adapter, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Discards all memoized values, and prevents any further memoization of the specified (changed) adapter.
+     */
+    public void invalidate(final ObjectAdapter adapter) {
+        if(!enabled) {
+            return;
+        }
+        enlistedAdapters.add(adapter);
+        if(!entryByAdapter.isEmpty()) {
+            entryByAdapter.clear();
+            invalidations++;
+        }
+    }
+
+    /**
+     * Discards the memoized values (if any) of the specified adapter, which is no longer in use (it has been evicted
+     * from the session).
+     */
+    public void discard(final ObjectAdapter adapter) {
+        entryByAdapter.remove(adapter);
+        enlistedAdapters.remove(adapter);
+    }
+
+    /**
+     * Adds this session's counts to the {@link PresentationMemoStatistics application-wide statistics}, and
+     * discards all memoized values.
+     */
+    public void close() {
+        if(!enabled) {
+            return;
+        }
+        statistics.add(hits, misses, invalidations);
+        if(LOG.isDebugEnabled()) {
+            LOG.debug("hits={}, misses={}, invalidations={}, hitRate={}",
+                    hits, misses, invalidations, PresentationMemoStatistics.hitRate(hits, misses));
+        }
+        entryByAdapter.clear();
+        enlistedAdapters.clear();
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    class Entry {
+
+        private final Version version;
+
+        private boolean titleMemoized;
+        private ObjectAdapter titleContextAdapter;
+        private String title;
+
+        private boolean iconNameMemoized;
+        private String iconName;
+
+        private boolean cssClassMemoized;
+        private String cssClass;
+
+        private Entry(final Version version) {
+            this.version = version;
+        }
+
+        /**
+         * The title depends upon the context in which it is rendered, so is only memoized for the most
+         * recently used context adapter.
+         */
+        boolean hasTitle(final ObjectAdapter contextAdapterIfAny) {
+            return counted(titleMemoized && titleContextAdapter == contextAdapterIfAny);
+        }
+
+        String getTitle() {
+            return title;
+        }
+
+        void setTitle(final ObjectAdapter contextAdapterIfAny, final String title) {
+            this.titleMemoized = true;
+            this.titleContextAdapter = contextAdapterIfAny;
+            this.title = title;
+        }
+
+        boolean hasIconName() {
+            return counted(iconNameMemoized);
+        }
+
+        String getIconName() {
+            return iconName;
+        }
+
+        void setIconName(final String iconName) {
+            this.iconNameMemoized = true;
+            this.iconName = iconName;
+        }
+
+        boolean hasCssClass() {
+            return counted(cssClassMemoized);
+        }
+
+        String getCssClass() {
+            return cssClass;
+        }
+
+        void setCssClass(final String cssClass) {
+            this.cssClassMemoized = true;
+            this.cssClass = cssClass;
+        }
+
+        private boolean counted(final boolean hit) {
+            if(hit) {
+                hits++;
+            } else {
+                misses++;
+            }
+            return hit;
+        }
+    }
+
+}
@@ -0,0 +1,69 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.persistence.adapter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cumulative (application-wide) hit and miss counts of the {@link PresentationMemo}s of every
+ * {@link org.apache.isis.core.runtime.system.persistence.PersistenceSession}.
+ */
+public class PresentationMemoStatistics {
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    void add(final long hits, final long misses, final long invalidations) {
+        this.hits.addAndGet(hits);
+        this.misses.addAndGet(misses);
+        this.invalidations.addAndGet(invalidations);
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getInvalidations() {
+        return invalidations.get();
+    }
+
+    /**
+     * @return the proportion (0.0 to 1.0) of lookups that were satisfied by a memoized value.
+     */
+    public double getHitRate() {
+        return hitRate(getHits(), getMisses());
+    }
+
+    static double hitRate(final long hits, final long misses) {
+        final long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits=%d, misses=%d, invalidations=%d, hitRate=%.2f",
+                getHits(), getMisses(), getInvalidations(), getHitRate());
+    }
+}
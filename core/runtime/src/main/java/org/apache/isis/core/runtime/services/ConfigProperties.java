@@ -0,0 +1,45 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services;
+
+import java.util.Map;
+
+/**
+ * Helpers for reading typed values from the configuration properties passed to a domain service's
+ * <code>@PostConstruct</code> method.
+ *
+ * <p>
+ *     Internal to the framework; not part of the applib API.
+ * </p>
+ */
+public final class ConfigProperties {
+
+    private ConfigProperties(){}
+
+    public static int getIntElse(final Map<String, String> properties, final String key, final int dflt) {
+        final String value = properties.get(key);
+        return value != null ? Integer.parseInt(value.trim()) : dflt;
+    }
+
+    public static boolean getBooleanElse(final Map<String, String> properties, final String key, final boolean dflt) {
+        final String value = properties.get(key);
+        return value != null ? Boolean.parseBoolean(value.trim()) : dflt;
+    }
+
+}
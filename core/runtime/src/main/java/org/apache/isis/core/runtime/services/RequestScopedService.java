@@ -38,6 +38,11 @@ public interface RequestScopedService {
      * service and bind to the thread, and inject into that service using the provided {@link ServicesInjector}.
      *
      * <p>
+     *     If the service has no <code>@PostConstruct</code> method then this is deferred until the service is first
+     *     used within the request (if at all).
+     * </p>
+     *
+     * <p>
      *     This is done before the <code>@PostConstruct</code>, see {@link #__isis_postConstruct()}.
      * </p>
      */
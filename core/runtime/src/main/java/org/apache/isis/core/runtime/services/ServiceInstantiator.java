@@ -65,6 +65,10 @@
  * <p>
  * Doing the thread-local stuff within the service proxy means that, for the rest of Isis,
  * services can continue to be considered to be singletons.
+ *
+ * <p>
+ * Request-scoped services that have no <code>@PostConstruct</code> method are only instantiated
+ * when first used within the request, so requests that don't use them don't pay for them.
  * 
  * <p>
  * <b>Note</b>: there is one limitation to using proxies, namely that field-level injection into
@@ -159,7 +163,7 @@ public boolean isHandled(final Method m) {
             proxyObject.setHandler(new MethodHandler() {
             	// Allow serviceByThread to be propagated from the thread that starts the request 
             	// to any child-threads, hence InheritableThreadLocal.
-            	private InheritableThreadLocal<T> serviceByThread = new InheritableThreadLocal<>();
+            	private InheritableThreadLocal<RequestScopedInstance<T>> serviceByThread = new InheritableThreadLocal<>();
 
                 @Override
                 public Object invoke(final Object proxied, final Method proxyMethod, final Method proxiedMethod, final Object[] args) throws Throwable {
@@ -168,27 +172,34 @@ public Object invoke(final Object proxied, final Method proxyMethod, final Metho
 
                     if(proxyMethod.getName().equals("__isis_startRequest")) {
 
-                        T service = instantiate(cls);
-                        serviceByThread.set(service);
-
                         ServicesInjector servicesInjector = (ServicesInjector) args[0];
-                        servicesInjector.injectServicesInto(service);
+                        final RequestScopedInstance<T> instance = new RequestScopedInstance<>(cls, servicesInjector);
+                        serviceByThread.set(instance);
+
+                        // services with a @PostConstruct are instantiated eagerly, because that method may well
+                        // have side-effects (eg registering as a subscriber or as a lifecycle listener);
+                        // otherwise the service is only instantiated if actually used within the request.
+                        if(postConstructMethodsByServiceClass.containsKey(cls)) {
+                            instance.getOrCreate();
+                        }
 
                         return null;
 
                     } else if(proxyMethod.getName().equals("__isis_postConstruct")) {
 
-                        final T service = serviceByThread.get();
-
-                        callPostConstructIfPresent(service);
+                        final T service = currentServiceIfCreated();
+                        if(service != null) {
+                            callPostConstructIfPresent(service);
+                        }
 
                         return null;
 
                     } else if(proxyMethod.getName().equals("__isis_preDestroy")) {
 
-                        final T service = serviceByThread.get();
-
-                        callPreDestroyIfPresent(service);
+                        final T service = currentServiceIfCreated();
+                        if(service != null) {
+                            callPreDestroyIfPresent(service);
+                        }
 
                         return null;
 
@@ -199,29 +210,34 @@ public Object invoke(final Object proxied, final Method proxyMethod, final Metho
 
                     } else if(proxyMethod.getName().equals("hashCode") && proxyMethod.getParameterTypes().length == 0) {
 
-                        final T service = serviceByThread.get();
+                        final T service = currentServiceIfCreated();
                         return service != null? service.hashCode(): this.hashCode();
 
                     } else if(proxyMethod.getName().equals("equals") && proxyMethod.getParameterTypes().length == 1 && proxyMethod.getParameterTypes()[0] == Object.class) {
 
-                        final T service = serviceByThread.get();
+                        final T service = currentServiceIfCreated();
                         return service != null? service.equals(args[0]): this.equals(args[0]);
 
                     } else if(proxyMethod.getName().equals("toString") && proxyMethod.getParameterTypes().length == 0) {
 
-                        final T service = serviceByThread.get();
+                        final T service = currentServiceIfCreated();
                         return service != null? service.toString(): this.toString();
 
                     } else {
-                        T service = serviceByThread.get();
-                        if(service == null) {
+                        final RequestScopedInstance<T> instance = serviceByThread.get();
+                        if(instance == null) {
                             // shouldn't happen...
                             throw new IllegalStateException("No service of type " + cls + " is available on this ");
                         }
-                        final Object proxiedReturn = proxyMethod.invoke(service, args);
+                        final Object proxiedReturn = proxyMethod.invoke(instance.getOrCreate(), args);
                         return proxiedReturn;
                     }
                 }
+
+                private T currentServiceIfCreated() {
+                    final RequestScopedInstance<T> instance = serviceByThread.get();
+                    return instance != null ? instance.getIfCreated() : null;
+                }
             });
 
             return newInstance;
@@ -230,7 +246,35 @@ public Object invoke(final Object proxied, final Method proxyMethod, final Metho
         }
     }
 
-    private Set<Class<?>> cached = Sets.newHashSet();
+    /**
+     * The underlying instance of a request-scoped service for the current request (and any threads that it starts),
+     * instantiated (and injected into) on first use.
+     */
+    private static class RequestScopedInstance<T> {
+        private final Class<T> cls;
+        private final ServicesInjector servicesInjector;
+        private T service;
+
+        RequestScopedInstance(final Class<T> cls, final ServicesInjector servicesInjector) {
+            this.cls = cls;
+            this.servicesInjector = servicesInjector;
+        }
+
+        synchronized T getOrCreate() {
+            if(service == null) {
+                final T service = instantiate(cls);
+                servicesInjector.injectServicesInto(service);
+                this.service = service;
+            }
+            return service;
+        }
+
+        synchronized T getIfCreated() {
+            return service;
+        }
+    }
+
+    private Set<Class<?>> cached = Sets.newConcurrentHashSet();
     private Map<Class<?>, Method> postConstructMethodsByServiceClass = Maps.newConcurrentMap();
     private Map<Class<?>, Method> preDestroyMethodsByServiceClass = Maps.newConcurrentMap();
 
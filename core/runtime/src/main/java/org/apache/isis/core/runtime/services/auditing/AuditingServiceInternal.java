@@ -18,17 +18,22 @@
  */
 package org.apache.isis.core.runtime.services.auditing;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
 import org.apache.isis.applib.annotation.DomainService;
 import org.apache.isis.applib.annotation.NatureOfService;
 import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.audit.AuditEntry;
 import org.apache.isis.applib.services.audit.AuditerService;
+import org.apache.isis.applib.services.audit.AuditerService2;
 import org.apache.isis.applib.services.audit.AuditingService3;
-import org.apache.isis.applib.services.bookmark.Bookmark;
 import org.apache.isis.applib.services.clock.ClockService;
 import org.apache.isis.applib.services.iactn.InteractionContext;
 import org.apache.isis.applib.services.user.UserService;
@@ -37,6 +42,7 @@
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.facets.actions.action.invocation.CommandUtil;
 import org.apache.isis.core.metamodel.facets.object.audit.AuditableFacet;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
 import org.apache.isis.core.runtime.services.changes.AdapterAndProperty;
 import org.apache.isis.core.runtime.services.changes.ChangedObjectsServiceInternal;
 import org.apache.isis.core.runtime.services.changes.PreAndPostValues;
@@ -78,52 +84,86 @@ public void audit() {
         }
         final Set<Map.Entry<AdapterAndProperty, PreAndPostValues>> changedObjectProperties =
                 changedObjectsServiceInternal.getChangedObjectProperties();
+        if(changedObjectProperties.isEmpty()) {
+            return;
+        }
 
+        // the same for every entry, so looked up just the once
         final String currentUser = userService.getUser().getName();
         final java.sql.Timestamp currentTime = clockService.nowAsJavaSqlTimestamp();
+        final Transaction transaction = transactionService.currentTransaction();
+        final UUID transactionId = transaction.getTransactionId();
+        final int sequence = transaction.getSequence();
+
+        final List<AuditEntry> auditEntries =
+                auditEntriesFor(changedObjectProperties, transactionId, sequence, currentUser, currentTime);
+        if(auditEntries.isEmpty()) {
+            return;
+        }
 
-        for (Map.Entry<AdapterAndProperty, PreAndPostValues> auditEntry : changedObjectProperties) {
-            auditChangedProperty(currentTime, currentUser, auditEntry);
+        if(auditingServiceIfAny != null) {
+            for (final AuditEntry auditEntry : auditEntries) {
+                auditingServiceIfAny.audit(
+                        auditEntry.getInteractionId(), auditEntry.getTargetClassName(), auditEntry.getTarget(),
+                        auditEntry.getMemberIdentifier(), auditEntry.getPropertyName(),
+                        auditEntry.getPreValue(), auditEntry.getPostValue(),
+                        auditEntry.getUser(), auditEntry.getTimestamp());
+            }
+        }
+        for (final AuditerService auditerService : auditerServices) {
+            if (auditerService.isEnabled()) {
+                audit(auditerService, auditEntries);
+            }
         }
     }
 
-    private void auditChangedProperty(
-            final java.sql.Timestamp timestamp,
+    private static List<AuditEntry> auditEntriesFor(
+            final Set<Map.Entry<AdapterAndProperty, PreAndPostValues>> changedObjectProperties,
+            final UUID transactionId,
+            final int sequence,
             final String user,
-            final Map.Entry<AdapterAndProperty, PreAndPostValues> auditEntry) {
-
-        final AdapterAndProperty aap = auditEntry.getKey();
-        final ObjectAdapter adapter = aap.getAdapter();
+            final java.sql.Timestamp timestamp) {
+
+        // typically many changed properties for each of only a few types of object
+        final Map<ObjectSpecification, String> targetClassBySpec = Maps.newHashMap();
+
+        final List<AuditEntry> auditEntries = Lists.newArrayListWithCapacity(changedObjectProperties.size());
+        for (final Map.Entry<AdapterAndProperty, PreAndPostValues> changedObjectProperty : changedObjectProperties) {
+            final AdapterAndProperty aap = changedObjectProperty.getKey();
+            final ObjectAdapter adapter = aap.getAdapter();
+            final ObjectSpecification spec = adapter.getSpecification();
+
+            String targetClass = targetClassBySpec.get(spec);
+            if(targetClass == null && !targetClassBySpec.containsKey(spec)) {
+                final AuditableFacet auditableFacet = spec.getFacet(AuditableFacet.class);
+                targetClass = auditableFacet == null || auditableFacet.isDisabled()
+                        ? null
+                        : CommandUtil.targetClassNameFor(adapter);
+                targetClassBySpec.put(spec, targetClass);
+            }
+            if(targetClass == null) {
+                // not auditable
+                continue;
+            }
 
-        final AuditableFacet auditableFacet = adapter.getSpecification().getFacet(AuditableFacet.class);
-        if(auditableFacet == null || auditableFacet.isDisabled()) {
-            return;
+            final PreAndPostValues papv = changedObjectProperty.getValue();
+            auditEntries.add(new AuditEntry(
+                    transactionId, sequence, targetClass, aap.getBookmark(), aap.getMemberId(), aap.getPropertyId(),
+                    papv.getPreString(), papv.getPostString(), user, timestamp));
         }
+        return auditEntries;
+    }
 
-        final Bookmark target = aap.getBookmark();
-        final String propertyId = aap.getPropertyId();
-        final String memberId = aap.getMemberId();
-
-        final PreAndPostValues papv = auditEntry.getValue();
-        final String preValue = papv.getPreString();
-        final String postValue = papv.getPostString();
-
-        final String targetClass = CommandUtil.targetClassNameFor(adapter);
-
-        Transaction transaction = transactionService.currentTransaction();
-        final UUID transactionId = transaction.getTransactionId();
-        final int sequence = transaction.getSequence();
-
-
-        if(auditingServiceIfAny != null) {
-            auditingServiceIfAny
-                    .audit(transactionId, targetClass, target, memberId, propertyId, preValue, postValue, user, timestamp);
+    /**
+     * In a single call if the auditer supports it, otherwise one call per entry.
+     */
+    static void audit(final AuditerService auditerService, final List<AuditEntry> auditEntries) {
+        if(auditerService instanceof AuditerService2) {
+            ((AuditerService2) auditerService).auditAll(Collections.unmodifiableList(auditEntries));
+            return;
         }
-        for (AuditerService auditerService : auditerServices) {
-            if (auditerService.isEnabled()) {
-                auditerService
-                        .audit(transactionId, sequence, targetClass, target, memberId, propertyId, preValue, postValue, user, timestamp);
-            }
+        for (final AuditEntry auditEntry : auditEntries) {
+            auditEntry.auditTo(auditerService);
         }
     }
 
@@ -131,13 +171,13 @@ private void auditChangedProperty(
      * could be null if none has been registered.
      */
     @javax.inject.Inject
-    private AuditingService3 auditingServiceIfAny;
+    AuditingService3 auditingServiceIfAny;
 
     @javax.inject.Inject
-    private List<AuditerService> auditerServices;
+    List<AuditerService> auditerServices;
 
     @javax.inject.Inject
-    private ChangedObjectsServiceInternal changedObjectsServiceInternal;
+    ChangedObjectsServiceInternal changedObjectsServiceInternal;
 
     @javax.inject.Inject
     UserService userService;
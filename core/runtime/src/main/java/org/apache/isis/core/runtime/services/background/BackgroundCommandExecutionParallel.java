@@ -0,0 +1,459 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.background;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.collect.Lists;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.applib.services.command.Command;
+import org.apache.isis.applib.services.command.CommandExecutorService;
+import org.apache.isis.applib.services.command.CommandWithDto;
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.commons.config.IsisConfiguration;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+import org.apache.isis.core.runtime.system.transaction.IsisTransactionManager;
+import org.apache.isis.core.runtime.system.transaction.TransactionalClosureWithReturn;
+import org.apache.isis.core.runtime.threadpool.DaemonThreadFactory;
+
+/**
+ * As per {@link BackgroundCommandExecution}, but executing the commands found on a configurable number of worker
+ * threads, each in its own {@link org.apache.isis.core.runtime.system.session.IsisSession session}.
+ *
+ * <p>
+ * The commands are partitioned by their {@link Command#getTarget() target}, so that commands on the same object are
+ * always executed by the same worker, in the order in which they were found.  Before executing each command the
+ * worker {@link #claim(UUID) claims} it (within its own session); implementations should do this atomically (for
+ * example by conditionally updating a status or lease column), so that several instances of the application can
+ * execute background commands from the same store without executing any command twice.
+ * </p>
+ *
+ * <p>
+ * Commands that fail (that is, whose {@link Command#getException() exception} is set) can optionally be retried,
+ * with exponential back-off.  Once all workers have finished, the throughput is logged; see also
+ * {@link #getStatistics()}.  Calling {@link #shutdown()} (from another thread) causes the workers to stop once
+ * their current command is complete.
+ * </p>
+ */
+public abstract class BackgroundCommandExecutionParallel extends BackgroundCommandExecution {
+
+    private final static Logger LOG = LoggerFactory.getLogger(BackgroundCommandExecutionParallel.class);
+
+    public static final String KEY_WORKERS = "isis.services.backgroundCommands.workers";
+    public static final int KEY_WORKERS_DEFAULT = 4;
+
+    /**
+     * The maximum number of times that a failing command is executed; 1 (the default) means no retries.
+     */
+    public static final String KEY_MAX_ATTEMPTS = "isis.services.backgroundCommands.maxAttempts";
+    public static final int KEY_MAX_ATTEMPTS_DEFAULT = 1;
+
+    /**
+     * The delay before the first retry; doubled for each subsequent retry.
+     */
+    public static final String KEY_RETRY_BACKOFF_MILLIS = "isis.services.backgroundCommands.retryBackoffMillis";
+    public static final int KEY_RETRY_BACKOFF_MILLIS_DEFAULT = 1000;
+
+    /**
+     * How long to wait, once {@link #shutdown() shut down}, for the workers to finish their current commands.
+     */
+    public static final String KEY_SHUTDOWN_TIMEOUT_SECONDS = "isis.services.backgroundCommands.shutdownTimeoutSeconds";
+    public static final int KEY_SHUTDOWN_TIMEOUT_SECONDS_DEFAULT = 60;
+
+    public static class Statistics {
+
+        private final AtomicLong executed = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong retried = new AtomicLong();
+        private final AtomicLong notClaimed = new AtomicLong();
+        private volatile long elapsedMillis;
+
+        /**
+         * The number of commands executed (whether or not they failed), not counting retries.
+         */
+        public long getExecuted() {
+            return executed.get();
+        }
+
+        /**
+         * The number of commands that failed (on their final attempt).
+         */
+        public long getFailed() {
+            return failed.get();
+        }
+
+        public long getRetried() {
+            return retried.get();
+        }
+
+        /**
+         * The number of commands that were not {@link #claim(UUID) claimed}, eg because already claimed by another
+         * instance.
+         */
+        public long getNotClaimed() {
+            return notClaimed.get();
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        /**
+         * Commands executed per second.
+         */
+        public double getThroughput() {
+            return elapsedMillis > 0 ? executed.get() * 1000.0 / elapsedMillis : 0.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("executed %d (failed %d, retried %d, not claimed %d) in %d ms, %.1f/s",
+                    getExecuted(), getFailed(), getRetried(), getNotClaimed(), getElapsedMillis(), getThroughput());
+        }
+    }
+
+    private volatile Statistics statistics = new Statistics();
+    private volatile boolean shutdown;
+
+    private AuthenticationSession authSession;
+
+    public BackgroundCommandExecutionParallel() {
+        this(CommandExecutorService.SudoPolicy.NO_SWITCH);
+    }
+
+    public BackgroundCommandExecutionParallel(final CommandExecutorService.SudoPolicy sudoPolicy) {
+        super(sudoPolicy);
+    }
+
+    /**
+     * Statistics of the most recent (or current) execution.
+     */
+    public Statistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Requests that the workers stop once their current command is complete; commands not yet claimed are left for
+     * a subsequent execution.
+     *
+     * <p>
+     *     Applies only to the current execution (if any); a subsequent {@link #execute(AuthenticationSession, Object)}
+     *     starts afresh.
+     * </p>
+     */
+    public void shutdown() {
+        shutdown = true;
+    }
+
+    boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public void execute(final AuthenticationSession authSession, final Object context) {
+        starting(authSession);
+        super.execute(authSession, context);
+    }
+
+    void starting(final AuthenticationSession authSession) {
+        // retained so that each worker can open its own session as the same user
+        this.authSession = authSession;
+        this.shutdown = false;
+    }
+
+    @Override
+    protected void doExecute(final Object context) {
+
+        final PersistenceSession persistenceSession = getPersistenceSession();
+        final IsisTransactionManager transactionManager = getTransactionManager(persistenceSession);
+        final List<List<UUID>> partitions = transactionManager.executeWithinTransaction(
+                new TransactionalClosureWithReturn<List<List<UUID>>>() {
+                    @Override
+                    public List<List<UUID>> execute() {
+                        return partition(findBackgroundCommandsToExecute(), workersFrom(getConfiguration()));
+                    }
+                });
+
+        final IsisConfiguration configuration = getConfiguration();
+        final int maxAttempts = Math.max(1, configuration.getInteger(KEY_MAX_ATTEMPTS, KEY_MAX_ATTEMPTS_DEFAULT));
+        final long backoffMillis = configuration.getInteger(KEY_RETRY_BACKOFF_MILLIS, KEY_RETRY_BACKOFF_MILLIS_DEFAULT);
+        final int shutdownTimeoutSeconds =
+                configuration.getInteger(KEY_SHUTDOWN_TIMEOUT_SECONDS, KEY_SHUTDOWN_TIMEOUT_SECONDS_DEFAULT);
+
+        final List<Callable<Void>> workers = Lists.newArrayList();
+        for (final List<UUID> partition : partitions) {
+            if(partition.isEmpty()) {
+                continue;
+            }
+            workers.add(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    new Worker(partition, maxAttempts, backoffMillis).execute(authSession, null);
+                    return null;
+                }
+            });
+        }
+        if(workers.isEmpty()) {
+            LOG.debug("No commands to execute");
+            return;
+        }
+
+        final Statistics statistics = new Statistics();
+        this.statistics = statistics;
+
+        final long startedAt = System.currentTimeMillis();
+        final ExecutorService executor =
+                Executors.newFixedThreadPool(workers.size(), new DaemonThreadFactory("isis-background"));
+        try {
+            final List<Future<Void>> futures = Lists.newArrayList();
+            for (final Callable<Void> worker : workers) {
+                futures.add(executor.submit(worker));
+            }
+            for (final Future<Void> future : futures) {
+                awaitQuietly(future);
+            }
+        } finally {
+            executor.shutdown();
+            try {
+                if(!executor.awaitTermination(shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+                    LOG.warn("Workers did not terminate within {} seconds", shutdownTimeoutSeconds);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            statistics.elapsedMillis = System.currentTimeMillis() - startedAt;
+        }
+
+        LOG.info("Background commands: {}", statistics);
+    }
+
+    private static void awaitQuietly(final Future<Void> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // eg unable to open a session; the worker's remaining commands are left for a subsequent execution.
+            LOG.warn("Worker failed", e.getCause());
+        }
+    }
+
+    private IsisConfiguration getConfiguration() {
+        return getIsisSessionFactory().getConfiguration();
+    }
+
+    static int workersFrom(final IsisConfiguration configuration) {
+        return Math.max(1, configuration.getInteger(KEY_WORKERS, KEY_WORKERS_DEFAULT));
+    }
+
+    /**
+     * Partitions the (transaction Ids of the) commands, such that all commands with the same target are in the same
+     * partition, retaining their relative order.
+     */
+    static List<List<UUID>> partition(final List<? extends Command> commands, final int numPartitions) {
+        final List<List<UUID>> partitions = Lists.newArrayList();
+        for (int i = 0; i < numPartitions; i++) {
+            partitions.add(Lists.<UUID>newArrayList());
+        }
+        for (final Command command : commands) {
+            partitions.get(partitionFor(command, numPartitions)).add(command.getTransactionId());
+        }
+        return partitions;
+    }
+
+    static int partitionFor(final Command command, final int numPartitions) {
+        final Bookmark target = command.getTarget();
+        // commands without a target have no ordering constraint
+        final Object key = target != null ? target.toString() : command.getTransactionId();
+        return (key.hashCode() & Integer.MAX_VALUE) % numPartitions;
+    }
+
+    static long backoffMillisFor(final long initialBackoffMillis, final int attempt) {
+        return initialBackoffMillis << Math.min(attempt - 1, 16);
+    }
+
+    /**
+     * Mandatory hook method, called by each worker within its own session and transaction, to atomically claim the
+     * command (found previously by {@link #findBackgroundCommandsToExecute()}) for execution.
+     *
+     * @return the command, or <tt>null</tt> if it could not be claimed (eg because it has already been claimed by
+     * another instance, or has since been executed).
+     */
+    protected abstract CommandWithDto claim(UUID transactionId);
+
+
+    /**
+     * Executes each of the (transaction Ids of the) commands in turn, claiming each first and retrying any that fail.
+     */
+    void executeAll(
+            final List<UUID> transactionIds,
+            final WorkerTransactions transactions,
+            final int maxAttempts,
+            final long backoffMillis) {
+
+        for (int i = 0; i < transactionIds.size(); i++) {
+            if(shutdown) {
+                LOG.info("Shutting down; {} commands left for a subsequent execution", transactionIds.size() - i);
+                return;
+            }
+
+            final CommandWithDto command = transactions.claim(transactionIds.get(i));
+            if(command == null) {
+                statistics.notClaimed.incrementAndGet();
+                continue;
+            }
+
+            executeWithRetries(transactions, command, maxAttempts, backoffMillis);
+            statistics.executed.incrementAndGet();
+
+            transactions.executed(command);
+        }
+    }
+
+    private void executeWithRetries(
+            final WorkerTransactions transactions,
+            final CommandWithDto command,
+            final int maxAttempts,
+            final long backoffMillis) {
+        for (int attempt = 1; ; attempt++) {
+            transactions.execute(command, attempt > 1);
+            if(command.getException() == null) {
+                return;
+            }
+            if(attempt >= maxAttempts || shutdown) {
+                statistics.failed.incrementAndGet();
+                return;
+            }
+
+            final long delay = backoffMillisFor(backoffMillis, attempt);
+            LOG.info("Command {} failed (attempt {} of {}); retrying in {} ms",
+                    command.getTransactionId(), attempt, maxAttempts, delay);
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                statistics.failed.incrementAndGet();
+                return;
+            }
+            statistics.retried.incrementAndGet();
+        }
+    }
+
+    /**
+     * Clears the outcome of a failed attempt, prior to retrying.
+     */
+    static void resetOutcome(final Command command) {
+        command.setException(null);
+        command.setResult(null);
+        command.setStartedAt(null);
+        command.setCompletedAt(null);
+    }
+
+    /**
+     * The operations performed by a {@link Worker}, each within its own transaction.
+     */
+    interface WorkerTransactions {
+
+        /**
+         * @see BackgroundCommandExecutionParallel#claim(UUID)
+         */
+        CommandWithDto claim(UUID transactionId);
+
+        /**
+         * @param retry - whether a previous attempt failed, in which case its outcome is first
+         *              {@link #resetOutcome(Command) reset} (in the same transaction as the retry itself).
+         */
+        void execute(CommandWithDto command, boolean retry);
+
+        /**
+         * Called once the command has been executed, including any retries.
+         */
+        void executed(CommandWithDto command);
+    }
+
+    /**
+     * Executes a partition of commands, in order, within its own session.
+     */
+    class Worker extends CommandExecutionAbstract {
+
+        private final List<UUID> transactionIds;
+        private final int maxAttempts;
+        private final long backoffMillis;
+
+        Worker(final List<UUID> transactionIds, final int maxAttempts, final long backoffMillis) {
+            super(BackgroundCommandExecutionParallel.this.getSudoPolicy());
+            this.transactionIds = transactionIds;
+            this.maxAttempts = maxAttempts;
+            this.backoffMillis = backoffMillis;
+        }
+
+        @Override
+        protected void doExecute(final Object context) {
+            final PersistenceSession persistenceSession = getPersistenceSession();
+            final IsisTransactionManager transactionManager = getTransactionManager(persistenceSession);
+            final Set<ObjectAdapter> retained = persistenceSession.getMappedAdapters();
+
+            executeAll(transactionIds, new WorkerTransactions() {
+                @Override
+                public CommandWithDto claim(final UUID transactionId) {
+                    return transactionManager.executeWithinTransaction(
+                            new TransactionalClosureWithReturn<CommandWithDto>() {
+                                @Override
+                                public CommandWithDto execute() {
+                                    return BackgroundCommandExecutionParallel.this.claim(transactionId);
+                                }
+                            });
+                }
+
+                @Override
+                public void execute(final CommandWithDto command, final boolean retry) {
+                    // as per CommandExecutionAbstract#execute, but resetting within the transaction of the retry
+                    transactionManager.startTransaction(command);
+                    if(retry) {
+                        resetOutcome(command);
+                    }
+                    // the executor service will handle any exceptions thrown.
+                    commandExecutorService.executeCommand(getSudoPolicy(), command);
+                    transactionManager.endTransaction();
+                }
+
+                @Override
+                public void executed(final CommandWithDto command) {
+                    // so that the memory used by this (long-lived) session doesn't grow with each command.
+                    persistenceSession.evictAdaptersExcept(retained);
+                }
+            }, maxAttempts, backoffMillis);
+        }
+    }
+
+}
@@ -36,6 +36,10 @@ protected CommandExecutionAbstract(final CommandExecutorService.SudoPolicy sudoP
         this.sudoPolicy = sudoPolicy;
     }
 
+    protected CommandExecutorService.SudoPolicy getSudoPolicy() {
+        return sudoPolicy;
+    }
+
 
 
     /**
@@ -0,0 +1,273 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.bulk;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.applib.services.command.Command;
+import org.apache.isis.applib.services.xactn.TransactionService3;
+import org.apache.isis.core.commons.config.IsisConfiguration;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+
+/**
+ * Invokes an action on each of a (potentially large) number of targets, committing the transaction after every
+ * {@link #KEY_CHUNK_SIZE chunk} of targets rather than holding a single transaction for them all.
+ *
+ * <p>
+ *     Because each chunk is committed separately, any changes it makes are audited and published along with that
+ *     chunk (all chunks share the same command, and so the same transaction Id, each with its own sequence).  Between
+ *     chunks the adapters (and pojos) loaded while processing the chunk are
+ *     {@link PersistenceSession#evictAdaptersExcept(Set) evicted}, so that the memory used is bounded by the chunk
+ *     size rather than by the number of targets.
+ * </p>
+ *
+ * <p>
+ *     The transaction of the final chunk is left for the caller to complete.  If an invocation fails then the
+ *     exception is propagated; the chunks already processed remain committed.  The invocations as a whole are
+ *     therefore not atomic, which is why {@link Command}s (with multiple targets) are not executed this way.
+ * </p>
+ */
+public class BulkActionExecution {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BulkActionExecution.class);
+
+    public static final String KEY_CHUNK_SIZE = "isis.services.bulkActions.chunkSize";
+    public static final int KEY_CHUNK_SIZE_DEFAULT = 50;
+
+    /**
+     * If the number of targets selected is at least this number, then viewers run the bulk action in the
+     * {@link BulkActionExecutionService background} instead; 0 (the default) means never.
+     */
+    public static final String KEY_BACKGROUND_THRESHOLD = "isis.services.bulkActions.backgroundThreshold";
+    public static final int KEY_BACKGROUND_THRESHOLD_DEFAULT = 0;
+
+    /**
+     * Performs the invocation on each target.
+     *
+     * @param <T> - the type of target, typically a memento (eg a
+     *           {@link org.apache.isis.applib.services.bookmark.Bookmark}) that the invoker resolves.
+     */
+    public interface Invoker<T> {
+        /**
+         * @param index - the position of the target within all targets.
+         * @return the result of the invocation, if any.
+         */
+        ObjectAdapter invoke(T target, int index);
+    }
+
+    public static class Progress {
+
+        public enum State {
+            QUEUED,
+            RUNNING,
+            COMPLETED,
+            FAILED;
+
+            public boolean isFinished() {
+                return this == COMPLETED || this == FAILED;
+            }
+        }
+
+        private final UUID id;
+        private final String description;
+        private final int total;
+
+        private volatile State state = State.QUEUED;
+        private volatile int processed;
+        private volatile int chunksCommitted;
+        private volatile Timestamp completedAt;
+        private volatile String exception;
+
+        public Progress(final String description, final int total) {
+            this(UUID.randomUUID(), description, total);
+        }
+
+        Progress(final UUID id, final String description, final int total) {
+            this.id = id;
+            this.description = description;
+            this.total = total;
+        }
+
+        public UUID getId() {
+            return id;
+        }
+
+        /**
+         * Describes the action being invoked (for logging or display).
+         */
+        public String getDescription() {
+            return description;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public State getState() {
+            return state;
+        }
+
+        /**
+         * The number of targets on which the action has been invoked so far.
+         */
+        public int getProcessed() {
+            return processed;
+        }
+
+        public int getChunksCommitted() {
+            return chunksCommitted;
+        }
+
+        public Timestamp getCompletedAt() {
+            return completedAt;
+        }
+
+        /**
+         * The stack trace of the exception, if {@link State#FAILED failed}.
+         */
+        public String getException() {
+            return exception;
+        }
+
+        void started() {
+            state = State.RUNNING;
+        }
+
+        void processed(final int processed) {
+            this.processed = processed;
+        }
+
+        void chunkCommitted() {
+            chunksCommitted++;
+        }
+
+        void completed() {
+            finished(State.COMPLETED, null);
+        }
+
+        void failed(final String exception) {
+            finished(State.FAILED, exception);
+        }
+
+        private void finished(final State state, final String exception) {
+            this.exception = exception;
+            this.completedAt = new Timestamp(System.currentTimeMillis());
+            this.state = state;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d/%d (%s)", description, processed, total, state);
+        }
+    }
+
+    private final PersistenceSession persistenceSession;
+    private final TransactionService3 transactionService;
+    private final int chunkSize;
+
+    public BulkActionExecution(final PersistenceSession persistenceSession) {
+        this(persistenceSession,
+                persistenceSession.getServicesInjector().lookupServiceElseFail(TransactionService3.class),
+                chunkSizeFrom(persistenceSession.getConfiguration()));
+    }
+
+    BulkActionExecution(
+            final PersistenceSession persistenceSession,
+            final TransactionService3 transactionService,
+            final int chunkSize) {
+        this.persistenceSession = persistenceSession;
+        this.transactionService = transactionService;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    public static int chunkSizeFrom(final IsisConfiguration configuration) {
+        return configuration.getInteger(KEY_CHUNK_SIZE, KEY_CHUNK_SIZE_DEFAULT);
+    }
+
+    public static int backgroundThresholdFrom(final IsisConfiguration configuration) {
+        return configuration.getInteger(KEY_BACKGROUND_THRESHOLD, KEY_BACKGROUND_THRESHOLD_DEFAULT);
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * As per {@link #execute(List, Invoker, Command, Progress)}, with no command to be (re)used and without
+     * reporting progress.
+     */
+    public <T> ObjectAdapter execute(final List<T> targets, final Invoker<T> invoker) {
+        return execute(targets, invoker, null, null);
+    }
+
+    /**
+     * Invokes on each target in turn, committing the current transaction (and starting the next) between chunks.
+     *
+     * <p>
+     *     The targets should be mementos (eg {@link org.apache.isis.applib.services.bookmark.Bookmark}s) that the
+     *     invoker resolves, so that each is resolved within the transaction of its chunk.  Adapters already mapped
+     *     when called are retained across chunks; any targets resolved up-front by the caller would therefore never
+     *     be evicted.
+     * </p>
+     *
+     * @param commandIfAny - the command to use as the context of each subsequent transaction; if <tt>null</tt> then
+     *                     the current command is retained anyway.
+     * @param progressIfAny - updated as targets are processed and chunks committed.
+     * @return the result of the invocation on the last target.
+     */
+    public <T> ObjectAdapter execute(
+            final List<T> targets,
+            final Invoker<T> invoker,
+            final Command commandIfAny,
+            final Progress progressIfAny) {
+
+        final Set<ObjectAdapter> retained = persistenceSession.getMappedAdapters();
+
+        ObjectAdapter lastReturnedAdapter = null;
+        final int size = targets.size();
+        for (int i = 0; i < size; i++) {
+            lastReturnedAdapter = invoker.invoke(targets.get(i), i);
+
+            final int processed = i + 1;
+            if(progressIfAny != null) {
+                progressIfAny.processed(processed);
+            }
+            if(processed % chunkSize == 0 && processed < size) {
+                transactionService.nextTransaction(TransactionService3.Policy.UNLESS_MARKED_FOR_ABORT, commandIfAny);
+                final int evicted = persistenceSession.evictAdaptersExcept(retained);
+                if(progressIfAny != null) {
+                    progressIfAny.chunkCommitted();
+                }
+                if(LOG.isDebugEnabled()) {
+                    LOG.debug("committed chunk; processed {} of {} targets, evicted {} adapters",
+                            processed, size, evicted);
+                }
+            }
+        }
+        return lastReturnedAdapter;
+    }
+
+}
@@ -0,0 +1,224 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.bulk;
+
+import java.sql.Timestamp;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import com.google.common.base.Function;
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.annotation.Where;
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.applib.services.command.Command;
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAction;
+import org.apache.isis.core.runtime.sessiontemplate.AbstractIsisSessionTemplate;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+import org.apache.isis.core.runtime.threadpool.DaemonThreadFactory;
+
+import static org.apache.isis.core.runtime.services.ConfigProperties.getIntElse;
+
+/**
+ * Runs bulk actions over large selections of objects on a bounded pool of worker threads, so that neither the
+ * request that submitted them nor its transaction is held for their duration.
+ *
+ * <p>
+ * Each submission is run in its own {@link org.apache.isis.core.runtime.system.session.IsisSession session} (as the
+ * submitting user) using a {@link BulkActionExecution}, and so in chunks, each in its own transaction.  The
+ * {@link BulkActionExecution.Progress progress} of each can be {@link #lookup(UUID) looked up} while it runs, and is
+ * retained for a configurable period once finished.
+ * </p>
+ */
+@DomainService(
+        nature = NatureOfService.DOMAIN,
+        menuOrder = "" + Integer.MAX_VALUE
+)
+public class BulkActionExecutionService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BulkActionExecutionService.class);
+
+    public static final String KEY_THREADS = "isis.services.bulkActions.background.threads";
+    public static final int KEY_THREADS_DEFAULT = 1;
+
+    public static final String KEY_QUEUE_CAPACITY = "isis.services.bulkActions.background.queueCapacity";
+    public static final int KEY_QUEUE_CAPACITY_DEFAULT = 100;
+
+    public static final String KEY_RETENTION_MINUTES = "isis.services.bulkActions.background.retentionMinutes";
+    public static final int KEY_RETENTION_MINUTES_DEFAULT = 60;
+
+    private final ConcurrentMap<UUID, BulkActionExecution.Progress> progressById = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor executor;
+    private long retentionMillis;
+
+    @Programmatic
+    @PostConstruct
+    public void init(final Map<String,String> properties) {
+        final int threads = getIntElse(properties, KEY_THREADS, KEY_THREADS_DEFAULT);
+        final int queueCapacity = getIntElse(properties, KEY_QUEUE_CAPACITY, KEY_QUEUE_CAPACITY_DEFAULT);
+        this.retentionMillis = TimeUnit.MINUTES.toMillis(
+                getIntElse(properties, KEY_RETENTION_MINUTES, KEY_RETENTION_MINUTES_DEFAULT));
+
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<Runnable>(queueCapacity),
+                new DaemonThreadFactory(
+                        new ThreadGroup(BulkActionExecutionService.class.getName()), "isis-bulk"));
+    }
+
+    @Programmatic
+    @PreDestroy
+    public void shutdown() {
+        if(executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Queues the invocation of the (no-arg) action on each of the targets, as the specified user.
+     *
+     * @throws RejectedExecutionException - if the queue is full.
+     */
+    @Programmatic
+    public BulkActionExecution.Progress submit(
+            final ObjectAction objectAction,
+            final List<Bookmark> targets,
+            final Where where,
+            final AuthenticationSession authenticationSession) {
+
+        purgeExpired();
+
+        final BulkActionExecution.Progress progress =
+                new BulkActionExecution.Progress(objectAction.getName(), targets.size());
+        final Execution execution = new Execution(objectAction, ImmutableList.copyOf(targets), where, progress);
+
+        progressById.put(progress.getId(), progress);
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    execution.execute(authenticationSession, null);
+                }
+            });
+        } catch(RejectedExecutionException ex) {
+            progressById.remove(progress.getId());
+            throw ex;
+        }
+        return progress;
+    }
+
+    /**
+     * @return the progress, or <tt>null</tt> if unknown (or if it finished longer ago than the retention period).
+     */
+    @Programmatic
+    public BulkActionExecution.Progress lookup(final UUID id) {
+        return progressById.get(id);
+    }
+
+    private void purgeExpired() {
+        final long expiredBefore = System.currentTimeMillis() - retentionMillis;
+        for (final Iterator<BulkActionExecution.Progress> iterator = progressById.values().iterator(); iterator.hasNext(); ) {
+            final Timestamp completedAt = iterator.next().getCompletedAt();
+            if(completedAt != null && completedAt.getTime() < expiredBefore) {
+                iterator.remove();
+            }
+        }
+    }
+
+
+    /**
+     * Runs on a worker thread, within its own session.
+     */
+    static class Execution extends AbstractIsisSessionTemplate {
+
+        private final ObjectAction objectAction;
+        private final List<Bookmark> targets;
+        private final Where where;
+        private final BulkActionExecution.Progress progress;
+
+        Execution(
+                final ObjectAction objectAction,
+                final List<Bookmark> targets,
+                final Where where,
+                final BulkActionExecution.Progress progress) {
+            this.objectAction = objectAction;
+            this.targets = targets;
+            this.where = where;
+            this.progress = progress;
+        }
+
+        @Override
+        public void execute(final AuthenticationSession authSession, final Object context) {
+            progress.started();
+            try {
+                super.execute(authSession, context);
+                progress.completed();
+                LOG.info("Completed: {}", progress);
+            } catch(RuntimeException ex) {
+                // the chunks already processed remain committed.
+                LOG.warn("Failed: {}", progress, ex);
+                progress.failed(Throwables.getStackTraceAsString(ex));
+            }
+        }
+
+        @Override
+        protected void doExecuteWithTransaction(final Object context) {
+            final PersistenceSession persistenceSession = getPersistenceSession();
+
+            // each target is resolved only when invoked upon, within the transaction of its chunk
+            final BulkActionInvoker<Bookmark> invoker = new BulkActionInvoker<>(
+                    objectAction,
+                    new Function<Bookmark, ObjectAdapter>() {
+                        @Override
+                        public ObjectAdapter apply(final Bookmark target) {
+                            return adapterFor(target);
+                        }
+                    },
+                    persistenceSession.getServicesInjector(),
+                    Command.Executor.BACKGROUND, InteractionInitiatedBy.USER, where);
+            invoker.init(targets);
+
+            new BulkActionExecution(persistenceSession).execute(targets, invoker, null, progress);
+        }
+    }
+
+}
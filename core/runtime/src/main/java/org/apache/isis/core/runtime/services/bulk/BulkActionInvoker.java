@@ -0,0 +1,126 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.bulk;
+
+import java.util.List;
+
+import com.google.common.base.Function;
+import com.google.common.collect.Lists;
+
+import org.apache.isis.applib.annotation.Bulk;
+import org.apache.isis.applib.annotation.InvokedOn;
+import org.apache.isis.applib.annotation.Where;
+import org.apache.isis.applib.services.actinvoc.ActionInvocationContext;
+import org.apache.isis.applib.services.command.Command;
+import org.apache.isis.applib.services.command.CommandContext;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
+import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAction;
+
+/**
+ * Invokes a (no-arg) action on each of a selection of objects, as a bulk action: the {@link ActionInvocationContext}
+ * and {@link Bulk.InteractionContext} are populated with all of the selected objects, and with the index of each
+ * as it is invoked upon.
+ *
+ * <p>
+ *     The selected objects are identified by mementos (eg {@link org.apache.isis.applib.services.bookmark.Bookmark}s),
+ *     each resolved only as it is invoked upon, ie within the transaction of its chunk.  The domain objects made
+ *     available through the contexts are likewise resolved lazily, only if and when they are accessed.
+ * </p>
+ *
+ * @param <T> - the type of memento for each target.
+ */
+public class BulkActionInvoker<T> implements BulkActionExecution.Invoker<T> {
+
+    private final ObjectAction objectAction;
+    private final Function<T, ObjectAdapter> resolver;
+    private final ServicesInjector servicesInjector;
+    private final Command.Executor executor;
+    private final InteractionInitiatedBy interactionInitiatedBy;
+    private final Where where;
+
+    private ActionInvocationContext actionInvocationContext;
+    private Bulk.InteractionContext bulkInteractionContext;
+
+    /**
+     * @param executor - {@link Command.Executor#USER} if invoked directly by the user, else
+     *                 {@link Command.Executor#BACKGROUND} (so that the invocations are not themselves deferred).
+     */
+    public BulkActionInvoker(
+            final ObjectAction objectAction,
+            final Function<T, ObjectAdapter> resolver,
+            final ServicesInjector servicesInjector,
+            final Command.Executor executor,
+            final InteractionInitiatedBy interactionInitiatedBy,
+            final Where where) {
+        this.objectAction = objectAction;
+        this.resolver = resolver;
+        this.servicesInjector = servicesInjector;
+        this.executor = executor;
+        this.interactionInitiatedBy = interactionInitiatedBy;
+        this.where = where;
+    }
+
+    /**
+     * Must be called prior to {@link #invoke(Object, int) invoking}.
+     */
+    public void init(final List<T> targets) {
+        // a view, so resolved only on demand
+        final List<Object> domainObjects = Lists.transform(targets, new Function<T, Object>() {
+            @Override
+            public Object apply(final T target) {
+                return ObjectAdapter.Util.unwrap(resolver.apply(target));
+            }
+        });
+
+        actionInvocationContext = servicesInjector.lookupService(ActionInvocationContext.class);
+        if (actionInvocationContext != null) {
+            actionInvocationContext.setInvokedOn(InvokedOn.COLLECTION);
+            actionInvocationContext.setDomainObjects(domainObjects);
+        }
+
+        bulkInteractionContext = servicesInjector.lookupService(Bulk.InteractionContext.class);
+        if (bulkInteractionContext != null) {
+            bulkInteractionContext.setInvokedAs(Bulk.InteractionContext.InvokedAs.BULK);
+            bulkInteractionContext.setDomainObjects(domainObjects);
+        }
+    }
+
+    @Override
+    public ObjectAdapter invoke(final T target, final int index) {
+        final CommandContext commandContext = servicesInjector.lookupService(CommandContext.class);
+        if (commandContext != null) {
+            commandContext.getCommand().setExecutor(executor);
+        }
+        if (actionInvocationContext != null) {
+            actionInvocationContext.setIndex(index);
+        }
+        if (bulkInteractionContext != null) {
+            bulkInteractionContext.setIndex(index);
+        }
+
+        final ObjectAdapter targetAdapter = resolver.apply(target);
+        final ObjectAdapter mixedInAdapter = null;
+        final ObjectAdapter[] arguments = {};
+        return objectAction.executeWithRuleChecking(
+                targetAdapter, mixedInAdapter, arguments, interactionInitiatedBy, where);
+    }
+
+}
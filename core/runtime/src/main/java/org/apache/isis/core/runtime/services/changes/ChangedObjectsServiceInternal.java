@@ -39,6 +39,8 @@
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
 import org.apache.isis.core.metamodel.spec.feature.Contributed;
 import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.runtime.system.session.IsisSession;
+import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
 import org.apache.isis.core.runtime.system.transaction.IsisTransaction;
 
 @DomainService(
@@ -90,6 +92,8 @@ public boolean isEnlisted(ObjectAdapter adapter) {
     @Programmatic
     public void enlistCreated(final ObjectAdapter adapter) {
 
+        invalidatePresentationMemo(adapter);
+
         if(shouldIgnore(adapter)) {
             return;
         }
@@ -124,6 +128,8 @@ public void enlistCreated(final ObjectAdapter adapter) {
     @Programmatic
     public void enlistUpdating(final ObjectAdapter adapter) {
 
+        invalidatePresentationMemo(adapter);
+
         if(shouldIgnore(adapter)) {
             return;
         }
@@ -158,6 +164,8 @@ public void enlistUpdating(final ObjectAdapter adapter) {
     @Programmatic
     public void enlistDeleting(final ObjectAdapter adapter) {
 
+        invalidatePresentationMemo(adapter);
+
         if(shouldIgnore(adapter)) {
             return;
         }
@@ -259,6 +267,17 @@ public Set<Map.Entry<AdapterAndProperty, PreAndPostValues>> call() {
         });
     }
 
+    /**
+     * The title (and icon and CSS class) of a changed object may also have changed, as might those of any object
+     * whose title is derived from it.
+     */
+    private void invalidatePresentationMemo(final ObjectAdapter adapter) {
+        final IsisSession session = isisSessionFactory != null ? isisSessionFactory.getCurrentSession() : null;
+        if(session != null) {
+            session.getPersistenceSession().getPresentationMemo().invalidate(adapter);
+        }
+    }
+
     protected boolean shouldIgnore(final ObjectAdapter adapter) {
         final ObjectSpecification adapterSpec = adapter.getSpecification();
         final Class<?> adapterClass = adapterSpec.getCorrespondingClass();
@@ -302,4 +321,8 @@ static String asString(Object object) {
     }
 
 
+    @javax.inject.Inject
+    IsisSessionFactory isisSessionFactory;
+
+
 }
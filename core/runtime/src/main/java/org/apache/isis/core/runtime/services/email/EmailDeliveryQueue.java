@@ -0,0 +1,353 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.email;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.Transport;
+import javax.mail.internet.MimeMessage;
+
+import com.google.common.collect.Lists;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.core.runtime.threadpool.DaemonThreadFactory;
+import org.apache.isis.core.runtime.threadpool.LatencyStatistics;
+
+/**
+ * Delivers the emails {@link #offer(MimeMessage) queued} by {@link EmailServiceDefault} (if so configured) on a small
+ * pool of worker threads, rather than on the thread of the request or transaction sending them.
+ *
+ * <p>
+ *     The queue is bounded; a message that cannot be queued is rejected.  Each worker drains a batch of messages and
+ *     sends them over a single SMTP {@link Transport} connection, which it keeps open while there are further
+ *     messages to send, and closes once the queue is idle.  A message that fails to send is retried (on a new
+ *     connection, after an exponential back-off) up to a maximum number of attempts, and then given up on.
+ * </p>
+ */
+public class EmailDeliveryQueue {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EmailDeliveryQueue.class);
+
+    private static final long POLL_MILLIS = 500;
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 60000;
+
+    public static class Statistics {
+
+        private final BlockingQueue<?> queue;
+
+        private final AtomicLong enqueued = new AtomicLong();
+        private final AtomicLong sent = new AtomicLong();
+        private final AtomicLong batches = new AtomicLong();
+        private final AtomicLong retried = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong connections = new AtomicLong();
+
+        private final LatencyStatistics latency = new LatencyStatistics();
+
+        Statistics(final BlockingQueue<?> queue) {
+            this.queue = queue;
+        }
+
+        public long getEnqueued() {
+            return enqueued.get();
+        }
+
+        public long getSent() {
+            return sent.get();
+        }
+
+        public long getBatches() {
+            return batches.get();
+        }
+
+        /**
+         * The number of attempts to send that failed but were subsequently retried.
+         */
+        public long getRetried() {
+            return retried.get();
+        }
+
+        /**
+         * The number of messages given up on, having failed to send after the maximum number of attempts.
+         */
+        public long getFailed() {
+            return failed.get();
+        }
+
+        /**
+         * The number of messages not queued because the queue was full.
+         */
+        public long getRejected() {
+            return rejected.get();
+        }
+
+        /**
+         * The number of SMTP connections opened.
+         */
+        public long getConnections() {
+            return connections.get();
+        }
+
+        public int getQueueDepth() {
+            return queue.size();
+        }
+
+        /**
+         * The time between messages being queued and being sent.
+         */
+        public LatencyStatistics getLatency() {
+            return latency;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "enqueued %d, sent %d in %d batches over %d connections (retried %d, failed %d), rejected %d, queue depth %d, latency %s",
+                    getEnqueued(), getSent(), getBatches(), getConnections(), getRetried(), getFailed(),
+                    getRejected(), getQueueDepth(), getLatency());
+        }
+    }
+
+    static class Entry {
+        private final MimeMessage message;
+        private final long enqueuedAt;
+        private int attempts;
+
+        Entry(final MimeMessage message, final long enqueuedAt) {
+            this.message = message;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    private final Session session;
+    private final BlockingQueue<Entry> queue;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final Statistics statistics;
+
+    private ExecutorService executor;
+    private volatile boolean shutdown;
+
+    EmailDeliveryQueue(
+            final Session session,
+            final int queueCapacity,
+            final int batchSize,
+            final int maxAttempts,
+            final long retryBackoffMillis) {
+        this.session = session;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.statistics = new Statistics(queue);
+    }
+
+    /**
+     * The session shared by all queued messages, and used to obtain the {@link Transport}s that send them.
+     */
+    Session getSession() {
+        return session;
+    }
+
+    Statistics getStatistics() {
+        return statistics;
+    }
+
+    //region > start, shutdown
+
+    void start(final int threads) {
+        final int numThreads = Math.max(1, threads);
+        executor = Executors.newFixedThreadPool(numThreads, new DaemonThreadFactory("isis-email-delivery"));
+        for (int i = 0; i < numThreads; i++) {
+            executor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    deliveryLoop();
+                }
+            });
+        }
+    }
+
+    /**
+     * Waits (for up to the timeout) for the queue to be drained.
+     */
+    void shutdown(final int timeoutSeconds) {
+        if(executor == null) {
+            return;
+        }
+        shutdown = true;
+        executor.shutdown();
+        try {
+            if(!executor.awaitTermination(timeoutSeconds, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        final int remaining = queue.size();
+        if(remaining > 0) {
+            LOG.warn("{} queued emails not sent on shutdown", remaining);
+        }
+        LOG.info("Queued email delivery: {}", statistics);
+    }
+
+    //endregion
+
+    //region > offer
+
+    /**
+     * Queues the message (which must already have been {@link MimeMessage#saveChanges() saved}) for delivery.
+     *
+     * @return <code>false</code> if the queue is full (or shutting down), in which case the message is rejected.
+     */
+    boolean offer(final MimeMessage message) {
+        if(shutdown || !queue.offer(new Entry(message, System.currentTimeMillis()))) {
+            statistics.rejected.incrementAndGet();
+            return false;
+        }
+        statistics.enqueued.incrementAndGet();
+        return true;
+    }
+
+    //endregion
+
+    //region > deliver
+
+    private void deliveryLoop() {
+        final Connection connection = new Connection();
+        try {
+            while(!(shutdown && queue.isEmpty())) {
+                try {
+                    deliverNext(connection, POLL_MILLIS);
+                } catch (InterruptedException e) {
+                    return;
+                } catch (RuntimeException ex) {
+                    LOG.error("Failed to deliver queued emails", ex);
+                }
+            }
+        } finally {
+            connection.close();
+        }
+    }
+
+    /**
+     * Sends the next batch from the queue over the connection, or closes the connection if the queue is idle.
+     *
+     * @return the number of messages taken from the queue (whether or not successfully sent).
+     */
+    int deliverNext(final Connection connection, final long timeoutMillis) throws InterruptedException {
+        final Entry first = queue.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+        if(first == null) {
+            connection.close();
+            return 0;
+        }
+        final List<Entry> batch = Lists.newArrayList();
+        batch.add(first);
+        queue.drainTo(batch, batchSize - 1);
+        statistics.batches.incrementAndGet();
+        connection.closeIfStale();
+        for (final Entry entry : batch) {
+            deliver(connection, entry);
+        }
+        return batch.size();
+    }
+
+    private void deliver(final Connection connection, final Entry entry) throws InterruptedException {
+        for(;;) {
+            try {
+                final Transport transport = connection.open();
+                transport.sendMessage(entry.message, entry.message.getAllRecipients());
+                statistics.sent.incrementAndGet();
+                statistics.latency.record(System.currentTimeMillis() - entry.enqueuedAt);
+                return;
+            } catch (MessagingException ex) {
+                // the connection may be unusable, so start afresh
+                connection.close();
+                if(++entry.attempts >= maxAttempts) {
+                    LOG.error("Unable to send email after {} attempts; giving up", entry.attempts, ex);
+                    statistics.failed.incrementAndGet();
+                    return;
+                }
+                final long backoffMillis = backoffMillis(entry.attempts);
+                LOG.warn("Unable to send email (attempt {}); retrying in {} ms", entry.attempts, backoffMillis, ex);
+                statistics.retried.incrementAndGet();
+                Thread.sleep(backoffMillis);
+            }
+        }
+    }
+
+    private long backoffMillis(final int attempts) {
+        return Math.min(retryBackoffMillis << Math.min(attempts - 1, 16), MAX_RETRY_BACKOFF_MILLIS);
+    }
+
+    /**
+     * The SMTP connection of a single worker thread.
+     */
+    class Connection {
+
+        private Transport transport;
+
+        Transport open() throws MessagingException {
+            if(transport == null) {
+                final Transport transport = session.getTransport();
+                transport.connect();
+                statistics.connections.incrementAndGet();
+                this.transport = transport;
+            }
+            return transport;
+        }
+
+        /**
+         * Checked once per batch rather than per message, since (for SMTP) it costs a round trip.
+         */
+        void closeIfStale() {
+            if(transport != null && !transport.isConnected()) {
+                close();
+            }
+        }
+
+        void close() {
+            if(transport == null) {
+                return;
+            }
+            try {
+                transport.close();
+            } catch (MessagingException ex) {
+                LOG.debug("Failed to close SMTP connection", ex);
+            }
+            transport = null;
+        }
+    }
+
+    //endregion
+
+}
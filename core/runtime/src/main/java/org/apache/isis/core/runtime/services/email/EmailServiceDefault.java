@@ -24,6 +24,10 @@
 
 import javax.activation.DataSource;
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.internet.MimeMessage;
 
 import com.google.common.base.Strings;
 
@@ -86,10 +90,32 @@ public EmailServiceException(final EmailException cause) {
     private static final String ISIS_SERVICE_EMAIL_OVERRIDE_CC = "isis.service.email.override.cc";
     private static final String ISIS_SERVICE_EMAIL_OVERRIDE_BCC = "isis.service.email.override.bcc";
 
+    private static final String ISIS_SERVICE_EMAIL_QUEUED = "isis.service.email.queued";
+    private static final boolean ISIS_SERVICE_EMAIL_QUEUED_DEFAULT = false;
+
+    private static final String ISIS_SERVICE_EMAIL_QUEUE_CAPACITY = "isis.service.email.queue.capacity";
+    private static final int ISIS_SERVICE_EMAIL_QUEUE_CAPACITY_DEFAULT = 1000;
+
+    private static final String ISIS_SERVICE_EMAIL_QUEUE_THREADS = "isis.service.email.queue.threads";
+    private static final int ISIS_SERVICE_EMAIL_QUEUE_THREADS_DEFAULT = 1;
+
+    private static final String ISIS_SERVICE_EMAIL_QUEUE_BATCH_SIZE = "isis.service.email.queue.batchSize";
+    private static final int ISIS_SERVICE_EMAIL_QUEUE_BATCH_SIZE_DEFAULT = 20;
+
+    private static final String ISIS_SERVICE_EMAIL_QUEUE_MAX_ATTEMPTS = "isis.service.email.queue.maxAttempts";
+    private static final int ISIS_SERVICE_EMAIL_QUEUE_MAX_ATTEMPTS_DEFAULT = 3;
+
+    private static final String ISIS_SERVICE_EMAIL_QUEUE_RETRY_BACKOFF_MILLIS = "isis.service.email.queue.retryBackoffMillis";
+    private static final int ISIS_SERVICE_EMAIL_QUEUE_RETRY_BACKOFF_MILLIS_DEFAULT = 1000;
+
+    private static final String ISIS_SERVICE_EMAIL_QUEUE_SHUTDOWN_TIMEOUT_SECONDS = "isis.service.email.queue.shutdownTimeoutSeconds";
+    private static final int ISIS_SERVICE_EMAIL_QUEUE_SHUTDOWN_TIMEOUT_SECONDS_DEFAULT = 30;
+
     // endregion
 
-    // region > init
+    // region > init, shutdown
     private boolean initialized;
+    private EmailDeliveryQueue deliveryQueue;
 
     /**
      * Loads responsive email templates borrowed from http://zurb.com/ink/templates.php (Basic)
@@ -108,7 +134,43 @@ public void init() {
             LOG.warn("NOT configured");
         } else {
             LOG.debug("configured");
+            if (isQueued()) {
+                startDeliveryQueue();
+            }
+        }
+    }
+
+    private void startDeliveryQueue() {
+        final Session session;
+        try {
+            final ImageHtmlEmail email = new ImageHtmlEmail();
+            configureTransport(email);
+            session = email.getMailSession();
+        } catch (EmailException ex) {
+            LOG.error("Unable to configure queued email delivery; sending synchronously instead", ex);
+            return;
+        }
+        deliveryQueue = new EmailDeliveryQueue(session,
+                configuration.getInteger(ISIS_SERVICE_EMAIL_QUEUE_CAPACITY, ISIS_SERVICE_EMAIL_QUEUE_CAPACITY_DEFAULT),
+                configuration.getInteger(ISIS_SERVICE_EMAIL_QUEUE_BATCH_SIZE, ISIS_SERVICE_EMAIL_QUEUE_BATCH_SIZE_DEFAULT),
+                configuration.getInteger(ISIS_SERVICE_EMAIL_QUEUE_MAX_ATTEMPTS, ISIS_SERVICE_EMAIL_QUEUE_MAX_ATTEMPTS_DEFAULT),
+                configuration.getInteger(ISIS_SERVICE_EMAIL_QUEUE_RETRY_BACKOFF_MILLIS, ISIS_SERVICE_EMAIL_QUEUE_RETRY_BACKOFF_MILLIS_DEFAULT));
+        deliveryQueue.start(
+                configuration.getInteger(ISIS_SERVICE_EMAIL_QUEUE_THREADS, ISIS_SERVICE_EMAIL_QUEUE_THREADS_DEFAULT));
+    }
+
+    /**
+     * If {@link #isQueued() queued}, waits (for up to a configurable timeout) for queued emails to be sent.
+     */
+    @PreDestroy
+    @Programmatic
+    public void shutdown() {
+        if (deliveryQueue == null) {
+            return;
         }
+        deliveryQueue.shutdown(configuration.getInteger(
+                ISIS_SERVICE_EMAIL_QUEUE_SHUTDOWN_TIMEOUT_SECONDS, ISIS_SERVICE_EMAIL_QUEUE_SHUTDOWN_TIMEOUT_SECONDS_DEFAULT));
+        deliveryQueue = null;
     }
 
     protected String getSenderEmailUsername() {
@@ -159,6 +221,23 @@ protected String getEmailOverrideBcc() {
         return configuration.getString(ISIS_SERVICE_EMAIL_OVERRIDE_BCC);
     }
 
+    /**
+     * Whether emails are queued and sent by background worker threads, rather than synchronously by
+     * {@link #send(List, List, List, String, String, DataSource...)}.
+     */
+    protected boolean isQueued() {
+        return configuration.getBoolean(ISIS_SERVICE_EMAIL_QUEUED, ISIS_SERVICE_EMAIL_QUEUED_DEFAULT);
+    }
+
+    /**
+     * The metrics of queued delivery (queue depth, latency and so on), or <code>null</code> if not
+     * {@link #isQueued() queued}.
+     */
+    @Programmatic
+    public EmailDeliveryQueue.Statistics getQueueStatistics() {
+        return deliveryQueue != null ? deliveryQueue.getStatistics() : null;
+    }
+
     // endregion
 
     // region > isConfigured
@@ -173,6 +252,10 @@ public boolean isConfigured() {
 
     // region > send
 
+    /**
+     * If {@link #isQueued() queued}, returns <code>true</code> once the email has been queued (rather than sent); if
+     * the queue is full then the email is not sent, treated as a failure.
+     */
     @Override
     public boolean send(final List<String> toList, final List<String> ccList, final List<String> bccList, final String subject, final String body,
                         final DataSource... attachments) {
@@ -180,38 +263,15 @@ public boolean send(final List<String> toList, final List<String> ccList, final
         try {
             final ImageHtmlEmail email = new ImageHtmlEmail();
 
-            final String senderEmailUsername = getSenderEmailUsername();
-            final String senderEmailAddress = getSenderEmailAddress();
-            final String senderEmailPassword = getSenderEmailPassword();
-            final String senderEmailHostName = getSenderEmailHostName();
-            final Integer senderEmailPort = getSenderEmailPort();
-            final Boolean senderEmailTlsEnabled = getSenderEmailTlsEnabled();
-            final int socketTimeout = getSocketTimeout();
-            final int socketConnectionTimeout = getSocketConnectionTimeout();
-
-            if (senderEmailUsername != null) {
-                email.setAuthenticator(new DefaultAuthenticator(senderEmailUsername, senderEmailPassword));
+            final EmailDeliveryQueue deliveryQueue = this.deliveryQueue;
+            if (deliveryQueue != null) {
+                email.setMailSession(deliveryQueue.getSession());
             } else {
-                email.setAuthenticator(new DefaultAuthenticator(senderEmailAddress, senderEmailPassword));
+                configureTransport(email);
             }
-            email.setHostName(senderEmailHostName);
-            email.setSmtpPort(senderEmailPort);
-            email.setStartTLSEnabled(senderEmailTlsEnabled);
             email.setDataSourceResolver(new DataSourceClassPathResolver("/", true));
 
-            email.setSocketTimeout(socketTimeout);
-            email.setSocketConnectionTimeout(socketConnectionTimeout);
-
-            final Properties properties = email.getMailSession().getProperties();
-
-            properties.put("mail.smtps.auth", "true");
-            properties.put("mail.debug", "true");
-            properties.put("mail.smtps.port", "" + senderEmailPort);
-            properties.put("mail.smtps.socketFactory.port", "" + senderEmailPort);
-            properties.put("mail.smtps.socketFactory.class", "javax.net.ssl.SSLSocketFactory");
-            properties.put("mail.smtps.socketFactory.fallback", "false");
-            properties.put("mail.smtp.starttls.enable", "" + senderEmailTlsEnabled);
-
+            final String senderEmailAddress = getSenderEmailAddress();
             email.setFrom(senderEmailAddress);
 
             email.setSubject(subject);
@@ -241,19 +301,62 @@ public boolean send(final List<String> toList, final List<String> ccList, final
                 email.addBcc(bccListElseOverride);
             }
 
-            email.send();
+            if (deliveryQueue != null) {
+                email.buildMimeMessage();
+                final MimeMessage message = email.getMimeMessage();
+                message.saveChanges();
+                if (!deliveryQueue.offer(message)) {
+                    throw new EmailException("Email queue is full");
+                }
+            } else {
+                email.send();
+            }
 
-        } catch (EmailException ex) {
+        } catch (EmailException | MessagingException ex) {
             LOG.error("An error occurred while trying to send an email", ex);
             final Boolean throwExceptionOnFail = isThrowExceptionOnFail();
             if (throwExceptionOnFail) {
-                throw new EmailServiceException(ex);
+                throw new EmailServiceException(
+                        ex instanceof EmailException ? (EmailException) ex : new EmailException(ex));
             }
             return false;
         }
 
         return true;
     }
+
+    private void configureTransport(final ImageHtmlEmail email) throws EmailException {
+        final String senderEmailUsername = getSenderEmailUsername();
+        final String senderEmailAddress = getSenderEmailAddress();
+        final String senderEmailPassword = getSenderEmailPassword();
+        final String senderEmailHostName = getSenderEmailHostName();
+        final Integer senderEmailPort = getSenderEmailPort();
+        final Boolean senderEmailTlsEnabled = getSenderEmailTlsEnabled();
+        final int socketTimeout = getSocketTimeout();
+        final int socketConnectionTimeout = getSocketConnectionTimeout();
+
+        if (senderEmailUsername != null) {
+            email.setAuthenticator(new DefaultAuthenticator(senderEmailUsername, senderEmailPassword));
+        } else {
+            email.setAuthenticator(new DefaultAuthenticator(senderEmailAddress, senderEmailPassword));
+        }
+        email.setHostName(senderEmailHostName);
+        email.setSmtpPort(senderEmailPort);
+        email.setStartTLSEnabled(senderEmailTlsEnabled);
+
+        email.setSocketTimeout(socketTimeout);
+        email.setSocketConnectionTimeout(socketConnectionTimeout);
+
+        final Properties properties = email.getMailSession().getProperties();
+
+        properties.put("mail.smtps.auth", "true");
+        properties.put("mail.debug", "true");
+        properties.put("mail.smtps.port", "" + senderEmailPort);
+        properties.put("mail.smtps.socketFactory.port", "" + senderEmailPort);
+        properties.put("mail.smtps.socketFactory.class", "javax.net.ssl.SSLSocketFactory");
+        properties.put("mail.smtps.socketFactory.fallback", "false");
+        properties.put("mail.smtp.starttls.enable", "" + senderEmailTlsEnabled);
+    }
     // endregion
 
 
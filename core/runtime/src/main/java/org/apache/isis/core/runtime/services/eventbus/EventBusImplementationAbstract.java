@@ -16,6 +16,17 @@
  */
 package org.apache.isis.core.runtime.services.eventbus;
 
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,6 +40,118 @@ public abstract class EventBusImplementationAbstract implements EventBusImplemen
 
     private static final Logger LOG = LoggerFactory.getLogger(EventBusImplementationAbstract.class);
 
+    //region > subscriber index (index, hasSubscribersFor)
+
+    private final Set<Class<?>> indexedSubscriberClasses = Sets.newConcurrentHashSet();
+    private final Set<Class<?>> subscribedEventTypes = Sets.newConcurrentHashSet();
+    private volatile boolean indexUnavailable;
+
+    /**
+     * Replaced (rather than cleared) whenever a subscriber is indexed, so that a concurrent lookup can never
+     * cache a stale result.
+     */
+    private volatile ConcurrentMap<Class<?>, Boolean> hasSubscribersByEventType = Maps.newConcurrentMap();
+
+    /**
+     * To be called by subclasses as each subscriber is {@link #register(Object) registered}, to record the event
+     * types that it subscribes to.
+     */
+    protected void index(final Object subscriber) {
+        final Class<?> subscriberClass = subscriber.getClass();
+        if(!indexedSubscriberClasses.add(subscriberClass)) {
+            // eg request-scoped proxies, which re-register at the start of each transaction
+            return;
+        }
+        final Class<? extends Annotation> subscriberAnnotationType = getSubscriberAnnotationType();
+        if(subscriberAnnotationType == null) {
+            indexUnavailable = true;
+            return;
+        }
+        if(subscribedEventTypes.addAll(subscribedEventTypesOf(subscriberClass, subscriberAnnotationType))) {
+            hasSubscribersByEventType = Maps.newConcurrentMap();
+        }
+    }
+
+    /**
+     * Whether any {@link #index(Object) indexed} subscriber subscribes to the specified event type or any of its
+     * supertypes.
+     */
+    public boolean hasSubscribersFor(final Class<?> eventType) {
+        if(indexUnavailable) {
+            return true;
+        }
+        final ConcurrentMap<Class<?>, Boolean> hasSubscribersByEventType = this.hasSubscribersByEventType;
+        Boolean hasSubscribers = hasSubscribersByEventType.get(eventType);
+        if(hasSubscribers == null) {
+            hasSubscribers = false;
+            for (final Class<?> subscribedEventType : subscribedEventTypes) {
+                if(subscribedEventType.isAssignableFrom(eventType)) {
+                    hasSubscribers = true;
+                    break;
+                }
+            }
+            hasSubscribersByEventType.put(eventType, hasSubscribers);
+        }
+        return hasSubscribers;
+    }
+
+    /**
+     * The annotation identifying subscriber methods, whose first parameter is the event type subscribed to; if
+     * <tt>null</tt> (the default) then subscribers are not indexed and {@link #hasSubscribersFor(Class)} always
+     * returns <tt>true</tt>.
+     */
+    protected Class<? extends Annotation> getSubscriberAnnotationType() {
+        return null;
+    }
+
+    static Set<Class<?>> subscribedEventTypesOf(
+            final Class<?> subscriberClass,
+            final Class<? extends Annotation> subscriberAnnotationType) {
+        final Set<Class<?>> eventTypes = Sets.newHashSet();
+        for (final Method method : subscriberMethodsOf(subscriberClass, subscriberAnnotationType)) {
+            eventTypes.add(method.getParameterTypes()[0]);
+        }
+        return eventTypes;
+    }
+
+    /**
+     * The (single-argument) methods annotated as subscribers, searching the entire type hierarchy because
+     * (request-scoped) subscribers may be proxies whose overriding methods are not annotated.
+     *
+     * <p>
+     *     Where an annotated method is overridden by another that is also annotated, only the most specific is
+     *     returned.
+     * </p>
+     */
+    protected static List<Method> subscriberMethodsOf(
+            final Class<?> subscriberClass,
+            final Class<? extends Annotation> subscriberAnnotationType) {
+        final List<Method> methods = Lists.newArrayList();
+        final Set<List<Object>> signatures = Sets.newHashSet();
+        final Set<Class<?>> visited = Sets.newHashSet();
+        final List<Class<?>> toVisit = Lists.<Class<?>>newArrayList(subscriberClass);
+        while(!toVisit.isEmpty()) {
+            final Class<?> cls = toVisit.remove(0);
+            if(cls == null || cls == Object.class || !visited.add(cls)) {
+                continue;
+            }
+            for (final Method method : cls.getDeclaredMethods()) {
+                if(!method.isAnnotationPresent(subscriberAnnotationType) || method.getParameterTypes().length != 1) {
+                    continue;
+                }
+                final List<Object> signature = Arrays.<Object>asList(method.getName(), method.getParameterTypes()[0]);
+                if(signatures.add(signature)) {
+                    methods.add(method);
+                }
+            }
+            toVisit.add(cls.getSuperclass());
+            toVisit.addAll(Arrays.asList(cls.getInterfaces()));
+        }
+        return methods;
+    }
+
+    //endregion
+
     protected void processException(
             final Throwable exception,
             final Object event) {
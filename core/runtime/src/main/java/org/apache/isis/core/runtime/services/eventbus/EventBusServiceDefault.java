@@ -33,6 +33,8 @@
 import org.apache.isis.core.runtime.services.RequestScopedService;
 import org.apache.isis.core.runtime.services.eventbus.adapter.EventBusImplementationForAxonSimple;
 import org.apache.isis.core.runtime.services.eventbus.adapter.EventBusImplementationForGuava;
+import org.apache.isis.core.runtime.services.eventbus.adapter.EventBusImplementationForIsis;
+import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
 
 /**
  * Holds common runtime logic for EventBusService implementations.
@@ -75,6 +77,52 @@ public void register(final Object domainService) {
 
     //endregion
 
+    //region > post, hasSubscribersFor
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     *     This service overrides the method so that events of interest to any
+     *     {@link org.apache.isis.applib.services.eventbus.PostCommitEventSubscriber} are also held, to be delivered
+     *     to those subscribers once the current transaction commits.
+     * </p>
+     */
+    @Programmatic
+    @Override
+    public void post(final Object event) {
+        super.post(event);
+        if(postCommitEventDispatchService != null &&
+                postCommitEventDispatchService.isSubscribedTo(event) &&
+                !skip(event) &&
+                isisSessionFactory.inTransaction()) {
+            postCommitEventServiceInternal.enqueue(event);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     *     Consults the index of subscribed event types maintained by the event bus implementation (if it is a subclass
+     *     of {@link EventBusImplementationAbstract}; otherwise always returns <tt>true</tt>), and also any
+     *     {@link org.apache.isis.applib.services.eventbus.PostCommitEventSubscriber}s.  As for
+     *     {@link #post(Object)}, this causes the event bus to be created if it has not been already.
+     * </p>
+     */
+    @Programmatic
+    @Override
+    public boolean hasSubscribersFor(final Class<?> eventType) {
+        if(postCommitEventDispatchService != null && postCommitEventDispatchService.isSubscribedTo(eventType)) {
+            return true;
+        }
+        final EventBusImplementation eventBusImplementation = getEventBusImplementation();
+        return !(eventBusImplementation instanceof EventBusImplementationAbstract) ||
+                ((EventBusImplementationAbstract) eventBusImplementation).hasSubscribersFor(eventType);
+    }
+
+    //endregion
+
     //region > init, shutdown
     @Programmatic
     @PostConstruct
@@ -92,6 +140,8 @@ private static String getNormalized(final String implementation) {
                 return "guava";
             } else if("axon".equalsIgnoreCase(implementationTrimmed)) {
                 return "axon";
+            } else if("isis".equalsIgnoreCase(implementationTrimmed)) {
+                return "isis";
             } else {
                 return implementationTrimmed;
             }
@@ -110,7 +160,7 @@ boolean isAllowLateRegistration() {
     }
 
     /**
-     * Either &lt;guava&gt; or &lt;axon&gt;, or else the fully qualified class name of an
+     * Either &lt;guava&gt;, &lt;axon&gt; or &lt;isis&gt;, or else the fully qualified class name of an
      * implementation of {@link org.apache.isis.applib.services.eventbus.EventBusImplementation}.
      */
     private String implementation;
@@ -132,6 +182,9 @@ private EventBusImplementation instantiateEventBus() {
         if("axon".equals(implementation)) {
             return new EventBusImplementationForAxonSimple();
         }
+        if("isis".equals(implementation)) {
+            return new EventBusImplementationForIsis();
+        }
 
         final Class<?> aClass = ClassUtil.forName(implementation);
         if(EventBusImplementation.class.isAssignableFrom(aClass)) {
@@ -149,4 +202,13 @@ private EventBusImplementation instantiateEventBus() {
     @javax.inject.Inject
     ServiceRegistry2 serviceRegistry2;
 
+    @javax.inject.Inject
+    PostCommitEventDispatchService postCommitEventDispatchService;
+
+    @javax.inject.Inject
+    PostCommitEventServiceInternal postCommitEventServiceInternal;
+
+    @javax.inject.Inject
+    IsisSessionFactory isisSessionFactory;
+
 }
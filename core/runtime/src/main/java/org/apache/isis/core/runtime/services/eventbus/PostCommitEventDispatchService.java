@@ -0,0 +1,330 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.eventbus;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.eventbus.AbstractDomainEvent;
+import org.apache.isis.applib.services.eventbus.PostCommitEvent;
+import org.apache.isis.applib.services.eventbus.PostCommitEventErrorHandler;
+import org.apache.isis.applib.services.eventbus.PostCommitEventSubscriber;
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
+import org.apache.isis.core.runtime.system.transaction.TransactionalClosure;
+import org.apache.isis.core.runtime.threadpool.DaemonThreadFactory;
+
+import static org.apache.isis.core.runtime.services.ConfigProperties.getIntElse;
+
+/**
+ * Delivers the events captured by {@link PostCommitEventServiceInternal} to {@link PostCommitEventSubscriber}s,
+ * using a bounded pool of background threads.
+ *
+ * <p>
+ *     The events of each committed transaction are delivered together, in the order in which they were posted, within
+ *     a session of their own (running as the user that committed the transaction).  Each call to a subscriber is made
+ *     in its own transaction, so that a failing subscriber does not affect the others.  With more than one
+ *     {@link #KEY_THREADS thread}, the events of different transactions may be delivered concurrently and so out of
+ *     order.
+ * </p>
+ *
+ * <p>
+ *     If the queue of pending deliveries is full, the events are not delivered but are instead reported (as are any
+ *     exceptions thrown by the subscribers) to the {@link PostCommitEventErrorHandler}s.
+ * </p>
+ */
+@DomainService(
+        nature = NatureOfService.DOMAIN,
+        menuOrder = "" + Integer.MAX_VALUE
+)
+public class PostCommitEventDispatchService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PostCommitEventDispatchService.class);
+
+    public static final String KEY_THREADS = "isis.services.eventbus.postCommit.threads";
+    public static final int KEY_THREADS_DEFAULT = 1;
+
+    public static final String KEY_QUEUE_CAPACITY = "isis.services.eventbus.postCommit.queueCapacity";
+    public static final int KEY_QUEUE_CAPACITY_DEFAULT = 1000;
+
+    public static final String KEY_SHUTDOWN_TIMEOUT_SECONDS = "isis.services.eventbus.postCommit.shutdownTimeoutSeconds";
+    public static final int KEY_SHUTDOWN_TIMEOUT_SECONDS_DEFAULT = 30;
+
+    public static class Statistics {
+
+        private final AtomicLong dispatched = new AtomicLong();
+        private final AtomicLong delivered = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+
+        /**
+         * The number of events queued for delivery.
+         */
+        public long getDispatched() {
+            return dispatched.get();
+        }
+
+        /**
+         * The number of calls to a subscriber that completed successfully.
+         */
+        public long getDelivered() {
+            return delivered.get();
+        }
+
+        /**
+         * The number of calls to a subscriber that threw an exception.
+         */
+        public long getFailed() {
+            return failed.get();
+        }
+
+        /**
+         * The number of events discarded because the queue was full.
+         */
+        public long getRejected() {
+            return rejected.get();
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "dispatched %d, delivered %d, failed %d, rejected %d",
+                    getDispatched(), getDelivered(), getFailed(), getRejected());
+        }
+    }
+
+    private final Statistics statistics = new Statistics();
+
+    private ThreadPoolExecutor executor;
+    private int shutdownTimeoutSeconds = KEY_SHUTDOWN_TIMEOUT_SECONDS_DEFAULT;
+
+    //region > init, shutdown
+
+    @Programmatic
+    @PostConstruct
+    public void init(final Map<String,String> properties) {
+        if(subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+        init(getIntElse(properties, KEY_THREADS, KEY_THREADS_DEFAULT),
+             getIntElse(properties, KEY_QUEUE_CAPACITY, KEY_QUEUE_CAPACITY_DEFAULT));
+        this.shutdownTimeoutSeconds =
+                getIntElse(properties, KEY_SHUTDOWN_TIMEOUT_SECONDS, KEY_SHUTDOWN_TIMEOUT_SECONDS_DEFAULT);
+    }
+
+    void init(final int threads, final int queueCapacity) {
+        final int numThreads = Math.max(1, threads);
+        this.executor = new ThreadPoolExecutor(
+                numThreads, numThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(Math.max(1, queueCapacity)),
+                new DaemonThreadFactory("isis-post-commit-events"));
+    }
+
+    @Programmatic
+    @PreDestroy
+    public void shutdown() {
+        if(executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if(!executor.awaitTermination(shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+                LOG.warn("Post-commit event deliveries did not complete within {} seconds; {} transactions' events not delivered",
+                        shutdownTimeoutSeconds, executor.shutdownNow().size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    //endregion
+
+    //region > isSubscribedTo
+
+    /**
+     * Whether the event (as posted) should be captured, to be {@link #dispatch(List, AuthenticationSession) dispatched}
+     * once the transaction commits.
+     *
+     * <p>
+     *     Called by the {@link EventBusServiceDefault} for each event posted.
+     * </p>
+     */
+    @Programmatic
+    public boolean isSubscribedTo(final Object event) {
+        if(executor == null) {
+            return false;
+        }
+        if(event instanceof AbstractDomainEvent &&
+                ((AbstractDomainEvent<?>) event).getEventPhase() != AbstractDomainEvent.Phase.EXECUTED) {
+            return false;
+        }
+        return isSubscribedTo(event.getClass());
+    }
+
+    /**
+     * Whether any subscriber is interested in events of the specified type.
+     */
+    @Programmatic
+    public boolean isSubscribedTo(final Class<?> eventType) {
+        if(executor == null) {
+            return false;
+        }
+        for (final PostCommitEventSubscriber subscriber : subscribers) {
+            if(subscriber.isSubscribedTo(eventType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //endregion
+
+    //region > dispatch
+
+    /**
+     * Queues the events of a committed transaction for delivery.
+     */
+    @Programmatic
+    public void dispatch(final List<PostCommitEvent> events, final AuthenticationSession authenticationSession) {
+        if(executor == null || events.isEmpty()) {
+            return;
+        }
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    runInSession(new Runnable() {
+                        @Override
+                        public void run() {
+                            deliver(events);
+                        }
+                    }, authenticationSession);
+                }
+            });
+            statistics.dispatched.addAndGet(events.size());
+        } catch (final RejectedExecutionException ex) {
+            for (final PostCommitEvent event : events) {
+                statistics.rejected.incrementAndGet();
+                handleError(event, null, ex);
+            }
+        }
+    }
+
+    void deliver(final List<PostCommitEvent> events) {
+        for (final PostCommitEvent event : events) {
+            for (final PostCommitEventSubscriber subscriber : subscribers) {
+                if(!subscriber.isSubscribedTo(event.getEventType())) {
+                    continue;
+                }
+                try {
+                    runInTransaction(new Runnable() {
+                        @Override
+                        public void run() {
+                            subscriber.onCommitted(event);
+                        }
+                    });
+                    statistics.delivered.incrementAndGet();
+                } catch (final Exception ex) {
+                    statistics.failed.incrementAndGet();
+                    handleError(event, subscriber, ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Hook, to allow {@link #deliver(List) delivery} to be tested without a session.
+     */
+    void runInSession(final Runnable runnable, final AuthenticationSession authenticationSession) {
+        isisSessionFactory.doInSession(runnable, authenticationSession);
+    }
+
+    /**
+     * Hook, to allow {@link #deliver(List) delivery} to be tested without a transaction.
+     */
+    void runInTransaction(final Runnable runnable) {
+        isisSessionFactory.getCurrentSession().getPersistenceSession().getTransactionManager()
+                .executeWithinTransaction(new TransactionalClosure() {
+                    @Override
+                    public void execute() {
+                        runnable.run();
+                    }
+                });
+    }
+
+    private void handleError(
+            final PostCommitEvent event,
+            final PostCommitEventSubscriber subscriberIfAny,
+            final Exception exception) {
+        if(errorHandlers == null || errorHandlers.isEmpty()) {
+            if(subscriberIfAny != null) {
+                LOG.error("Failed to deliver {} to {}", event, subscriberIfAny.getClass().getName(), exception);
+            } else {
+                LOG.error("Failed to queue {} for delivery", event, exception);
+            }
+            return;
+        }
+        for (final PostCommitEventErrorHandler errorHandler : errorHandlers) {
+            try {
+                errorHandler.onError(event, subscriberIfAny, exception);
+            } catch (final RuntimeException ex) {
+                LOG.error("Error handler {} failed", errorHandler.getClass().getName(), ex);
+            }
+        }
+    }
+
+    //endregion
+
+    //region > statistics
+
+    @Programmatic
+    public Statistics getStatistics() {
+        return statistics;
+    }
+
+    //endregion
+
+    //region > injected services
+
+    @javax.inject.Inject
+    List<PostCommitEventSubscriber> subscribers;
+
+    @javax.inject.Inject
+    List<PostCommitEventErrorHandler> errorHandlers;
+
+    @javax.inject.Inject
+    IsisSessionFactory isisSessionFactory;
+
+    //endregion
+
+}
@@ -0,0 +1,219 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.eventbus;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import javax.enterprise.context.RequestScoped;
+
+import com.google.common.collect.Lists;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.applib.services.bookmark.BookmarkService;
+import org.apache.isis.applib.services.eventbus.AbstractDomainEvent;
+import org.apache.isis.applib.services.eventbus.AbstractLifecycleEvent;
+import org.apache.isis.applib.services.eventbus.ActionDomainEvent;
+import org.apache.isis.applib.services.eventbus.CollectionDomainEvent;
+import org.apache.isis.applib.services.eventbus.PostCommitEvent;
+import org.apache.isis.applib.services.eventbus.PropertyDomainEvent;
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.core.runtime.system.session.IsisSession;
+import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
+
+/**
+ * Holds the events posted during the current transaction that are of interest to any
+ * {@link org.apache.isis.applib.services.eventbus.PostCommitEventSubscriber}, and (once the transaction has
+ * committed) passes them, detached, to the {@link PostCommitEventDispatchService}.
+ *
+ * <p>
+ *     The events are detached (domain objects replaced by {@link Bookmark}s) only on commit, by which time any
+ *     objects created during the transaction have been persisted and so have permanent identities.  An event
+ *     referencing an object that is neither a value nor bookmarkable is not delivered, rather than exposing the live
+ *     object to subscribers running outside of the transaction.
+ * </p>
+ */
+@DomainService(
+        nature = NatureOfService.DOMAIN,
+        menuOrder = "" + Integer.MAX_VALUE
+)
+@RequestScoped
+public class PostCommitEventServiceInternal {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PostCommitEventServiceInternal.class);
+
+    private final List<Object> pendingEvents = Lists.newArrayList();
+
+    @Programmatic
+    public void enqueue(final Object event) {
+        pendingEvents.add(event);
+    }
+
+    //region > transactionCommitted, transactionAborted
+
+    /**
+     * Called by the {@link org.apache.isis.core.runtime.system.transaction.IsisTransaction} once committed.
+     */
+    @Programmatic
+    public void transactionCommitted() {
+        if(pendingEvents.isEmpty()) {
+            return;
+        }
+        final IsisSession session = isisSessionFactory.getCurrentSession();
+        transactionCommitted(session.getCurrentTransaction().getTransactionId(), session.getAuthenticationSession());
+    }
+
+    void transactionCommitted(final UUID transactionId, final AuthenticationSession authenticationSession) {
+        if(pendingEvents.isEmpty()) {
+            return;
+        }
+        final String user = authenticationSession.getUserName();
+
+        final List<PostCommitEvent> events = Lists.newArrayList();
+        for (final Object event : pendingEvents) {
+            try {
+                events.add(detached(event, transactionId, user));
+            } catch (final RuntimeException ex) {
+                LOG.warn("Unable to detach {}; will not be delivered to post-commit subscribers", event, ex);
+            }
+        }
+        pendingEvents.clear();
+
+        postCommitEventDispatchService.dispatch(events, authenticationSession);
+    }
+
+    /**
+     * Called by the {@link org.apache.isis.core.runtime.system.transaction.IsisTransaction} if aborted.
+     */
+    @Programmatic
+    public void transactionAborted() {
+        pendingEvents.clear();
+    }
+
+    //endregion
+
+    //region > helpers
+
+    PostCommitEvent detached(final Object event, final UUID transactionId, final String user) {
+        final Class<?> eventType = event.getClass();
+        if(event instanceof AbstractDomainEvent) {
+            final AbstractDomainEvent<?> domainEvent = (AbstractDomainEvent<?>) event;
+            List<Object> arguments = null;
+            Object mixedIn = null;
+            Object oldValue = null;
+            Object newValue = null;
+            Object value = null;
+            if(event instanceof ActionDomainEvent) {
+                final ActionDomainEvent<?> actionDomainEvent = (ActionDomainEvent<?>) event;
+                mixedIn = actionDomainEvent.getMixedIn();
+                if(actionDomainEvent.getArguments() != null) {
+                    arguments = Lists.newArrayList();
+                    for (final Object argument : actionDomainEvent.getArguments()) {
+                        arguments.add(detached(argument));
+                    }
+                }
+            } else if(event instanceof PropertyDomainEvent) {
+                final PropertyDomainEvent<?, ?> propertyDomainEvent = (PropertyDomainEvent<?, ?>) event;
+                oldValue = detached(propertyDomainEvent.getOldValue());
+                newValue = detached(propertyDomainEvent.getNewValue());
+            } else if(event instanceof CollectionDomainEvent) {
+                value = detached(((CollectionDomainEvent<?, ?>) event).getValue());
+            }
+            return new PostCommitEvent(
+                    eventType, transactionId, user,
+                    domainEvent.getEventPhase(), domainEvent.getIdentifier(),
+                    bookmarkFor(domainEvent.getSource()), bookmarkFor(mixedIn),
+                    arguments, oldValue, newValue, value, null);
+        }
+        if(event instanceof AbstractLifecycleEvent) {
+            final Object source = ((AbstractLifecycleEvent<?>) event).getSource();
+            return new PostCommitEvent(
+                    eventType, transactionId, user,
+                    null, null, bookmarkFor(source), null, null, null, null, null, null);
+        }
+        return new PostCommitEvent(
+                eventType, transactionId, user,
+                null, null, null, null, null, null, null, null, event);
+    }
+
+    /**
+     * Domain objects are replaced by their bookmarks (and collections are copied, with their elements replaced
+     * likewise); values are returned as is.
+     *
+     * @throws IllegalArgumentException - if the object is neither a value nor can be bookmarked.
+     */
+    private Object detached(final Object object) {
+        if(object == null) {
+            return null;
+        }
+        if(object instanceof Collection) {
+            final List<Object> detached = Lists.newArrayList();
+            for (final Object element : (Collection<?>) object) {
+                detached.add(detached(element));
+            }
+            return detached;
+        }
+        if(specificationLoader.loadSpecification(object.getClass()).isValue()) {
+            return object;
+        }
+        return bookmarkFor(object);
+    }
+
+    /**
+     * @throws IllegalArgumentException - if the domain object cannot be bookmarked (eg is aggregated).
+     */
+    private Bookmark bookmarkFor(final Object domainObject) {
+        if(domainObject == null) {
+            return null;
+        }
+        final Bookmark bookmark = bookmarkService.bookmarkFor(domainObject);
+        if(bookmark == null) {
+            throw new IllegalArgumentException(
+                    "Unable to bookmark " + domainObject.getClass().getName() + " (and it is not a value)");
+        }
+        return bookmark;
+    }
+
+    //endregion
+
+    //region > injected services
+
+    @javax.inject.Inject
+    PostCommitEventDispatchService postCommitEventDispatchService;
+
+    @javax.inject.Inject
+    BookmarkService bookmarkService;
+
+    @javax.inject.Inject
+    SpecificationLoader specificationLoader;
+
+    @javax.inject.Inject
+    IsisSessionFactory isisSessionFactory;
+
+    //endregion
+
+}
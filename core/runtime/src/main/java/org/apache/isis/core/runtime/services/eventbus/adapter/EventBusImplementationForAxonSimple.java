@@ -16,6 +16,7 @@
  */
 package org.apache.isis.core.runtime.services.eventbus.adapter;
 
+import java.lang.annotation.Annotation;
 import java.util.Map;
 
 import com.google.common.collect.Maps;
@@ -24,6 +25,7 @@
 import org.axonframework.domain.GenericEventMessage;
 import org.axonframework.eventhandling.SimpleEventBus;
 import org.axonframework.eventhandling.annotation.AnnotationEventListenerAdapter;
+import org.axonframework.eventhandling.annotation.EventHandler;
 
 import org.apache.isis.applib.services.eventbus.AbstractDomainEvent;
 import org.apache.isis.core.runtime.services.eventbus.EventBusImplementationAbstract;
@@ -50,6 +52,7 @@ private AxonEventListenerAdapter adapterFor(final Object domainService) {
     @Override
     public void register(final Object domainService) {
         simpleEventBus.subscribe(adapterFor(domainService));
+        index(domainService);
     }
 
     @Override
@@ -72,6 +75,11 @@ public void post(final Object event) {
     }
 
 
+    @Override
+    protected Class<? extends Annotation> getSubscriberAnnotationType() {
+        return EventHandler.class;
+    }
+
     @Override
     protected AbstractDomainEvent<?> asDomainEvent(final Object event) {
         if(event instanceof GenericEventMessage) {
@@ -16,6 +16,10 @@
  */
 package org.apache.isis.core.runtime.services.eventbus.adapter;
 
+import java.lang.annotation.Annotation;
+
+import com.google.common.eventbus.DeadEvent;
+import com.google.common.eventbus.Subscribe;
 import com.google.common.eventbus.SubscriberExceptionContext;
 import com.google.common.eventbus.SubscriberExceptionHandler;
 
@@ -45,6 +49,7 @@ public void handleException(final Throwable exception,
     @Override
     public void register(final Object domainService) {
         eventBus.register(domainService);
+        index(domainService);
     }
 
     @Override
@@ -58,6 +63,20 @@ public void post(final Object event) {
         eventBus.post(event);
     }
 
+    @Override
+    protected Class<? extends Annotation> getSubscriberAnnotationType() {
+        return Subscribe.class;
+    }
+
+    /**
+     * Guava re-posts events that no subscriber receives as a {@link DeadEvent}, so if anything subscribes to those
+     * then every event has (in effect) a subscriber.
+     */
+    @Override
+    public boolean hasSubscribersFor(final Class<?> eventType) {
+        return super.hasSubscribersFor(eventType) || super.hasSubscribersFor(DeadEvent.class);
+    }
+
     @Override
     protected AbstractDomainEvent<?> asDomainEvent(final Object event) {
         return event instanceof AbstractDomainEvent
@@ -0,0 +1,175 @@
+/**
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.isis.core.runtime.services.eventbus.adapter;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.eventbus.Subscribe;
+
+import org.apache.isis.applib.services.eventbus.AbstractDomainEvent;
+import org.apache.isis.core.commons.exceptions.IsisException;
+import org.apache.isis.core.runtime.services.eventbus.EventBusImplementationAbstract;
+
+/**
+ * An event bus implementation that dispatches to subscribers directly, without any third-party library.
+ *
+ * <p>
+ *     Subscribers use Guava's {@link Subscribe} annotation, so can be switched between this and the
+ *     {@link EventBusImplementationForGuava Guava} implementation without change.  Dispatch however is synchronous
+ *     (as for the {@link EventBusImplementationForAxonSimple Axon} implementation): events are delivered, in order of
+ *     registration, before {@link #post(Object)} returns.
+ * </p>
+ *
+ * <p>
+ *     Each subscriber method is resolved to a bound {@link MethodHandle} when the subscriber is registered.  The
+ *     handles that apply to any given event class (that is, those subscribing to it or to any of its supertypes) are
+ *     then computed on first post of that class and cached as an array, so that subsequent posts involve neither
+ *     locking nor reflection.  Registering a new subscriber discards the cache.
+ * </p>
+ */
+public class EventBusImplementationForIsis extends EventBusImplementationAbstract {
+
+    private static final MethodType SUBSCRIBER_METHOD_TYPE = MethodType.methodType(void.class, Object.class);
+    private static final MethodHandle[] NO_SUBSCRIBERS = new MethodHandle[0];
+
+    private static class Subscription {
+        private final Class<?> eventType;
+        private final MethodHandle methodHandle;
+
+        private Subscription(final Class<?> eventType, final MethodHandle methodHandle) {
+            this.eventType = eventType;
+            this.methodHandle = methodHandle;
+        }
+    }
+
+    /**
+     * Guarded by <tt>this</tt>; identity-based because request-scoped proxies re-register at the start of each
+     * transaction.
+     */
+    private final Set<Object> registered = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+
+    /**
+     * Copy-on-write, in order of registration.
+     */
+    private volatile List<Subscription> subscriptions = ImmutableList.of();
+
+    /**
+     * Replaced (rather than cleared) whenever a subscriber is registered, so that a concurrent post can never
+     * cache a stale result.
+     */
+    private volatile ConcurrentMap<Class<?>, MethodHandle[]> subscribersByEventType = Maps.newConcurrentMap();
+
+    //region > register, unregister
+
+    @Override
+    public synchronized void register(final Object domainService) {
+        if(!registered.add(domainService)) {
+            return;
+        }
+        final List<Subscription> subscriptions = Lists.newArrayList(this.subscriptions);
+        for (final Method method : subscriberMethodsOf(domainService.getClass(), getSubscriberAnnotationType())) {
+            subscriptions.add(new Subscription(method.getParameterTypes()[0], bind(method, domainService)));
+        }
+        this.subscriptions = ImmutableList.copyOf(subscriptions);
+        this.subscribersByEventType = Maps.newConcurrentMap();
+    }
+
+    private static MethodHandle bind(final Method method, final Object domainService) {
+        try {
+            method.setAccessible(true);
+            return MethodHandles.lookup().unreflect(method)
+                    .bindTo(domainService)
+                    .asType(SUBSCRIBER_METHOD_TYPE);
+        } catch (final IllegalAccessException | SecurityException e) {
+            throw new IsisException(String.format(
+                    "Unable to access subscriber method '%s' of %s",
+                    method.getName(), domainService.getClass().getName()), e);
+        }
+    }
+
+    @Override
+    public void unregister(final Object domainService) {
+        // intentionally no-op, see EventBusService#unregister
+    }
+
+    //endregion
+
+    //region > post, hasSubscribersFor
+
+    @Override
+    public void post(final Object event) {
+        final MethodHandle[] subscribers = subscribersFor(event.getClass());
+        for (final MethodHandle subscriber : subscribers) {
+            try {
+                subscriber.invokeExact(event);
+            } catch (final Error error) {
+                throw error;
+            } catch (final Throwable exception) {
+                // vetoes the event or (for the executing and executed phases) aborts the transaction and rethrows
+                processException(exception, event);
+            }
+        }
+    }
+
+    @Override
+    public boolean hasSubscribersFor(final Class<?> eventType) {
+        return subscribersFor(eventType).length > 0;
+    }
+
+    private MethodHandle[] subscribersFor(final Class<?> eventType) {
+        final ConcurrentMap<Class<?>, MethodHandle[]> subscribersByEventType = this.subscribersByEventType;
+        MethodHandle[] subscribers = subscribersByEventType.get(eventType);
+        if(subscribers == null) {
+            final List<MethodHandle> methodHandles = Lists.newArrayList();
+            for (final Subscription subscription : this.subscriptions) {
+                if(subscription.eventType.isAssignableFrom(eventType)) {
+                    methodHandles.add(subscription.methodHandle);
+                }
+            }
+            subscribers = methodHandles.isEmpty() ? NO_SUBSCRIBERS : methodHandles.toArray(NO_SUBSCRIBERS);
+            subscribersByEventType.put(eventType, subscribers);
+        }
+        return subscribers;
+    }
+
+    //endregion
+
+    @Override
+    protected Class<? extends Annotation> getSubscriberAnnotationType() {
+        return Subscribe.class;
+    }
+
+    @Override
+    protected AbstractDomainEvent<?> asDomainEvent(final Object event) {
+        return event instanceof AbstractDomainEvent
+                ? (AbstractDomainEvent<?>) event
+                : null;
+    }
+
+}
@@ -0,0 +1,696 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.publish;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import com.google.common.collect.Lists;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.publish.PublisherService;
+import org.apache.isis.applib.services.publish.PublisherService2;
+import org.apache.isis.core.runtime.threadpool.DaemonThreadFactory;
+import org.apache.isis.core.runtime.threadpool.LatencyStatistics;
+import org.apache.isis.schema.chg.v1.ChangesDto;
+import org.apache.isis.schema.ixn.v1.InteractionDto;
+import org.apache.isis.schema.utils.ChangesDtoUtils;
+import org.apache.isis.schema.utils.InteractionDtoUtils;
+
+import static org.apache.isis.core.runtime.services.ConfigProperties.getBooleanElse;
+import static org.apache.isis.core.runtime.services.ConfigProperties.getIntElse;
+
+/**
+ * Delivers the {@link InteractionDto}s and {@link ChangesDto}s captured by {@link PublishingServiceInternalDefault}
+ * to {@link PublisherService2} implementations in batches, on a single background thread (so preserving their order).
+ *
+ * <p>
+ *     DTOs are {@link #enqueue(List) enqueued} only once the transaction that produced them has committed.  The queue
+ *     is bounded; if it is full then (depending on the configured {@link Overflow overflow} policy) the DTO is
+ *     spilled to disk (the default), the DTO is dropped, or the committing thread blocks (for up to a timeout for the
+ *     transaction as a whole, after which its remaining DTOs are dropped).  Once spilling starts all subsequent DTOs
+ *     are also spilled until the spill directory has been replayed, so that order is still preserved.  Any files left
+ *     in the spill directory by a previous run are replayed on startup.
+ * </p>
+ *
+ * <p>
+ *     If a publisher throws an exception then the batch is redelivered to that publisher, backing off exponentially
+ *     between attempts, up to a configurable {@link #KEY_MAX_ATTEMPTS number of attempts}.
+ * </p>
+ *
+ * <p>
+ *     Disabled by default, in which case all {@link PublisherService}s are called synchronously.
+ * </p>
+ */
+@DomainService(
+        nature = NatureOfService.DOMAIN,
+        menuOrder = "" + Integer.MAX_VALUE
+)
+public class PublisherDispatchService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PublisherDispatchService.class);
+
+    public static final String KEY_ENABLED = "isis.services.publish.async.enabled";
+    public static final boolean KEY_ENABLED_DEFAULT = false;
+
+    public static final String KEY_QUEUE_CAPACITY = "isis.services.publish.async.queueCapacity";
+    public static final int KEY_QUEUE_CAPACITY_DEFAULT = 10000;
+
+    public static final String KEY_BATCH_SIZE = "isis.services.publish.async.batchSize";
+    public static final int KEY_BATCH_SIZE_DEFAULT = 100;
+
+    public static final String KEY_OVERFLOW = "isis.services.publish.async.overflow";
+    public static final Overflow KEY_OVERFLOW_DEFAULT = Overflow.SPILL;
+
+    public static final String KEY_BLOCK_TIMEOUT_MILLIS = "isis.services.publish.async.blockTimeoutMillis";
+    public static final int KEY_BLOCK_TIMEOUT_MILLIS_DEFAULT = 1000;
+
+    public static final String KEY_MAX_ATTEMPTS = "isis.services.publish.async.maxAttempts";
+    public static final int KEY_MAX_ATTEMPTS_DEFAULT = 3;
+
+    public static final String KEY_RETRY_BACKOFF_MILLIS = "isis.services.publish.async.retryBackoffMillis";
+    public static final int KEY_RETRY_BACKOFF_MILLIS_DEFAULT = 1000;
+
+    public static final String KEY_SPILL_DIRECTORY = "isis.services.publish.async.spillDirectory";
+
+    public static final String KEY_SHUTDOWN_TIMEOUT_SECONDS = "isis.services.publish.async.shutdownTimeoutSeconds";
+    public static final int KEY_SHUTDOWN_TIMEOUT_SECONDS_DEFAULT = 30;
+
+    private static final long POLL_MILLIS = 500;
+
+    private static final String SPILL_SUFFIX = ".xml";
+    private static final String SPILL_INTERACTION = "ixn";
+    private static final String SPILL_CHANGES = "chg";
+
+    /**
+     * What to do with a DTO if the queue is full.
+     */
+    public enum Overflow {
+        /**
+         * Block the committing thread until there is space, for up to a timeout for all of the DTOs of the transaction;
+         * once exceeded, its remaining DTOs are dropped if there is no space.
+         */
+        BLOCK,
+        /**
+         * Drop the DTO, counting it in the {@link Statistics#getDropped() statistics}.
+         */
+        DROP,
+        /**
+         * Write the DTO to disk, to be delivered once the queue has been drained.
+         */
+        SPILL;
+
+        static Overflow parse(final String value) {
+            return value != null ? valueOf(value.trim().toUpperCase()) : KEY_OVERFLOW_DEFAULT;
+        }
+    }
+
+    public static class Statistics {
+
+        private final BlockingQueue<?> queue;
+
+        private final AtomicLong enqueued = new AtomicLong();
+        private final AtomicLong delivered = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+        private final AtomicLong spilled = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong retried = new AtomicLong();
+        private final AtomicLong batches = new AtomicLong();
+        private final LatencyStatistics lag = new LatencyStatistics();
+
+        Statistics(final BlockingQueue<?> queue) {
+            this.queue = queue;
+        }
+
+        public long getEnqueued() {
+            return enqueued.get();
+        }
+
+        /**
+         * The number of DTOs delivered (whether or not any of the publishers failed), including those replayed from
+         * the spill directory.
+         */
+        public long getDelivered() {
+            return delivered.get();
+        }
+
+        /**
+         * The number of DTOs discarded because the queue was full.
+         */
+        public long getDropped() {
+            return dropped.get();
+        }
+
+        /**
+         * The number of DTOs written to the spill directory because the queue was full.
+         */
+        public long getSpilled() {
+            return spilled.get();
+        }
+
+        /**
+         * The number of batches that a publisher failed to publish, even after retrying.
+         */
+        public long getFailed() {
+            return failed.get();
+        }
+
+        /**
+         * The number of times that a batch was redelivered to a publisher that had thrown an exception.
+         */
+        public long getRetried() {
+            return retried.get();
+        }
+
+        public long getBatches() {
+            return batches.get();
+        }
+
+        public int getQueueDepth() {
+            return queue != null ? queue.size() : 0;
+        }
+
+        /**
+         * The time between DTOs being enqueued and being delivered.
+         */
+        public LatencyStatistics getLag() {
+            return lag;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "enqueued %d, delivered %d in %d batches (retried %d, failed %d), dropped %d, spilled %d, queue depth %d, lag %s",
+                    getEnqueued(), getDelivered(), getBatches(), getRetried(), getFailed(), getDropped(), getSpilled(),
+                    getQueueDepth(), getLag());
+        }
+    }
+
+    static class Entry {
+        private final Object dto;
+        private final long enqueuedAt;
+
+        Entry(final Object dto, final long enqueuedAt) {
+            this.dto = dto;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    private boolean enabled;
+    private List<PublisherService2> publishers;
+    private BlockingQueue<Entry> queue;
+    private int batchSize;
+    private Overflow overflow;
+    private long blockTimeoutMillis;
+    private int maxAttempts = 1;
+    private long retryBackoffMillis;
+    private File spillDirectory;
+    private int shutdownTimeoutSeconds = KEY_SHUTDOWN_TIMEOUT_SECONDS_DEFAULT;
+
+    private Statistics statistics = new Statistics(null);
+
+    private final Object spillLock = new Object();
+    private volatile boolean spilling;
+    private final AtomicLong spillSequence = new AtomicLong();
+
+    private ExecutorService executor;
+    private volatile boolean shutdown;
+
+    //region > init, shutdown
+
+    @Programmatic
+    @PostConstruct
+    public void init(final Map<String,String> properties) {
+        if(!getBooleanElse(properties, KEY_ENABLED, KEY_ENABLED_DEFAULT)) {
+            return;
+        }
+
+        final List<PublisherService2> publishers = Lists.newArrayList();
+        if(publisherServices != null) {
+            for (final PublisherService publisherService : publisherServices) {
+                if(publisherService instanceof PublisherService2) {
+                    publishers.add((PublisherService2) publisherService);
+                }
+            }
+        }
+        if(publishers.isEmpty()) {
+            LOG.info("Asynchronous publishing enabled, but no PublisherService2 implementations; ignoring");
+            return;
+        }
+
+        final String spillDirectory = properties.get(KEY_SPILL_DIRECTORY);
+        init(publishers,
+                getIntElse(properties, KEY_QUEUE_CAPACITY, KEY_QUEUE_CAPACITY_DEFAULT),
+                getIntElse(properties, KEY_BATCH_SIZE, KEY_BATCH_SIZE_DEFAULT),
+                Overflow.parse(properties.get(KEY_OVERFLOW)),
+                getIntElse(properties, KEY_BLOCK_TIMEOUT_MILLIS, KEY_BLOCK_TIMEOUT_MILLIS_DEFAULT),
+                spillDirectory != null
+                        ? new File(spillDirectory.trim())
+                        : new File(System.getProperty("java.io.tmpdir"), "isis-publish-spill"));
+        this.maxAttempts = Math.max(1, getIntElse(properties, KEY_MAX_ATTEMPTS, KEY_MAX_ATTEMPTS_DEFAULT));
+        this.retryBackoffMillis = getIntElse(properties, KEY_RETRY_BACKOFF_MILLIS, KEY_RETRY_BACKOFF_MILLIS_DEFAULT);
+        this.shutdownTimeoutSeconds =
+                getIntElse(properties, KEY_SHUTDOWN_TIMEOUT_SECONDS, KEY_SHUTDOWN_TIMEOUT_SECONDS_DEFAULT);
+        start();
+    }
+
+    void init(
+            final List<PublisherService2> publishers,
+            final int queueCapacity,
+            final int batchSize,
+            final Overflow overflow,
+            final long blockTimeoutMillis,
+            final File spillDirectory) {
+        this.publishers = publishers;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.overflow = overflow;
+        this.blockTimeoutMillis = blockTimeoutMillis;
+        this.spillDirectory = spillDirectory;
+        this.statistics = new Statistics(queue);
+
+        if(overflow == Overflow.SPILL) {
+            if(!spillDirectory.isDirectory() && !spillDirectory.mkdirs()) {
+                throw new IllegalStateException("Unable to create spill directory '" + spillDirectory + "'");
+            }
+            final File[] leftOver = spillFiles();
+            if(leftOver.length > 0) {
+                // replay (in order) before anything newly enqueued
+                LOG.info("{} published DTOs left in spill directory '{}'; will replay", leftOver.length, spillDirectory);
+                spillSequence.set(sequenceOf(leftOver[leftOver.length - 1]) + 1);
+                spilling = true;
+            }
+        }
+        this.enabled = true;
+    }
+
+    void init(
+            final List<PublisherService2> publishers,
+            final int queueCapacity,
+            final int batchSize,
+            final Overflow overflow,
+            final long blockTimeoutMillis,
+            final File spillDirectory,
+            final int maxAttempts,
+            final long retryBackoffMillis) {
+        init(publishers, queueCapacity, batchSize, overflow, blockTimeoutMillis, spillDirectory);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMillis = retryBackoffMillis;
+    }
+
+    private void start() {
+        executor = Executors.newSingleThreadExecutor(new DaemonThreadFactory("isis-publisher-dispatch"));
+        executor.submit(new Runnable() {
+            @Override
+            public void run() {
+                dispatchLoop();
+            }
+        });
+    }
+
+    /**
+     * Waits (for up to a configurable timeout) for the queue to be drained; anything spilled but not yet replayed is
+     * left for the next startup.
+     */
+    @Programmatic
+    @PreDestroy
+    public void shutdown() {
+        if(executor == null) {
+            return;
+        }
+        shutdown = true;
+        executor.shutdown();
+        try {
+            if(!executor.awaitTermination(shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        final int remaining = queue.size();
+        if(remaining > 0) {
+            LOG.warn("{} published DTOs not delivered on shutdown", remaining);
+        }
+        LOG.info("Asynchronous publishing: {}", statistics);
+    }
+
+    //endregion
+
+    //region > isEnabled, getStatistics
+
+    /**
+     * Whether DTOs for {@link PublisherService2}s should be {@link #enqueue(List) enqueued} rather than those
+     * publishers being called synchronously.
+     */
+    @Programmatic
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Programmatic
+    public Statistics getStatistics() {
+        return statistics;
+    }
+
+    //endregion
+
+    //region > enqueue
+
+    /**
+     * Enqueues the {@link InteractionDto}s and/or {@link ChangesDto}s of a committed transaction, in order.
+     *
+     * <p>
+     *     If {@link Overflow#BLOCK blocking}, then the timeout applies to the DTOs as a whole, so the committing thread
+     *     is held up for no longer than that however many DTOs the transaction produced.
+     * </p>
+     */
+    @Programmatic
+    public void enqueue(final List<?> dtos) {
+        final long now = System.currentTimeMillis();
+        final long deadline = now + blockTimeoutMillis;
+        int dropped = 0;
+        for (final Object dto : dtos) {
+            statistics.enqueued.incrementAndGet();
+            if(!enqueue(new Entry(dto, now), deadline)) {
+                statistics.dropped.incrementAndGet();
+                dropped++;
+            }
+        }
+        if(dropped > 0) {
+            LOG.error("Publishing queue full; dropped {} of {} DTOs of transaction {}",
+                    dropped, dtos.size(), transactionIdOf(dtos.get(0)));
+        }
+    }
+
+    /**
+     * @return <tt>false</tt> if dropped.
+     */
+    private boolean enqueue(final Entry entry, final long deadline) {
+        switch (overflow) {
+        case BLOCK:
+            try {
+                final long remaining = Math.max(0, deadline - System.currentTimeMillis());
+                return queue.offer(entry, remaining, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        case DROP:
+            return queue.offer(entry);
+        case SPILL:
+            synchronized (spillLock) {
+                if(!spilling) {
+                    if(queue.offer(entry)) {
+                        return true;
+                    }
+                    LOG.warn("Publishing queue full; spilling to '{}'", spillDirectory);
+                    spilling = true;
+                }
+                try {
+                    spill(entry);
+                    statistics.spilled.incrementAndGet();
+                    return true;
+                } catch (IOException ex) {
+                    LOG.error("Unable to spill published DTO", ex);
+                    return false;
+                }
+            }
+        default:
+            throw new IllegalStateException("Unknown overflow policy " + overflow);
+        }
+    }
+
+    //endregion
+
+    //region > dispatch
+
+    private void dispatchLoop() {
+        while(!(shutdown && queue.isEmpty())) {
+            try {
+                dispatchNext(POLL_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException ex) {
+                LOG.error("Failed to dispatch published DTOs", ex);
+            }
+        }
+    }
+
+    /**
+     * Delivers the next batch from the queue or, if it is empty, from the spill directory.
+     *
+     * @return the number of DTOs delivered.
+     */
+    int dispatchNext(final long timeoutMillis) throws InterruptedException {
+        // if spilling then nothing more is being added to the queue, so don't wait on it.
+        final Entry first = spilling ? queue.poll() : queue.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+        if(first != null) {
+            final List<Entry> batch = Lists.newArrayList();
+            batch.add(first);
+            queue.drainTo(batch, batchSize - 1);
+            deliver(batch);
+            return batch.size();
+        }
+        return spilling && !shutdown ? replaySpilled() : 0;
+    }
+
+    private void deliver(final List<Entry> batch) {
+        statistics.batches.incrementAndGet();
+        int from = 0;
+        while(from < batch.size()) {
+            final boolean interactions = batch.get(from).dto instanceof InteractionDto;
+            int to = from + 1;
+            while(to < batch.size() && (batch.get(to).dto instanceof InteractionDto) == interactions) {
+                to++;
+            }
+            final List<Entry> run = batch.subList(from, to);
+            if(interactions) {
+                deliverInteractions(run);
+            } else {
+                deliverChanges(run);
+            }
+            from = to;
+        }
+
+        final long now = System.currentTimeMillis();
+        for (final Entry entry : batch) {
+            statistics.lag.record(now - entry.enqueuedAt);
+        }
+        statistics.delivered.addAndGet(batch.size());
+    }
+
+    private void deliverInteractions(final List<Entry> run) {
+        final List<InteractionDto> dtos = Lists.newArrayList();
+        for (final Entry entry : run) {
+            dtos.add((InteractionDto) entry.dto);
+        }
+        for (final PublisherService2 publisher : publishers) {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    publisher.publishInteractions(dtos);
+                    break;
+                } catch (RuntimeException ex) {
+                    if(!retryAfter(ex, publisher, "interactions", dtos, attempt)) {
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    private void deliverChanges(final List<Entry> run) {
+        final List<ChangesDto> dtos = Lists.newArrayList();
+        for (final Entry entry : run) {
+            dtos.add((ChangesDto) entry.dto);
+        }
+        for (final PublisherService2 publisher : publishers) {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    publisher.publishChanges(dtos);
+                    break;
+                } catch (RuntimeException ex) {
+                    if(!retryAfter(ex, publisher, "changes", dtos, attempt)) {
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Backs off (exponentially) before the next attempt, unless the attempts are exhausted (or the dispatcher is
+     * interrupted), in which case the batch is given up on.
+     *
+     * @return whether to retry.
+     */
+    private boolean retryAfter(
+            final RuntimeException ex,
+            final PublisherService2 publisher,
+            final String what,
+            final List<?> dtos,
+            final int attempt) {
+        final String publisherName = publisher.getClass().getName();
+        if(attempt < maxAttempts) {
+            final long backoffMillis = retryBackoffMillis << (attempt - 1);
+            LOG.warn("Publisher '{}' failed to publish {} {} (attempt {} of {}); retrying in {} ms",
+                    publisherName, dtos.size(), what, attempt, maxAttempts, backoffMillis, ex);
+            try {
+                Thread.sleep(backoffMillis);
+                statistics.retried.incrementAndGet();
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        statistics.failed.incrementAndGet();
+        LOG.error("Publisher '{}' failed to publish {} {} after {} attempt(s); giving up on transactions {}",
+                publisherName, dtos.size(), what, attempt, transactionIdsOf(dtos), ex);
+        return false;
+    }
+
+    private static List<String> transactionIdsOf(final List<?> dtos) {
+        final List<String> transactionIds = Lists.newArrayList();
+        for (final Object dto : dtos) {
+            final String transactionId = transactionIdOf(dto);
+            if(!transactionIds.contains(transactionId)) {
+                transactionIds.add(transactionId);
+            }
+        }
+        return transactionIds;
+    }
+
+    private static String transactionIdOf(final Object dto) {
+        return dto instanceof InteractionDto
+                ? ((InteractionDto) dto).getTransactionId()
+                : ((ChangesDto) dto).getTransactionId();
+    }
+
+    //endregion
+
+    //region > spill
+
+    private void spill(final Entry entry) throws IOException {
+        final boolean interaction = entry.dto instanceof InteractionDto;
+        final String name = String.format("%019d-%s", spillSequence.getAndIncrement(),
+                interaction ? SPILL_INTERACTION : SPILL_CHANGES);
+        // written under a temporary name so that the dispatcher never reads a partial file
+        final File tmp = new File(spillDirectory, name + ".tmp");
+        try (final Writer writer = Files.newBufferedWriter(tmp.toPath(), StandardCharsets.UTF_8)) {
+            if(interaction) {
+                InteractionDtoUtils.toXml((InteractionDto) entry.dto, writer);
+            } else {
+                ChangesDtoUtils.toXml((ChangesDto) entry.dto, writer);
+            }
+        }
+        if(!tmp.renameTo(new File(spillDirectory, name + SPILL_SUFFIX))) {
+            throw new IOException("Unable to rename '" + tmp + "'");
+        }
+    }
+
+    private int replaySpilled() {
+        final File[] files = spillFiles();
+        if(files.length == 0) {
+            synchronized (spillLock) {
+                if(spillFiles().length == 0) {
+                    spilling = false;
+                    LOG.info("Spilled published DTOs all replayed");
+                }
+            }
+            return 0;
+        }
+
+        final List<File> replayed = Lists.newArrayList();
+        final List<Entry> batch = Lists.newArrayList();
+        for (int i = 0; i < files.length && batch.size() < batchSize; i++) {
+            final File file = files[i];
+            try (final Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+                final Object dto = file.getName().contains(SPILL_INTERACTION)
+                        ? InteractionDtoUtils.fromXml(reader)
+                        : ChangesDtoUtils.fromXml(reader);
+                batch.add(new Entry(dto, file.lastModified()));
+                replayed.add(file);
+            } catch (IOException | RuntimeException ex) {
+                LOG.error("Unable to read spilled DTO '{}'; setting aside", file, ex);
+                if(!file.renameTo(new File(file.getPath() + ".failed"))) {
+                    replayed.add(file);
+                }
+            }
+        }
+        if(!batch.isEmpty()) {
+            deliver(batch);
+        }
+        for (final File file : replayed) {
+            if(!file.delete()) {
+                LOG.warn("Unable to delete spilled DTO '{}'", file);
+            }
+        }
+        return batch.size();
+    }
+
+    private File[] spillFiles() {
+        final File[] files = spillDirectory.listFiles(new FilenameFilter() {
+            @Override
+            public boolean accept(final File dir, final String name) {
+                return name.endsWith(SPILL_SUFFIX);
+            }
+        });
+        if(files == null) {
+            return new File[0];
+        }
+        // names are zero-padded sequence numbers, so lexical order is the order spilled
+        Arrays.sort(files);
+        return files;
+    }
+
+    private static long sequenceOf(final File file) {
+        final String name = file.getName();
+        return Long.parseLong(name.substring(0, name.indexOf('-')));
+    }
+
+    //endregion
+
+    //region > injected services
+    @javax.inject.Inject
+    private List<PublisherService> publisherServices;
+    //endregion
+
+}
@@ -52,8 +52,10 @@
 import org.apache.isis.applib.services.publish.ObjectStringifier;
 import org.apache.isis.applib.services.publish.PublishedObjects;
 import org.apache.isis.applib.services.publish.PublisherService;
+import org.apache.isis.applib.services.publish.PublisherService2;
 import org.apache.isis.applib.services.publish.PublishingService;
 import org.apache.isis.applib.services.user.UserService;
+import org.apache.isis.schema.utils.InteractionDtoUtils;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.adapter.oid.Oid;
 import org.apache.isis.core.metamodel.adapter.oid.OidMarshaller;
@@ -69,6 +71,7 @@
 import org.apache.isis.core.metamodel.services.publishing.PublishingServiceInternal;
 import org.apache.isis.core.metamodel.spec.feature.ObjectAction;
 import org.apache.isis.core.runtime.services.changes.ChangedObjectsServiceInternal;
+import org.apache.isis.core.runtime.services.publish.outbox.PublisherOutboxService;
 import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
 import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
 
@@ -122,6 +125,9 @@ public void publishObjects() {
 
         publishObjectsToPublishingService(changeKindByEnlistedAdapter);
         publishObjectsToPublisherServices(changeKindByEnlistedAdapter);
+
+        // this is called during pre-commit, so is the last opportunity to durably record the DTOs
+        appendPendingToOutbox();
     }
 
     private void publishObjectsToPublishingService(final Map<ObjectAdapter, ChangeKind> changeKindByEnlistedAdapter) {
@@ -190,8 +196,14 @@ private void publishObjectsToPublisherServices(
                 changeKindByPublishedAdapter);
 
         for (PublisherService publisherService : publisherServices) {
+            if(isDispatchedAsync(publisherService)) {
+                continue;
+            }
             publisherService.publish(publishedObjects);
         }
+        if(isAnyDispatchedAsync()) {
+            pendingDtos.add(publishedObjects.getDto());
+        }
     }
 
     private PublishedObjects newPublishedObjects(
@@ -397,8 +409,87 @@ private void publishToPublisherServices(final Interaction.Execution<?,?> executi
         }
 
         for (final PublisherService publisherService : publisherServices) {
+            if(isDispatchedAsync(publisherService)) {
+                continue;
+            }
             publisherService.publish(execution);
         }
+        if(isAnyDispatchedAsync()) {
+            pendingDtos.add(InteractionDtoUtils.newInteractionDto(execution));
+        }
+    }
+
+    //endregion
+
+    //region > async dispatch (transactionCommitted, transactionAborted)
+
+    /**
+     * The DTOs captured for {@link PublisherService2}s (if {@link PublisherOutboxService#isEnabled() journalled} or
+     * {@link PublisherDispatchService#isEnabled() dispatched asynchronously}) during the current transaction, in the
+     * order published.
+     */
+    private final List<Object> pendingDtos = Lists.newArrayList();
+
+    /**
+     * If journalled, identifies the DTOs of the current transaction appended to the outbox.
+     */
+    private String outboxTransactionId;
+
+    private boolean isDispatchedAsync(final PublisherService publisherService) {
+        return publisherService instanceof PublisherService2 && isAnyDispatchedAsync();
+    }
+
+    private boolean isAnyDispatchedAsync() {
+        return isOutboxEnabled() || publisherDispatchService != null && publisherDispatchService.isEnabled();
+    }
+
+    private boolean isOutboxEnabled() {
+        return publisherOutboxService != null && publisherOutboxService.isEnabled();
+    }
+
+    private void appendPendingToOutbox() {
+        if(!isOutboxEnabled() || pendingDtos.isEmpty()) {
+            return;
+        }
+        try {
+            outboxTransactionId = publisherOutboxService.append(pendingDtos);
+        } finally {
+            pendingDtos.clear();
+        }
+    }
+
+    @Programmatic
+    @Override
+    public void transactionCommitted() {
+        if(outboxTransactionId != null) {
+            publisherOutboxService.committed(outboxTransactionId);
+            outboxTransactionId = null;
+        }
+        if(pendingDtos.isEmpty()) {
+            return;
+        }
+        if(isOutboxEnabled()) {
+            // published after pre-commit (not expected), so journal them now as if a transaction of their own.
+            appendPendingToOutbox();
+            publisherOutboxService.committed(outboxTransactionId);
+            outboxTransactionId = null;
+            return;
+        }
+        try {
+            publisherDispatchService.enqueue(pendingDtos);
+        } finally {
+            pendingDtos.clear();
+        }
+    }
+
+    @Programmatic
+    @Override
+    public void transactionAborted() {
+        pendingDtos.clear();
+        if(outboxTransactionId != null) {
+            publisherOutboxService.aborted(outboxTransactionId);
+            outboxTransactionId = null;
+        }
     }
 
     //endregion
@@ -428,6 +519,12 @@ public <T> T withPublishingSuppressed(final Block<T> block) {
     @javax.inject.Inject
     private PublishingService publishingServiceIfAny;
 
+    @javax.inject.Inject
+    private PublisherDispatchService publisherDispatchService;
+
+    @javax.inject.Inject
+    private PublisherOutboxService publisherOutboxService;
+
     @javax.inject.Inject
     private ChangedObjectsServiceInternal changedObjectsServiceInternal;
 
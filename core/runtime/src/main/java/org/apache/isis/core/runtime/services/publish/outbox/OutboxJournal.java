@@ -0,0 +1,480 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.publish.outbox;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+import com.google.common.collect.Lists;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An append-only journal on local disk, made up of fixed-size memory-mapped segment files.
+ *
+ * <p>
+ *     Each record is written as its length, a CRC32 checksum, a type and a payload (a transaction id and an optional
+ *     body).  Records never span segments: if a record does not fit in the current segment then a new segment is
+ *     started.  The position of a record is the base of its segment (which is also the segment's file name) plus its
+ *     offset within the segment.
+ * </p>
+ *
+ * <p>
+ *     Appends are made durable using group commit: the first thread to {@link #awaitDurable(long) wait} for its
+ *     records to be durable forces the segment to disk on behalf of every record appended so far, while any others
+ *     simply wait for it to finish.  Because the segments are memory-mapped, appended records survive a crash of the
+ *     JVM (though not of the OS) even before they are forced.
+ * </p>
+ *
+ * <p>
+ *     A single {@link #checkpoint(long) checkpoint} records the position up to which the records have been
+ *     consumed; segments entirely before it are {@link #compact() deleted}.  On opening, the end of the last segment
+ *     is recovered by scanning for the first record that is incomplete or fails its checksum.
+ * </p>
+ */
+public class OutboxJournal implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OutboxJournal.class);
+
+    /**
+     * length (int) and checksum (int)
+     */
+    private static final int HEADER_SIZE = 8;
+    private static final String SEGMENT_SUFFIX = ".segment";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    public static class Record {
+        private final long position;
+        private final long nextPosition;
+        private final byte type;
+        private final String transactionId;
+        private final byte[] body;
+
+        Record(final long position, final long nextPosition, final byte type, final String transactionId, final byte[] body) {
+            this.position = position;
+            this.nextPosition = nextPosition;
+            this.type = type;
+            this.transactionId = transactionId;
+            this.body = body;
+        }
+
+        public long getPosition() {
+            return position;
+        }
+
+        /**
+         * The position immediately after this record; reading from here returns the records that follow it.
+         */
+        public long getNextPosition() {
+            return nextPosition;
+        }
+
+        public byte getType() {
+            return type;
+        }
+
+        public String getTransactionId() {
+            return transactionId;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+    }
+
+    private static class Segment {
+        private final long base;
+        private final File file;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+
+        Segment(final long base, final File file, final int size) throws IOException {
+            this.base = base;
+            this.file = file;
+            this.channel = new RandomAccessFile(file, "rw").getChannel();
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+
+        int size() {
+            return buffer.capacity();
+        }
+
+        void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    private final File directory;
+    private final int segmentSize;
+
+    /**
+     * Guarded by {@link #appendLock}; a copy is taken (under the lock) by readers.
+     */
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private final Object appendLock = new Object();
+    private Segment current;
+    private long appendedPosition;
+
+    private final Object forceLock = new Object();
+    private long durablePosition;
+    private boolean forcing;
+
+    private volatile long checkpoint;
+
+    public OutboxJournal(final File directory, final int segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        open();
+    }
+
+    //region > open, close
+
+    private void open() throws IOException {
+        if(!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Unable to create journal directory '" + directory + "'");
+        }
+        final File[] files = directory.listFiles(new FilenameFilter() {
+            @Override
+            public boolean accept(final File dir, final String name) {
+                return name.endsWith(SEGMENT_SUFFIX);
+            }
+        });
+        if(files != null) {
+            for (final File file : files) {
+                final long base = Long.parseLong(file.getName().substring(0, file.getName().length() - SEGMENT_SUFFIX.length()));
+                segments.put(base, new Segment(base, file, (int) file.length()));
+            }
+        }
+        if(segments.isEmpty()) {
+            current = newSegment(0L);
+            appendedPosition = 0L;
+        } else {
+            current = segments.lastEntry().getValue();
+            appendedPosition = current.base + recoverEnd(current);
+        }
+        durablePosition = appendedPosition;
+
+        final File checkpointFile = new File(directory, CHECKPOINT_FILE);
+        checkpoint = checkpointFile.exists()
+                ? Long.parseLong(new String(Files.readAllBytes(checkpointFile.toPath()), StandardCharsets.UTF_8).trim())
+                : segments.firstKey();
+        if(checkpoint > appendedPosition) {
+            // only possible if the records past the end were lost in an OS crash; they had already been consumed.
+            checkpoint = appendedPosition;
+        }
+        if(checkpoint < segments.firstKey()) {
+            checkpoint = segments.firstKey();
+        }
+    }
+
+    /**
+     * Returns the offset just after the last intact record in the segment, zeroing anything after it so that
+     * subsequent appends are never followed by stale bytes.
+     */
+    private static int recoverEnd(final Segment segment) {
+        final ByteBuffer buffer = segment.buffer.duplicate();
+        int offset = 0;
+        while(true) {
+            final int length = lengthAt(buffer, offset);
+            if(length <= 0 || !checksumMatches(buffer, offset, length)) {
+                break;
+            }
+            offset += HEADER_SIZE + length;
+        }
+        if(offset + 4 <= buffer.capacity() && buffer.getInt(offset) != 0) {
+            LOG.warn("Discarding incomplete record at offset {} of journal segment '{}'", offset, segment.file);
+            for (int i = offset; i < buffer.capacity(); i++) {
+                buffer.put(i, (byte) 0);
+            }
+            segment.buffer.force();
+        }
+        return offset;
+    }
+
+    private Segment newSegment(final long base) throws IOException {
+        final File file = new File(directory, String.format("%019d%s", base, SEGMENT_SUFFIX));
+        final Segment segment = new Segment(base, file, segmentSize);
+        segments.put(base, segment);
+        return segment;
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (appendLock) {
+            for (final Segment segment : segments.values()) {
+                segment.buffer.force();
+                segment.close();
+            }
+            segments.clear();
+        }
+    }
+
+    //endregion
+
+    //region > append, awaitDurable
+
+    /**
+     * Appends a record, returning the position immediately after it.
+     */
+    public long append(final byte type, final String transactionId, final byte[] body) throws IOException {
+        final byte[] transactionIdBytes = transactionId.getBytes(StandardCharsets.UTF_8);
+        final int length = 1 + 2 + transactionIdBytes.length + body.length;
+        if(HEADER_SIZE + length > segmentSize) {
+            throw new IllegalArgumentException(
+                    "Record of " + length + " bytes is too large for journal segments of " + segmentSize + " bytes");
+        }
+
+        final ByteBuffer payload = ByteBuffer.allocate(length);
+        payload.put(type);
+        payload.putShort((short) transactionIdBytes.length);
+        payload.put(transactionIdBytes);
+        payload.put(body);
+        final CRC32 crc = new CRC32();
+        crc.update(payload.array(), 0, length);
+
+        synchronized (appendLock) {
+            int offset = (int) (appendedPosition - current.base);
+            if(offset + HEADER_SIZE + length > current.size()) {
+                // the rest of this segment is left zeroed, which readers take to mean "continue in the next segment"
+                current.buffer.force();
+                current = newSegment(current.base + current.size());
+                offset = 0;
+            }
+            final ByteBuffer buffer = current.buffer.duplicate();
+            buffer.position(offset + 4);
+            buffer.putInt((int) crc.getValue());
+            buffer.put(payload.array(), 0, length);
+            // the length is written last, so that a torn record is never taken to be complete
+            buffer.putInt(offset, length);
+
+            appendedPosition = current.base + offset + HEADER_SIZE + length;
+            appendLock.notifyAll();
+            return appendedPosition;
+        }
+    }
+
+    /**
+     * Blocks until everything up to the specified position has been forced to disk, waiting at most
+     * <tt>groupCommitWindowMillis</tt> for further records to be appended before forcing them all together.
+     */
+    public void awaitDurable(final long position, final long groupCommitWindowMillis) throws IOException {
+        synchronized (forceLock) {
+            while(durablePosition < position) {
+                if(forcing) {
+                    try {
+                        forceLock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException("Interrupted waiting for journal to be forced", e);
+                    }
+                    continue;
+                }
+                forcing = true;
+                try {
+                    if(groupCommitWindowMillis > 0) {
+                        forceLock.wait(groupCommitWindowMillis);
+                    }
+                    final Segment segment;
+                    final long forcedTo;
+                    synchronized (appendLock) {
+                        segment = current;
+                        forcedTo = appendedPosition;
+                    }
+                    // earlier segments were forced when rolled over
+                    segment.buffer.force();
+                    durablePosition = Math.max(durablePosition, forcedTo);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted waiting for journal to be forced", e);
+                } finally {
+                    forcing = false;
+                    forceLock.notifyAll();
+                }
+            }
+        }
+    }
+
+    public void awaitDurable(final long position) throws IOException {
+        awaitDurable(position, 0);
+    }
+
+    public long getAppendedPosition() {
+        synchronized (appendLock) {
+            return appendedPosition;
+        }
+    }
+
+    /**
+     * Waits (for at most the specified time) for a record to be appended after the specified position.
+     */
+    public void awaitAppended(final long position, final long timeoutMillis) throws InterruptedException {
+        synchronized (appendLock) {
+            if(appendedPosition <= position) {
+                appendLock.wait(timeoutMillis);
+            }
+        }
+    }
+
+    //endregion
+
+    //region > read
+
+    /**
+     * Reads up to <tt>max</tt> records, starting at the specified position.
+     */
+    public List<Record> read(final long fromPosition, final int max) {
+        final TreeMap<Long, Segment> segments;
+        final long endPosition;
+        synchronized (appendLock) {
+            segments = new TreeMap<>(this.segments);
+            endPosition = appendedPosition;
+        }
+
+        final List<Record> records = Lists.newArrayList();
+        long position = fromPosition;
+        while(records.size() < max && position < endPosition) {
+            final Map.Entry<Long, Segment> entry = segments.floorEntry(position);
+            if(entry == null) {
+                throw new IllegalStateException("No journal segment for position " + position);
+            }
+            final Segment segment = entry.getValue();
+            final ByteBuffer buffer = segment.buffer.duplicate();
+            final int offset = (int) (position - segment.base);
+            final int length = lengthAt(buffer, offset);
+            if(length <= 0) {
+                final Long nextBase = segments.higherKey(segment.base);
+                if(nextBase == null) {
+                    break;
+                }
+                position = nextBase;
+                continue;
+            }
+
+            buffer.position(offset + HEADER_SIZE);
+            final byte type = buffer.get();
+            final byte[] transactionIdBytes = new byte[buffer.getShort()];
+            buffer.get(transactionIdBytes);
+            final byte[] body = new byte[length - 1 - 2 - transactionIdBytes.length];
+            buffer.get(body);
+
+            final long nextPosition = position + HEADER_SIZE + length;
+            records.add(new Record(position, nextPosition, type, new String(transactionIdBytes, StandardCharsets.UTF_8), body));
+            position = nextPosition;
+        }
+        return records;
+    }
+
+    private static int lengthAt(final ByteBuffer buffer, final int offset) {
+        if(offset + HEADER_SIZE > buffer.capacity()) {
+            return 0;
+        }
+        final int length = buffer.getInt(offset);
+        return length > 0 && offset + HEADER_SIZE + length <= buffer.capacity() ? length : 0;
+    }
+
+    private static boolean checksumMatches(final ByteBuffer buffer, final int offset, final int length) {
+        final byte[] payload = new byte[length];
+        final ByteBuffer duplicate = buffer.duplicate();
+        duplicate.position(offset + HEADER_SIZE);
+        duplicate.get(payload);
+        final CRC32 crc = new CRC32();
+        crc.update(payload, 0, length);
+        return (int) crc.getValue() == buffer.getInt(offset + 4);
+    }
+
+    //endregion
+
+    //region > checkpoint, compact
+
+    public long getCheckpoint() {
+        return checkpoint;
+    }
+
+    /**
+     * Durably records that the records before the specified position have been consumed (first forcing the journal up
+     * to that position, so that the checkpoint never refers to records that might yet be lost).
+     */
+    public void checkpoint(final long position) throws IOException {
+        awaitDurable(position);
+        final File tmp = new File(directory, CHECKPOINT_FILE + ".tmp");
+        try (final FileChannel channel = FileChannel.open(tmp.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.wrap(Long.toString(position).getBytes(StandardCharsets.UTF_8)));
+            channel.force(true);
+        }
+        Files.move(tmp.toPath(), new File(directory, CHECKPOINT_FILE).toPath(),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        this.checkpoint = position;
+    }
+
+    /**
+     * Deletes the segments all of whose records precede the {@link #getCheckpoint() checkpoint}.
+     *
+     * @return the number of segments deleted.
+     */
+    public int compact() {
+        final long checkpoint = this.checkpoint;
+        int deleted = 0;
+        synchronized (appendLock) {
+            final Iterator<Segment> iterator = segments.values().iterator();
+            while(iterator.hasNext()) {
+                final Segment segment = iterator.next();
+                if(segment == current || segment.base + segment.size() > checkpoint) {
+                    break;
+                }
+                iterator.remove();
+                try {
+                    segment.close();
+                } catch (IOException ex) {
+                    LOG.warn("Unable to close journal segment '{}'", segment.file, ex);
+                }
+                if(!segment.file.delete()) {
+                    LOG.warn("Unable to delete journal segment '{}'", segment.file);
+                }
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    public int getSegmentCount() {
+        synchronized (appendLock) {
+            return segments.size();
+        }
+    }
+
+    //endregion
+
+}
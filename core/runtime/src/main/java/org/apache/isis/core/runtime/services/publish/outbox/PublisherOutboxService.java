@@ -0,0 +1,652 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.publish.outbox;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import com.google.common.collect.Lists;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.publish.PublisherService;
+import org.apache.isis.applib.services.publish.PublisherService2;
+import org.apache.isis.core.commons.exceptions.IsisException;
+import org.apache.isis.core.runtime.threadpool.DaemonThreadFactory;
+import org.apache.isis.schema.chg.v1.ChangesDto;
+import org.apache.isis.schema.ixn.v1.InteractionDto;
+import org.apache.isis.schema.utils.ChangesDtoUtils;
+import org.apache.isis.schema.utils.DtoBinaryCodec;
+import org.apache.isis.schema.utils.InteractionDtoUtils;
+
+import static org.apache.isis.core.runtime.services.ConfigProperties.getBooleanElse;
+import static org.apache.isis.core.runtime.services.ConfigProperties.getIntElse;
+
+/**
+ * A local, durable outbox for the {@link InteractionDto}s and {@link ChangesDto}s published to
+ * {@link PublisherService2} implementations, giving at-least-once delivery without writing them to the database.
+ *
+ * <p>
+ *     The DTOs of each transaction are {@link #append(List) appended} to an {@link OutboxJournal} during pre-commit,
+ *     and are durable (forced to disk, using group commit) before the transaction commits.  Once the transaction has
+ *     committed (or been aborted) a marker record is appended, and likewise forced to disk.  A relay thread reads the journal and delivers the
+ *     DTOs of each committed transaction, in the order that the transactions committed, periodically checkpointing
+ *     its position (and deleting segments that precede it).  The checkpoint never passes the first record of a
+ *     transaction not yet committed or aborted.
+ * </p>
+ *
+ * <p>
+ *     Delivery is at-least-once: if a publisher fails then the relay backs off and resumes from the checkpoint, and
+ *     DTOs delivered after the last checkpoint are delivered again after a restart.  On startup, any transaction
+ *     with neither marker (ie in progress when the JVM crashed) is in doubt; by default it is delivered (it may have
+ *     committed), though it can instead be discarded according to {@link #KEY_DELIVER_IN_DOUBT configuration}.
+ * </p>
+ *
+ * <p>
+ *     If a marker cannot be appended then the relay retries appending it.  So that the checkpoint is not held back
+ *     indefinitely, a transaction still without a marker after a {@link #KEY_IN_DOUBT_TIMEOUT_MILLIS timeout} is
+ *     treated as in doubt, as it would be on startup.
+ * </p>
+ */
+@DomainService(
+        nature = NatureOfService.DOMAIN,
+        menuOrder = "" + Integer.MAX_VALUE
+)
+public class PublisherOutboxService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PublisherOutboxService.class);
+
+    public static final String KEY_ENABLED = "isis.services.publish.outbox.enabled";
+    public static final boolean KEY_ENABLED_DEFAULT = false;
+
+    public static final String KEY_DIRECTORY = "isis.services.publish.outbox.directory";
+
+    public static final String KEY_SEGMENT_SIZE = "isis.services.publish.outbox.segmentSize";
+    public static final int KEY_SEGMENT_SIZE_DEFAULT = 64 * 1024 * 1024;
+
+    public static final String KEY_GROUP_COMMIT_WINDOW_MILLIS = "isis.services.publish.outbox.groupCommitWindowMillis";
+    public static final int KEY_GROUP_COMMIT_WINDOW_MILLIS_DEFAULT = 0;
+
+    public static final String KEY_BATCH_SIZE = "isis.services.publish.outbox.batchSize";
+    public static final int KEY_BATCH_SIZE_DEFAULT = 100;
+
+    public static final String KEY_RETRY_BACKOFF_MILLIS = "isis.services.publish.outbox.retryBackoffMillis";
+    public static final int KEY_RETRY_BACKOFF_MILLIS_DEFAULT = 1000;
+
+    public static final String KEY_DELIVER_IN_DOUBT = "isis.services.publish.outbox.deliverInDoubt";
+    public static final boolean KEY_DELIVER_IN_DOUBT_DEFAULT = true;
+
+    public static final String KEY_IN_DOUBT_TIMEOUT_MILLIS = "isis.services.publish.outbox.inDoubtTimeoutMillis";
+    public static final int KEY_IN_DOUBT_TIMEOUT_MILLIS_DEFAULT = 5 * 60 * 1000;
+
+    /**
+     * Whether DTOs are appended using the compact {@link org.apache.isis.schema.utils.DtoBinaryCodec binary encoding}
+     * rather than as XML.  Either is read back regardless, so this can be changed with DTOs still in the journal.
+     */
+    public static final String KEY_BINARY_ENCODING = "isis.services.publish.outbox.binaryEncoding";
+    public static final boolean KEY_BINARY_ENCODING_DEFAULT = false;
+
+    static final byte TYPE_INTERACTION = 1;
+    static final byte TYPE_CHANGES = 2;
+    static final byte TYPE_COMMITTED = 3;
+    static final byte TYPE_ABORTED = 4;
+
+    private static final byte[] NO_BODY = new byte[0];
+    private static final long POLL_MILLIS = 500;
+    private static final int SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    public static class Statistics {
+
+        private final AtomicLong appended = new AtomicLong();
+        private final AtomicLong delivered = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong inDoubt = new AtomicLong();
+
+        /**
+         * The number of DTOs appended to the journal.
+         */
+        public long getAppended() {
+            return appended.get();
+        }
+
+        /**
+         * The number of DTOs delivered (including any delivered again after a failure).
+         */
+        public long getDelivered() {
+            return delivered.get();
+        }
+
+        /**
+         * The number of attempts to deliver that failed, and so were retried.
+         */
+        public long getFailed() {
+            return failed.get();
+        }
+
+        /**
+         * The number of transactions found on startup with neither a committed nor an aborted marker, or left
+         * without either for longer than the {@link #KEY_IN_DOUBT_TIMEOUT_MILLIS timeout}.
+         */
+        public long getInDoubt() {
+            return inDoubt.get();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("appended %d, delivered %d, failed %d, in doubt %d",
+                    getAppended(), getDelivered(), getFailed(), getInDoubt());
+        }
+    }
+
+    private static class OpenTransaction {
+        private final long firstPosition;
+        private final long openedAt;
+        private final List<Object> dtos = Lists.newArrayList();
+
+        OpenTransaction(final long firstPosition, final long openedAt) {
+            this.firstPosition = firstPosition;
+            this.openedAt = openedAt;
+        }
+    }
+
+    private static class Marker {
+        private final byte type;
+        private final String transactionId;
+
+        Marker(final byte type, final String transactionId) {
+            this.type = type;
+            this.transactionId = transactionId;
+        }
+    }
+
+    private boolean enabled;
+    private List<PublisherService2> publishers;
+    private OutboxJournal journal;
+    private int batchSize;
+    private long retryBackoffMillis;
+    private long groupCommitWindowMillis;
+    private boolean deliverInDoubt = KEY_DELIVER_IN_DOUBT_DEFAULT;
+    private long inDoubtTimeoutMillis = KEY_IN_DOUBT_TIMEOUT_MILLIS_DEFAULT;
+    private boolean binaryEncoding = KEY_BINARY_ENCODING_DEFAULT;
+
+    private final Statistics statistics = new Statistics();
+
+    /**
+     * Markers that could not be appended, to be retried by the relay thread.
+     */
+    private final Deque<Marker> unappendedMarkers = new ConcurrentLinkedDeque<>();
+
+    /**
+     * Relay state, only accessed by the relay thread.
+     */
+    private long readPosition;
+    private final LinkedHashMap<String, OpenTransaction> openTransactions = new LinkedHashMap<>();
+
+    private ExecutorService executor;
+    private volatile boolean shutdown;
+
+    //region > init, shutdown
+
+    @Programmatic
+    @PostConstruct
+    public void init(final Map<String,String> properties) {
+        if(!getBooleanElse(properties, KEY_ENABLED, KEY_ENABLED_DEFAULT)) {
+            return;
+        }
+
+        final List<PublisherService2> publishers = Lists.newArrayList();
+        if(publisherServices != null) {
+            for (final PublisherService publisherService : publisherServices) {
+                if(publisherService instanceof PublisherService2) {
+                    publishers.add((PublisherService2) publisherService);
+                }
+            }
+        }
+        if(publishers.isEmpty()) {
+            LOG.info("Publishing outbox enabled, but no PublisherService2 implementations; ignoring");
+            return;
+        }
+
+        final String directory = properties.get(KEY_DIRECTORY);
+        final OutboxJournal journal;
+        try {
+            journal = new OutboxJournal(
+                    directory != null
+                            ? new File(directory.trim())
+                            : new File(System.getProperty("java.io.tmpdir"), "isis-outbox"),
+                    getIntElse(properties, KEY_SEGMENT_SIZE, KEY_SEGMENT_SIZE_DEFAULT));
+        } catch (IOException ex) {
+            throw new IsisException("Unable to open publishing outbox journal", ex);
+        }
+        this.binaryEncoding = getBooleanElse(properties, KEY_BINARY_ENCODING, KEY_BINARY_ENCODING_DEFAULT);
+        init(publishers, journal,
+                getIntElse(properties, KEY_BATCH_SIZE, KEY_BATCH_SIZE_DEFAULT),
+                getIntElse(properties, KEY_RETRY_BACKOFF_MILLIS, KEY_RETRY_BACKOFF_MILLIS_DEFAULT),
+                getIntElse(properties, KEY_GROUP_COMMIT_WINDOW_MILLIS, KEY_GROUP_COMMIT_WINDOW_MILLIS_DEFAULT),
+                getBooleanElse(properties, KEY_DELIVER_IN_DOUBT, KEY_DELIVER_IN_DOUBT_DEFAULT));
+        this.inDoubtTimeoutMillis =
+                getIntElse(properties, KEY_IN_DOUBT_TIMEOUT_MILLIS, KEY_IN_DOUBT_TIMEOUT_MILLIS_DEFAULT);
+        start();
+    }
+
+    void init(
+            final List<PublisherService2> publishers,
+            final OutboxJournal journal,
+            final int batchSize,
+            final long retryBackoffMillis,
+            final long groupCommitWindowMillis,
+            final boolean deliverInDoubt) {
+        this.publishers = publishers;
+        this.journal = journal;
+        this.batchSize = Math.max(1, batchSize);
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.groupCommitWindowMillis = groupCommitWindowMillis;
+        this.deliverInDoubt = deliverInDoubt;
+        this.readPosition = journal.getCheckpoint();
+        try {
+            resolveInDoubt(deliverInDoubt);
+        } catch (IOException ex) {
+            throw new IsisException("Unable to recover publishing outbox journal", ex);
+        }
+        this.enabled = true;
+    }
+
+    void init(
+            final List<PublisherService2> publishers,
+            final OutboxJournal journal,
+            final int batchSize,
+            final long retryBackoffMillis,
+            final long groupCommitWindowMillis,
+            final boolean deliverInDoubt,
+            final long inDoubtTimeoutMillis) {
+        init(publishers, journal, batchSize, retryBackoffMillis, groupCommitWindowMillis, deliverInDoubt);
+        this.inDoubtTimeoutMillis = inDoubtTimeoutMillis;
+    }
+
+    /**
+     * Appends a marker for every transaction left without one by a previous run, so that the relay can treat them
+     * like any other.
+     */
+    private void resolveInDoubt(final boolean deliverInDoubt) throws IOException {
+        final Set<String> undecided = new LinkedHashSet<>();
+        long position = journal.getCheckpoint();
+        List<OutboxJournal.Record> records;
+        while(!(records = journal.read(position, batchSize)).isEmpty()) {
+            for (final OutboxJournal.Record record : records) {
+                if(record.getType() == TYPE_COMMITTED || record.getType() == TYPE_ABORTED) {
+                    undecided.remove(record.getTransactionId());
+                } else {
+                    undecided.add(record.getTransactionId());
+                }
+                position = record.getNextPosition();
+            }
+        }
+        if(undecided.isEmpty()) {
+            return;
+        }
+        LOG.warn("{} transactions in publishing outbox were in doubt; {}",
+                undecided.size(), deliverInDoubt ? "delivering" : "discarding");
+        long end = position;
+        for (final String transactionId : undecided) {
+            end = journal.append(deliverInDoubt ? TYPE_COMMITTED : TYPE_ABORTED, transactionId, NO_BODY);
+        }
+        journal.awaitDurable(end);
+        statistics.inDoubt.addAndGet(undecided.size());
+    }
+
+    private void start() {
+        executor = Executors.newSingleThreadExecutor(new DaemonThreadFactory("isis-publisher-outbox-relay"));
+        executor.submit(new Runnable() {
+            @Override
+            public void run() {
+                relayLoop();
+            }
+        });
+    }
+
+    @Programmatic
+    @PreDestroy
+    public void shutdown() {
+        if(executor == null) {
+            return;
+        }
+        shutdown = true;
+        executor.shutdown();
+        try {
+            if(!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        try {
+            journal.close();
+        } catch (IOException ex) {
+            LOG.warn("Unable to close publishing outbox journal", ex);
+        }
+        LOG.info("Publishing outbox: {}", statistics);
+    }
+
+    //endregion
+
+    //region > isEnabled, getStatistics
+
+    /**
+     * Whether DTOs for {@link PublisherService2}s should be {@link #append(List) appended} to the outbox, rather
+     * than those publishers being called directly.
+     */
+    @Programmatic
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Programmatic
+    public Statistics getStatistics() {
+        return statistics;
+    }
+
+    //endregion
+
+    //region > append, committed, aborted
+
+    /**
+     * Durably appends the DTOs of the current (committing) transaction, returning an id with which to subsequently
+     * mark it as {@link #committed(String) committed} or {@link #aborted(String) aborted}.
+     */
+    @Programmatic
+    public String append(final List<?> dtos) {
+        final String outboxTransactionId = UUID.randomUUID().toString();
+        try {
+            long end = 0;
+            for (final Object dto : dtos) {
+                end = dto instanceof InteractionDto
+                        ? journal.append(TYPE_INTERACTION, outboxTransactionId, encode((InteractionDto) dto))
+                        : journal.append(TYPE_CHANGES, outboxTransactionId, encode((ChangesDto) dto));
+            }
+            journal.awaitDurable(end, groupCommitWindowMillis);
+        } catch (IOException ex) {
+            throw new IsisException("Unable to append to publishing outbox journal", ex);
+        }
+        statistics.appended.addAndGet(dtos.size());
+        return outboxTransactionId;
+    }
+
+    /**
+     * Forced to disk (using group commit) before returning, so that a crash just after the database commit does not
+     * leave the transaction in doubt.
+     */
+    @Programmatic
+    public void committed(final String outboxTransactionId) {
+        appendMarker(TYPE_COMMITTED, outboxTransactionId);
+    }
+
+    @Programmatic
+    public void aborted(final String outboxTransactionId) {
+        appendMarker(TYPE_ABORTED, outboxTransactionId);
+    }
+
+    private void appendMarker(final byte type, final String outboxTransactionId) {
+        final long end;
+        try {
+            end = journal.append(type, outboxTransactionId, NO_BODY);
+        } catch (IOException ex) {
+            LOG.error("Unable to append marker for transaction '{}' to publishing outbox journal; will retry",
+                    outboxTransactionId, ex);
+            unappendedMarkers.add(new Marker(type, outboxTransactionId));
+            return;
+        }
+        try {
+            journal.awaitDurable(end, groupCommitWindowMillis);
+        } catch (IOException ex) {
+            // appended, so will still be read by the relay; only if lost in a crash is the transaction in doubt
+            LOG.error("Unable to force marker for transaction '{}' in publishing outbox journal to disk",
+                    outboxTransactionId, ex);
+        }
+    }
+
+    /**
+     * Retries appending any markers that previously failed, in order, stopping at the first that fails again.
+     */
+    private void appendUnappendedMarkers() {
+        Marker marker;
+        while((marker = unappendedMarkers.poll()) != null) {
+            try {
+                journal.append(marker.type, marker.transactionId, NO_BODY);
+            } catch (IOException ex) {
+                unappendedMarkers.addFirst(marker);
+                LOG.warn("Still unable to append marker for transaction '{}' to publishing outbox journal",
+                        marker.transactionId, ex);
+                return;
+            }
+        }
+    }
+
+    //endregion
+
+    //region > relay
+
+    private void relayLoop() {
+        while(!shutdown) {
+            try {
+                if(relayNext() == 0) {
+                    journal.awaitAppended(readPosition, POLL_MILLIS);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (IOException | RuntimeException ex) {
+                LOG.error("Failed to relay publishing outbox; will retry in {} ms", retryBackoffMillis, ex);
+                try {
+                    Thread.sleep(retryBackoffMillis);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    int relayNext() throws IOException {
+        return relayNext(System.currentTimeMillis());
+    }
+
+    /**
+     * Reads the next records from the journal, delivers the DTOs of any transactions that they show to be
+     * committed (or that have been in doubt for longer than the timeout, if so configured) and then checkpoints.  If
+     * delivery fails then the relay resumes from the last checkpoint.
+     *
+     * @return the number of records read.
+     */
+    int relayNext(final long nowMillis) throws IOException {
+        appendUnappendedMarkers();
+
+        final List<OutboxJournal.Record> records = journal.read(readPosition, batchSize);
+        final List<Object> committed = Lists.newArrayList();
+        final int timedOut = resolveTimedOut(nowMillis, committed);
+        if(records.isEmpty() && timedOut == 0) {
+            return 0;
+        }
+
+        for (final OutboxJournal.Record record : records) {
+            final String transactionId = record.getTransactionId();
+            switch (record.getType()) {
+            case TYPE_INTERACTION:
+            case TYPE_CHANGES:
+                OpenTransaction openTransaction = openTransactions.get(transactionId);
+                if(openTransaction == null) {
+                    openTransaction = new OpenTransaction(record.getPosition(), nowMillis);
+                    openTransactions.put(transactionId, openTransaction);
+                }
+                final Object dto = decode(record);
+                if(dto != null) {
+                    openTransaction.dtos.add(dto);
+                }
+                break;
+            case TYPE_COMMITTED:
+                final OpenTransaction committedTransaction = openTransactions.remove(transactionId);
+                if(committedTransaction != null) {
+                    committed.addAll(committedTransaction.dtos);
+                }
+                break;
+            case TYPE_ABORTED:
+                openTransactions.remove(transactionId);
+                break;
+            default:
+                LOG.warn("Unknown record type {} at position {} of publishing outbox journal",
+                        record.getType(), record.getPosition());
+            }
+            readPosition = record.getNextPosition();
+        }
+
+        try {
+            deliver(committed);
+        } catch (RuntimeException ex) {
+            statistics.failed.incrementAndGet();
+            readPosition = journal.getCheckpoint();
+            openTransactions.clear();
+            throw ex;
+        }
+
+        final Iterator<OpenTransaction> oldestOpen = openTransactions.values().iterator();
+        final long checkpoint = oldestOpen.hasNext() ? oldestOpen.next().firstPosition : readPosition;
+        if(checkpoint > journal.getCheckpoint()) {
+            journal.checkpoint(checkpoint);
+            journal.compact();
+        }
+        return records.size();
+    }
+
+    /**
+     * Resolves any transactions left open for longer than the timeout (eg because their marker could not be
+     * appended), as for those in doubt on startup: either adding their DTOs to those to be delivered, or discarding
+     * them.
+     *
+     * @return the number of transactions resolved.
+     */
+    private int resolveTimedOut(final long nowMillis, final List<Object> committed) {
+        int timedOut = 0;
+        final Iterator<Map.Entry<String, OpenTransaction>> iterator = openTransactions.entrySet().iterator();
+        while(iterator.hasNext()) {
+            final Map.Entry<String, OpenTransaction> entry = iterator.next();
+            if(nowMillis - entry.getValue().openedAt < inDoubtTimeoutMillis) {
+                continue;
+            }
+            LOG.warn("Transaction '{}' in publishing outbox still in doubt after {} ms; {}",
+                    entry.getKey(), inDoubtTimeoutMillis, deliverInDoubt ? "delivering" : "discarding");
+            if(deliverInDoubt) {
+                committed.addAll(entry.getValue().dtos);
+            }
+            iterator.remove();
+            timedOut++;
+        }
+        statistics.inDoubt.addAndGet(timedOut);
+        return timedOut;
+    }
+
+    private byte[] encode(final InteractionDto dto) {
+        return binaryEncoding
+                ? InteractionDtoUtils.toBytes(dto)
+                : InteractionDtoUtils.toCompactXml(dto).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] encode(final ChangesDto dto) {
+        return binaryEncoding
+                ? ChangesDtoUtils.toBytes(dto)
+                : ChangesDtoUtils.toCompactXml(dto).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Object decode(final OutboxJournal.Record record) {
+        final byte[] body = record.getBody();
+        try {
+            if(DtoBinaryCodec.isEncoded(body)) {
+                return record.getType() == TYPE_INTERACTION
+                        ? InteractionDtoUtils.fromBytes(body)
+                        : ChangesDtoUtils.fromBytes(body);
+            }
+            final String xml = new String(body, StandardCharsets.UTF_8);
+            return record.getType() == TYPE_INTERACTION
+                    ? InteractionDtoUtils.fromXml(xml)
+                    : ChangesDtoUtils.fromXml(xml);
+        } catch (RuntimeException ex) {
+            LOG.error("Unable to decode record at position {} of publishing outbox journal; skipping",
+                    record.getPosition(), ex);
+            return null;
+        }
+    }
+
+    /**
+     * Delivers in the order appended; consecutive DTOs of the same type (up to the batch size) in a single call.
+     */
+    private void deliver(final List<Object> dtos) {
+        int from = 0;
+        while(from < dtos.size()) {
+            final boolean interactions = dtos.get(from) instanceof InteractionDto;
+            int to = from + 1;
+            while(to < dtos.size() && to - from < batchSize && (dtos.get(to) instanceof InteractionDto) == interactions) {
+                to++;
+            }
+            final List<Object> run = dtos.subList(from, to);
+            for (final PublisherService2 publisher : publishers) {
+                if(interactions) {
+                    final List<InteractionDto> interactionDtos = Lists.newArrayList();
+                    for (final Object dto : run) {
+                        interactionDtos.add((InteractionDto) dto);
+                    }
+                    publisher.publishInteractions(interactionDtos);
+                } else {
+                    final List<ChangesDto> changesDtos = Lists.newArrayList();
+                    for (final Object dto : run) {
+                        changesDtos.add((ChangesDto) dto);
+                    }
+                    publisher.publishChanges(changesDtos);
+                }
+            }
+            statistics.delivered.addAndGet(run.size());
+            from = to;
+        }
+    }
+
+    //endregion
+
+    //region > injected services
+    @javax.inject.Inject
+    private List<PublisherService> publisherServices;
+    //endregion
+
+}
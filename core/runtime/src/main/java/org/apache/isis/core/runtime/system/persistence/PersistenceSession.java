@@ -26,17 +26,21 @@
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import javax.jdo.FetchGroup;
 import javax.jdo.FetchPlan;
+import javax.jdo.JDOHelper;
 import javax.jdo.PersistenceManager;
 import javax.jdo.PersistenceManagerFactory;
 import javax.jdo.identity.SingleFieldIdentity;
 import javax.jdo.listener.InstanceLifecycleListener;
 
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
 import org.datanucleus.enhancement.Persistable;
 import org.datanucleus.exceptions.NucleusObjectNotFoundException;
@@ -58,7 +62,6 @@
 import org.apache.isis.applib.services.eventbus.EventBusService;
 import org.apache.isis.applib.services.exceprecog.ExceptionRecognizer;
 import org.apache.isis.applib.services.exceprecog.ExceptionRecognizer2;
-import org.apache.isis.applib.services.factory.FactoryService;
 import org.apache.isis.applib.services.iactn.Interaction;
 import org.apache.isis.applib.services.iactn.InteractionContext;
 import org.apache.isis.applib.services.metrics.MetricsService;
@@ -117,6 +120,8 @@
 import org.apache.isis.core.runtime.persistence.PojoRefreshException;
 import org.apache.isis.core.runtime.persistence.UnsupportedFindException;
 import org.apache.isis.core.runtime.persistence.adapter.PojoAdapter;
+import org.apache.isis.core.runtime.persistence.adapter.PresentationMemo;
+import org.apache.isis.core.runtime.persistence.adapter.PresentationMemoStatistics;
 import org.apache.isis.core.runtime.persistence.objectstore.transaction.CreateObjectCommand;
 import org.apache.isis.core.runtime.persistence.objectstore.transaction.DestroyObjectCommand;
 import org.apache.isis.core.runtime.persistence.objectstore.transaction.PersistenceCommand;
@@ -126,6 +131,7 @@
 import org.apache.isis.core.runtime.runner.opts.OptionHandlerFixtureAbstract;
 import org.apache.isis.core.runtime.services.RequestScopedService;
 import org.apache.isis.core.runtime.services.changes.ChangedObjectsServiceInternal;
+import org.apache.isis.core.runtime.system.persistence.adaptermanager.AdapterMapsPool;
 import org.apache.isis.core.runtime.system.persistence.adaptermanager.OidAdapterHashMap;
 import org.apache.isis.core.runtime.system.persistence.adaptermanager.PojoAdapterHashMap;
 import org.apache.isis.core.runtime.system.persistence.adaptermanager.RootAndCollectionAdapters;
@@ -192,7 +198,6 @@ public class PersistenceSession implements
     private final InteractionContext interactionContext;
     private final EventBusService eventBusService ;
     private final ChangedObjectsServiceInternal changedObjectsServiceInternal;
-    private final FactoryService factoryService;
     private final MetricsService metricsService;
     private final ClockService clockService;
     private final UserService userService;
@@ -221,6 +226,23 @@ public class PersistenceSession implements
 
     private final boolean concurrencyCheckingGloballyEnabled;
 
+    /**
+     * Application-scoped, see {@link PersistenceSessionFactory}.
+     */
+    private final Map<Object, RootOid> serviceOidByService;
+
+    /**
+     * Provides the {@link #pojoAdapterMap} and {@link #oidAdapterMap}, and to which they are returned on
+     * {@link #close()}.
+     */
+    private final AdapterMapsPool adapterMapsPool;
+    private final AdapterMapsPool.AdapterMaps adapterMaps;
+
+    /**
+     * Memoizes the title, icon and CSS class of persistent objects; discarded on {@link #close()}.
+     */
+    private final PresentationMemo presentationMemo;
+
 
     /**
      * Initialize the object store so that calls to this object store access
@@ -230,7 +252,10 @@ public PersistenceSession(
             final ServicesInjector servicesInjector,
             final AuthenticationSession authenticationSession,
             final PersistenceManagerFactory jdoPersistenceManagerFactory,
-            final FixturesInstalledFlag fixturesInstalledFlag) {
+            final FixturesInstalledFlag fixturesInstalledFlag,
+            final Map<Object, RootOid> serviceOidByService,
+            final AdapterMapsPool adapterMapsPool,
+            final PresentationMemoStatistics presentationMemoStatistics) {
 
         if (LOG.isDebugEnabled()) {
             LOG.debug("creating {}", this);
@@ -239,6 +264,11 @@ public PersistenceSession(
         this.servicesInjector = servicesInjector;
         this.jdoPersistenceManagerFactory = jdoPersistenceManagerFactory;
         this.fixturesInstalledFlag = fixturesInstalledFlag;
+        this.serviceOidByService = serviceOidByService;
+        this.adapterMapsPool = adapterMapsPool;
+        this.adapterMaps = adapterMapsPool.acquire();
+        this.pojoAdapterMap = adapterMaps.getPojoAdapterMap();
+        this.oidAdapterMap = adapterMaps.getOidAdapterMap();
 
         // injected
         this.configuration = servicesInjector.getConfigurationServiceInternal();
@@ -251,7 +281,6 @@ public PersistenceSession(
         this.eventBusService = lookupService(EventBusService.class);
         this.changedObjectsServiceInternal = lookupService(ChangedObjectsServiceInternal.class);
         this.metricsService = lookupService(MetricsService.class);
-        this.factoryService = lookupService(FactoryService.class);
         this.clockService = lookupService(ClockService.class);
         this.userService = lookupService(UserService.class);
         this.bulkInteractionContext = lookupService(Bulk.InteractionContext.class);
@@ -267,6 +296,9 @@ public PersistenceSession(
                 this.configuration.getBoolean("isis.persistor.disableConcurrencyChecking", false);
         this.concurrencyCheckingGloballyEnabled = !concurrencyCheckingGloballyDisabled;
 
+        this.presentationMemo = new PresentationMemo(
+                this.configuration.getBoolean(PresentationMemo.KEY_ENABLED, PresentationMemo.KEY_ENABLED_DEFAULT),
+                presentationMemoStatistics);
     }
 
     @Override
@@ -331,7 +363,9 @@ public void open() {
 
         final Command command = createCommand();
         final UUID transactionId = UUID.randomUUID();
-        final Interaction interaction = factoryService.instantiate(Interaction.class);
+        // rather than factoryService#instantiate(...); the interaction has no need of an adapter or lifecycle callbacks
+        final Interaction interaction = new Interaction();
+        servicesInjector.injectServicesInto(interaction);
 
         final Timestamp timestamp = clockService.nowAsJavaSqlTimestamp();
         final String userName = userService.getUser().getName();
@@ -369,12 +403,25 @@ private void startRequestOnRequestScopedServices() {
     /**
      * Creates {@link ObjectAdapter adapters} for the service list, ensuring that these are mapped correctly,
      * and have the same OIDs as in any previous sessions.
+     *
+     * <p>
+     *     The OIDs are precomputed (by the {@link PersistenceSessionFactory}), and the services themselves will
+     *     already have been injected into when bootstrapped; so all that is required is to map the adapters.
+     * </p>
      */
     private void initServices() {
         final List<Object> registeredServices = servicesInjector.getRegisteredServices();
         for (final Object service : registeredServices) {
-            final ObjectAdapter serviceAdapter = adapterFor(service);
-            remapAsPersistentIfRequired(serviceAdapter);
+            final RootOid serviceOid = serviceOidByService.get(service);
+            if(serviceOid == null || pojoAdapterMap.containsPojo(service)) {
+                // not expected; fallback to original (slower) behaviour
+                final ObjectAdapter serviceAdapter = adapterFor(service);
+                remapAsPersistentIfRequired(serviceAdapter);
+                continue;
+            }
+            final ObjectAdapter serviceAdapter = createRootAdapter(service, serviceOid);
+            pojoAdapterMap.add(service, serviceAdapter);
+            oidAdapterMap.add(serviceOid, serviceAdapter);
         }
     }
 
@@ -447,18 +494,14 @@ public void close() {
                 "close: failed to close JDO persistenceManager; continuing to avoid memory leakage");
         }
 
-        try {
-            oidAdapterMap.close();
-        } catch(final Throwable ex) {
-            // ignore
-            LOG.error("close: oidAdapterMap#close() failed; continuing to avoid memory leakage");
-        }
+        presentationMemo.close();
 
         try {
-            pojoAdapterMap.close();
+            // closes (clears) both the oidAdapterMap and the pojoAdapterMap
+            adapterMapsPool.release(adapterMaps);
         } catch(final Throwable ex) {
             // ignore
-            LOG.error("close: pojoAdapterMap#close() failed; continuing to avoid memory leakage");
+            LOG.error("close: adapterMapsPool#release() failed; continuing to avoid memory leakage");
         }
 
         this.state = State.CLOSED;
@@ -1370,6 +1413,14 @@ public ServicesInjector getServicesInjector() {
     }
 
 
+    //endregion
+
+    //region > presentationMemo
+
+    public PresentationMemo getPresentationMemo() {
+        return presentationMemo;
+    }
+
     //endregion
 
     //region > transactionManager
@@ -1407,8 +1458,8 @@ public javax.jdo.Query newJdoQuery (Class<?> cls, String filter) {
 
     //region > AdapterManager implementation
 
-    private final PojoAdapterHashMap pojoAdapterMap = new PojoAdapterHashMap();
-    private final OidAdapterHashMap oidAdapterMap = new OidAdapterHashMap();
+    private final PojoAdapterHashMap pojoAdapterMap;
+    private final OidAdapterHashMap oidAdapterMap;
 
     @Override
     public ObjectAdapter getAdapterFor(final Object pojo) {
@@ -2006,6 +2057,82 @@ public void removeAdapter(final ObjectAdapter adapter) {
         unmap(adapter);
     }
 
+    /**
+     * The number of adapters currently mapped; cheap to call, eg to measure how many objects are resolved while
+     * rendering a component.
+     */
+    public int getMappedAdapterCount() {
+        return pojoAdapterMap.size();
+    }
+
+    /**
+     * A snapshot of the adapters currently mapped, to be {@link #evictAdaptersExcept(Set) retained} while iterating
+     * over some large number of other objects.
+     */
+    public Set<ObjectAdapter> getMappedAdapters() {
+        final Set<ObjectAdapter> adapters = Sets.newIdentityHashSet();
+        Iterables.addAll(adapters, pojoAdapterMap);
+        return adapters;
+    }
+
+    /**
+     * Removes the adapters of all persistent objects, other than those specified, from both the identity-adapter map
+     * and the pojo-adapter map (along with the adapters of their parented collections), and evicts their pojos from
+     * the persistence manager's cache.  Objects that are new, dirty or deleted are never evicted.
+     *
+     * <p>
+     * Intended for read-only iterations over very large numbers of objects (eg exporting a collection), so that the
+     * memory used is bounded by the number of objects processed between each call, rather than the total.
+     *
+     * @return the number of adapters evicted.
+     */
+    public int evictAdaptersExcept(final Set<ObjectAdapter> retained) {
+        final List<ObjectAdapter> evictable = Lists.newArrayList();
+        final Set<RootOid> evictableOids = Sets.newHashSet();
+        for (final ObjectAdapter adapter : pojoAdapterMap) {
+            if(retained.contains(adapter)) {
+                continue;
+            }
+            final Oid oid = adapter.getOid();
+            if(!(oid instanceof RootOid) || !oid.isPersistent()) {
+                continue;
+            }
+            final Object pojo = adapter.getObject();
+            if(JDOHelper.isDirty(pojo) || JDOHelper.isNew(pojo) || JDOHelper.isDeleted(pojo)) {
+                continue;
+            }
+            evictable.add(adapter);
+            evictableOids.add((RootOid) oid);
+        }
+        if(evictable.isEmpty()) {
+            return 0;
+        }
+
+        final List<Oid> collectionOids = Lists.newArrayList();
+        for (final Oid oid : oidAdapterMap) {
+            if(oid instanceof ParentedCollectionOid &&
+               evictableOids.contains(((ParentedCollectionOid) oid).getRootOid())) {
+                collectionOids.add(oid);
+            }
+        }
+        for (final Oid collectionOid : collectionOids) {
+            final ObjectAdapter collectionAdapter = oidAdapterMap.getAdapter(collectionOid);
+            oidAdapterMap.remove(collectionOid);
+            if(collectionAdapter != null) {
+                pojoAdapterMap.remove(collectionAdapter);
+            }
+        }
+
+        for (final ObjectAdapter adapter : evictable) {
+            unmap(adapter);
+            presentationMemo.discard(adapter);
+            persistenceManager.evict(adapter.getObject());
+        }
+
+        LOG.debug("evicted {} adapters", evictable.size());
+        return evictable.size();
+    }
+
     private void unmap(final ObjectAdapter adapter) {
         ensureMapsConsistent(adapter);
 
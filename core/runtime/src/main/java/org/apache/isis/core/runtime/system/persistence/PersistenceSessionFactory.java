@@ -19,6 +19,8 @@
 
 package org.apache.isis.core.runtime.system.persistence;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -34,9 +36,15 @@
 import org.apache.isis.core.commons.components.ApplicationScopedComponent;
 import org.apache.isis.core.commons.config.IsisConfiguration;
 import org.apache.isis.core.commons.config.IsisConfigurationDefault;
+import org.apache.isis.core.metamodel.adapter.oid.Oid;
+import org.apache.isis.core.metamodel.adapter.oid.RootOid;
+import org.apache.isis.core.metamodel.facets.object.viewmodel.ViewModelFacet;
 import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
 import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
 import org.apache.isis.core.runtime.persistence.FixturesInstalledFlag;
+import org.apache.isis.core.runtime.persistence.adapter.PresentationMemoStatistics;
+import org.apache.isis.core.runtime.system.persistence.adaptermanager.AdapterMapsPool;
 import org.apache.isis.objectstore.jdo.datanucleus.JDOStateManagerForIsis;
 import org.apache.isis.objectstore.jdo.service.RegisterEntities;
 
@@ -56,9 +64,12 @@ public class PersistenceSessionFactory implements ApplicationScopedComponent, Fi
     //region > constructor
 
     private final IsisConfigurationDefault configuration;
+    private final AdapterMapsPool adapterMapsPool;
+    private final PresentationMemoStatistics presentationMemoStatistics = new PresentationMemoStatistics();
 
     public PersistenceSessionFactory(final IsisConfigurationDefault isisConfiguration) {
         this.configuration = isisConfiguration;
+        this.adapterMapsPool = new AdapterMapsPool(isisConfiguration);
     }
 
     //endregion
@@ -192,7 +203,60 @@ public PersistenceSession createPersistenceSession(
         return new PersistenceSession(
                 servicesInjector,
                 authenticationSession, persistenceManagerFactory,
-                fixturesInstalledFlag);
+                fixturesInstalledFlag,
+                serviceOidsFor(servicesInjector),
+                adapterMapsPool,
+                presentationMemoStatistics);
+    }
+
+    //endregion
+
+    //region > presentationMemoStatistics
+
+    /**
+     * Cumulative hit rate of the title/icon/CSS class memoization of all (closed) {@link PersistenceSession}s.
+     */
+    @Programmatic
+    public PresentationMemoStatistics getPresentationMemoStatistics() {
+        return presentationMemoStatistics;
+    }
+
+    //endregion
+
+    //region > serviceOids
+
+    private volatile Map<Object, RootOid> serviceOidByService;
+
+    /**
+     * The (persistent) {@link RootOid}s of all registered services, keyed by identity.
+     *
+     * <p>
+     *     These never change, so are computed once, on first use, rather than every time a session is
+     *     {@link PersistenceSession#open() open}ed.
+     * </p>
+     */
+    private Map<Object, RootOid> serviceOidsFor(final ServicesInjector servicesInjector) {
+        Map<Object, RootOid> serviceOidByService = this.serviceOidByService;
+        if(serviceOidByService == null) {
+            synchronized (this) {
+                serviceOidByService = this.serviceOidByService;
+                if(serviceOidByService == null) {
+                    final SpecificationLoader specificationLoader = servicesInjector.getSpecificationLoader();
+                    final Map<Object, RootOid> oidByService = new IdentityHashMap<>();
+                    for (final Object service : servicesInjector.getRegisteredServices()) {
+                        final ObjectSpecification serviceSpec = specificationLoader.loadSpecification(service.getClass());
+                        final Oid.State state =
+                                serviceSpec.containsDoOpFacet(ViewModelFacet.class)
+                                        ? Oid.State.VIEWMODEL
+                                        : Oid.State.PERSISTENT;
+                        oidByService.put(service,
+                                new RootOid(serviceSpec.getSpecId(), PersistenceSession.SERVICE_IDENTIFIER, state));
+                    }
+                    this.serviceOidByService = serviceOidByService = Collections.unmodifiableMap(oidByService);
+                }
+            }
+        }
+        return serviceOidByService;
     }
 
 
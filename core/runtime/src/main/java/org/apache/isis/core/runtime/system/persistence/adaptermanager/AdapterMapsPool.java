@@ -0,0 +1,148 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.runtime.system.persistence.adaptermanager;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.core.commons.config.IsisConfiguration;
+
+/**
+ * Provides the {@link PojoAdapterHashMap} and {@link OidAdapterHashMap} used by each
+ * {@link org.apache.isis.core.runtime.system.persistence.PersistenceSession}.
+ *
+ * <p>
+ *     By default a new pair of maps is allocated for every session.  Alternatively (if
+ *     {@link #KEY_REUSE_PER_THREAD configured}), the maps are retained by each thread and reused by the next session
+ *     opened on that thread: they are cleared when the session is closed, and only handed out again if they are
+ *     empty.  Because cleared maps retain their internal capacity, they end up sized according to the number of
+ *     adapters actually used per session; maps that grew beyond a
+ *     {@link #KEY_MAX_RETAINED_SIZE threshold} (eg for a batch job) are discarded rather than retained.
+ * </p>
+ */
+public class AdapterMapsPool {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AdapterMapsPool.class);
+
+    public static final String KEY_REUSE_PER_THREAD = "isis.persistor.adapterMaps.reusePerThread";
+    public static final boolean KEY_REUSE_PER_THREAD_DEFAULT = false;
+
+    public static final String KEY_INITIAL_CAPACITY = "isis.persistor.adapterMaps.initialCapacity";
+    public static final int KEY_INITIAL_CAPACITY_DEFAULT = OidAdapterHashMap.DEFAULT_OID_ADAPTER_MAP_SIZE;
+
+    public static final String KEY_MAX_RETAINED_SIZE = "isis.persistor.adapterMaps.maxRetainedSize";
+    public static final int KEY_MAX_RETAINED_SIZE_DEFAULT = 10000;
+
+    public static class AdapterMaps {
+
+        private final PojoAdapterHashMap pojoAdapterMap;
+        private final OidAdapterHashMap oidAdapterMap;
+
+        private boolean inUse;
+
+        AdapterMaps(final int initialCapacity) {
+            this.pojoAdapterMap = new PojoAdapterHashMap(initialCapacity);
+            this.oidAdapterMap = new OidAdapterHashMap(initialCapacity);
+        }
+
+        public PojoAdapterHashMap getPojoAdapterMap() {
+            return pojoAdapterMap;
+        }
+
+        public OidAdapterHashMap getOidAdapterMap() {
+            return oidAdapterMap;
+        }
+
+        int size() {
+            return Math.max(pojoAdapterMap.size(), oidAdapterMap.size());
+        }
+
+        boolean isEmpty() {
+            return pojoAdapterMap.size() == 0 && oidAdapterMap.size() == 0;
+        }
+
+        void clear() {
+            pojoAdapterMap.close();
+            oidAdapterMap.close();
+        }
+    }
+
+    private final boolean reusePerThread;
+    private final int initialCapacity;
+    private final int maxRetainedSize;
+
+    private final ThreadLocal<AdapterMaps> mapsByThread = new ThreadLocal<>();
+
+    public AdapterMapsPool(final IsisConfiguration configuration) {
+        this(
+            configuration.getBoolean(KEY_REUSE_PER_THREAD, KEY_REUSE_PER_THREAD_DEFAULT),
+            configuration.getInteger(KEY_INITIAL_CAPACITY, KEY_INITIAL_CAPACITY_DEFAULT),
+            configuration.getInteger(KEY_MAX_RETAINED_SIZE, KEY_MAX_RETAINED_SIZE_DEFAULT));
+    }
+
+    AdapterMapsPool(final boolean reusePerThread, final int initialCapacity, final int maxRetainedSize) {
+        this.reusePerThread = reusePerThread;
+        this.initialCapacity = initialCapacity;
+        this.maxRetainedSize = maxRetainedSize;
+    }
+
+    /**
+     * Returns an empty pair of maps, for the exclusive use of the caller until {@link #release(AdapterMaps) released}.
+     */
+    public AdapterMaps acquire() {
+        if(!reusePerThread) {
+            return new AdapterMaps(initialCapacity);
+        }
+        AdapterMaps maps = mapsByThread.get();
+        if(maps == null || maps.inUse) {
+            // none yet for this thread, or (nested sessions) the thread's maps are already in use
+            maps = new AdapterMaps(initialCapacity);
+            mapsByThread.set(maps);
+        } else if(!maps.isEmpty()) {
+            // should never happen (they are cleared on release), but never hand out maps still holding adapters.
+            LOG.warn("adapter maps for thread '{}' were not cleared; discarding", Thread.currentThread().getName());
+            maps = new AdapterMaps(initialCapacity);
+            mapsByThread.set(maps);
+        }
+        maps.inUse = true;
+        return maps;
+    }
+
+    /**
+     * Clears the maps and, if reusing, makes them available to the next session on this thread.
+     */
+    public void release(final AdapterMaps maps) {
+        final int size = maps.size();
+        maps.clear();
+        maps.inUse = false;
+
+        if(!reusePerThread) {
+            return;
+        }
+        if(LOG.isDebugEnabled()) {
+            LOG.debug("released adapter maps; size was {}", size);
+        }
+        if(size > maxRetainedSize && mapsByThread.get() == maps) {
+            // don't hold onto (the internal capacity of) maps that have grown exceptionally large.
+            mapsByThread.remove();
+        }
+    }
+
+}
@@ -39,7 +39,15 @@ public class OidAdapterHashMap implements Iterable<Oid>, SessionScopedComponent
     private static final Logger LOG = LoggerFactory.getLogger(OidAdapterHashMap.class);
     public static final int DEFAULT_OID_ADAPTER_MAP_SIZE = 100;
 
-    private final Map<Oid, ObjectAdapter> adapterByOidMap = Maps.newHashMapWithExpectedSize(DEFAULT_OID_ADAPTER_MAP_SIZE);
+    private final Map<Oid, ObjectAdapter> adapterByOidMap;
+
+    public OidAdapterHashMap() {
+        this(DEFAULT_OID_ADAPTER_MAP_SIZE);
+    }
+
+    public OidAdapterHashMap(final int capacity) {
+        adapterByOidMap = Maps.newHashMapWithExpectedSize(capacity);
+    }
 
     //region > open, close
 
@@ -98,6 +106,10 @@ public Iterator<Oid> iterator() {
         return adapterByOidMap.keySet().iterator();
     }
 
+    public int size() {
+        return adapterByOidMap.size();
+    }
+
     //endregion
 
 
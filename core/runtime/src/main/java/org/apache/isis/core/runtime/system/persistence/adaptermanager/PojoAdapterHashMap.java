@@ -116,6 +116,10 @@ public ObjectAdapter getAdapter(final Object pojo) {
         return adapterByPojoMap.get(key(pojo));
     }
 
+    public int size() {
+        return adapterByPojoMap.size();
+    }
+
     //endregion
 
     //region > iterator, key
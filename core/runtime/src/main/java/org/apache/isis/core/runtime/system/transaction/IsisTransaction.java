@@ -44,6 +44,7 @@
 import org.apache.isis.core.runtime.persistence.objectstore.transaction.DestroyObjectCommand;
 import org.apache.isis.core.runtime.persistence.objectstore.transaction.PersistenceCommand;
 import org.apache.isis.core.runtime.services.auditing.AuditingServiceInternal;
+import org.apache.isis.core.runtime.services.eventbus.PostCommitEventServiceInternal;
 import org.apache.isis.core.runtime.services.persistsession.PersistenceSessionServiceInternalDefault;
 
 /**
@@ -170,6 +171,7 @@ public TransactionState getTransactionState() {
     private final MessageBroker messageBroker;
     private final PublishingServiceInternal publishingServiceInternal;
     private final AuditingServiceInternal auditingServiceInternal;
+    private final PostCommitEventServiceInternal postCommitEventServiceInternal;
 
     private final List<WithTransactionScope> withTransactionScopes;
 
@@ -192,6 +194,8 @@ public IsisTransaction(
         this.messageBroker = authenticationSession.getMessageBroker();
         this.publishingServiceInternal = servicesInjector.lookupServiceElseFail(PublishingServiceInternal.class);
         this.auditingServiceInternal = servicesInjector.lookupServiceElseFail(AuditingServiceInternal.class);
+        this.postCommitEventServiceInternal =
+                servicesInjector.lookupServiceElseFail(PostCommitEventServiceInternal.class);
 
         withTransactionScopes = servicesInjector.lookupServices(WithTransactionScope.class);
 
@@ -444,6 +448,9 @@ void commit() {
         }
 
         setState(State.COMMITTED);
+
+        publishingServiceInternal.transactionCommitted();
+        postCommitEventServiceInternal.transactionCommitted();
     }
 
 
@@ -459,6 +466,9 @@ final void markAsAborted() {
 
         LOG.info("abort transaction {}", this);
         setState(State.ABORTED);
+
+        publishingServiceInternal.transactionAborted();
+        postCommitEventServiceInternal.transactionAborted();
     }
 
 
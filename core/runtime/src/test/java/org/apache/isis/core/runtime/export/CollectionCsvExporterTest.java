@@ -0,0 +1,158 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.export;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Set;
+
+import com.google.common.collect.Lists;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.annotation.Where;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.consent.Allow;
+import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
+import org.apache.isis.core.metamodel.consent.Veto;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class CollectionCsvExporterTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private ObjectSpecification mockElementSpec;
+    @Mock
+    private PersistenceSession mockPersistenceSession;
+    @Mock
+    private ObjectAssociation mockNameProperty;
+
+    @Mock
+    private ObjectAdapter mockElement1;
+    @Mock
+    private ObjectAdapter mockElement2;
+    @Mock
+    private ObjectAdapter mockElement3;
+    @Mock
+    private ObjectAdapter mockName1;
+    @Mock
+    private ObjectAdapter mockName3;
+
+    @Test
+    public void write_cell() throws Exception {
+        assertThat(cell(null), is(""));
+        assertThat(cell("abc"), is("abc"));
+        assertThat(cell("a,b"), is("\"a,b\""));
+        assertThat(cell("say \"hi\""), is("\"say \"\"hi\"\"\""));
+        assertThat(cell("line1\nline2"), is("\"line1\nline2\""));
+    }
+
+    @Test
+    public void write_cell_when_formula() throws Exception {
+        assertThat(cell("=1+2"), is("\"'=1+2\""));
+        assertThat(cell("+1"), is("\"'+1\""));
+        assertThat(cell("-1"), is("\"'-1\""));
+        assertThat(cell("@SUM(A1:A2)"), is("\"'@SUM(A1:A2)\""));
+        assertThat(cell("\tabc"), is("\"'\tabc\""));
+        assertThat(cell("=HYPERLINK(\"http://x\",\"y\")"), is("\"'=HYPERLINK(\"\"http://x\"\",\"\"y\"\")\""));
+        assertThat(cell("a=b"), is("a=b"));
+    }
+
+    @Test
+    public void file_name() throws Exception {
+        assertThat(CollectionCsvExporter.fileNameFor("Order lines"), is("Order-lines.csv"));
+        assertThat(CollectionCsvExporter.fileNameFor(null), is("export.csv"));
+    }
+
+    @Test
+    public void export_in_chunks() throws Exception {
+
+        final Set<ObjectAdapter> retained = Collections.emptySet();
+
+        context.checking(new Expectations() {{
+            allowing(mockElementSpec).getFullIdentifier();
+            will(returnValue("com.mycompany.Customer"));
+            allowing(mockNameProperty).getName();
+            will(returnValue("Name"));
+
+            oneOf(mockPersistenceSession).getMappedAdapters();
+            will(returnValue(retained));
+
+            allowing(mockElement1).titleString(null);
+            will(returnValue("Customer 1"));
+            allowing(mockElement2).titleString(null);
+            will(returnValue("Customer 2"));
+            allowing(mockElement3).titleString(null);
+            will(returnValue("Customer, 3"));
+
+            allowing(mockNameProperty).isVisible(mockElement1, InteractionInitiatedBy.USER, Where.STANDALONE_TABLES);
+            will(returnValue(Allow.DEFAULT));
+            allowing(mockNameProperty).get(mockElement1, InteractionInitiatedBy.USER);
+            will(returnValue(mockName1));
+            allowing(mockName1).titleString(null);
+            will(returnValue("Fred"));
+
+            allowing(mockNameProperty).isVisible(mockElement2, InteractionInitiatedBy.USER, Where.STANDALONE_TABLES);
+            will(returnValue(new Veto("hidden")));
+
+            allowing(mockNameProperty).isVisible(mockElement3, InteractionInitiatedBy.USER, Where.STANDALONE_TABLES);
+            will(returnValue(Allow.DEFAULT));
+            allowing(mockNameProperty).get(mockElement3, InteractionInitiatedBy.USER);
+            will(returnValue(mockName3));
+            allowing(mockName3).titleString(null);
+            will(returnValue("Joe"));
+
+            // once after the first chunk of two, and again at the end.
+            exactly(2).of(mockPersistenceSession).evictAdaptersExcept(retained);
+        }});
+
+        final CollectionCsvExporter exporter = new CollectionCsvExporter(
+                mockElementSpec, null, Lists.newArrayList(mockNameProperty), mockPersistenceSession, 2);
+
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final int rows = exporter.export(Lists.newArrayList(mockElement1, mockElement2, mockElement3), baos);
+
+        assertThat(rows, is(3));
+        assertThat(new String(baos.toByteArray(), StandardCharsets.UTF_8),
+                is("\uFEFFObject,Name\r\n" +
+                   "Customer 1,Fred\r\n" +
+                   "Customer 2,\r\n" +
+                   "\"Customer, 3\",Joe\r\n"));
+    }
+
+    private static String cell(final String value) throws Exception {
+        final StringWriter writer = new StringWriter();
+        CollectionCsvExporter.writeCell(writer, value);
+        return writer.toString();
+    }
+
+}
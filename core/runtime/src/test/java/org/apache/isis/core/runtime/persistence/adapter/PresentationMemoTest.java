@@ -0,0 +1,134 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.persistence.adapter;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.oid.RootOid;
+import org.apache.isis.core.metamodel.adapter.version.Version;
+import org.apache.isis.core.metamodel.spec.ObjectSpecId;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class PresentationMemoTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private ObjectAdapter mockAdapter;
+    @Mock
+    private ObjectAdapter mockOtherAdapter;
+    @Mock
+    private ObjectAdapter mockTransientAdapter;
+
+    private RootOid oid;
+    private PresentationMemoStatistics statistics;
+    private PresentationMemo memo;
+
+    @Before
+    public void setUp() throws Exception {
+        oid = RootOid.create(ObjectSpecId.of("CUS"), "1", 1L);
+        context.checking(new Expectations() {{
+            allowing(mockAdapter).getOid();
+            will(returnValue(oid));
+            allowing(mockOtherAdapter).getOid();
+            will(returnValue(RootOid.create(ObjectSpecId.of("CUS"), "2", 1L)));
+            allowing(mockTransientAdapter).getOid();
+            will(returnValue(RootOid.createTransient(ObjectSpecId.of("CUS"), "3")));
+        }});
+
+        statistics = new PresentationMemoStatistics();
+        memo = new PresentationMemo(true, statistics);
+    }
+
+    @Test
+    public void when_persistent_then_memoized() throws Exception {
+        assertThat(memo.entryFor(mockAdapter).hasTitle(null), is(false));
+        memo.entryFor(mockAdapter).setTitle(null, "Fred");
+
+        final PresentationMemo.Entry entry = memo.entryFor(mockAdapter);
+        assertThat(entry.hasTitle(null), is(true));
+        assertThat(entry.getTitle(), is("Fred"));
+        assertThat(memo.getHits(), is(1L));
+        assertThat(memo.getMisses(), is(1L));
+    }
+
+    @Test
+    public void when_transient_then_not_memoized() throws Exception {
+        assertThat(memo.entryFor(mockTransientAdapter), is(nullValue()));
+    }
+
+    @Test
+    public void when_disabled_then_not_memoized() throws Exception {
+        memo = new PresentationMemo(false, statistics);
+        assertThat(memo.entryFor(mockAdapter), is(nullValue()));
+    }
+
+    @Test
+    public void when_different_context_then_not_memoized() throws Exception {
+        memo.entryFor(mockAdapter).setTitle(null, "Fred");
+
+        assertThat(memo.entryFor(mockAdapter).hasTitle(mockOtherAdapter), is(false));
+    }
+
+    @Test
+    public void when_version_changes_then_discarded() throws Exception {
+        memo.entryFor(mockAdapter).setIconName("fred");
+        oid.setVersion(Version.create(2L));
+
+        assertThat(memo.entryFor(mockAdapter).hasIconName(), is(false));
+    }
+
+    @Test
+    public void when_invalidated_then_enlisted_never_memoized_and_others_discarded() throws Exception {
+        memo.entryFor(mockAdapter).setCssClass("x");
+        memo.entryFor(mockOtherAdapter).setCssClass("y");
+
+        memo.invalidate(mockAdapter);
+
+        assertThat(memo.entryFor(mockAdapter), is(nullValue()));
+        final PresentationMemo.Entry otherEntry = memo.entryFor(mockOtherAdapter);
+        assertThat(otherEntry, is(notNullValue()));
+        assertThat(otherEntry.hasCssClass(), is(false));
+    }
+
+    @Test
+    public void when_closed_then_statistics_accumulated() throws Exception {
+        memo.entryFor(mockAdapter).setTitle(null, "Fred");
+        memo.entryFor(mockAdapter).hasTitle(null);
+        memo.entryFor(mockAdapter).hasIconName();
+
+        memo.close();
+
+        assertThat(statistics.getHits(), is(1L));
+        assertThat(statistics.getMisses(), is(1L));
+        assertThat(statistics.getHitRate(), is(0.5));
+    }
+
+}
@@ -24,6 +24,7 @@
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
+import javax.annotation.PostConstruct;
 import javax.enterprise.context.RequestScoped;
 
 import com.google.common.base.Predicates;
@@ -185,6 +186,57 @@ public void requestScoped_childThreads() throws InterruptedException  {
 		assertEquals(0, FluentIterable.from(allTheNumbers).filter(Predicates.<Integer>notNull()).size());
 	}
 
+	@Test
+	public void requestScoped_withoutPostConstruct_instantiatedOnlyWhenUsed() {
+		final CountingService service = serviceInstantiator.createInstance(CountingService.class);
+		CountingService.instantiated = 0;
+		try {
+			((RequestScopedService)service).__isis_startRequest(mockServiceInjector);
+			((RequestScopedService)service).__isis_postConstruct();
+			assertThat(CountingService.instantiated, is(0));
+
+			service.doSomething();
+			service.doSomething();
+			assertThat(CountingService.instantiated, is(1));
+		} finally {
+			((RequestScopedService)service).__isis_preDestroy();
+			((RequestScopedService)service).__isis_endRequest();
+		}
+	}
+
+	@Test
+	public void requestScoped_withPostConstruct_instantiatedEagerly() {
+		final PostConstructingService service = serviceInstantiator.createInstance(PostConstructingService.class);
+		PostConstructingService.postConstructed = 0;
+		try {
+			((RequestScopedService)service).__isis_startRequest(mockServiceInjector);
+			((RequestScopedService)service).__isis_postConstruct();
+			assertThat(PostConstructingService.postConstructed, is(1));
+		} finally {
+			((RequestScopedService)service).__isis_preDestroy();
+			((RequestScopedService)service).__isis_endRequest();
+		}
+	}
+
+	@RequestScoped
+	public static class CountingService {
+		static int instantiated;
+		public CountingService() {
+			instantiated++;
+		}
+		public void doSomething() {
+		}
+	}
+
+	@RequestScoped
+	public static class PostConstructingService {
+		static int postConstructed;
+		@PostConstruct
+		public void init() {
+			postConstructed++;
+		}
+	}
+
 	public static class SingletonCalculator {
 		public int add(int x, int y) {
 			return x+y;
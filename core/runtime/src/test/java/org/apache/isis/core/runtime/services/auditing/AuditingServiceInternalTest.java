@@ -0,0 +1,243 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.auditing;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import org.jmock.Expectations;
+import org.jmock.api.Invocation;
+import org.jmock.auto.Mock;
+import org.jmock.lib.action.CustomAction;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.Identifier;
+import org.apache.isis.applib.security.UserMemento;
+import org.apache.isis.applib.services.audit.AuditEntry;
+import org.apache.isis.applib.services.audit.AuditerService;
+import org.apache.isis.applib.services.audit.AuditerService2;
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.applib.services.clock.ClockService;
+import org.apache.isis.applib.services.user.UserService;
+import org.apache.isis.applib.services.xactn.Transaction;
+import org.apache.isis.applib.services.xactn.TransactionService;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.oid.RootOid;
+import org.apache.isis.core.metamodel.facets.object.audit.AuditableFacet;
+import org.apache.isis.core.metamodel.spec.ObjectSpecId;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.runtime.services.changes.AdapterAndProperty;
+import org.apache.isis.core.runtime.services.changes.ChangedObjectsServiceInternal;
+import org.apache.isis.core.runtime.services.changes.PreAndPostValues;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class AuditingServiceInternalTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    private final UUID transactionId = UUID.randomUUID();
+    private final Timestamp timestamp = new Timestamp(0L);
+    private final Bookmark target = new Bookmark("CUS", "1");
+
+    private final AuditEntry entry1 = new AuditEntry(
+            transactionId, 0, "Customer", target, "Customer#name", "name", "Fred", "Freddy", "sven", timestamp);
+    private final AuditEntry entry2 = new AuditEntry(
+            transactionId, 0, "Customer", target, "Customer#age", "age", "20", "21", "sven", timestamp);
+
+    @Mock
+    private ChangedObjectsServiceInternal mockChangedObjectsServiceInternal;
+    @Mock
+    private TransactionService mockTransactionService;
+    @Mock
+    private Transaction mockTransaction;
+    @Mock
+    private UserService mockUserService;
+    @Mock
+    private ClockService mockClockService;
+    @Mock
+    private AuditerService2 mockAuditerService;
+    @Mock
+    private ObjectSpecification mockCustomerSpec;
+    @Mock
+    private ObjectSpecification mockOrderSpec;
+    @Mock
+    private AuditableFacet mockAuditableFacet;
+
+    private List<AuditEntry> audited;
+
+    @Test
+    public void audit_looks_up_transaction_once_and_whether_auditable_once_per_spec() throws Exception {
+        final ObjectAdapter customer = adapter("customer", mockCustomerSpec, "CUS", "1");
+        final ObjectAdapter order1 = adapter("order1", mockOrderSpec, "ORD", "1");
+        final ObjectAdapter order2 = adapter("order2", mockOrderSpec, "ORD", "2");
+
+        final Set<Map.Entry<AdapterAndProperty, PreAndPostValues>> changedObjectProperties = Sets.newLinkedHashSet();
+        changedObjectProperties.add(changed(customer, "name", "Fred", "Freddy"));
+        changedObjectProperties.add(changed(order1, "quantity", "1", "2"));
+        changedObjectProperties.add(changed(customer, "age", "20", "21"));
+        changedObjectProperties.add(changed(order2, "quantity", "3", "4"));
+
+        final AuditingServiceInternal service = new AuditingServiceInternal();
+        service.changedObjectsServiceInternal = mockChangedObjectsServiceInternal;
+        service.transactionService = mockTransactionService;
+        service.userService = mockUserService;
+        service.clockService = mockClockService;
+        service.auditerServices = Collections.<AuditerService>singletonList(mockAuditerService);
+
+        context.checking(new Expectations() {{
+            allowing(mockAuditerService).isEnabled();
+            will(returnValue(true));
+
+            oneOf(mockChangedObjectsServiceInternal).getChangedObjectProperties();
+            will(returnValue(changedObjectProperties));
+
+            oneOf(mockUserService).getUser();
+            will(returnValue(new UserMemento("sven")));
+            oneOf(mockClockService).nowAsJavaSqlTimestamp();
+            will(returnValue(timestamp));
+
+            oneOf(mockTransactionService).currentTransaction();
+            will(returnValue(mockTransaction));
+            oneOf(mockTransaction).getTransactionId();
+            will(returnValue(transactionId));
+            oneOf(mockTransaction).getSequence();
+            will(returnValue(0));
+
+            oneOf(mockCustomerSpec).getFacet(AuditableFacet.class);
+            will(returnValue(mockAuditableFacet));
+            allowing(mockAuditableFacet).isDisabled();
+            will(returnValue(false));
+            allowing(mockCustomerSpec).getSingularName();
+            will(returnValue("Customer"));
+
+            // not auditable
+            oneOf(mockOrderSpec).getFacet(AuditableFacet.class);
+            will(returnValue(null));
+
+            oneOf(mockAuditerService).auditAll(with(Expectations.<List<AuditEntry>>anything()));
+            will(new CustomAction("capture audit entries") {
+                @SuppressWarnings("unchecked")
+                @Override
+                public Object invoke(final Invocation invocation) throws Throwable {
+                    audited = (List<AuditEntry>) invocation.getParameter(0);
+                    return null;
+                }
+            });
+        }});
+
+        service.audit();
+
+        // the orders are filtered out
+        assertThat(audited.size(), is(2));
+        assertAuditEntry(audited.get(0), "name", "Fred", "Freddy");
+        assertAuditEntry(audited.get(1), "age", "20", "21");
+    }
+
+    private void assertAuditEntry(
+            final AuditEntry auditEntry,
+            final String propertyName,
+            final String preValue,
+            final String postValue) {
+        assertThat(auditEntry.getInteractionId(), is(transactionId));
+        assertThat(auditEntry.getTargetClassName(), is("Customer"));
+        assertThat(auditEntry.getTarget(), is(target));
+        assertThat(auditEntry.getPropertyName(), is(propertyName));
+        assertThat(auditEntry.getPreValue(), is(preValue));
+        assertThat(auditEntry.getPostValue(), is(postValue));
+        assertThat(auditEntry.getUser(), is("sven"));
+        assertThat(auditEntry.getTimestamp(), is(timestamp));
+    }
+
+    private ObjectAdapter adapter(
+            final String name,
+            final ObjectSpecification spec,
+            final String objectType,
+            final String identifier) {
+        final ObjectAdapter adapter = context.mock(ObjectAdapter.class, name);
+        context.checking(new Expectations() {{
+            allowing(adapter).getOid();
+            will(returnValue(RootOid.create(ObjectSpecId.of(objectType), identifier)));
+            allowing(adapter).getSpecification();
+            will(returnValue(spec));
+        }});
+        return adapter;
+    }
+
+    private Map.Entry<AdapterAndProperty, PreAndPostValues> changed(
+            final ObjectAdapter adapter,
+            final String propertyId,
+            final String pre,
+            final String post) {
+        final ObjectAssociation property = context.mock(ObjectAssociation.class, adapter + "#" + propertyId);
+        context.checking(new Expectations() {{
+            allowing(property).getId();
+            will(returnValue(propertyId));
+            allowing(property).getIdentifier();
+            will(returnValue(Identifier.propertyOrCollectionIdentifier("Customer", propertyId)));
+        }});
+        final PreAndPostValues preAndPostValues = PreAndPostValues.pre(pre);
+        preAndPostValues.setPost(post);
+        return Maps.immutableEntry(AdapterAndProperty.of(adapter, property), preAndPostValues);
+    }
+
+    @Test
+    public void when_batch_auditer_then_called_once_for_all_entries() throws Exception {
+        final AuditerService2 auditerService = context.mock(AuditerService2.class);
+        final List<AuditEntry> entries = Arrays.asList(entry1, entry2);
+
+        context.checking(new Expectations() {{
+            oneOf(auditerService).auditAll(entries);
+            never(auditerService).audit(
+                    with(any(UUID.class)), with(any(int.class)), with(any(String.class)), with(any(Bookmark.class)),
+                    with(any(String.class)), with(any(String.class)), with(any(String.class)), with(any(String.class)),
+                    with(any(String.class)), with(any(Timestamp.class)));
+        }});
+
+        AuditingServiceInternal.audit(auditerService, entries);
+    }
+
+    @Test
+    public void when_per_property_auditer_then_called_for_each_entry() throws Exception {
+        final AuditerService auditerService = context.mock(AuditerService.class);
+
+        context.checking(new Expectations() {{
+            oneOf(auditerService).audit(
+                    transactionId, 0, "Customer", target, "Customer#name", "name", "Fred", "Freddy", "sven", timestamp);
+            oneOf(auditerService).audit(
+                    transactionId, 0, "Customer", target, "Customer#age", "age", "20", "21", "sven", timestamp);
+        }});
+
+        AuditingServiceInternal.audit(auditerService, Arrays.asList(entry1, entry2));
+    }
+
+}
@@ -0,0 +1,285 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.background;
+
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import org.junit.Test;
+
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.applib.services.command.Command;
+import org.apache.isis.applib.services.command.CommandDefault;
+import org.apache.isis.applib.services.command.CommandWithDto;
+import org.apache.isis.schema.cmd.v1.CommandDto;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class BackgroundCommandExecutionParallelTest {
+
+    @Test
+    public void partition_keeps_commands_on_same_target_together_and_in_order() throws Exception {
+        final List<CommandDefault> commands = Lists.newArrayList();
+        for (int i = 0; i < 100; i++) {
+            commands.add(commandOn(new Bookmark("CUS", "" + (i % 7))));
+        }
+
+        final List<List<UUID>> partitions = BackgroundCommandExecutionParallel.partition(commands, 3);
+
+        assertThat(partitions.size(), is(3));
+        int total = 0;
+        for (final List<UUID> partition : partitions) {
+            total += partition.size();
+        }
+        assertThat(total, is(100));
+
+        for (final CommandDefault command : commands) {
+            final int partitionNum = BackgroundCommandExecutionParallel.partitionFor(command, 3);
+            assertThat(partitions.get(partitionNum).contains(command.getTransactionId()), is(true));
+        }
+
+        // relative order is retained within each partition
+        for (final List<UUID> partition : partitions) {
+            int previousIndex = -1;
+            for (final UUID transactionId : partition) {
+                final int index = indexOf(commands, transactionId);
+                assertThat(index > previousIndex, is(true));
+                previousIndex = index;
+            }
+        }
+    }
+
+    @Test
+    public void partition_when_no_target() throws Exception {
+        final CommandDefault command = commandOn(null);
+
+        final int partitionNum = BackgroundCommandExecutionParallel.partitionFor(command, 4);
+
+        assertThat(partitionNum >= 0 && partitionNum < 4, is(true));
+    }
+
+    @Test
+    public void backoff_doubles_with_each_attempt() throws Exception {
+        assertThat(BackgroundCommandExecutionParallel.backoffMillisFor(1000, 1), is(1000L));
+        assertThat(BackgroundCommandExecutionParallel.backoffMillisFor(1000, 2), is(2000L));
+        assertThat(BackgroundCommandExecutionParallel.backoffMillisFor(1000, 4), is(8000L));
+    }
+
+    @Test
+    public void skips_commands_that_cannot_be_claimed() throws Exception {
+        final BackgroundCommandExecutionParallel execution = new ExecutionForTesting();
+        final FakeTransactions transactions = new FakeTransactions();
+        final List<UUID> transactionIds = transactionIds(3);
+        transactions.unclaimable.add(transactionIds.get(1));
+
+        execution.executeAll(transactionIds, transactions, 1, 0);
+
+        assertThat(transactions.claimed, is(transactionIds));
+        assertThat(transactions.events, is((List<String>) Lists.newArrayList(
+                "execute " + transactionIds.get(0), "executed " + transactionIds.get(0),
+                "execute " + transactionIds.get(2), "executed " + transactionIds.get(2))));
+        assertThat(execution.getStatistics().getExecuted(), is(2L));
+        assertThat(execution.getStatistics().getNotClaimed(), is(1L));
+    }
+
+    @Test
+    public void retries_failed_command_having_reset_its_outcome_within_the_retry() throws Exception {
+        final BackgroundCommandExecutionParallel execution = new ExecutionForTesting();
+        final FakeTransactions transactions = new FakeTransactions();
+        final List<UUID> transactionIds = transactionIds(1);
+        final UUID transactionId = transactionIds.get(0);
+        transactions.failuresByTransactionId.put(transactionId, 1);
+
+        execution.executeAll(transactionIds, transactions, 3, 0);
+
+        assertThat(transactions.events, is((List<String>) Lists.newArrayList(
+                "execute " + transactionId,
+                "retry " + transactionId + " (reset: true)",
+                "executed " + transactionId)));
+        final CommandWithDto command = transactions.commandByTransactionId.get(transactionId);
+        assertThat(command.getException(), is(nullValue()));
+        assertThat(command.getResult(), is(new Bookmark("CUS", "1")));
+        assertThat(execution.getStatistics().getRetried(), is(1L));
+        assertThat(execution.getStatistics().getFailed(), is(0L));
+    }
+
+    @Test
+    public void gives_up_after_max_attempts() throws Exception {
+        final BackgroundCommandExecutionParallel execution = new ExecutionForTesting();
+        final FakeTransactions transactions = new FakeTransactions();
+        final List<UUID> transactionIds = transactionIds(1);
+        final UUID transactionId = transactionIds.get(0);
+        transactions.failuresByTransactionId.put(transactionId, 5);
+
+        execution.executeAll(transactionIds, transactions, 2, 0);
+
+        assertThat(transactions.events.size(), is(3));
+        assertThat(transactions.commandByTransactionId.get(transactionId).getException(), is("failed"));
+        assertThat(execution.getStatistics().getExecuted(), is(1L));
+        assertThat(execution.getStatistics().getRetried(), is(1L));
+        assertThat(execution.getStatistics().getFailed(), is(1L));
+    }
+
+    @Test
+    public void reset_outcome() throws Exception {
+        final CommandDefault command = new CommandDefault();
+        command.setException("failed");
+        command.setResult(new Bookmark("CUS", "1"));
+        command.setStartedAt(new Timestamp(0));
+        command.setCompletedAt(new Timestamp(1));
+
+        BackgroundCommandExecutionParallel.resetOutcome(command);
+
+        assertThat(command.getException(), is(nullValue()));
+        assertThat(command.getResult(), is(nullValue()));
+        assertThat(command.getStartedAt(), is(nullValue()));
+        assertThat(command.getCompletedAt(), is(nullValue()));
+    }
+
+    @Test
+    public void shutdown_stops_once_current_command_is_complete_until_started_again() throws Exception {
+        final BackgroundCommandExecutionParallel execution = new ExecutionForTesting();
+        final List<UUID> transactionIds = transactionIds(3);
+        final FakeTransactions transactions = new FakeTransactions() {
+            @Override
+            public void execute(final CommandWithDto command, final boolean retry) {
+                super.execute(command, retry);
+                execution.shutdown();
+            }
+        };
+
+        execution.executeAll(transactionIds, transactions, 1, 0);
+
+        assertThat(transactions.claimed, is((List<UUID>) Lists.newArrayList(transactionIds.get(0))));
+        assertThat(execution.getStatistics().getExecuted(), is(1L));
+
+        // a subsequent execution starts afresh
+        execution.starting(null);
+        assertThat(execution.isShutdown(), is(false));
+
+        final FakeTransactions nextTransactions = new FakeTransactions();
+        execution.executeAll(transactionIds, nextTransactions, 1, 0);
+
+        assertThat(nextTransactions.claimed, is(transactionIds));
+    }
+
+    private static List<UUID> transactionIds(final int number) {
+        final List<UUID> transactionIds = Lists.newArrayList();
+        for (int i = 0; i < number; i++) {
+            transactionIds.add(UUID.randomUUID());
+        }
+        return transactionIds;
+    }
+
+    static class ExecutionForTesting extends BackgroundCommandExecutionParallel {
+        @Override
+        protected List<? extends Command> findBackgroundCommandsToExecute() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        protected CommandWithDto claim(final UUID transactionId) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    static class CommandWithDtoForTesting extends CommandDefault implements CommandWithDto {
+        @Override
+        public CommandDto asDto() {
+            return null;
+        }
+    }
+
+    /**
+     * Every command can be claimed unless {@link #unclaimable}, and each fails as many times as configured.
+     */
+    static class FakeTransactions implements BackgroundCommandExecutionParallel.WorkerTransactions {
+
+        final Map<UUID, CommandWithDto> commandByTransactionId = Maps.newHashMap();
+        final Set<UUID> unclaimable = Sets.newHashSet();
+        final Map<UUID, Integer> failuresByTransactionId = Maps.newHashMap();
+        final List<UUID> claimed = Lists.newArrayList();
+        final List<String> events = Lists.newArrayList();
+
+        @Override
+        public CommandWithDto claim(final UUID transactionId) {
+            claimed.add(transactionId);
+            if(unclaimable.contains(transactionId)) {
+                return null;
+            }
+            if(!commandByTransactionId.containsKey(transactionId)) {
+                final CommandWithDtoForTesting command = new CommandWithDtoForTesting();
+                command.setTransactionId(transactionId);
+                commandByTransactionId.put(transactionId, command);
+            }
+            return commandByTransactionId.get(transactionId);
+        }
+
+        @Override
+        public void execute(final CommandWithDto command, final boolean retry) {
+            final UUID transactionId = command.getTransactionId();
+            if(retry) {
+                BackgroundCommandExecutionParallel.resetOutcome(command);
+                events.add("retry " + transactionId + " (reset: " + (command.getException() == null) + ")");
+            } else {
+                events.add("execute " + transactionId);
+            }
+
+            final Integer failures = failuresByTransactionId.get(transactionId);
+            if(failures != null && failures > 0) {
+                failuresByTransactionId.put(transactionId, failures - 1);
+                command.setException("failed");
+            } else {
+                command.setResult(new Bookmark("CUS", "1"));
+            }
+        }
+
+        @Override
+        public void executed(final CommandWithDto command) {
+            events.add("executed " + command.getTransactionId());
+        }
+    }
+
+    private static CommandDefault commandOn(final Bookmark target) {
+        final CommandDefault command = new CommandDefault();
+        command.setTransactionId(UUID.randomUUID());
+        command.setTarget(target);
+        return command;
+    }
+
+    private static int indexOf(final List<CommandDefault> commands, final UUID transactionId) {
+        for (int i = 0; i < commands.size(); i++) {
+            if(commands.get(i).getTransactionId().equals(transactionId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+}
@@ -0,0 +1,177 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.bulk;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+import org.jmock.Expectations;
+import org.jmock.Sequence;
+import org.jmock.api.Invocation;
+import org.jmock.auto.Mock;
+import org.jmock.lib.action.CustomAction;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.command.Command;
+import org.apache.isis.applib.services.xactn.TransactionService3;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class BulkActionExecutionTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private PersistenceSession mockPersistenceSession;
+    @Mock
+    private TransactionService3 mockTransactionService;
+    @Mock
+    private Command mockCommand;
+    @Mock
+    private ObjectAdapter mockResult;
+
+    private final List<String> invokedOn = Lists.newArrayList();
+
+    private final BulkActionExecution.Invoker<String> invoker = new BulkActionExecution.Invoker<String>() {
+        @Override
+        public ObjectAdapter invoke(final String target, final int index) {
+            invokedOn.add(target + "@" + index);
+            return target.equals("e") ? mockResult : null;
+        }
+    };
+
+    @Test
+    public void commits_and_evicts_between_chunks() throws Exception {
+
+        final Set<ObjectAdapter> retained = Collections.emptySet();
+        final Sequence sequence = context.sequence("chunks");
+
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceSession).getMappedAdapters();
+            will(returnValue(retained));
+
+            // after the first and second chunks of two, but not after the last (which is left to the caller)
+            for (int chunk = 0; chunk < 2; chunk++) {
+                oneOf(mockTransactionService).nextTransaction(
+                        TransactionService3.Policy.UNLESS_MARKED_FOR_ABORT, mockCommand);
+                inSequence(sequence);
+                oneOf(mockPersistenceSession).evictAdaptersExcept(retained);
+                inSequence(sequence);
+            }
+        }});
+
+        final BulkActionExecution execution =
+                new BulkActionExecution(mockPersistenceSession, mockTransactionService, 2);
+        final BulkActionExecution.Progress progress = new BulkActionExecution.Progress("test", 5);
+
+        final ObjectAdapter lastReturned =
+                execution.execute(Lists.newArrayList("a", "b", "c", "d", "e"), invoker, mockCommand, progress);
+
+        assertThat(invokedOn, is((List<String>) Lists.newArrayList("a@0", "b@1", "c@2", "d@3", "e@4")));
+        assertThat(lastReturned, is(sameInstance(mockResult)));
+        assertThat(progress.getProcessed(), is(5));
+        assertThat(progress.getChunksCommitted(), is(2));
+    }
+
+    @Test
+    public void when_fits_in_one_chunk_then_never_commits() throws Exception {
+
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceSession).getMappedAdapters();
+            will(returnValue(Collections.emptySet()));
+
+            never(mockTransactionService);
+            never(mockPersistenceSession).evictAdaptersExcept(with(any(Set.class)));
+        }});
+
+        final BulkActionExecution execution =
+                new BulkActionExecution(mockPersistenceSession, mockTransactionService, 2);
+
+        final ObjectAdapter lastReturned = execution.execute(Lists.newArrayList("a", "b"), invoker);
+
+        assertThat(invokedOn.size(), is(2));
+        assertThat(lastReturned, is((ObjectAdapter) null));
+    }
+
+    @Test
+    public void mapped_adapters_are_bounded_by_the_chunk_size() throws Exception {
+
+        final ObjectAdapter alreadyMapped = context.mock(ObjectAdapter.class, "alreadyMapped");
+        final Set<ObjectAdapter> mapped = Sets.newHashSet(alreadyMapped);
+        final int[] maxMapped = {0};
+
+        // resolves each target as it is invoked upon, so mapping another adapter
+        final BulkActionExecution.Invoker<Integer> resolvingInvoker = new BulkActionExecution.Invoker<Integer>() {
+            @Override
+            public ObjectAdapter invoke(final Integer target, final int index) {
+                mapped.add(context.mock(ObjectAdapter.class, "target" + target));
+                maxMapped[0] = Math.max(maxMapped[0], mapped.size());
+                return null;
+            }
+        };
+
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceSession).getMappedAdapters();
+            will(new CustomAction("snapshot of mapped adapters") {
+                @Override
+                public Object invoke(final Invocation invocation) throws Throwable {
+                    return Sets.newHashSet(mapped);
+                }
+            });
+
+            allowing(mockTransactionService).nextTransaction(
+                    TransactionService3.Policy.UNLESS_MARKED_FOR_ABORT, null);
+
+            allowing(mockPersistenceSession).evictAdaptersExcept(with(any(Set.class)));
+            will(new CustomAction("evict adapters") {
+                @Override
+                public Object invoke(final Invocation invocation) throws Throwable {
+                    final Set<?> retained = (Set<?>) invocation.getParameter(0);
+                    final int before = mapped.size();
+                    mapped.retainAll(retained);
+                    return before - mapped.size();
+                }
+            });
+        }});
+
+        final List<Integer> targets = Lists.newArrayList();
+        for (int i = 0; i < 100; i++) {
+            targets.add(i);
+        }
+
+        new BulkActionExecution(mockPersistenceSession, mockTransactionService, 10).execute(targets, resolvingInvoker);
+
+        // those already mapped, plus at most one chunk's worth
+        assertThat(maxMapped[0], is(11));
+        assertThat(mapped.contains(alreadyMapped), is(true));
+        assertThat(mapped.size(), is(11));
+    }
+
+}
@@ -0,0 +1,156 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.email;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import javax.mail.Session;
+import javax.mail.internet.MimeMessage;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.isis.core.commons.config.IsisConfigurationDefault;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class EmailDeliveryQueueTest {
+
+    private static final List<String> TO = Collections.singletonList("someone@example.com");
+
+    private SmtpStandIn smtp;
+    private EmailServiceDefault service;
+
+    @Before
+    public void setUp() throws Exception {
+        smtp = new SmtpStandIn();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if(service != null) {
+            service.shutdown();
+        }
+        smtp.close();
+    }
+
+    @Test
+    public void when_queued_then_sent_in_background_reusing_connection() throws Exception {
+        service = newService(true, 3);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(service.send(TO, null, null, "Subject " + i, "<p>Body</p>"), is(true));
+        }
+        final EmailDeliveryQueue.Statistics statistics = service.getQueueStatistics();
+        awaitSent(statistics, 5);
+
+        assertThat(smtp.getMessages().size(), is(5));
+        assertThat(smtp.getConnections(), is(1));
+        assertThat(statistics.getEnqueued(), is(5L));
+        assertThat(statistics.getQueueDepth(), is(0));
+    }
+
+    @Test
+    public void when_transient_failure_then_retried() throws Exception {
+        service = newService(true, 3);
+        smtp.failNext(1);
+
+        service.send(TO, null, null, "Subject", "<p>Body</p>");
+        final EmailDeliveryQueue.Statistics statistics = service.getQueueStatistics();
+        awaitSent(statistics, 1);
+
+        assertThat(statistics.getRetried(), is(1L));
+        assertThat(statistics.getFailed(), is(0L));
+        assertThat(smtp.getMessages().size(), is(1));
+        assertThat(smtp.getConnections(), is(2));
+    }
+
+    @Test
+    public void when_fails_repeatedly_then_given_up() throws Exception {
+        service = newService(true, 2);
+        smtp.failNext(2);
+
+        service.send(TO, null, null, "Subject", "<p>Body</p>");
+        final EmailDeliveryQueue.Statistics statistics = service.getQueueStatistics();
+        final long deadline = System.currentTimeMillis() + 10000;
+        while(statistics.getFailed() < 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertThat(statistics.getFailed(), is(1L));
+        assertThat(statistics.getRetried(), is(1L));
+        assertThat(smtp.getMessages().isEmpty(), is(true));
+    }
+
+    @Test
+    public void when_not_queued_then_sent_synchronously() throws Exception {
+        service = newService(false, 3);
+
+        assertThat(service.send(TO, null, null, "Subject", "<p>Body</p>"), is(true));
+
+        assertThat(smtp.getMessages().size(), is(1));
+        assertThat(service.getQueueStatistics(), is(nullValue()));
+    }
+
+    @Test
+    public void when_queue_full_then_rejected() throws Exception {
+        final Session session = Session.getInstance(new Properties());
+        final EmailDeliveryQueue queue = new EmailDeliveryQueue(session, 1, 10, 3, 0);
+
+        // not started, so nothing drains the queue
+        assertThat(queue.offer(new MimeMessage(session)), is(true));
+        assertThat(queue.offer(new MimeMessage(session)), is(false));
+
+        assertThat(queue.getStatistics().getEnqueued(), is(1L));
+        assertThat(queue.getStatistics().getRejected(), is(1L));
+        assertThat(queue.getStatistics().getQueueDepth(), is(1));
+    }
+
+    private EmailServiceDefault newService(final boolean queued, final int maxAttempts) {
+        final IsisConfigurationDefault configuration = new IsisConfigurationDefault();
+        configuration.add("isis.service.email.sender.address", "noreply@example.com");
+        configuration.add("isis.service.email.sender.password", "secret");
+        configuration.add("isis.service.email.sender.hostname", "127.0.0.1");
+        configuration.add("isis.service.email.port", "" + smtp.getPort());
+        configuration.add("isis.service.email.tls.enabled", "false");
+        configuration.add("isis.service.email.queued", "" + queued);
+        configuration.add("isis.service.email.queue.maxAttempts", "" + maxAttempts);
+        configuration.add("isis.service.email.queue.retryBackoffMillis", "10");
+
+        final EmailServiceDefault service = new EmailServiceDefault();
+        service.configuration = configuration;
+        service.init();
+        return service;
+    }
+
+    private static void awaitSent(final EmailDeliveryQueue.Statistics statistics, final long expected)
+            throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 10000;
+        while(statistics.getSent() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(statistics.getSent(), is(expected));
+    }
+
+}
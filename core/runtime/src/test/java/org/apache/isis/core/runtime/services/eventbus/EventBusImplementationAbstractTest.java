@@ -0,0 +1,106 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.eventbus;
+
+import com.google.common.eventbus.DeadEvent;
+import com.google.common.eventbus.Subscribe;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.isis.core.runtime.services.eventbus.adapter.EventBusImplementationForGuava;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class EventBusImplementationAbstractTest {
+
+    public static class SomeEvent {}
+    public static class SomeSubEvent extends SomeEvent {}
+    public static class OtherEvent {}
+
+    public interface SubscribesToOther {
+        @Subscribe
+        void on(OtherEvent ev);
+    }
+
+    public static class SubscriberToSome {
+        @Subscribe
+        public void on(final SomeEvent ev) {}
+    }
+
+    public static class SubclassedSubscriber extends SubscriberToSome implements SubscribesToOther {
+        // as per a proxy, overriding methods without annotating them
+        @Override
+        public void on(final SomeEvent ev) {}
+        @Override
+        public void on(final OtherEvent ev) {}
+    }
+
+    public static class SubscriberToDeadEvents {
+        @Subscribe
+        public void on(final DeadEvent ev) {}
+    }
+
+    EventBusImplementationForGuava eventBusImplementation;
+
+    @Before
+    public void setUp() throws Exception {
+        eventBusImplementation = new EventBusImplementationForGuava();
+    }
+
+    @Test
+    public void subscribedEventTypesOf_searches_superclasses_and_interfaces() throws Exception {
+        assertThat(
+                EventBusImplementationAbstract.subscribedEventTypesOf(SubclassedSubscriber.class, Subscribe.class),
+                containsInAnyOrder((Class<?>) SomeEvent.class, OtherEvent.class));
+    }
+
+    @Test
+    public void when_no_subscribers() throws Exception {
+        assertThat(eventBusImplementation.hasSubscribersFor(SomeEvent.class), is(false));
+    }
+
+    @Test
+    public void when_subscribed_to_type_or_supertype() throws Exception {
+        eventBusImplementation.register(new SubscriberToSome());
+
+        assertThat(eventBusImplementation.hasSubscribersFor(SomeEvent.class), is(true));
+        assertThat(eventBusImplementation.hasSubscribersFor(SomeSubEvent.class), is(true));
+        assertThat(eventBusImplementation.hasSubscribersFor(OtherEvent.class), is(false));
+    }
+
+    @Test
+    public void when_subscriber_registered_after_lookup() throws Exception {
+        assertThat(eventBusImplementation.hasSubscribersFor(OtherEvent.class), is(false));
+
+        eventBusImplementation.register(new SubclassedSubscriber());
+
+        assertThat(eventBusImplementation.hasSubscribersFor(OtherEvent.class), is(true));
+    }
+
+    @Test
+    public void when_subscribed_to_dead_events() throws Exception {
+        eventBusImplementation.register(new SubscriberToDeadEvents());
+
+        assertThat(eventBusImplementation.hasSubscribersFor(OtherEvent.class), is(true));
+    }
+
+}
@@ -104,6 +104,12 @@ public void implementation_setToAxonMixedCaseRequiringTrimming() throws Exceptio
             assertThat(eventBusService.getImplementation(), is("axon"));
         }
 
+        @Test
+        public void implementation_setToIsisMixedCaseRequiringTrimming() throws Exception {
+            eventBusService.init(ImmutableMap.of(EventBusServiceDefault.KEY_EVENT_BUS_IMPLEMENTATION, " IsIs "));
+            assertThat(eventBusService.getImplementation(), is("isis"));
+        }
+
         @Test
         public void implementation_setToEmptyString() throws Exception {
             eventBusService.init(ImmutableMap.of(EventBusServiceDefault.KEY_EVENT_BUS_IMPLEMENTATION, ""));
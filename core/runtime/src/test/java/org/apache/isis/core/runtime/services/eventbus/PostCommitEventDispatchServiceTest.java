@@ -0,0 +1,180 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.eventbus;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.Lists;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.eventbus.AbstractDomainEvent;
+import org.apache.isis.applib.services.eventbus.ActionDomainEvent;
+import org.apache.isis.applib.services.eventbus.PostCommitEvent;
+import org.apache.isis.applib.services.eventbus.PostCommitEventErrorHandler;
+import org.apache.isis.applib.services.eventbus.PostCommitEventSubscriber;
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertThat;
+
+public class PostCommitEventDispatchServiceTest {
+
+    static class Recording implements PostCommitEventSubscriber {
+        final List<PostCommitEvent> received = Collections.synchronizedList(Lists.<PostCommitEvent>newArrayList());
+        final Class<?> subscribedTo;
+        Recording(final Class<?> subscribedTo) {
+            this.subscribedTo = subscribedTo;
+        }
+        @Override
+        public boolean isSubscribedTo(final Class<?> eventType) {
+            return subscribedTo.isAssignableFrom(eventType);
+        }
+        @Override
+        public void onCommitted(final PostCommitEvent event) {
+            received.add(event);
+        }
+    }
+
+    static class Failing extends Recording {
+        Failing() {
+            super(Object.class);
+        }
+        @Override
+        public void onCommitted(final PostCommitEvent event) {
+            throw new IllegalStateException("failed");
+        }
+    }
+
+    static class RecordingErrorHandler implements PostCommitEventErrorHandler {
+        final List<PostCommitEventSubscriber> subscribers = Collections.synchronizedList(Lists.<PostCommitEventSubscriber>newArrayList());
+        @Override
+        public void onError(
+                final PostCommitEvent event, final PostCommitEventSubscriber subscriber, final Exception exception) {
+            subscribers.add(subscriber);
+        }
+    }
+
+    static class SomeEvent {}
+
+    PostCommitEventDispatchService service;
+    Recording subscriber;
+    Failing failing;
+    RecordingErrorHandler errorHandler;
+    CountDownLatch sessionEntered;
+    CountDownLatch releaseSession;
+
+    @Before
+    public void setUp() throws Exception {
+        subscriber = new Recording(SomeEvent.class);
+        failing = new Failing();
+        errorHandler = new RecordingErrorHandler();
+        sessionEntered = new CountDownLatch(1);
+        releaseSession = new CountDownLatch(0);
+
+        service = new PostCommitEventDispatchService() {
+            @Override
+            void runInSession(final Runnable runnable, final AuthenticationSession authenticationSession) {
+                sessionEntered.countDown();
+                try {
+                    releaseSession.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                runnable.run();
+            }
+            @Override
+            void runInTransaction(final Runnable runnable) {
+                runnable.run();
+            }
+        };
+        service.subscribers = Lists.<PostCommitEventSubscriber>newArrayList(failing, subscriber);
+        service.errorHandlers = Lists.<PostCommitEventErrorHandler>newArrayList(errorHandler);
+        service.init(1, 1);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        service.shutdown();
+    }
+
+    @Test
+    public void domain_events_captured_only_once_executed() throws Exception {
+        final ActionDomainEvent.Default event = new ActionDomainEvent.Default();
+        event.setEventPhase(AbstractDomainEvent.Phase.EXECUTING);
+        assertThat(service.isSubscribedTo(event), is(false));
+
+        event.setEventPhase(AbstractDomainEvent.Phase.EXECUTED);
+        assertThat(service.isSubscribedTo(event), is(true));
+    }
+
+    @Test
+    public void when_no_subscribers() throws Exception {
+        final PostCommitEventDispatchService service = new PostCommitEventDispatchService();
+        service.subscribers = Collections.emptyList();
+        service.init(Collections.<String, String>emptyMap());
+
+        assertThat(service.isSubscribedTo(new SomeEvent()), is(false));
+    }
+
+    @Test
+    public void delivers_to_interested_subscribers_and_reports_failures() throws Exception {
+        final PostCommitEvent event = newEvent(SomeEvent.class);
+        final PostCommitEvent otherEvent = newEvent(Object.class);
+
+        service.dispatch(Lists.newArrayList(event, otherEvent), null);
+        service.shutdown();
+
+        assertThat(subscriber.received, contains(event));
+        assertThat(errorHandler.subscribers, contains((PostCommitEventSubscriber) failing, failing));
+        assertThat(service.getStatistics().getDelivered(), is(1L));
+        assertThat(service.getStatistics().getFailed(), is(2L));
+    }
+
+    @Test
+    public void when_queue_full_then_rejected() throws Exception {
+        releaseSession = new CountDownLatch(1);
+
+        service.dispatch(Lists.newArrayList(newEvent(SomeEvent.class)), null);   // being delivered
+        assertThat(sessionEntered.await(5, TimeUnit.SECONDS), is(true));
+        service.dispatch(Lists.newArrayList(newEvent(SomeEvent.class)), null);   // queued
+        service.dispatch(Lists.newArrayList(newEvent(SomeEvent.class)), null);   // rejected
+
+        assertThat(service.getStatistics().getRejected(), is(1L));
+        assertThat(errorHandler.subscribers.size(), is(1));
+        assertThat(errorHandler.subscribers.get(0), is(nullValue()));
+
+        releaseSession.countDown();
+        service.shutdown();
+        assertThat(subscriber.received.size(), is(2));
+    }
+
+    private static PostCommitEvent newEvent(final Class<?> eventType) {
+        return new PostCommitEvent(
+                eventType, null, "sven", null, null, null, null, null, null, null, null, null);
+    }
+
+}
@@ -0,0 +1,185 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.eventbus;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.jmock.Expectations;
+import org.jmock.api.Invocation;
+import org.jmock.auto.Mock;
+import org.jmock.lib.action.CustomAction;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.applib.services.bookmark.BookmarkService;
+import org.apache.isis.applib.services.eventbus.AbstractDomainEvent;
+import org.apache.isis.applib.services.eventbus.ActionDomainEvent;
+import org.apache.isis.applib.services.eventbus.PostCommitEvent;
+import org.apache.isis.applib.services.eventbus.PropertyDomainEvent;
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class PostCommitEventServiceInternalTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private BookmarkService mockBookmarkService;
+    @Mock
+    private SpecificationLoader mockSpecificationLoader;
+    @Mock
+    private ObjectSpecification mockValueSpec;
+    @Mock
+    private ObjectSpecification mockAggregatedSpec;
+    @Mock
+    private PostCommitEventDispatchService mockPostCommitEventDispatchService;
+    @Mock
+    private AuthenticationSession mockAuthenticationSession;
+
+    static class Customer {}
+    static class Address {}
+
+    static class PlaceOrderEvent extends ActionDomainEvent<Customer> {}
+    static class AddressChangedEvent extends PropertyDomainEvent<Customer, Object> {}
+    static class SomeEvent {}
+
+    private final UUID transactionId = UUID.randomUUID();
+    private final Customer customer = new Customer();
+    private final Bookmark customerBookmark = new Bookmark("CUS", "1");
+
+    private PostCommitEventServiceInternal service;
+    private List<PostCommitEvent> dispatched;
+
+    @Before
+    public void setUp() throws Exception {
+        service = new PostCommitEventServiceInternal();
+        service.bookmarkService = mockBookmarkService;
+        service.specificationLoader = mockSpecificationLoader;
+        service.postCommitEventDispatchService = mockPostCommitEventDispatchService;
+
+        context.checking(new Expectations() {{
+            allowing(mockBookmarkService).bookmarkFor(customer);
+            will(returnValue(customerBookmark));
+            allowing(mockBookmarkService).bookmarkFor(with(any(Address.class)));
+            will(returnValue(null));
+
+            allowing(mockSpecificationLoader).loadSpecification(String.class);
+            will(returnValue(mockValueSpec));
+            allowing(mockValueSpec).isValue();
+            will(returnValue(true));
+
+            allowing(mockSpecificationLoader).loadSpecification(Customer.class);
+            will(returnValue(mockAggregatedSpec));
+            allowing(mockSpecificationLoader).loadSpecification(Address.class);
+            will(returnValue(mockAggregatedSpec));
+            allowing(mockAggregatedSpec).isValue();
+            will(returnValue(false));
+
+            allowing(mockAuthenticationSession).getUserName();
+            will(returnValue("sven"));
+        }});
+    }
+
+    @Test
+    public void detached_replaces_domain_objects_by_bookmarks_and_keeps_values() throws Exception {
+        final PlaceOrderEvent event = new PlaceOrderEvent();
+        event.setSource(customer);
+        event.setArguments(Arrays.<Object>asList("widget", customer, null, Arrays.asList(customer, "x")));
+
+        final PostCommitEvent detached = service.detached(event, transactionId, "sven");
+
+        assertThat(detached.getSource(), is(customerBookmark));
+        assertThat(detached.getMixedIn(), is(nullValue()));
+        assertThat(detached.getArguments(), is(Arrays.<Object>asList(
+                "widget", customerBookmark, null, Arrays.<Object>asList(customerBookmark, "x"))));
+        assertThat(detached.getTransactionId(), is(transactionId));
+        assertThat(detached.getUser(), is("sven"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void detached_rejects_objects_that_are_neither_values_nor_bookmarkable() throws Exception {
+        final AddressChangedEvent event = new AddressChangedEvent();
+        event.setSource(customer);
+        event.setNewValue(new Address());
+
+        service.detached(event, transactionId, "sven");
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void transaction_committed_dispatches_detached_events_and_drops_those_that_cannot_be() throws Exception {
+        final AddressChangedEvent unbookmarkable = new AddressChangedEvent();
+        unbookmarkable.setEventPhase(AbstractDomainEvent.Phase.EXECUTED);
+        unbookmarkable.setSource(customer);
+        unbookmarkable.setNewValue(new Address());
+        final PlaceOrderEvent placeOrder = new PlaceOrderEvent();
+        placeOrder.setSource(customer);
+        final SomeEvent someEvent = new SomeEvent();
+
+        service.enqueue(unbookmarkable);
+        service.enqueue(placeOrder);
+        service.enqueue(someEvent);
+
+        context.checking(new Expectations() {{
+            oneOf(mockPostCommitEventDispatchService).dispatch(
+                    with(Expectations.<List<PostCommitEvent>>anything()), with(mockAuthenticationSession));
+            will(new CustomAction("capture events") {
+                @Override
+                public Object invoke(final Invocation invocation) throws Throwable {
+                    dispatched = (List<PostCommitEvent>) invocation.getParameter(0);
+                    return null;
+                }
+            });
+        }});
+
+        service.transactionCommitted(transactionId, mockAuthenticationSession);
+
+        assertThat(dispatched.size(), is(2));
+        assertThat(dispatched.get(0).getEventType(), is((Object) PlaceOrderEvent.class));
+        assertThat(dispatched.get(0).getSource(), is(customerBookmark));
+        assertThat(dispatched.get(1).getEvent(), is((Object) someEvent));
+
+        // pending events cleared, so nothing dispatched a second time
+        service.transactionCommitted(transactionId, mockAuthenticationSession);
+    }
+
+    @Test
+    public void transaction_aborted_discards_pending_events() throws Exception {
+        service.enqueue(new SomeEvent());
+
+        service.transactionAborted();
+
+        context.checking(new Expectations() {{
+            never(mockPostCommitEventDispatchService);
+        }});
+        service.transactionCommitted(transactionId, mockAuthenticationSession);
+    }
+
+}
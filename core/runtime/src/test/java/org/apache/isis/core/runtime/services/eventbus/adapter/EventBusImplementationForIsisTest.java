@@ -0,0 +1,151 @@
+/**
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.isis.core.runtime.services.eventbus.adapter;
+
+import java.util.List;
+
+import com.google.common.collect.Lists;
+import com.google.common.eventbus.Subscribe;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.eventbus.AbstractDomainEvent;
+import org.apache.isis.applib.services.eventbus.ActionDomainEvent;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class EventBusImplementationForIsisTest {
+
+    public static class SomeEvent {}
+    public static class SomeSubEvent extends SomeEvent {}
+
+    public static class Subscriber {
+        final List<String> received;
+        final String name;
+
+        public Subscriber(final List<String> received, final String name) {
+            this.received = received;
+            this.name = name;
+        }
+
+        @Subscribe
+        public void on(final SomeEvent ev) {
+            received.add(name + ":" + ev.getClass().getSimpleName());
+        }
+    }
+
+    public static class ProxiedSubscriber extends Subscriber {
+        public ProxiedSubscriber(final List<String> received, final String name) {
+            super(received, name);
+        }
+        // as per a proxy, overriding without annotating
+        @Override
+        public void on(final SomeEvent ev) {
+            received.add("proxy");
+            super.on(ev);
+        }
+    }
+
+    public static class VetoingSubscriber {
+        @Subscribe
+        private void on(final ActionDomainEvent<?> ev) {
+            throw new IllegalStateException("not allowed");
+        }
+    }
+
+    public static class AnyEventSubscriber {
+        final List<String> received;
+
+        public AnyEventSubscriber(final List<String> received) {
+            this.received = received;
+        }
+
+        @Subscribe
+        public void on(final Object ev) {
+            received.add("any:" + ev.getClass().getSimpleName());
+        }
+    }
+
+    EventBusImplementationForIsis eventBusImplementation;
+    List<String> received;
+
+    @Before
+    public void setUp() throws Exception {
+        eventBusImplementation = new EventBusImplementationForIsis();
+        received = Lists.newArrayList();
+    }
+
+    @Test
+    public void dispatches_to_subscribers_of_type_and_supertypes_in_order_of_registration() throws Exception {
+        eventBusImplementation.register(new Subscriber(received, "a"));
+        eventBusImplementation.register(new Subscriber(received, "b"));
+
+        eventBusImplementation.post(new SomeSubEvent());
+        eventBusImplementation.post(new Object());
+
+        assertThat(received, contains("a:SomeSubEvent", "b:SomeSubEvent"));
+    }
+
+    @Test
+    public void subscriber_registered_after_post() throws Exception {
+        eventBusImplementation.post(new SomeEvent());
+        assertThat(eventBusImplementation.hasSubscribersFor(SomeEvent.class), is(false));
+
+        eventBusImplementation.register(new Subscriber(received, "a"));
+        eventBusImplementation.post(new SomeEvent());
+
+        assertThat(eventBusImplementation.hasSubscribersFor(SomeEvent.class), is(true));
+        assertThat(received, contains("a:SomeEvent"));
+    }
+
+    @Test
+    public void reregistering_same_subscriber_is_ignored() throws Exception {
+        final Subscriber subscriber = new Subscriber(received, "a");
+        eventBusImplementation.register(subscriber);
+        eventBusImplementation.register(subscriber);
+
+        eventBusImplementation.post(new SomeEvent());
+
+        assertThat(received, contains("a:SomeEvent"));
+    }
+
+    @Test
+    public void overridden_subscriber_method_invoked_once_and_virtually() throws Exception {
+        eventBusImplementation.register(new ProxiedSubscriber(received, "a"));
+
+        eventBusImplementation.post(new SomeEvent());
+
+        assertThat(received, contains("proxy", "a:SomeEvent"));
+    }
+
+    @Test
+    public void exception_in_hide_phase_vetoes_and_continues() throws Exception {
+        eventBusImplementation.register(new VetoingSubscriber());
+        eventBusImplementation.register(new AnyEventSubscriber(received));
+
+        final ActionDomainEvent.Default event = new ActionDomainEvent.Default();
+        event.setEventPhase(AbstractDomainEvent.Phase.HIDE);
+        eventBusImplementation.post(event);
+
+        assertThat(event.isHidden(), is(true));
+        assertThat(received, contains("any:Default"));
+    }
+
+}
@@ -0,0 +1,255 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.publish;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.apache.isis.applib.services.iactn.Interaction;
+import org.apache.isis.applib.services.publish.PublishedObjects;
+import org.apache.isis.applib.services.publish.PublisherService2;
+import org.apache.isis.schema.chg.v1.ChangesDto;
+import org.apache.isis.schema.ixn.v1.InteractionDto;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class PublisherDispatchServiceTest {
+
+    static class RecordingPublisher implements PublisherService2 {
+
+        final List<String> calls = Lists.newArrayList();
+        boolean fail;
+        int failuresRemaining;
+
+        @Override
+        public void publishInteractions(final List<InteractionDto> interactionDtos) {
+            final StringBuilder buf = new StringBuilder("ixn:");
+            for (final InteractionDto dto : interactionDtos) {
+                buf.append(dto.getTransactionId());
+            }
+            calls.add(buf.toString());
+            if(fail || failuresRemaining-- > 0) {
+                throw new RuntimeException("boom");
+            }
+        }
+
+        @Override
+        public void publishChanges(final List<ChangesDto> changesDtos) {
+            final StringBuilder buf = new StringBuilder("chg:");
+            for (final ChangesDto dto : changesDtos) {
+                buf.append(dto.getTransactionId());
+            }
+            calls.add(buf.toString());
+        }
+
+        @Override
+        public void publish(final Interaction.Execution<?, ?> execution) {
+            throw new AssertionError("should not be called synchronously");
+        }
+
+        @Override
+        public void publish(final PublishedObjects publishedObjects) {
+            throw new AssertionError("should not be called synchronously");
+        }
+    }
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private RecordingPublisher publisher;
+    private PublisherDispatchService service;
+
+    @Before
+    public void setUp() throws Exception {
+        publisher = new RecordingPublisher();
+        service = new PublisherDispatchService();
+    }
+
+    @Test
+    public void consecutive_dtos_of_same_type_delivered_together_and_in_order() throws Exception {
+        init(10, 10, PublisherDispatchService.Overflow.BLOCK);
+
+        service.enqueue(Arrays.asList(ixn("1"), ixn("2"), chg("3"), ixn("4")));
+
+        assertThat(service.dispatchNext(0), is(4));
+        assertThat(publisher.calls, is((List<String>) Arrays.asList("ixn:12", "chg:3", "ixn:4")));
+        assertThat(service.getStatistics().getDelivered(), is(4L));
+        assertThat(service.getStatistics().getBatches(), is(1L));
+        assertThat(service.getStatistics().getQueueDepth(), is(0));
+    }
+
+    @Test
+    public void batches_limited_to_batch_size() throws Exception {
+        init(10, 2, PublisherDispatchService.Overflow.BLOCK);
+
+        service.enqueue(Arrays.asList(ixn("1"), ixn("2"), ixn("3")));
+
+        assertThat(service.dispatchNext(0), is(2));
+        assertThat(service.dispatchNext(0), is(1));
+        assertThat(publisher.calls, is((List<String>) Arrays.asList("ixn:12", "ixn:3")));
+    }
+
+    @Test
+    public void when_full_and_drop_then_dropped_and_counted() throws Exception {
+        init(2, 10, PublisherDispatchService.Overflow.DROP);
+
+        service.enqueue(Arrays.asList(ixn("1"), ixn("2"), ixn("3")));
+
+        assertThat(service.getStatistics().getDropped(), is(1L));
+        service.dispatchNext(0);
+        assertThat(publisher.calls, is(Collections.singletonList("ixn:12")));
+    }
+
+    @Test
+    public void when_full_and_block_then_dropped_after_timeout() throws Exception {
+        init(1, 10, PublisherDispatchService.Overflow.BLOCK);
+
+        service.enqueue(Arrays.asList(ixn("1"), ixn("2")));
+
+        assertThat(service.getStatistics().getDropped(), is(1L));
+        assertThat(service.getStatistics().getQueueDepth(), is(1));
+    }
+
+    @Test
+    public void when_full_and_block_then_timeout_is_for_the_transaction_as_a_whole() throws Exception {
+        service.init(Collections.<PublisherService2>singletonList(publisher), 1, 10,
+                PublisherDispatchService.Overflow.BLOCK, 200, temporaryFolder.getRoot());
+
+        final long start = System.currentTimeMillis();
+        service.enqueue(Arrays.asList(ixn("1"), ixn("2"), ixn("3"), ixn("4")));
+        final long elapsed = System.currentTimeMillis() - start;
+
+        assertThat(service.getStatistics().getDropped(), is(3L));
+        assertThat(elapsed < 600, is(true));
+    }
+
+    @Test
+    public void spill_by_default() throws Exception {
+        assertThat(PublisherDispatchService.Overflow.parse(null), is(PublisherDispatchService.Overflow.SPILL));
+    }
+
+    @Test
+    public void when_full_and_spill_then_replayed_in_order_once_queue_drained() throws Exception {
+        init(2, 10, PublisherDispatchService.Overflow.SPILL);
+
+        service.enqueue(Arrays.asList(ixn("1"), ixn("2"), chg("3")));
+        // once spilling, subsequent DTOs are also spilled (even though the queue now has space)
+        service.dispatchNext(0);
+        service.enqueue(Collections.singletonList(ixn("4")));
+
+        assertThat(service.getStatistics().getSpilled(), is(2L));
+        assertThat(service.dispatchNext(0), is(2));
+        assertThat(publisher.calls, is((List<String>) Arrays.asList("ixn:12", "chg:3", "ixn:4")));
+        assertThat(temporaryFolder.getRoot().list().length, is(0));
+
+        // caught up, so back to queueing
+        assertThat(service.dispatchNext(0), is(0));
+        service.enqueue(Collections.singletonList(ixn("5")));
+        assertThat(service.getStatistics().getQueueDepth(), is(1));
+        assertThat(service.getStatistics().getSpilled(), is(2L));
+    }
+
+    @Test
+    public void spilled_left_over_from_previous_run_are_replayed_first() throws Exception {
+        init(1, 10, PublisherDispatchService.Overflow.SPILL);
+        service.enqueue(Arrays.asList(ixn("1"), ixn("2")));
+
+        // simulate a restart, with "1" lost from the in-memory queue
+        final RecordingPublisher previous = publisher;
+        publisher = new RecordingPublisher();
+        service = new PublisherDispatchService();
+        init(1, 10, PublisherDispatchService.Overflow.SPILL);
+        service.enqueue(Collections.singletonList(ixn("3")));
+
+        service.dispatchNext(0);
+        assertThat(publisher.calls, is((List<String>) Arrays.asList("ixn:23")));
+        assertThat(previous.calls.isEmpty(), is(true));
+    }
+
+    @Test
+    public void when_publisher_fails_then_counted_and_others_still_called() throws Exception {
+        final RecordingPublisher other = new RecordingPublisher();
+        publisher.fail = true;
+        service.init(Arrays.<PublisherService2>asList(publisher, other), 10, 10,
+                PublisherDispatchService.Overflow.BLOCK, 0, temporaryFolder.getRoot());
+
+        service.enqueue(Collections.singletonList(ixn("1")));
+        service.dispatchNext(0);
+
+        assertThat(other.calls, is(Collections.singletonList("ixn:1")));
+        assertThat(service.getStatistics().getFailed(), is(1L));
+        assertThat(service.getStatistics().getDelivered(), is(1L));
+    }
+
+    @Test
+    public void when_publisher_fails_then_retried() throws Exception {
+        publisher.failuresRemaining = 2;
+        service.init(Collections.<PublisherService2>singletonList(publisher), 10, 10,
+                PublisherDispatchService.Overflow.SPILL, 0, temporaryFolder.getRoot(), 3, 1);
+
+        service.enqueue(Collections.singletonList(ixn("1")));
+        service.dispatchNext(0);
+
+        assertThat(publisher.calls, is((List<String>) Arrays.asList("ixn:1", "ixn:1", "ixn:1")));
+        assertThat(service.getStatistics().getRetried(), is(2L));
+        assertThat(service.getStatistics().getFailed(), is(0L));
+    }
+
+    @Test
+    public void when_publisher_still_fails_after_max_attempts_then_given_up() throws Exception {
+        final RecordingPublisher other = new RecordingPublisher();
+        publisher.fail = true;
+        service.init(Arrays.<PublisherService2>asList(publisher, other), 10, 10,
+                PublisherDispatchService.Overflow.SPILL, 0, temporaryFolder.getRoot(), 3, 1);
+
+        service.enqueue(Collections.singletonList(ixn("1")));
+        service.dispatchNext(0);
+
+        assertThat(publisher.calls.size(), is(3));
+        assertThat(other.calls, is(Collections.singletonList("ixn:1")));
+        assertThat(service.getStatistics().getRetried(), is(2L));
+        assertThat(service.getStatistics().getFailed(), is(1L));
+    }
+
+    private void init(final int queueCapacity, final int batchSize, final PublisherDispatchService.Overflow overflow) {
+        service.init(Collections.<PublisherService2>singletonList(publisher), queueCapacity, batchSize, overflow,
+                10, temporaryFolder.getRoot());
+    }
+
+    private static InteractionDto ixn(final String transactionId) {
+        final InteractionDto dto = new InteractionDto();
+        dto.setTransactionId(transactionId);
+        return dto;
+    }
+
+    private static ChangesDto chg(final String transactionId) {
+        final ChangesDto dto = new ChangesDto();
+        dto.setTransactionId(transactionId);
+        return dto;
+    }
+}
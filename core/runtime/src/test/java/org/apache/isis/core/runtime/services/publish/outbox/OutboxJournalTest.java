@@ -0,0 +1,152 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.publish.outbox;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class OutboxJournalTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private OutboxJournal journal;
+
+    @After
+    public void tearDown() throws Exception {
+        if(journal != null) {
+            journal.close();
+        }
+    }
+
+    @Test
+    public void append_and_read() throws Exception {
+        journal = new OutboxJournal(temporaryFolder.getRoot(), 4096);
+
+        final long end1 = journal.append((byte) 1, "tx1", bytes("first"));
+        final long end2 = journal.append((byte) 3, "tx1", new byte[0]);
+        journal.awaitDurable(end2);
+
+        final List<OutboxJournal.Record> records = journal.read(0, 10);
+        assertThat(records.size(), is(2));
+        assertThat(records.get(0).getType(), is((byte) 1));
+        assertThat(records.get(0).getTransactionId(), is("tx1"));
+        assertThat(new String(records.get(0).getBody(), StandardCharsets.UTF_8), is("first"));
+        assertThat(records.get(0).getNextPosition(), is(end1));
+        assertThat(records.get(1).getType(), is((byte) 3));
+        assertThat(records.get(1).getBody().length, is(0));
+        assertThat(records.get(1).getNextPosition(), is(end2));
+
+        assertThat(journal.read(end1, 10).size(), is(1));
+    }
+
+    @Test
+    public void when_reopened_without_close_then_records_recovered() throws Exception {
+        final OutboxJournal crashed = new OutboxJournal(temporaryFolder.getRoot(), 4096);
+        crashed.append((byte) 1, "tx1", bytes("first"));
+        final long end = crashed.append((byte) 1, "tx2", bytes("second"));
+
+        journal = new OutboxJournal(temporaryFolder.getRoot(), 4096);
+
+        assertThat(journal.getAppendedPosition(), is(end));
+        assertThat(journal.read(0, 10).size(), is(2));
+    }
+
+    @Test
+    public void when_reopened_then_torn_record_discarded() throws Exception {
+        final OutboxJournal crashed = new OutboxJournal(temporaryFolder.getRoot(), 4096);
+        final long end = crashed.append((byte) 1, "tx1", bytes("first"));
+        crashed.append((byte) 1, "tx2", bytes("second"));
+        crashed.close();
+
+        // corrupt the last byte of the second record's payload
+        final File segment = temporaryFolder.getRoot().listFiles()[0];
+        try (final RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            final long lastByte = end + 8 + 1 + 2 + "tx2".length() + "second".length() - 1;
+            file.seek(lastByte);
+            file.write('X');
+        }
+
+        journal = new OutboxJournal(temporaryFolder.getRoot(), 4096);
+
+        assertThat(journal.getAppendedPosition(), is(end));
+        assertThat(journal.read(0, 10).size(), is(1));
+
+        // and appends continue from the end of the intact records
+        journal.append((byte) 1, "tx3", bytes("third"));
+        assertThat(journal.read(end, 10).get(0).getTransactionId(), is("tx3"));
+    }
+
+    @Test
+    public void rolls_over_segments_and_compacts_up_to_checkpoint() throws Exception {
+        journal = new OutboxJournal(temporaryFolder.getRoot(), 64);
+
+        long end = 0;
+        for (int i = 0; i < 6; i++) {
+            end = journal.append((byte) 1, "tx" + i, bytes("0123456789"));
+        }
+        assertThat(journal.getSegmentCount(), is(3));
+
+        final List<OutboxJournal.Record> records = journal.read(0, 10);
+        assertThat(records.size(), is(6));
+        assertThat(records.get(5).getNextPosition(), is(end));
+
+        journal.checkpoint(records.get(4).getPosition());
+        assertThat(journal.compact(), is(2));
+        assertThat(journal.getSegmentCount(), is(1));
+
+        final List<OutboxJournal.Record> remaining = journal.read(journal.getCheckpoint(), 10);
+        assertThat(remaining.size(), is(2));
+        assertThat(remaining.get(0).getTransactionId(), is("tx4"));
+    }
+
+    @Test
+    public void checkpoint_survives_reopen() throws Exception {
+        final OutboxJournal first = new OutboxJournal(temporaryFolder.getRoot(), 4096);
+        final long end = first.append((byte) 1, "tx1", bytes("first"));
+        first.append((byte) 1, "tx2", bytes("second"));
+        first.checkpoint(end);
+        first.close();
+
+        journal = new OutboxJournal(temporaryFolder.getRoot(), 4096);
+
+        assertThat(journal.getCheckpoint(), is(end));
+        assertThat(journal.read(journal.getCheckpoint(), 10).get(0).getTransactionId(), is("tx2"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void when_record_larger_than_segment_then_rejected() throws Exception {
+        journal = new OutboxJournal(temporaryFolder.getRoot(), 64);
+        journal.append((byte) 1, "tx1", new byte[64]);
+    }
+
+    private static byte[] bytes(final String str) {
+        return str.getBytes(StandardCharsets.UTF_8);
+    }
+}
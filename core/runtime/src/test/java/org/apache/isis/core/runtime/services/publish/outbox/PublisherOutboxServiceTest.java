@@ -0,0 +1,275 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.publish.outbox;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.apache.isis.applib.services.iactn.Interaction;
+import org.apache.isis.applib.services.publish.PublishedObjects;
+import org.apache.isis.applib.services.publish.PublisherService2;
+import org.apache.isis.schema.chg.v1.ChangesDto;
+import org.apache.isis.schema.ixn.v1.InteractionDto;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class PublisherOutboxServiceTest {
+
+    static class RecordingPublisher implements PublisherService2 {
+
+        final List<String> calls = Lists.newArrayList();
+        int failuresRemaining;
+
+        @Override
+        public void publishInteractions(final List<InteractionDto> interactionDtos) {
+            if(failuresRemaining > 0) {
+                failuresRemaining--;
+                throw new RuntimeException("boom");
+            }
+            final StringBuilder buf = new StringBuilder("ixn:");
+            for (final InteractionDto dto : interactionDtos) {
+                buf.append(dto.getTransactionId());
+            }
+            calls.add(buf.toString());
+        }
+
+        @Override
+        public void publishChanges(final List<ChangesDto> changesDtos) {
+            final StringBuilder buf = new StringBuilder("chg:");
+            for (final ChangesDto dto : changesDtos) {
+                buf.append(dto.getTransactionId());
+            }
+            calls.add(buf.toString());
+        }
+
+        @Override
+        public void publish(final Interaction.Execution<?, ?> execution) {
+            throw new AssertionError("should not be called synchronously");
+        }
+
+        @Override
+        public void publish(final PublishedObjects publishedObjects) {
+            throw new AssertionError("should not be called synchronously");
+        }
+    }
+
+    static class FlakyJournal extends OutboxJournal {
+
+        boolean failing;
+        long forcedPosition;
+
+        FlakyJournal(final File directory, final int segmentSize) throws IOException {
+            super(directory, segmentSize);
+        }
+
+        @Override
+        public void awaitDurable(final long position, final long groupCommitWindowMillis) throws IOException {
+            super.awaitDurable(position, groupCommitWindowMillis);
+            forcedPosition = Math.max(forcedPosition, position);
+        }
+
+        @Override
+        public long append(final byte type, final String transactionId, final byte[] body) throws IOException {
+            if(failing) {
+                throw new IOException("disk full");
+            }
+            return super.append(type, transactionId, body);
+        }
+    }
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private RecordingPublisher publisher;
+    private FlakyJournal journal;
+    private PublisherOutboxService service;
+
+    @Before
+    public void setUp() throws Exception {
+        publisher = new RecordingPublisher();
+        service = newService(true);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        journal.close();
+    }
+
+    @Test
+    public void only_committed_delivered_in_commit_order() throws Exception {
+        final String tx1 = service.append(Arrays.asList(ixn("1"), chg("1")));
+        final String tx2 = service.append(Collections.singletonList(ixn("2")));
+        final String tx3 = service.append(Collections.singletonList(ixn("3")));
+        service.committed(tx2);
+        service.aborted(tx3);
+        service.committed(tx1);
+
+        service.relayNext();
+
+        assertThat(publisher.calls, is((List<String>) Arrays.asList("ixn:21", "chg:1")));
+        assertThat(service.getStatistics().getAppended(), is(4L));
+        assertThat(service.getStatistics().getDelivered(), is(3L));
+    }
+
+    @Test
+    public void checkpoint_held_back_by_transaction_not_yet_committed() throws Exception {
+        final String tx1 = service.append(Collections.singletonList(ixn("1")));
+        final String tx2 = service.append(Collections.singletonList(ixn("2")));
+        service.committed(tx2);
+
+        service.relayNext();
+        assertThat(publisher.calls, is(Collections.singletonList("ixn:2")));
+        assertThat(journal.getCheckpoint(), is(0L));
+
+        service.committed(tx1);
+        service.relayNext();
+        assertThat(publisher.calls, is((List<String>) Arrays.asList("ixn:2", "ixn:1")));
+        assertThat(journal.getCheckpoint(), is(journal.getAppendedPosition()));
+
+        // nothing redelivered after a restart
+        restart(true);
+        service.relayNext();
+        assertThat(publisher.calls.isEmpty(), is(true));
+    }
+
+    @Test
+    public void when_delivery_fails_then_redelivered_from_checkpoint() throws Exception {
+        service.committed(service.append(Collections.singletonList(ixn("1"))));
+        publisher.failuresRemaining = 1;
+
+        try {
+            service.relayNext();
+            fail();
+        } catch (RuntimeException expected) {
+        }
+        assertThat(service.getStatistics().getFailed(), is(1L));
+
+        service.relayNext();
+        assertThat(publisher.calls, is(Collections.singletonList("ixn:1")));
+    }
+
+    @Test
+    public void when_restarted_then_in_doubt_delivered() throws Exception {
+        service.append(Collections.singletonList(ixn("1")));
+
+        restart(true);
+        service.relayNext();
+
+        assertThat(service.getStatistics().getInDoubt(), is(1L));
+        assertThat(publisher.calls, is(Collections.singletonList("ixn:1")));
+    }
+
+    @Test
+    public void when_restarted_then_in_doubt_discarded_if_so_configured() throws Exception {
+        service.append(Collections.singletonList(ixn("1")));
+
+        restart(false);
+        service.relayNext();
+
+        assertThat(service.getStatistics().getInDoubt(), is(1L));
+        assertThat(publisher.calls.isEmpty(), is(true));
+        assertThat(journal.getCheckpoint(), is(journal.getAppendedPosition()));
+    }
+
+    @Test
+    public void in_doubt_delivered_by_default() throws Exception {
+        assertThat(PublisherOutboxService.KEY_DELIVER_IN_DOUBT_DEFAULT, is(true));
+    }
+
+    @Test
+    public void committed_marker_forced_to_disk() throws Exception {
+        service.committed(service.append(Collections.singletonList(ixn("1"))));
+
+        assertThat(journal.forcedPosition, is(journal.getAppendedPosition()));
+    }
+
+    @Test
+    public void when_marker_cannot_be_appended_then_retried_by_relay() throws Exception {
+        final String tx1 = service.append(Collections.singletonList(ixn("1")));
+        journal.failing = true;
+        service.committed(tx1);
+        journal.failing = false;
+
+        service.relayNext();
+
+        assertThat(publisher.calls, is(Collections.singletonList("ixn:1")));
+        assertThat(journal.getCheckpoint(), is(journal.getAppendedPosition()));
+    }
+
+    @Test
+    public void when_no_marker_then_in_doubt_after_timeout() throws Exception {
+        journal.close();
+        journal = new FlakyJournal(temporaryFolder.getRoot(), 4096);
+        service = new PublisherOutboxService();
+        service.init(Collections.<PublisherService2>singletonList(publisher), journal, 100, 0, 0, false, 1000);
+
+        service.append(Collections.singletonList(ixn("1")));
+        service.committed(service.append(Collections.singletonList(ixn("2"))));
+
+        service.relayNext(0);
+        assertThat(publisher.calls, is(Collections.singletonList("ixn:2")));
+        assertThat(journal.getCheckpoint(), is(0L));
+
+        service.relayNext(999);
+        assertThat(service.getStatistics().getInDoubt(), is(0L));
+
+        service.relayNext(1000);
+        assertThat(service.getStatistics().getInDoubt(), is(1L));
+        assertThat(publisher.calls, is(Collections.singletonList("ixn:2")));
+        assertThat(journal.getCheckpoint(), is(journal.getAppendedPosition()));
+    }
+
+    private void restart(final boolean deliverInDoubt) throws Exception {
+        journal.close();
+        publisher = new RecordingPublisher();
+        service = newService(deliverInDoubt);
+    }
+
+    private PublisherOutboxService newService(final boolean deliverInDoubt) throws Exception {
+        journal = new FlakyJournal(temporaryFolder.getRoot(), 4096);
+        final PublisherOutboxService service = new PublisherOutboxService();
+        service.init(Collections.<PublisherService2>singletonList(publisher), journal, 100, 0, 0, deliverInDoubt);
+        return service;
+    }
+
+    private static InteractionDto ixn(final String transactionId) {
+        final InteractionDto dto = new InteractionDto();
+        dto.setTransactionId(transactionId);
+        return dto;
+    }
+
+    private static ChangesDto chg(final String transactionId) {
+        final ChangesDto dto = new ChangesDto();
+        dto.setTransactionId(transactionId);
+        return dto;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.system.persistence.adaptermanager;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class AdapterMapsPoolTest {
+
+    @Test
+    public void when_not_reusing() throws Exception {
+        final AdapterMapsPool pool = new AdapterMapsPool(false, 10, 100);
+
+        final AdapterMapsPool.AdapterMaps maps1 = pool.acquire();
+        pool.release(maps1);
+        final AdapterMapsPool.AdapterMaps maps2 = pool.acquire();
+
+        assertThat(maps2, is(not(sameInstance(maps1))));
+    }
+
+    @Test
+    public void when_reusing_then_same_maps_for_subsequent_session_on_thread() throws Exception {
+        final AdapterMapsPool pool = new AdapterMapsPool(true, 10, 100);
+
+        final AdapterMapsPool.AdapterMaps maps1 = pool.acquire();
+        pool.release(maps1);
+        final AdapterMapsPool.AdapterMaps maps2 = pool.acquire();
+
+        assertThat(maps2, is(sameInstance(maps1)));
+        assertThat(maps2.isEmpty(), is(true));
+    }
+
+    @Test
+    public void when_reusing_and_nested_then_different_maps() throws Exception {
+        final AdapterMapsPool pool = new AdapterMapsPool(true, 10, 100);
+
+        final AdapterMapsPool.AdapterMaps outer = pool.acquire();
+        final AdapterMapsPool.AdapterMaps inner = pool.acquire();
+
+        assertThat(inner, is(not(sameInstance(outer))));
+        assertThat(inner.getPojoAdapterMap(), is(not(sameInstance(outer.getPojoAdapterMap()))));
+        assertThat(inner.getOidAdapterMap(), is(not(sameInstance(outer.getOidAdapterMap()))));
+    }
+
+    @Test
+    public void when_reusing_then_different_maps_for_different_threads() throws Exception {
+        final AdapterMapsPool pool = new AdapterMapsPool(true, 10, 100);
+
+        final AdapterMapsPool.AdapterMaps maps1 = pool.acquire();
+        pool.release(maps1);
+
+        final AtomicReference<AdapterMapsPool.AdapterMaps> maps2 = new AtomicReference<>();
+        final Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                maps2.set(pool.acquire());
+            }
+        });
+        thread.start();
+        thread.join();
+
+        assertThat(maps2.get(), is(not(sameInstance(maps1))));
+    }
+
+    @Test
+    public void when_reusing_and_exceeded_max_retained_size_then_discarded() throws Exception {
+        final AdapterMapsPool pool = new AdapterMapsPool(true, 10, -1);
+
+        final AdapterMapsPool.AdapterMaps maps1 = pool.acquire();
+        pool.release(maps1);
+        final AdapterMapsPool.AdapterMaps maps2 = pool.acquire();
+
+        assertThat(maps2, is(not(sameInstance(maps1))));
+    }
+
+}
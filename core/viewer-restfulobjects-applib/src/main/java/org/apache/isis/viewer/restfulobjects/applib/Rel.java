@@ -63,7 +63,8 @@ public enum Rel {
     OBJECT_ICON(RelDefinition.IMPL, "object-icon"),
     LAYOUT(RelDefinition.IMPL, "layout"),
     MENUBARS(RelDefinition.IMPL, "menuBars"),
-    LOGOUT(RelDefinition.IMPL, "logout");
+    LOGOUT(RelDefinition.IMPL, "logout"),
+    ASYNC_RESULT(RelDefinition.IMPL, "async-result");
 
     private final RelDefinition relDef;
     private final String relSuffix;
@@ -105,7 +105,7 @@ public static Family lookupFamily(final int statusCode) {
         public final static HttpStatusCode OK = new HttpStatusCode(200, Status.OK);
         public final static HttpStatusCode CREATED = new HttpStatusCode(201, Status.CREATED);
 
-        // public static final int SC_ACCEPTED = 202;
+        public final static HttpStatusCode ACCEPTED = new HttpStatusCode(202, Status.ACCEPTED);
         // public static final int SC_NON_AUTHORITATIVE_INFORMATION = 203;
 
         public static final HttpStatusCode NO_CONTENT = new HttpStatusCode(204, Status.NO_CONTENT);
@@ -165,7 +165,7 @@ public static Family lookupFamily(final int statusCode) {
         public final static HttpStatusCode NOT_IMPLEMENTED = new HttpStatusCode(501, new StatusTypeImpl(501, Family.SERVER_ERROR, "Not implemented"));
 
         // public static final int SC_BAD_GATEWAY = 502;
-        // public static final int SC_SERVICE_UNAVAILABLE = 503;
+        public final static HttpStatusCode SERVICE_UNAVAILABLE = new HttpStatusCode(503, Status.SERVICE_UNAVAILABLE);
         // public static final int SC_GATEWAY_TIMEOUT = 504;
         // public static final int SC_HTTP_VERSION_NOT_SUPPORTED = 505;
         // public static final int SC_INSUFFICIENT_STORAGE = 507;
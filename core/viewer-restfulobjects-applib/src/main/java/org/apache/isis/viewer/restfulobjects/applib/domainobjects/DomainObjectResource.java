@@ -131,6 +131,18 @@ public Response layout(
     @ClientResponseType(entityType = String.class)
     public Response propertyDetails(@PathParam("domainType") String domainType, @PathParam("instanceId") final String instanceId, @PathParam("propertyId") final String propertyId);
 
+    /**
+     * The value of a {@link org.apache.isis.applib.value.Blob} or {@link org.apache.isis.applib.value.Clob} property,
+     * as a resource of its own media type; supports <tt>Range</tt> requests.
+     */
+    @GET
+    @Path("/{domainType}/{instanceId}/properties/{propertyId}/attachment")
+    @Consumes({ MediaType.WILDCARD })
+    @Produces({
+            MediaType.APPLICATION_OCTET_STREAM, MediaType.WILDCARD
+    })
+    public Response propertyAttachment(@PathParam("domainType") String domainType, @PathParam("instanceId") final String instanceId, @PathParam("propertyId") final String propertyId);
+
     @PUT
     @Path("/{domainType}/{instanceId}/properties/{propertyId}")
     @Consumes({ MediaType.WILDCARD })
@@ -170,6 +182,17 @@ public Response layout(
     @ClientResponseType(entityType = String.class)
     public Response accessCollection(@PathParam("domainType") String domainType, @PathParam("instanceId") final String instanceId, @PathParam("collectionId") final String collectionId);
 
+    /**
+     * The contents of the collection as CSV (with the same columns as shown in a table), streamed in chunks.
+     */
+    @GET
+    @Path("/{domainType}/{instanceId}/collections/{collectionId}/export")
+    @Consumes({ MediaType.WILDCARD })
+    @Produces({
+            "text/csv", MediaType.WILDCARD
+    })
+    public Response exportCollection(@PathParam("domainType") String domainType, @PathParam("instanceId") final String instanceId, @PathParam("collectionId") final String collectionId);
+
     @PUT
     @Path("/{domainType}/{instanceId}/collections/{collectionId}")
     @Consumes({ MediaType.WILDCARD })
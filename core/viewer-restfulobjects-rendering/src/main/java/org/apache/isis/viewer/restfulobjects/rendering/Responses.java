@@ -87,14 +87,8 @@ public static Response.ResponseBuilder ofOk(
 
         final MediaType mediaType = renderer.getMediaType();
 
-        final Date now = IsisContext.getSessionFactory().getServicesInjector()
-                .lookupService(ClockService.class).nowAsDateTime().toDate();
-        SimpleDateFormat dateFormat = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss z", Locale.US);
-        dateFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
-
         final Response.ResponseBuilder response =
-                of(RestfulResponse.HttpStatusCode.OK)
-                    .header("Date", dateFormat.format(now))
+                addDate(of(RestfulResponse.HttpStatusCode.OK))
                     .type(mediaType)
                     .cacheControl(caching.getCacheControl())
                     .entity(JsonWriterUtil.jsonFor(entityRepresentation));
@@ -112,6 +106,14 @@ public static Response.ResponseBuilder mediaType(
         return responseBuilder;
     }
 
+    public static Response.ResponseBuilder addDate(final Response.ResponseBuilder responseBuilder) {
+        final Date now = IsisContext.getSessionFactory().getServicesInjector()
+                .lookupService(ClockService.class).nowAsDateTime().toDate();
+        SimpleDateFormat dateFormat = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss z", Locale.US);
+        dateFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
+        return responseBuilder.header("Date", dateFormat.format(now));
+    }
+
     public static Response.ResponseBuilder addLastModifiedAndETagIfAvailable(
             final Response.ResponseBuilder responseBuilder,
             final Version version) {
@@ -24,6 +24,7 @@
 
 import org.apache.isis.applib.annotation.Render.Type;
 import org.apache.isis.applib.annotation.Where;
+import org.apache.isis.applib.value.NamedWithMimeType;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.facetapi.Facet;
 import org.apache.isis.core.metamodel.facetapi.FacetHolder;
@@ -44,6 +45,14 @@
 
 public class ObjectPropertyReprRenderer extends AbstractObjectMemberReprRenderer<ObjectPropertyReprRenderer, OneToOneAssociation> {
 
+    /**
+     * If set, then {@link org.apache.isis.applib.value.Blob}s and {@link org.apache.isis.applib.value.Clob}s are
+     * rendered only as a link to their (streamed) <tt>attachment</tt> resource, rather than also inlined (base64
+     * encoded for blobs) as the property's value.
+     */
+    public static final String KEY_SUPPRESS_INLINE_BLOBS_AND_CLOBS = "isis.viewer.restfulobjects.suppressInlineBlobsAndClobs";
+    private static final boolean KEY_SUPPRESS_INLINE_BLOBS_AND_CLOBS_DEFAULT = false;
+
     public ObjectPropertyReprRenderer(
             final RendererContext resourceContext) {
         this(resourceContext, null, null, JsonRepresentation.newMap());
@@ -89,6 +98,14 @@ private Object addValue(final LinkFollowSpecs linkFollower) {
         
         final ValueFacet valueFacet = spec.getFacet(ValueFacet.class);
         if (valueFacet != null) {
+            if(valueAdapter != null && valueAdapter.getObject() instanceof NamedWithMimeType && objectAdapter.representsPersistent()) {
+                final JsonRepresentation attachmentLink = addLinkToAttachment((NamedWithMimeType) valueAdapter.getObject());
+                if(rendererContext.getConfiguration().getBoolean(
+                        KEY_SUPPRESS_INLINE_BLOBS_AND_CLOBS, KEY_SUPPRESS_INLINE_BLOBS_AND_CLOBS_DEFAULT)) {
+                    representation.mapPut("value", attachmentLink);
+                    return attachmentLink;
+                }
+            }
             String format = null;
             final Class<?> specClass = spec.getCorrespondingClass();
             if(specClass == java.math.BigDecimal.class) {
@@ -146,6 +163,19 @@ private Object addValue(final LinkFollowSpecs linkFollower) {
         }
     }
 
+    /**
+     * Link to the blob or clob, as a separate resource (supporting <tt>Range</tt> requests) of its own media type.
+     */
+    private JsonRepresentation addLinkToAttachment(final NamedWithMimeType attachment) {
+        final JsonRepresentation link =
+                linkTo.memberBuilder(Rel.ATTACHMENT, objectMemberType, objectMember, "attachment")
+                        .withTitle(attachment.getName())
+                        .build();
+        link.mapPut("type", attachment.getMimeType().getBaseType());
+        getLinks().arrayAdd(link);
+        return link;
+    }
+
     private static <T extends Facet> T getFacet(Class<T> facetType, FacetHolder... holders) {
         for (FacetHolder holder : holders) {
             if(holder == null) {
@@ -0,0 +1,144 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.restfulobjects.rendering.service.async;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.schema.cmd.v1.CommandDto;
+
+/**
+ * The handle to an action invocation submitted to the {@link AsyncActionInvocationService}, holding its current
+ * {@link State state} and, once complete, the {@link #getResult() result} or {@link #getException() exception}.
+ */
+public class AsyncActionInvocation {
+
+    public enum State {
+        /**
+         * Queued, waiting for a worker thread.
+         */
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED;
+
+        public boolean isFinished() {
+            return this == COMPLETED || this == FAILED;
+        }
+    }
+
+    private final UUID id;
+    private final String user;
+    private final CommandDto commandDto;
+    private final Timestamp submittedAt;
+    private final SettableFuture<AsyncActionInvocation> completion = SettableFuture.create();
+
+    private volatile State state = State.PENDING;
+    private volatile Timestamp startedAt;
+    private volatile Timestamp completedAt;
+    private volatile Bookmark result;
+    private volatile String exception;
+
+    AsyncActionInvocation(
+            final UUID id,
+            final String user,
+            final CommandDto commandDto,
+            final Timestamp submittedAt) {
+        this.id = id;
+        this.user = user;
+        this.commandDto = commandDto;
+        this.submittedAt = submittedAt;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    /**
+     * The user that submitted the invocation; only this user may query its status.
+     */
+    public String getUser() {
+        return user;
+    }
+
+    public String getMemberIdentifier() {
+        return commandDto.getMember().getMemberIdentifier();
+    }
+
+    CommandDto getCommandDto() {
+        return commandDto;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public Timestamp getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public Timestamp getStartedAt() {
+        return startedAt;
+    }
+
+    public Timestamp getCompletedAt() {
+        return completedAt;
+    }
+
+    /**
+     * Bookmark of the object returned by the action, if any (values and <tt>void</tt> have none).
+     */
+    public Bookmark getResult() {
+        return result;
+    }
+
+    /**
+     * The type and message of the exception thrown by the action (or when committing its transaction), if any.
+     * (The stack trace is logged, but not exposed to clients).
+     */
+    public String getException() {
+        return exception;
+    }
+
+    /**
+     * Completes (with this invocation) once it has {@link State#isFinished() finished}; allows callers to wait
+     * for the outcome without polling.
+     */
+    public ListenableFuture<AsyncActionInvocation> getCompletion() {
+        return completion;
+    }
+
+    void started(final Timestamp startedAt) {
+        this.startedAt = startedAt;
+        this.state = State.RUNNING;
+    }
+
+    void finished(final Timestamp completedAt, final Bookmark result, final String exception) {
+        this.completedAt = completedAt;
+        this.result = result;
+        this.exception = exception;
+        this.state = exception != null ? State.FAILED : State.COMPLETED;
+        completion.set(this);
+    }
+
+}
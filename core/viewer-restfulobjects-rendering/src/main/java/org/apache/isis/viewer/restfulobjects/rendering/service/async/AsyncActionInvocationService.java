@@ -0,0 +1,282 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.restfulobjects.rendering.service.async;
+
+import java.sql.Timestamp;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.applib.annotation.Command.ExecuteIn;
+import org.apache.isis.applib.annotation.Command.Persistence;
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.applib.services.command.CommandDefault;
+import org.apache.isis.applib.services.command.CommandExecutorService;
+import org.apache.isis.applib.services.command.CommandWithDto;
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.runtime.services.background.CommandExecutionAbstract;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+import org.apache.isis.core.runtime.threadpool.DaemonThreadFactory;
+import org.apache.isis.schema.cmd.v1.CommandDto;
+import org.apache.isis.schema.common.v1.OidDto;
+import org.apache.isis.schema.utils.CommandDtoUtils;
+
+import static org.apache.isis.core.runtime.services.ConfigProperties.getIntElse;
+
+/**
+ * Executes action invocations (requested by the Restful Objects viewer with a <tt>Prefer: respond-async</tt>
+ * header) on a bounded pool of worker threads, so that long-running actions hold neither a servlet thread nor a
+ * database transaction of the originating request.
+ *
+ * <p>
+ * Each invocation is captured as a {@link CommandDto} (the same memento as used for background commands), and is
+ * executed in its own {@link org.apache.isis.core.runtime.system.session.IsisSession session} and transaction (as
+ * the originating user) through the {@link CommandExecutorService}, exactly as a background command would be.
+ * Finished invocations are retained for a configurable period so that clients can retrieve their outcome.
+ * </p>
+ *
+ * <p>
+ * Invocations are held only in the memory of this server; they are not persisted (unlike background commands,
+ * which require a {@link org.apache.isis.applib.services.background.BackgroundCommandService} implementation).  An
+ * invocation is therefore lost if the server restarts, and is unknown to other servers in a cluster, so clients
+ * must be routed back to the same server to retrieve its status.
+ * </p>
+ */
+@DomainService(
+        nature = NatureOfService.DOMAIN,
+        menuOrder = "" + Integer.MAX_VALUE
+)
+public class AsyncActionInvocationService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncActionInvocationService.class);
+
+    public static final String KEY_THREADS = "isis.viewer.restfulobjects.async.threads";
+    public static final int KEY_THREADS_DEFAULT = 4;
+
+    public static final String KEY_QUEUE_CAPACITY = "isis.viewer.restfulobjects.async.queueCapacity";
+    public static final int KEY_QUEUE_CAPACITY_DEFAULT = 1000;
+
+    public static final String KEY_RETENTION_MINUTES = "isis.viewer.restfulobjects.async.retentionMinutes";
+    public static final int KEY_RETENTION_MINUTES_DEFAULT = 60;
+
+    private final ConcurrentMap<UUID, AsyncActionInvocation> invocationById = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor executor;
+    private int retentionMinutes;
+    private long retentionMillis;
+
+    @Programmatic
+    @PostConstruct
+    public void init(final Map<String,String> properties) {
+        final int threads = getIntElse(properties, KEY_THREADS, KEY_THREADS_DEFAULT);
+        final int queueCapacity = getIntElse(properties, KEY_QUEUE_CAPACITY, KEY_QUEUE_CAPACITY_DEFAULT);
+        this.retentionMinutes = getIntElse(properties, KEY_RETENTION_MINUTES, KEY_RETENTION_MINUTES_DEFAULT);
+        this.retentionMillis = TimeUnit.MINUTES.toMillis(retentionMinutes);
+
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<Runnable>(queueCapacity),
+                new DaemonThreadFactory(
+                        new ThreadGroup(AsyncActionInvocationService.class.getName()), "isis-ro-async"));
+    }
+
+    @Programmatic
+    @PreDestroy
+    public void shutdown() {
+        if(executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Queues the action invocation represented by the {@link CommandDto} for execution as the specified user.
+     *
+     * @throws RejectedExecutionException - if the queue is full.
+     */
+    @Programmatic
+    public AsyncActionInvocation submit(
+            final CommandDto commandDto,
+            final AuthenticationSession authenticationSession) {
+
+        purgeExpired(System.currentTimeMillis());
+
+        // the invocation is a command in its own right, distinct from the command of the request that submitted it.
+        final UUID id = UUID.randomUUID();
+        commandDto.setTransactionId(id.toString());
+        commandDto.setUser(authenticationSession.getUserName());
+
+        final AsyncActionInvocation invocation =
+                new AsyncActionInvocation(id, authenticationSession.getUserName(), commandDto, now());
+        invocationById.put(id, invocation);
+        try {
+            executor.execute(executionFor(invocation, authenticationSession));
+        } catch(RejectedExecutionException ex) {
+            invocationById.remove(id);
+            throw ex;
+        }
+        return invocation;
+    }
+
+    /**
+     * @return the invocation, or <tt>null</tt> if unknown (or if it finished longer ago than the retention period).
+     */
+    @Programmatic
+    public AsyncActionInvocation lookup(final UUID id) {
+        return invocationById.get(id);
+    }
+
+    /**
+     * How long (in minutes) finished invocations are retained.
+     */
+    @Programmatic
+    public int getRetentionMinutes() {
+        return retentionMinutes;
+    }
+
+    /**
+     * Runs on a worker thread.
+     */
+    Runnable executionFor(final AsyncActionInvocation invocation, final AuthenticationSession authenticationSession) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                new Execution(invocation).execute(authenticationSession, null);
+            }
+        };
+    }
+
+    void purgeExpired(final long nowMillis) {
+        final long expiredBefore = nowMillis - retentionMillis;
+        for (final Iterator<AsyncActionInvocation> iterator = invocationById.values().iterator(); iterator.hasNext(); ) {
+            final AsyncActionInvocation invocation = iterator.next();
+            final Timestamp completedAt = invocation.getCompletedAt();
+            if(completedAt != null && completedAt.getTime() < expiredBefore) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static Timestamp now() {
+        return new Timestamp(System.currentTimeMillis());
+    }
+
+    /**
+     * The first line of the stack trace, that is, the type and message of the exception; the stack trace itself is
+     * only logged, not made available to clients.
+     */
+    static String summaryOf(final String stackTrace) {
+        if(stackTrace == null) {
+            return null;
+        }
+        final int endOfLine = stackTrace.indexOf('\n');
+        return (endOfLine >= 0 ? stackTrace.substring(0, endOfLine) : stackTrace).trim();
+    }
+
+
+    /**
+     * Runs on a worker thread, within its own session.
+     */
+    static class Execution extends CommandExecutionAbstract {
+
+        private final AsyncActionInvocation invocation;
+
+        Execution(final AsyncActionInvocation invocation) {
+            super(CommandExecutorService.SudoPolicy.NO_SWITCH);
+            this.invocation = invocation;
+        }
+
+        @Override
+        public void execute(final AuthenticationSession authSession, final Object context) {
+            invocation.started(now());
+            try {
+                super.execute(authSession, context);
+            } catch(RuntimeException ex) {
+                // eg unable to open a session
+                LOG.warn("Failed to execute: {}", invocation.getMemberIdentifier(), ex);
+                if(!invocation.getState().isFinished()) {
+                    invocation.finished(now(), null, ex.toString());
+                }
+            }
+        }
+
+        @Override
+        protected void doExecute(final Object context) {
+            final PersistenceSession persistenceSession = getPersistenceSession();
+            final CommandForAsyncInvocation command = new CommandForAsyncInvocation(invocation);
+
+            // the executor service will handle (and record) any exceptions thrown by the action itself.
+            execute(getTransactionManager(persistenceSession), command);
+
+            final String exceptionIfAny = command.getException();
+            if(exceptionIfAny != null) {
+                LOG.warn("Invocation {} of {} failed:\n{}",
+                        invocation.getId(), invocation.getMemberIdentifier(), exceptionIfAny);
+            }
+            invocation.finished(
+                    command.getCompletedAt() != null ? command.getCompletedAt() : now(),
+                    command.getResult(),
+                    summaryOf(exceptionIfAny));
+        }
+    }
+
+    static class CommandForAsyncInvocation extends CommandDefault implements CommandWithDto {
+
+        private final CommandDto commandDto;
+
+        CommandForAsyncInvocation(final AsyncActionInvocation invocation) {
+            this.commandDto = invocation.getCommandDto();
+
+            setTransactionId(invocation.getId());
+            setUser(invocation.getUser());
+            setTimestamp(invocation.getSubmittedAt());
+            setMemberIdentifier(invocation.getMemberIdentifier());
+            setExecuteIn(ExecuteIn.BACKGROUND);
+            setPersistence(Persistence.IF_HINTED);
+
+            final List<OidDto> targetOids = CommandDtoUtils.targetsFor(commandDto).getOid();
+            if(!targetOids.isEmpty()) {
+                setTarget(Bookmark.from(targetOids.get(0)));
+            }
+        }
+
+        @Override
+        public CommandDto asDto() {
+            return commandDto;
+        }
+    }
+
+}
@@ -0,0 +1,214 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.restfulobjects.rendering.service.async;
+
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.runtime.authentication.standard.SimpleSession;
+import org.apache.isis.schema.cmd.v1.ActionDto;
+import org.apache.isis.schema.cmd.v1.CommandDto;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class AsyncActionInvocationServiceTest {
+
+    private final AuthenticationSession authenticationSession = new SimpleSession("fred", new String[0]);
+
+    private final CountDownLatch released = new CountDownLatch(1);
+
+    private Bookmark result;
+    private String exception;
+    private boolean blockUntilReleased;
+
+    /**
+     * Rather than executing in a session, completes (or fails) the invocation directly.
+     */
+    private final AsyncActionInvocationService service = new AsyncActionInvocationService() {
+        @Override
+        Runnable executionFor(
+                final AsyncActionInvocation invocation,
+                final AuthenticationSession authenticationSession) {
+            return new Runnable() {
+                @Override
+                public void run() {
+                    invocation.started(now());
+                    if(blockUntilReleased) {
+                        try {
+                            released.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    invocation.finished(now(), result, exception);
+                }
+            };
+        }
+    };
+
+    @After
+    public void tearDown() throws Exception {
+        released.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    public void submit_then_completes() throws Exception {
+        service.init(Collections.<String, String>emptyMap());
+        result = new Bookmark("CUS", "123");
+
+        final AsyncActionInvocation invocation = service.submit(commandDto(), authenticationSession);
+
+        assertThat(invocation.getUser(), is("fred"));
+        assertThat(invocation.getMemberIdentifier(), is("com.mycompany.Customer#placeOrder()"));
+        assertThat(invocation.getCommandDto().getTransactionId(), is(invocation.getId().toString()));
+        assertThat(invocation.getCommandDto().getUser(), is("fred"));
+        assertThat(service.lookup(invocation.getId()), is(sameInstance(invocation)));
+
+        final AsyncActionInvocation completed = invocation.getCompletion().get(10, TimeUnit.SECONDS);
+
+        assertThat(completed.getState(), is(AsyncActionInvocation.State.COMPLETED));
+        assertThat(completed.getResult(), is(result));
+        assertThat(completed.getException(), is(nullValue()));
+        assertThat(completed.getStartedAt(), is(notNullValue()));
+        assertThat(completed.getCompletedAt(), is(notNullValue()));
+    }
+
+    @Test
+    public void submit_then_fails() throws Exception {
+        service.init(Collections.<String, String>emptyMap());
+        exception = "java.lang.IllegalStateException: out of stock";
+
+        final AsyncActionInvocation invocation = service.submit(commandDto(), authenticationSession);
+        invocation.getCompletion().get(10, TimeUnit.SECONDS);
+
+        assertThat(invocation.getState(), is(AsyncActionInvocation.State.FAILED));
+        assertThat(invocation.getException(), is("java.lang.IllegalStateException: out of stock"));
+        assertThat(invocation.getResult(), is(nullValue()));
+    }
+
+    @Test
+    public void pending_until_a_worker_is_available() throws Exception {
+        service.init(properties(1, 10));
+        blockUntilReleased = true;
+
+        final AsyncActionInvocation first = service.submit(commandDto(), authenticationSession);
+        final AsyncActionInvocation second = service.submit(commandDto(), authenticationSession);
+
+        assertThat(second.getState(), is(AsyncActionInvocation.State.PENDING));
+
+        released.countDown();
+        first.getCompletion().get(10, TimeUnit.SECONDS);
+        second.getCompletion().get(10, TimeUnit.SECONDS);
+
+        assertThat(second.getState(), is(AsyncActionInvocation.State.COMPLETED));
+    }
+
+    @Test
+    public void rejected_when_queue_is_full() throws Exception {
+        service.init(properties(1, 1));
+        blockUntilReleased = true;
+
+        // one running, one queued
+        service.submit(commandDto(), authenticationSession);
+        service.submit(commandDto(), authenticationSession);
+
+        final CommandDto rejectedDto = commandDto();
+        try {
+            service.submit(rejectedDto, authenticationSession);
+            fail();
+        } catch(RejectedExecutionException ex) {
+            // expected
+        }
+
+        // the rejected invocation is not retained
+        assertThat(service.lookup(UUID.fromString(rejectedDto.getTransactionId())), is(nullValue()));
+    }
+
+    @Test
+    public void finished_invocations_are_evicted_after_retention_period() throws Exception {
+        service.init(ImmutableMap.of(AsyncActionInvocationService.KEY_RETENTION_MINUTES, "1"));
+
+        final AsyncActionInvocation invocation = service.submit(commandDto(), authenticationSession);
+        invocation.getCompletion().get(10, TimeUnit.SECONDS);
+
+        service.purgeExpired(System.currentTimeMillis());
+        assertThat(service.lookup(invocation.getId()), is(sameInstance(invocation)));
+
+        service.purgeExpired(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(1) + 1);
+        assertThat(service.lookup(invocation.getId()), is(nullValue()));
+    }
+
+    @Test
+    public void unfinished_invocations_are_never_evicted() throws Exception {
+        service.init(ImmutableMap.of(AsyncActionInvocationService.KEY_RETENTION_MINUTES, "1"));
+        blockUntilReleased = true;
+
+        final AsyncActionInvocation invocation = service.submit(commandDto(), authenticationSession);
+
+        service.purgeExpired(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(10));
+        assertThat(service.lookup(invocation.getId()), is(sameInstance(invocation)));
+    }
+
+    @Test
+    public void summary_of_stack_trace() throws Exception {
+        assertThat(AsyncActionInvocationService.summaryOf(null), is(nullValue()));
+        assertThat(AsyncActionInvocationService.summaryOf(
+                "java.lang.IllegalStateException: out of stock\r\n\tat com.mycompany.Customer.placeOrder(Customer.java:42)\n"),
+                is("java.lang.IllegalStateException: out of stock"));
+        assertThat(AsyncActionInvocationService.summaryOf("java.lang.NullPointerException"),
+                is("java.lang.NullPointerException"));
+    }
+
+    private static Map<String, String> properties(final int threads, final int queueCapacity) {
+        return ImmutableMap.of(
+                AsyncActionInvocationService.KEY_THREADS, "" + threads,
+                AsyncActionInvocationService.KEY_QUEUE_CAPACITY, "" + queueCapacity);
+    }
+
+    private static CommandDto commandDto() {
+        final ActionDto actionDto = new ActionDto();
+        actionDto.setMemberIdentifier("com.mycompany.Customer#placeOrder()");
+        final CommandDto commandDto = new CommandDto();
+        commandDto.setMember(actionDto);
+        return commandDto;
+    }
+
+    private static Timestamp now() {
+        return new Timestamp(System.currentTimeMillis());
+    }
+
+}
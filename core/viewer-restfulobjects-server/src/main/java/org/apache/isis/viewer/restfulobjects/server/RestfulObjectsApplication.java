@@ -23,6 +23,7 @@
 import org.apache.isis.viewer.restfulobjects.server.mappers.ExceptionMapperForObjectNotFound;
 import org.apache.isis.viewer.restfulobjects.server.mappers.ExceptionMapperForRestfulObjectsApplication;
 import org.apache.isis.viewer.restfulobjects.server.mappers.ExceptionMapperForRuntimeException;
+import org.apache.isis.viewer.restfulobjects.server.resources.AsyncActionInvocationResourceServerside;
 import org.apache.isis.viewer.restfulobjects.server.resources.DomainObjectResourceServerside;
 import org.apache.isis.viewer.restfulobjects.server.resources.DomainServiceResourceServerside;
 import org.apache.isis.viewer.restfulobjects.server.resources.DomainTypeResourceServerside;
@@ -48,6 +49,7 @@ public RestfulObjectsApplication() {
         addClass(DomainServiceResourceServerside.class);
         addClass(VersionResourceServerside.class);
         addClass(HealthResourceServerside.class);
+        addClass(AsyncActionInvocationResourceServerside.class);
 
         addClass(SwaggerSpecResource.class);
 
@@ -0,0 +1,230 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.restfulobjects.server.resources;
+
+import java.net.URI;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.container.TimeoutHandler;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import com.google.common.util.concurrent.MoreExecutors;
+
+import org.joda.time.DateTime;
+
+import org.apache.isis.applib.annotation.Where;
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.viewer.restfulobjects.applib.JsonRepresentation;
+import org.apache.isis.viewer.restfulobjects.applib.Rel;
+import org.apache.isis.viewer.restfulobjects.applib.RepresentationType;
+import org.apache.isis.viewer.restfulobjects.applib.client.RestfulResponse.HttpStatusCode;
+import org.apache.isis.viewer.restfulobjects.rendering.Caching;
+import org.apache.isis.viewer.restfulobjects.rendering.RestfulObjectsApplicationException;
+import org.apache.isis.viewer.restfulobjects.rendering.service.RepresentationService;
+import org.apache.isis.viewer.restfulobjects.rendering.service.async.AsyncActionInvocation;
+import org.apache.isis.viewer.restfulobjects.rendering.service.async.AsyncActionInvocationService;
+import org.apache.isis.viewer.restfulobjects.rendering.util.JsonWriterUtil;
+
+/**
+ * Status of action invocations submitted asynchronously, that is, with a <tt>Prefer: respond-async</tt> header
+ * (see {@link DomainResourceHelper#invokeAction(String, JsonRepresentation)}).
+ *
+ * <p>
+ * Clients can either poll, or long-poll by specifying <tt>x-isis-wait</tt> (in seconds); in the latter case the
+ * request is suspended (using {@link AsyncResponse}, so not holding a request thread) until either the invocation
+ * finishes or the wait elapses.  Either way, the status is returned; once completed this includes a link to the
+ * returned object, if any.
+ * </p>
+ *
+ * <p>
+ * Invocations are held only in the memory of the server that accepted them (see
+ * {@link AsyncActionInvocationService}), as the status indicates with <tt>"persistent": false</tt>.  The status of
+ * an invocation is therefore not found if that server has since restarted, if the request is routed to another
+ * server in a cluster, or once the retention period has elapsed; the <tt>404</tt> response says so.
+ * </p>
+ */
+@Path("/async-invocations")
+public class AsyncActionInvocationResourceServerside extends ResourceAbstract {
+
+    static final String RESPOND_ASYNC = "respond-async";
+
+    static final int MAX_WAIT_SECS = 60;
+
+    static final String NOT_PERSISTENT_NOTE =
+            "Asynchronous invocations are held in memory only by the server that accepted them: "
+            + "they are lost if that server restarts, and are unknown to other servers in a cluster.";
+
+    @GET
+    @Path("/{invocationId}")
+    @Produces({ MediaType.APPLICATION_JSON })
+    public void invocationStatus(
+            @PathParam("invocationId") final String invocationId,
+            @QueryParam("x-isis-wait") final Integer waitSecs,
+            @Suspended final AsyncResponse asyncResponse) {
+
+        init(RepresentationType.GENERIC, Where.NOWHERE, RepresentationService.Intent.NOT_APPLICABLE);
+
+        final AsyncActionInvocation invocation = lookupInvocationElseThrowNotFound(invocationId);
+
+        // captured now, while there's still a current session and request
+        final String baseUrl = getResourceContext().urlFor("");
+
+        if(invocation.getState().isFinished() || waitSecs == null || waitSecs <= 0) {
+            asyncResponse.resume(responseFor(invocation, HttpStatusCode.OK, baseUrl).build());
+            return;
+        }
+
+        asyncResponse.setTimeout(Math.min(waitSecs, MAX_WAIT_SECS), TimeUnit.SECONDS);
+        asyncResponse.setTimeoutHandler(new TimeoutHandler() {
+            @Override
+            public void handleTimeout(final AsyncResponse asyncResponse) {
+                asyncResponse.resume(responseFor(invocation, HttpStatusCode.OK, baseUrl).build());
+            }
+        });
+        invocation.getCompletion().addListener(new Runnable() {
+            @Override
+            public void run() {
+                if(asyncResponse.isSuspended()) {
+                    asyncResponse.resume(responseFor(invocation, HttpStatusCode.OK, baseUrl).build());
+                }
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    private AsyncActionInvocation lookupInvocationElseThrowNotFound(final String invocationId) {
+        final AsyncActionInvocationService asyncService =
+                getServicesInjector().lookupService(AsyncActionInvocationService.class);
+        final AsyncActionInvocation invocation =
+                asyncService != null ? asyncService.lookup(parseElseNull(invocationId)) : null;
+
+        // also hide invocations submitted by other users.
+        if(invocation == null || !invocation.getUser().equals(getAuthenticationSession().getUserName())) {
+            throw RestfulObjectsApplicationException.createWithMessage(
+                    HttpStatusCode.NOT_FOUND, notFoundMessageFor(invocationId, asyncService));
+        }
+        return invocation;
+    }
+
+    static String notFoundMessageFor(final String invocationId, final AsyncActionInvocationService asyncService) {
+        final StringBuilder buf = new StringBuilder("No such invocation '").append(invocationId).append("'");
+        if(asyncService != null) {
+            buf.append(". ").append(NOT_PERSISTENT_NOTE)
+               .append(" Finished invocations are also discarded after ")
+               .append(asyncService.getRetentionMinutes()).append(" minutes.");
+        }
+        return buf.toString();
+    }
+
+    private static UUID parseElseNull(final String invocationId) {
+        try {
+            return UUID.fromString(invocationId);
+        } catch(IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+
+    // //////////////////////////////////////////////////////////
+    // helpers (also used by DomainResourceHelper)
+    // //////////////////////////////////////////////////////////
+
+    static boolean prefersRespondAsync(final HttpHeaders httpHeaders) {
+        final List<String> preferHeaders = httpHeaders != null ? httpHeaders.getRequestHeader("Prefer") : null;
+        if(preferHeaders == null) {
+            return false;
+        }
+        for (final String preferHeader : preferHeaders) {
+            for (final String preference : preferHeader.split(",")) {
+                if(preference.trim().toLowerCase().startsWith(RESPOND_ASYNC)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Renders the status of the invocation; does not require a current session, so can be called from whichever
+     * thread completes the invocation.
+     */
+    static Response.ResponseBuilder responseFor(
+            final AsyncActionInvocation invocation,
+            final HttpStatusCode httpStatusCode,
+            final String baseUrl) {
+
+        final String selfHref = baseUrl + "async-invocations/" + invocation.getId();
+
+        final JsonRepresentation representation = JsonRepresentation.newMap();
+        representation.mapPut("invocationId", invocation.getId().toString());
+        representation.mapPut("memberIdentifier", invocation.getMemberIdentifier());
+        representation.mapPut("state", invocation.getState().name());
+        putIfNotNull(representation, "submittedAt", invocation.getSubmittedAt());
+        putIfNotNull(representation, "startedAt", invocation.getStartedAt());
+        putIfNotNull(representation, "completedAt", invocation.getCompletedAt());
+        if(invocation.getException() != null) {
+            representation.mapPut("exception", invocation.getException());
+        }
+        representation.mapPut("persistent", false);
+        representation.mapPut("note", NOT_PERSISTENT_NOTE);
+
+        final JsonRepresentation links = JsonRepresentation.newArray();
+        links.arrayAdd(linkTo(Rel.SELF.getName(), selfHref));
+        final Bookmark result = invocation.getResult();
+        if(result != null) {
+            links.arrayAdd(linkTo(
+                    Rel.ASYNC_RESULT.getName(),
+                    baseUrl + "objects/" + result.getObjectType() + "/" + result.getIdentifier()));
+        }
+        representation.mapPut("links", links);
+
+        return Response.status(httpStatusCode.getJaxrsStatusType())
+                .type(MediaType.APPLICATION_JSON_TYPE)
+                .location(URI.create(selfHref))
+                .cacheControl(Caching.NONE.getCacheControl())
+                .entity(JsonWriterUtil.jsonFor(representation));
+    }
+
+    private static void putIfNotNull(final JsonRepresentation representation, final String key, final Timestamp timestamp) {
+        if(timestamp != null) {
+            representation.mapPut(key, new DateTime(timestamp.getTime()).toString());
+        }
+    }
+
+    private static JsonRepresentation linkTo(final String rel, final String href) {
+        final JsonRepresentation link = JsonRepresentation.newMap();
+        link.mapPut("rel", rel);
+        link.mapPut("href", href);
+        link.mapPut("method", "GET");
+        link.mapPut("type", MediaType.APPLICATION_JSON);
+        return link;
+    }
+
+}
@@ -0,0 +1,307 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.restfulobjects.server.resources;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+
+import com.google.common.base.Utf8;
+
+import org.apache.isis.applib.value.Blob;
+import org.apache.isis.applib.value.Clob;
+import org.apache.isis.applib.value.NamedWithMimeType;
+import org.apache.isis.viewer.restfulobjects.rendering.Caching;
+
+/**
+ * Renders a {@link Blob} or {@link Clob} as a resource of its own media type (rather than inlined within a JSON
+ * representation), honouring a single-range <tt>Range</tt> request header so that large attachments can be
+ * downloaded (or resumed) in parts.
+ *
+ * <p>
+ * The content is streamed directly from the value's own buffer, without the intermediate copies (and base64
+ * encoding) required to render it as JSON; the characters of a {@link Clob} are encoded (as UTF-8) as they are
+ * written.
+ * </p>
+ */
+class AttachmentResponses {
+
+    private AttachmentResponses() {
+    }
+
+    static Response.ResponseBuilder responseFor(final NamedWithMimeType attachment, final String rangeHeader) {
+
+        final Content content;
+        final String mediaType;
+        if(attachment instanceof Blob) {
+            content = new BytesContent(((Blob) attachment).getBytes());
+            mediaType = attachment.getMimeType().getBaseType();
+        } else if(attachment instanceof Clob) {
+            content = new CharsContent(((Clob) attachment).getChars());
+            mediaType = attachment.getMimeType().getBaseType() + ";charset=UTF-8";
+        } else {
+            throw new IllegalArgumentException("Not a blob or clob: " + attachment);
+        }
+
+        final long totalLength = content.length();
+        final ByteRange range = ByteRange.parseElseNull(rangeHeader, totalLength);
+
+        final Response.ResponseBuilder builder;
+        if(range == null) {
+            builder = Response.ok(streamingOutputFor(content, 0, totalLength), mediaType);
+            builder.header("Content-Length", totalLength);
+        } else if(!range.isSatisfiable()) {
+            builder = Response.status(Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE);
+            builder.header("Content-Range", "bytes */" + totalLength);
+        } else {
+            builder = Response.status(Response.Status.PARTIAL_CONTENT)
+                    .type(mediaType)
+                    .entity(streamingOutputFor(content, range.getFirst(), range.getLength()));
+            builder.header("Content-Range", "bytes " + range.getFirst() + "-" + range.getLast() + "/" + totalLength);
+            builder.header("Content-Length", range.getLength());
+        }
+
+        return builder
+                .header("Accept-Ranges", "bytes")
+                .header("Content-Disposition", contentDispositionFor(attachment.getName()))
+                .cacheControl(Caching.NONE.getCacheControl());
+    }
+
+    /**
+     * A plain ASCII <tt>filename</tt> (sanitized as for CSV exports) for older user agents, along with the name
+     * itself as an <a href="https://tools.ietf.org/html/rfc5987">RFC 5987</a> <tt>filename*</tt>.
+     */
+    static String contentDispositionFor(final String name) {
+        final String trimmed = name != null ? name.trim() : "";
+        final String sanitized = trimmed.replaceAll("[^A-Za-z0-9._-]+", "-");
+        final StringBuilder buf = new StringBuilder("attachment; filename=\"")
+                .append(sanitized.isEmpty() ? "attachment" : sanitized)
+                .append('"');
+        if(!trimmed.isEmpty()) {
+            buf.append("; filename*=UTF-8''").append(percentEncode(trimmed));
+        }
+        return buf.toString();
+    }
+
+    private static final String ATTR_CHARS =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789!#$&+-.^_`|~";
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    private static String percentEncode(final String str) {
+        final StringBuilder buf = new StringBuilder();
+        for (final byte b : str.getBytes(StandardCharsets.UTF_8)) {
+            if(b >= 0 && ATTR_CHARS.indexOf(b) >= 0) {
+                buf.append((char) b);
+            } else {
+                buf.append('%').append(HEX_DIGITS[(b >> 4) & 0xF]).append(HEX_DIGITS[b & 0xF]);
+            }
+        }
+        return buf.toString();
+    }
+
+    private static StreamingOutput streamingOutputFor(final Content content, final long offset, final long length) {
+        return new StreamingOutput() {
+            @Override
+            public void write(final OutputStream output) throws IOException {
+                content.write(output, offset, length);
+            }
+        };
+    }
+
+    private interface Content {
+        /**
+         * The length, in bytes.
+         */
+        long length();
+        void write(OutputStream output, long offset, long length) throws IOException;
+    }
+
+    private static class BytesContent implements Content {
+        private final byte[] bytes;
+
+        BytesContent(final byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public long length() {
+            return bytes.length;
+        }
+
+        @Override
+        public void write(final OutputStream output, final long offset, final long length) throws IOException {
+            output.write(bytes, (int) offset, (int) length);
+        }
+    }
+
+    /**
+     * Encodes the characters as UTF-8 while writing them, rather than first copying them into a byte array.
+     */
+    private static class CharsContent implements Content {
+        private static final int BUFFER_SIZE = 8192;
+
+        private final CharSequence chars;
+
+        CharsContent(final CharSequence chars) {
+            this.chars = chars;
+        }
+
+        @Override
+        public long length() {
+            return Utf8.encodedLength(chars);
+        }
+
+        @Override
+        public void write(final OutputStream output, final long offset, final long length) throws IOException {
+            final Writer writer = new OutputStreamWriter(
+                    new RangeOutputStream(output, offset, length), StandardCharsets.UTF_8);
+            final char[] buf = new char[BUFFER_SIZE];
+            final int numChars = chars.length();
+            for (int start = 0; start < numChars; start += BUFFER_SIZE) {
+                final int end = Math.min(start + BUFFER_SIZE, numChars);
+                for (int i = start; i < end; i++) {
+                    buf[i - start] = chars.charAt(i);
+                }
+                writer.write(buf, 0, end - start);
+            }
+            writer.flush();
+        }
+    }
+
+    /**
+     * Passes on only those bytes within the range, discarding the rest.
+     */
+    private static class RangeOutputStream extends FilterOutputStream {
+        private final long first;
+        private final long end;
+        private long position;
+
+        RangeOutputStream(final OutputStream out, final long offset, final long length) {
+            super(out);
+            this.first = offset;
+            this.end = offset + length;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            if(position >= first && position < end) {
+                out.write(b);
+            }
+            position++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            final long from = Math.max(position, first);
+            final long to = Math.min(position + len, end);
+            if(from < to) {
+                out.write(b, off + (int) (from - position), (int) (to - from));
+            }
+            position += len;
+        }
+    }
+
+
+    /**
+     * A single range, as per <a href="https://tools.ietf.org/html/rfc7233">RFC 7233</a>; multiple ranges (which are
+     * optional for servers to support) are ignored, that is, the whole of the attachment is returned.
+     */
+    static class ByteRange {
+
+        private static final String BYTES_UNIT = "bytes=";
+
+        private static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+
+        private final long first;
+        private final long last;
+
+        private ByteRange(final long first, final long last) {
+            this.first = first;
+            this.last = last;
+        }
+
+        /**
+         * @return <tt>null</tt> if there is no <tt>Range</tt> header, or if it cannot be parsed, or if it specifies
+         *         multiple ranges.
+         */
+        static ByteRange parseElseNull(final String rangeHeader, final long totalLength) {
+            if(rangeHeader == null) {
+                return null;
+            }
+            final String header = rangeHeader.trim();
+            if(!header.startsWith(BYTES_UNIT) || header.contains(",")) {
+                return null;
+            }
+            final String spec = header.substring(BYTES_UNIT.length()).trim();
+            final int dash = spec.indexOf('-');
+            if(dash < 0) {
+                return null;
+            }
+            try {
+                final String firstStr = spec.substring(0, dash).trim();
+                final String lastStr = spec.substring(dash + 1).trim();
+                if(firstStr.isEmpty()) {
+                    // suffix range, eg "bytes=-500" for the last 500 bytes
+                    final long suffixLength = Long.parseLong(lastStr);
+                    if(suffixLength <= 0 || totalLength == 0) {
+                        return UNSATISFIABLE;
+                    }
+                    return new ByteRange(Math.max(0, totalLength - suffixLength), totalLength - 1);
+                }
+                final long first = Long.parseLong(firstStr);
+                if(first < 0) {
+                    return null;
+                }
+                if(first >= totalLength) {
+                    return UNSATISFIABLE;
+                }
+                final long last = lastStr.isEmpty() ? totalLength - 1 : Long.parseLong(lastStr);
+                if(last < first) {
+                    return null;
+                }
+                return new ByteRange(first, Math.min(last, totalLength - 1));
+            } catch(NumberFormatException ex) {
+                return null;
+            }
+        }
+
+        boolean isSatisfiable() {
+            return this != UNSATISFIABLE;
+        }
+
+        long getFirst() {
+            return first;
+        }
+
+        long getLast() {
+            return last;
+        }
+
+        long getLength() {
+            return last - first + 1;
+        }
+    }
+
+}
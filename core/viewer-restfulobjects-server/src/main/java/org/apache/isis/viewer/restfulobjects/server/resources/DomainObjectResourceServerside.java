@@ -391,6 +391,25 @@ public Response propertyDetails(@PathParam("domainType") String domainType, @Pat
         );
     }
 
+    @Override
+    @GET
+    @Path("/{domainType}/{instanceId}/properties/{propertyId}/attachment")
+    @Consumes({ MediaType.WILDCARD })
+    @Produces({
+            MediaType.APPLICATION_OCTET_STREAM, MediaType.WILDCARD
+    })
+    public Response propertyAttachment(@PathParam("domainType") String domainType, @PathParam("instanceId") final String instanceId, @PathParam("propertyId") final String propertyId) {
+        init(RepresentationType.OBJECT_PROPERTY, Where.OBJECT_FORMS, RepresentationService.Intent.NOT_APPLICABLE);
+
+        final ObjectAdapter objectAdapter = getObjectAdapterElseThrowNotFound(domainType, instanceId);
+        final DomainResourceHelper helper = newDomainResourceHelper(objectAdapter);
+
+        return helper.propertyAttachment(
+                propertyId,
+                httpHeaders.getHeaderString("Range")
+        );
+    }
+
     @Override
     @PUT
     @Path("/{domainType}/{instanceId}/properties/{propertyId}")
@@ -489,6 +508,21 @@ public Response accessCollection(@PathParam("domainType") String domainType, @Pa
         return newDomainResourceHelper(objectAdapter).collectionDetails(collectionId, MemberReprMode.READ);
     }
 
+    @Override
+    @GET
+    @Path("/{domainType}/{instanceId}/collections/{collectionId}/export")
+    @Consumes({ MediaType.WILDCARD })
+    @Produces({
+            "text/csv", MediaType.WILDCARD
+    })
+    public Response exportCollection(@PathParam("domainType") String domainType, @PathParam("instanceId") final String instanceId, @PathParam("collectionId") final String collectionId) {
+        init(RepresentationType.OBJECT_COLLECTION, Where.PARENTED_TABLES, RepresentationService.Intent.NOT_APPLICABLE);
+
+        final ObjectAdapter objectAdapter = getObjectAdapterElseThrowNotFound(domainType, instanceId);
+
+        return newDomainResourceHelper(objectAdapter).collectionExport(collectionId);
+    }
+
     @Override
     @PUT
     @Path("/{domainType}/{instanceId}/collections/{collectionId}")
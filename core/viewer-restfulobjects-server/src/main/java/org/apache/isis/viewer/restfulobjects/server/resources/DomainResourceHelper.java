@@ -16,14 +16,22 @@
  */
 package org.apache.isis.viewer.restfulobjects.server.resources;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+
+import com.google.common.collect.Iterables;
 
 import org.apache.isis.applib.annotation.ActionSemantics;
 import org.apache.isis.applib.annotation.Where;
 import org.apache.isis.applib.services.xactn.TransactionService;
+import org.apache.isis.applib.value.NamedWithMimeType;
 import org.apache.isis.core.commons.authentication.AuthenticationSession;
 import org.apache.isis.core.commons.config.IsisConfiguration;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
@@ -31,13 +39,17 @@
 import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
 import org.apache.isis.core.metamodel.deployment.DeploymentCategory;
 import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.metamodel.services.command.CommandDtoServiceInternal;
 import org.apache.isis.core.metamodel.spec.feature.ObjectAction;
 import org.apache.isis.core.metamodel.spec.feature.OneToManyAssociation;
 import org.apache.isis.core.metamodel.spec.feature.OneToOneAssociation;
 import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.core.runtime.export.CollectionCsvExporter;
 import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+import org.apache.isis.schema.cmd.v1.CommandDto;
 import org.apache.isis.viewer.restfulobjects.applib.JsonRepresentation;
 import org.apache.isis.viewer.restfulobjects.applib.client.RestfulResponse;
+import org.apache.isis.viewer.restfulobjects.rendering.Caching;
 import org.apache.isis.viewer.restfulobjects.rendering.RendererContext6;
 import org.apache.isis.viewer.restfulobjects.rendering.RestfulObjectsApplicationException;
 import org.apache.isis.viewer.restfulobjects.rendering.domainobjects.ActionResultReprRenderer;
@@ -49,6 +61,8 @@
 import org.apache.isis.viewer.restfulobjects.rendering.domainobjects.ObjectAndCollection2;
 import org.apache.isis.viewer.restfulobjects.rendering.domainobjects.ObjectAndProperty2;
 import org.apache.isis.viewer.restfulobjects.rendering.service.RepresentationService;
+import org.apache.isis.viewer.restfulobjects.rendering.service.async.AsyncActionInvocation;
+import org.apache.isis.viewer.restfulobjects.rendering.service.async.AsyncActionInvocationService;
 import org.apache.isis.viewer.restfulobjects.server.ResourceContext;
 
 public class DomainResourceHelper {
@@ -257,6 +271,31 @@ public Response propertyDetails(
     }
 
 
+    /**
+     * Obtains the {@link org.apache.isis.applib.value.Blob} or {@link org.apache.isis.applib.value.Clob} value of the
+     * property (checking it is visible), and returns it (or the requested range of it) as a resource in its own
+     * right, of its own media type.
+     */
+    public Response propertyAttachment(
+            final String propertyId,
+            final String rangeHeader) {
+
+        ObjectAdapterAccessHelper accessHelper = new ObjectAdapterAccessHelper(representationServiceContext, objectAdapter);
+
+        final OneToOneAssociation property = accessHelper.getPropertyThatIsVisibleForIntent(propertyId, ObjectAdapterAccessHelper.Intent.ACCESS);
+
+        final ObjectAdapter valueAdapter = property.get(objectAdapter, InteractionInitiatedBy.USER);
+        final Object value = valueAdapter != null ? valueAdapter.getObject() : null;
+        if(!(value instanceof NamedWithMimeType)) {
+            throw RestfulObjectsApplicationException.createWithMessage(
+                    RestfulResponse.HttpStatusCode.NOT_FOUND,
+                    "Property '%s' does not hold a blob or clob", propertyId);
+        }
+
+        return AttachmentResponses.responseFor((NamedWithMimeType) value, rangeHeader).build();
+    }
+
+
     /**
      * Obtains the collection (checking it is visible) of the object and then delegates to the
      * {@link org.apache.isis.viewer.restfulobjects.rendering.service.RepresentationService} to render a representation
@@ -275,6 +314,56 @@ public Response collectionDetails(
     }
 
 
+    /**
+     * Obtains the collection (checking it is visible) of the object and then streams its contents as CSV, with the
+     * same columns as would be shown in a table.
+     *
+     * <p>
+     *     The elements' adapters are created as they are written, and are evicted from the session in chunks, so
+     *     the memory used does not grow with the size of the collection.
+     * </p>
+     */
+    public Response collectionExport(final String collectionId) {
+
+        if(!CollectionCsvExporter.isEnabled(resourceContext.getConfiguration())) {
+            throw RestfulObjectsApplicationException.createWithMessage(
+                    RestfulResponse.HttpStatusCode.NOT_FOUND,
+                    "Exporting collections is not enabled");
+        }
+
+        ObjectAdapterAccessHelper accessHelper = new ObjectAdapterAccessHelper(representationServiceContext, objectAdapter);
+
+        final OneToManyAssociation collection = accessHelper.getCollectionThatIsVisibleForIntent(collectionId, ObjectAdapterAccessHelper.Intent.ACCESS);
+
+        transactionService.flushTransaction();
+
+        final PersistenceSession persistenceSession = resourceContext.getPersistenceSession();
+        final ObjectAdapter collectionAdapter = collection.get(objectAdapter, InteractionInitiatedBy.USER);
+        final CollectionCsvExporter exporter = new CollectionCsvExporter(
+                collection.getSpecification(), objectAdapter, collection.getId(), persistenceSession);
+
+        final StreamingOutput streamingOutput = new StreamingOutput() {
+            @Override
+            public void write(final OutputStream output) throws IOException {
+                // iterated lazily, so that the pojos are not all held in a list of their own
+                @SuppressWarnings("unchecked")
+                final Iterable<Object> pojos = collectionAdapter != null
+                        ? (Iterable<Object>) collectionAdapter.getObject()
+                        : Collections.<Object>emptyList();
+                final Iterable<ObjectAdapter> elements =
+                        Iterables.transform(pojos, ObjectAdapter.Functions.adapterForUsing(persistenceSession));
+                exporter.export(elements, output);
+            }
+        };
+
+        return Response.ok(streamingOutput, CollectionCsvExporter.MIME_TYPE + ";charset=UTF-8")
+                .header("Content-Disposition",
+                        "attachment; filename=\"" + CollectionCsvExporter.fileNameFor(collection.getName()) + "\"")
+                .cacheControl(Caching.NONE.getCacheControl())
+                .build();
+    }
+
+
     /**
      * Obtains the action details (arguments etc), checking it is visible, of the object and then delegates to the
      * {@link org.apache.isis.viewer.restfulobjects.rendering.service.RepresentationService} to render a representation
@@ -334,6 +423,9 @@ public Response invokeActionIdempotent(final String actionId, final JsonRepresen
         if (!actionSemantics.isIdempotentInNature()) {
             throw RestfulObjectsApplicationException.createWithMessage(RestfulResponse.HttpStatusCode.METHOD_NOT_ALLOWED, "Method not allowed; action '%s' is not idempotent", action.getId());
         }
+        if(AsyncActionInvocationResourceServerside.prefersRespondAsync(resourceContext.getHttpHeaders())) {
+            return invokeActionAsync(action, arguments);
+        }
         return invokeActionUsingAdapters(action, arguments, ActionResultReprRenderer.SelfLink.EXCLUDED);
     }
 
@@ -341,6 +433,11 @@ public Response invokeActionIdempotent(final String actionId, final JsonRepresen
      * Invokes the action for the object  (checking it is visible) and then delegates to the
      * {@link org.apache.isis.viewer.restfulobjects.rendering.service.RepresentationService} to render a representation
      * of the result of that action.
+     *
+     * <p>
+     *     If the request has a <tt>Prefer: respond-async</tt> header, then the action is instead
+     *     {@link #invokeActionAsync(ObjectAction, JsonRepresentation) invoked asynchronously}.
+     * </p>
      */
     public Response invokeAction(final String actionId, final JsonRepresentation arguments) {
 
@@ -348,9 +445,56 @@ public Response invokeAction(final String actionId, final JsonRepresentation arg
 
         final ObjectAction action = accessHelper.getObjectActionThatIsVisibleForIntent(actionId, ObjectAdapterAccessHelper.Intent.MUTATE);
 
+        if(AsyncActionInvocationResourceServerside.prefersRespondAsync(resourceContext.getHttpHeaders())) {
+            return invokeActionAsync(action, arguments);
+        }
         return invokeActionUsingAdapters(action, arguments, ActionResultReprRenderer.SelfLink.EXCLUDED);
     }
 
+    /**
+     * Validates the arguments and then submits the action invocation to the {@link AsyncActionInvocationService},
+     * returning <tt>202 Accepted</tt> with a representation of (and <tt>Location</tt> header to) the status of that
+     * invocation.
+     */
+    private Response invokeActionAsync(
+            final ObjectAction action,
+            final JsonRepresentation arguments) {
+
+        final AsyncActionInvocationService asyncService = lookupService(AsyncActionInvocationService.class);
+        if(asyncService == null) {
+            throw RestfulObjectsApplicationException.createWithMessage(RestfulResponse.HttpStatusCode.NOT_IMPLEMENTED, "Asynchronous invocation is not available");
+        }
+
+        final ObjectActionArgHelper argHelper = new ObjectActionArgHelper(representationServiceContext, objectAdapter, action);
+        final List<ObjectAdapter> argAdapters = argHelper.parseAndValidateArguments(arguments);
+        final ObjectAdapter[] argAdapterArr = argAdapters.toArray(new ObjectAdapter[argAdapters.size()]);
+
+        final CommandDto commandDto = lookupService(CommandDtoServiceInternal.class)
+                .asCommandDto(Collections.singletonList(objectAdapter), action, argAdapterArr);
+
+        return submitAsync(
+                asyncService, commandDto, resourceContext.getAuthenticationSession(), resourceContext.urlFor(""));
+    }
+
+    static Response submitAsync(
+            final AsyncActionInvocationService asyncService,
+            final CommandDto commandDto,
+            final AuthenticationSession authenticationSession,
+            final String baseUrl) {
+
+        final AsyncActionInvocation invocation;
+        try {
+            invocation = asyncService.submit(commandDto, authenticationSession);
+        } catch(RejectedExecutionException ex) {
+            throw RestfulObjectsApplicationException.createWithMessage(RestfulResponse.HttpStatusCode.SERVICE_UNAVAILABLE, "Too many asynchronous invocations queued; try again later");
+        }
+
+        return AsyncActionInvocationResourceServerside
+                .responseFor(invocation, RestfulResponse.HttpStatusCode.ACCEPTED, baseUrl)
+                .header("Preference-Applied", AsyncActionInvocationResourceServerside.RESPOND_ASYNC)
+                .build();
+    }
+
 
     private Response invokeActionUsingAdapters(
             final ObjectAction action,
@@ -49,6 +49,7 @@
 import org.apache.isis.viewer.restfulobjects.applib.util.UrlEncodingUtils;
 import org.apache.isis.viewer.restfulobjects.rendering.Caching;
 import org.apache.isis.viewer.restfulobjects.rendering.LinkBuilder;
+import org.apache.isis.viewer.restfulobjects.rendering.ReprRenderer;
 import org.apache.isis.viewer.restfulobjects.rendering.Responses;
 import org.apache.isis.viewer.restfulobjects.rendering.RestfulObjectsApplicationException;
 import org.apache.isis.viewer.restfulobjects.rendering.domaintypes.ActionDescriptionReprRenderer;
@@ -63,6 +64,7 @@
 import org.apache.isis.viewer.restfulobjects.rendering.domaintypes.TypeActionResultReprRenderer;
 import org.apache.isis.viewer.restfulobjects.rendering.domaintypes.TypeListReprRenderer;
 import org.apache.isis.viewer.restfulobjects.rendering.service.RepresentationService;
+import org.apache.isis.viewer.restfulobjects.rendering.util.JsonWriterUtil;
 import org.apache.isis.viewer.restfulobjects.rendering.util.Util;
 import org.apache.isis.viewer.restfulobjects.server.resources.serialization.SerializationStrategy;
 import org.apache.isis.viewer.restfulobjects.server.util.UrlParserUtils;
@@ -75,6 +77,11 @@
 @Path("/domain-types")
 public class DomainTypeResourceServerside extends ResourceAbstract implements DomainTypeResource {
 
+    /**
+     * Shared across all (per-request) instances; the representations depend only on the metamodel.
+     */
+    private static final MetaModelRepresentationCache representationCache = new MetaModelRepresentationCache();
+
     @Override
     @GET
     @Path("/")
@@ -83,12 +90,19 @@ public Response domainTypes() {
         final RepresentationType representationType = RepresentationType.TYPE_LIST;
         init(representationType, Where.ANYWHERE, RepresentationService.Intent.NOT_APPLICABLE);
 
+        final long generation = getSpecificationLoader().getGeneration();
+        final String cacheKey = cacheKey(representationType);
+        final Response cachedIfAny = cachedResponseElseNull(cacheKey, generation);
+        if(cachedIfAny != null) {
+            return cachedIfAny;
+        }
+
         final Collection<ObjectSpecification> allSpecifications = getSpecificationLoader().allSpecifications();
 
         final TypeListReprRenderer renderer = new TypeListReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
         renderer.with(allSpecifications).includesSelf();
 
-        return Responses.ofOk(renderer, Caching.ONE_DAY).build();
+        return cacheAndRespond(cacheKey, renderer, generation);
     }
 
     @Override
@@ -99,12 +113,19 @@ public Response domainType(@PathParam("domainType") final String domainType) {
 
         init(RepresentationType.DOMAIN_TYPE, Where.ANYWHERE, RepresentationService.Intent.NOT_APPLICABLE);
 
+        final long generation = getSpecificationLoader().getGeneration();
+        final String cacheKey = cacheKey(RepresentationType.DOMAIN_TYPE, domainType);
+        final Response cachedIfAny = cachedResponseElseNull(cacheKey, generation);
+        if(cachedIfAny != null) {
+            return cachedIfAny;
+        }
+
         final ObjectSpecification objectSpec = getSpecificationLoader().lookupBySpecId(ObjectSpecId.of(domainType));
 
         final DomainTypeReprRenderer renderer = new DomainTypeReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
         renderer.with(objectSpec).includesSelf();
 
-        return Responses.ofOk(renderer, Caching.ONE_DAY).build();
+        return cacheAndRespond(cacheKey, renderer, generation);
     }
 
     @Override
@@ -143,6 +164,13 @@ public Response typeProperty(@PathParam("domainType") final String domainType, @
         final RepresentationType representationType = RepresentationType.PROPERTY_DESCRIPTION;
         init(representationType, Where.ANYWHERE, RepresentationService.Intent.NOT_APPLICABLE);
 
+        final long generation = getSpecificationLoader().getGeneration();
+        final String cacheKey = cacheKey(representationType, domainType, propertyId);
+        final Response cachedIfAny = cachedResponseElseNull(cacheKey, generation);
+        if(cachedIfAny != null) {
+            return cachedIfAny;
+        }
+
         final ObjectSpecification parentSpec = getSpecificationLoader().lookupBySpecId(ObjectSpecId.of(domainType));
         if (parentSpec == null) {
             throw RestfulObjectsApplicationException.create(HttpStatusCode.NOT_FOUND);
@@ -157,7 +185,7 @@ public Response typeProperty(@PathParam("domainType") final String domainType, @
         final PropertyDescriptionReprRenderer renderer = new PropertyDescriptionReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
         renderer.with(new ParentSpecAndProperty(parentSpec, property)).includesSelf();
 
-        return Responses.ofOk(renderer, Caching.ONE_DAY).build();
+        return cacheAndRespond(cacheKey, renderer, generation);
     }
 
     @Override
@@ -168,6 +196,13 @@ public Response typeCollection(@PathParam("domainType") final String domainType,
         final RepresentationType representationType = RepresentationType.COLLECTION_DESCRIPTION;
         init(representationType, Where.ANYWHERE, RepresentationService.Intent.NOT_APPLICABLE);
 
+        final long generation = getSpecificationLoader().getGeneration();
+        final String cacheKey = cacheKey(representationType, domainType, collectionId);
+        final Response cachedIfAny = cachedResponseElseNull(cacheKey, generation);
+        if(cachedIfAny != null) {
+            return cachedIfAny;
+        }
+
         final ObjectSpecification parentSpec = getSpecificationLoader().lookupBySpecId(ObjectSpecId.of(domainType));
         if (parentSpec == null) {
             throw RestfulObjectsApplicationException.create(HttpStatusCode.NOT_FOUND);
@@ -182,7 +217,7 @@ public Response typeCollection(@PathParam("domainType") final String domainType,
         final CollectionDescriptionReprRenderer renderer = new CollectionDescriptionReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
         renderer.with(new ParentSpecAndCollection(parentSpec, collection)).includesSelf();
 
-        return Responses.ofOk(renderer, Caching.ONE_DAY).build();
+        return cacheAndRespond(cacheKey, renderer, generation);
     }
 
     @Override
@@ -193,6 +228,13 @@ public Response typeAction(@PathParam("domainType") final String domainType, @Pa
         final RepresentationType representationType = RepresentationType.ACTION_DESCRIPTION;
         init(representationType, Where.ANYWHERE, RepresentationService.Intent.NOT_APPLICABLE);
 
+        final long generation = getSpecificationLoader().getGeneration();
+        final String cacheKey = cacheKey(representationType, domainType, actionId);
+        final Response cachedIfAny = cachedResponseElseNull(cacheKey, generation);
+        if(cachedIfAny != null) {
+            return cachedIfAny;
+        }
+
         final ObjectSpecification parentSpec = getSpecificationLoader().lookupBySpecId(ObjectSpecId.of(domainType));
         if (parentSpec == null) {
             throw RestfulObjectsApplicationException.create(HttpStatusCode.NOT_FOUND);
@@ -207,7 +249,7 @@ public Response typeAction(@PathParam("domainType") final String domainType, @Pa
         final ActionDescriptionReprRenderer renderer = new ActionDescriptionReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
         renderer.with(new ParentSpecAndAction(parentSpec, action)).includesSelf();
 
-        return Responses.ofOk(renderer, Caching.ONE_DAY).build();
+        return cacheAndRespond(cacheKey, renderer, generation);
     }
 
     @Override
@@ -218,6 +260,13 @@ public Response typeActionParam(@PathParam("domainType") final String domainType
         final RepresentationType representationType = RepresentationType.ACTION_PARAMETER_DESCRIPTION;
         init(representationType, Where.ANYWHERE, RepresentationService.Intent.NOT_APPLICABLE);
 
+        final long generation = getSpecificationLoader().getGeneration();
+        final String cacheKey = cacheKey(representationType, domainType, actionId, paramName);
+        final Response cachedIfAny = cachedResponseElseNull(cacheKey, generation);
+        if(cachedIfAny != null) {
+            return cachedIfAny;
+        }
+
         final ObjectSpecification parentSpec = getSpecificationLoader().lookupBySpecId(ObjectSpecId.of(domainType));
         if (parentSpec == null) {
             throw RestfulObjectsApplicationException.create(HttpStatusCode.NOT_FOUND);
@@ -234,7 +283,36 @@ public Response typeActionParam(@PathParam("domainType") final String domainType
         final ActionParameterDescriptionReprRenderer renderer = new ActionParameterDescriptionReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
         renderer.with(new ParentSpecAndActionParam(parentSpec, actionParam)).includesSelf();
 
-        return Responses.ofOk(renderer, Caching.ONE_DAY).build();
+        return cacheAndRespond(cacheKey, renderer, generation);
+    }
+
+    // //////////////////////////////////////////////////////////
+    // caching
+    // //////////////////////////////////////////////////////////
+
+    private Response cachedResponseElseNull(final String cacheKey, final long generation) {
+        final MetaModelRepresentationCache.Entry entry = representationCache.lookup(cacheKey, generation);
+        return entry != null
+                ? entry.responseFor(request, Caching.ONE_DAY).build()
+                : null;
+    }
+
+    private Response cacheAndRespond(
+            final String cacheKey, final ReprRenderer<?, ?> renderer, final long generation) {
+        final String representation = JsonWriterUtil.jsonFor(renderer.render());
+        final MetaModelRepresentationCache.Entry entry =
+                representationCache.cache(cacheKey, generation, representation, renderer.getMediaType());
+        return entry.responseFor(request, Caching.ONE_DAY).build();
+    }
+
+    /**
+     * Keyed by the (already matched) path parameters rather than the raw request URI, so that (for example) query
+     * strings cannot be used to fill the cache.  The links within the representation are absolute, so the base URI
+     * is also included.
+     */
+    private String cacheKey(final RepresentationType representationType, final String... pathParams) {
+        return MetaModelRepresentationCache.keyFor(
+                uriInfo.getBaseUri(), representationType.getJsonMediaType(), pathParams);
     }
 
     // //////////////////////////////////////////////////////////
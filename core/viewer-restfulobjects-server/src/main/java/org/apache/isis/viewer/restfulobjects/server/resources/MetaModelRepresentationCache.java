@@ -0,0 +1,155 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.restfulobjects.server.resources;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+
+import com.google.common.base.Joiner;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.viewer.restfulobjects.rendering.Caching;
+import org.apache.isis.viewer.restfulobjects.rendering.Responses;
+
+/**
+ * Caches representations that are derived purely from the metamodel (the <tt>domain-types</tt> resources and the
+ * swagger spec), keyed by whatever distinguishes one rendering from another (the {@link #keyFor(URI, MediaType, String...) path
+ * parameters}, visibility, format).
+ *
+ * <p>
+ * Every entry is tied to the {@link SpecificationLoader#getGeneration() generation} of the metamodel that it was
+ * rendered from; if the metamodel is subsequently changed (by {@link SpecificationLoader#invalidateCache(Class)},
+ * for example as called by <tt>MetaModelService#rebuild(Class)</tt> in prototyping mode) then the cache is discarded.
+ * </p>
+ *
+ * <p>
+ * The number of entries is capped (least recently used entries being evicted first), so that the cache's size is
+ * bounded however it is keyed.
+ * </p>
+ */
+class MetaModelRepresentationCache {
+
+    static final int MAX_ENTRIES_DEFAULT = 1000;
+
+    static class Entry {
+        private final byte[] bytes;
+        private final MediaType mediaType;
+        private final EntityTag entityTag;
+
+        Entry(final byte[] bytes, final MediaType mediaType) {
+            this.bytes = bytes;
+            this.mediaType = mediaType;
+            this.entityTag = new EntityTag(Hashing.sha1().hashBytes(bytes).toString());
+        }
+
+        byte[] getBytes() {
+            return bytes;
+        }
+
+        MediaType getMediaType() {
+            return mediaType;
+        }
+
+        EntityTag getEntityTag() {
+            return entityTag;
+        }
+
+        /**
+         * Returns a <tt>304 Not Modified</tt> if the client already holds this representation (as per its
+         * <tt>If-None-Match</tt> header), otherwise a <tt>200 OK</tt> with the cached bytes; either way with the
+         * same headers as an uncached response.
+         */
+        Response.ResponseBuilder responseFor(final Request request, final Caching caching) {
+            final Response.ResponseBuilder notModified =
+                    request != null ? request.evaluatePreconditions(entityTag) : null;
+            final Response.ResponseBuilder builder =
+                    notModified != null
+                        ? notModified
+                        : Response.ok(bytes, mediaType);
+            return Responses.addDate(builder)
+                    .tag(entityTag)
+                    .cacheControl(caching.getCacheControl());
+        }
+    }
+
+    private final Cache<String, Entry> entryByKey;
+    private long generation;
+
+    MetaModelRepresentationCache() {
+        this(MAX_ENTRIES_DEFAULT);
+    }
+
+    MetaModelRepresentationCache(final int maxEntries) {
+        entryByKey = CacheBuilder.newBuilder().maximumSize(maxEntries).build();
+    }
+
+    /**
+     * A key made up of the base URI (since links within representations are absolute), the media type and the
+     * parameters identifying the metamodel element.
+     */
+    static String keyFor(final URI baseUri, final MediaType mediaType, final String... pathParams) {
+        return baseUri + " " + mediaType + " " + Joiner.on('/').useForNull("").join(pathParams);
+    }
+
+    /**
+     * @return the cached entry, or <tt>null</tt> if none (or if the metamodel has changed since it was cached).
+     */
+    Entry lookup(final String key, final long currentGeneration) {
+        discardIfStale(currentGeneration);
+        return entryByKey.getIfPresent(key);
+    }
+
+    /**
+     * @param renderedAtGeneration - the generation of the metamodel read <i>before</i> the representation was
+     *                             rendered; if the metamodel has since moved on, then the entry is not cached.
+     */
+    Entry cache(final String key, final long renderedAtGeneration, final String representation, final MediaType mediaType) {
+        final Entry entry = new Entry(representation.getBytes(StandardCharsets.UTF_8), mediaType);
+        synchronized (this) {
+            discardIfStale(renderedAtGeneration);
+            if(generation == renderedAtGeneration) {
+                entryByKey.put(key, entry);
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Generations only ever increase, so any entries from an earlier generation are discarded.
+     */
+    private synchronized void discardIfStale(final long currentGeneration) {
+        if(currentGeneration > generation) {
+            entryByKey.invalidateAll();
+            generation = currentGeneration;
+        }
+    }
+
+    int size() {
+        return (int) entryByKey.size();
+    }
+
+}
@@ -26,26 +26,37 @@
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
 
 import org.apache.isis.applib.services.swagger.SwaggerService;
 import org.apache.isis.core.metamodel.services.ServicesInjector;
 import org.apache.isis.core.runtime.system.context.IsisContext;
 import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
 import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
+import org.apache.isis.viewer.restfulobjects.rendering.Caching;
 
 @Path("/swagger")
 public class SwaggerSpecResource {
 
+    /**
+     * Shared across all (per-request) instances; the spec depends only on the metamodel (and on configuration).
+     */
+    private static final MetaModelRepresentationCache specCache = new MetaModelRepresentationCache();
+
     @Context
     HttpHeaders httpHeaders;
 
+    @Context
+    Request request;
+
     @Path("/private")
     @GET
     @Consumes({ MediaType.WILDCARD, MediaType.APPLICATION_JSON, "text/yaml" })
     @Produces({
             MediaType.APPLICATION_JSON, "text/yaml"
     })
-    public String swaggerPrivate() {
+    public Response swaggerPrivate() {
         return swagger(SwaggerService.Visibility.PRIVATE);
     }
 
@@ -55,7 +66,7 @@ public String swaggerPrivate() {
     @Produces({
             MediaType.APPLICATION_JSON, "text/yaml"
     })
-    public String swaggerPrototyping() {
+    public Response swaggerPrototyping() {
         return swagger(SwaggerService.Visibility.PRIVATE_WITH_PROTOTYPING);
     }
 
@@ -65,14 +76,27 @@ public String swaggerPrototyping() {
     @Produces({
             MediaType.APPLICATION_JSON, "text/yaml"
     })
-    public String swaggerPublic() {
+    public Response swaggerPublic() {
         return swagger(SwaggerService.Visibility.PUBLIC);
     }
 
-    private String swagger(final SwaggerService.Visibility visibility) {
+    private Response swagger(final SwaggerService.Visibility visibility) {
         final SwaggerService.Format format = deriveFrom(httpHeaders);
-        String spec = getIsisSessionFactory().doInSession(new MyCallable(visibility, format));
-        return spec;
+        final String cacheKey = visibility.name() + ":" + format.name();
+        final long generation = getIsisSessionFactory().getSpecificationLoader().getGeneration();
+
+        MetaModelRepresentationCache.Entry entry = specCache.lookup(cacheKey, generation);
+        if(entry == null) {
+            final String spec = getIsisSessionFactory().doInSession(new MyCallable(visibility, format));
+            entry = specCache.cache(cacheKey, generation, spec, mediaTypeFor(format));
+        }
+        return entry.responseFor(request, Caching.NONE).build();
+    }
+
+    private static MediaType mediaTypeFor(final SwaggerService.Format format) {
+        return format == SwaggerService.Format.YAML
+                ? new MediaType("text", "yaml")
+                : MediaType.APPLICATION_JSON_TYPE;
     }
 
     private SwaggerService.Format deriveFrom(final HttpHeaders httpHeaders) {
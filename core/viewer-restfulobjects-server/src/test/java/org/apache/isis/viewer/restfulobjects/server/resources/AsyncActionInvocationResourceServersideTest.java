@@ -0,0 +1,200 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.restfulobjects.server.resources;
+
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.UUID;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.core.metamodel.deployment.DeploymentCategory;
+import org.apache.isis.core.runtime.system.context.IsisContext;
+import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.viewer.restfulobjects.applib.JsonRepresentation;
+import org.apache.isis.viewer.restfulobjects.applib.client.RestfulResponse.HttpStatusCode;
+import org.apache.isis.viewer.restfulobjects.applib.util.JsonMapper;
+import org.apache.isis.viewer.restfulobjects.rendering.service.async.AsyncActionInvocation;
+import org.apache.isis.viewer.restfulobjects.rendering.service.async.AsyncActionInvocationService;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class AsyncActionInvocationResourceServersideTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private AsyncActionInvocation mockInvocation;
+    @Mock
+    private IsisSessionFactory mockIsisSessionFactory;
+    @Mock
+    private AsyncActionInvocationService mockAsyncService;
+
+    private final UUID id = UUID.randomUUID();
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            // as required to render JSON
+            allowing(mockIsisSessionFactory).getDeploymentCategory();
+            will(returnValue(DeploymentCategory.PRODUCTION));
+
+            allowing(mockInvocation).getId();
+            will(returnValue(id));
+            allowing(mockInvocation).getMemberIdentifier();
+            will(returnValue("com.mycompany.Customer#placeOrder()"));
+            allowing(mockInvocation).getSubmittedAt();
+            will(returnValue(new Timestamp(0)));
+            allowing(mockInvocation).getStartedAt();
+            will(returnValue(new Timestamp(1000)));
+        }});
+        IsisContext.setSessionFactory(mockIsisSessionFactory);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        IsisContext.testReset();
+    }
+
+    @Test
+    public void prefers_respond_async() throws Exception {
+        assertThat(prefersRespondAsync("respond-async"), is(true));
+        assertThat(prefersRespondAsync("return=minimal, Respond-Async; wait=10"), is(true));
+        assertThat(prefersRespondAsync("return=minimal"), is(false));
+        assertThat(AsyncActionInvocationResourceServerside.prefersRespondAsync(null), is(false));
+    }
+
+    @Test
+    public void status_when_running() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockInvocation).getState();
+            will(returnValue(AsyncActionInvocation.State.RUNNING));
+            allowing(mockInvocation).getCompletedAt();
+            will(returnValue(null));
+            allowing(mockInvocation).getException();
+            will(returnValue(null));
+            allowing(mockInvocation).getResult();
+            will(returnValue(null));
+        }});
+
+        final Response response = AsyncActionInvocationResourceServerside
+                .responseFor(mockInvocation, HttpStatusCode.ACCEPTED, "http://localhost/restful/").build();
+
+        assertThat(response.getStatus(), is(202));
+        assertThat(response.getLocation().toString(), is("http://localhost/restful/async-invocations/" + id));
+
+        final JsonRepresentation status = read(response);
+        assertThat(status.getString("invocationId"), is(id.toString()));
+        assertThat(status.getString("state"), is("RUNNING"));
+        assertThat(status.mapHas("completedAt"), is(false));
+        assertThat(status.getArray("links").size(), is(1));
+        assertThat(status.getBoolean("persistent"), is(false));
+        assertThat(status.getString("note"), containsString("held in memory only"));
+    }
+
+    @Test
+    public void not_found_message_explains_why() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockAsyncService).getRetentionMinutes();
+            will(returnValue(60));
+        }});
+
+        final String message = AsyncActionInvocationResourceServerside.notFoundMessageFor("abc", mockAsyncService);
+
+        assertThat(message, containsString("No such invocation 'abc'"));
+        assertThat(message, containsString("lost if that server restarts"));
+        assertThat(message, containsString("after 60 minutes"));
+    }
+
+    @Test
+    public void status_when_completed() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockInvocation).getState();
+            will(returnValue(AsyncActionInvocation.State.COMPLETED));
+            allowing(mockInvocation).getCompletedAt();
+            will(returnValue(new Timestamp(2000)));
+            allowing(mockInvocation).getException();
+            will(returnValue(null));
+            allowing(mockInvocation).getResult();
+            will(returnValue(new Bookmark("CUS", "123")));
+        }});
+
+        final Response response = AsyncActionInvocationResourceServerside
+                .responseFor(mockInvocation, HttpStatusCode.OK, "http://localhost/restful/").build();
+
+        assertThat(response.getStatus(), is(200));
+        final JsonRepresentation status = read(response);
+        assertThat(status.getString("state"), is("COMPLETED"));
+        assertThat(status.mapHas("completedAt"), is(true));
+        assertThat(status.mapHas("exception"), is(false));
+
+        final JsonRepresentation resultLink = status.getArray("links").arrayGet(1);
+        assertThat(resultLink.getString("href"), is("http://localhost/restful/objects/CUS/123"));
+    }
+
+    @Test
+    public void status_when_failed() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockInvocation).getState();
+            will(returnValue(AsyncActionInvocation.State.FAILED));
+            allowing(mockInvocation).getCompletedAt();
+            will(returnValue(new Timestamp(2000)));
+            allowing(mockInvocation).getException();
+            will(returnValue("java.lang.IllegalStateException: out of stock"));
+            allowing(mockInvocation).getResult();
+            will(returnValue(null));
+        }});
+
+        final JsonRepresentation status = read(AsyncActionInvocationResourceServerside
+                .responseFor(mockInvocation, HttpStatusCode.OK, "http://localhost/restful/").build());
+
+        assertThat(status.getString("state"), is("FAILED"));
+        assertThat(status.getString("exception"), is("java.lang.IllegalStateException: out of stock"));
+        assertThat(status.getArray("links").size(), is(1));
+        assertThat(status.getString("result"), is(nullValue()));
+    }
+
+    private boolean prefersRespondAsync(final String preferHeader) {
+        final HttpHeaders httpHeaders = context.mock(HttpHeaders.class, "httpHeaders-" + preferHeader);
+        context.checking(new Expectations() {{
+            allowing(httpHeaders).getRequestHeader("Prefer");
+            will(returnValue(Collections.singletonList(preferHeader)));
+        }});
+        return AsyncActionInvocationResourceServerside.prefersRespondAsync(httpHeaders);
+    }
+
+    static JsonRepresentation read(final Response response) throws Exception {
+        return JsonMapper.instance().read((String) response.getEntity());
+    }
+
+}
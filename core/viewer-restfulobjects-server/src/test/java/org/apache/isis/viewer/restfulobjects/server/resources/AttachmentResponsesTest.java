@@ -0,0 +1,163 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.restfulobjects.server.resources;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+
+import org.junit.Test;
+
+import org.apache.isis.applib.value.Blob;
+import org.apache.isis.applib.value.Clob;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class AttachmentResponsesTest {
+
+    private final Blob blob = new Blob("doc.pdf", "application/pdf", new byte[] { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 });
+
+    @Test
+    public void parse_when_none() throws Exception {
+        assertThat(AttachmentResponses.ByteRange.parseElseNull(null, 100), is(nullValue()));
+    }
+
+    @Test
+    public void parse_when_first_and_last() throws Exception {
+        final AttachmentResponses.ByteRange range = AttachmentResponses.ByteRange.parseElseNull("bytes=10-19", 100);
+        assertThat(range.isSatisfiable(), is(true));
+        assertThat(range.getFirst(), is(10L));
+        assertThat(range.getLast(), is(19L));
+        assertThat(range.getLength(), is(10L));
+    }
+
+    @Test
+    public void parse_when_open_ended() throws Exception {
+        final AttachmentResponses.ByteRange range = AttachmentResponses.ByteRange.parseElseNull("bytes=90-", 100);
+        assertThat(range.getFirst(), is(90L));
+        assertThat(range.getLast(), is(99L));
+    }
+
+    @Test
+    public void parse_when_last_beyond_end() throws Exception {
+        final AttachmentResponses.ByteRange range = AttachmentResponses.ByteRange.parseElseNull("bytes=90-1000", 100);
+        assertThat(range.getLast(), is(99L));
+    }
+
+    @Test
+    public void parse_when_suffix() throws Exception {
+        final AttachmentResponses.ByteRange range = AttachmentResponses.ByteRange.parseElseNull("bytes=-30", 100);
+        assertThat(range.getFirst(), is(70L));
+        assertThat(range.getLast(), is(99L));
+    }
+
+    @Test
+    public void parse_when_first_beyond_end() throws Exception {
+        final AttachmentResponses.ByteRange range = AttachmentResponses.ByteRange.parseElseNull("bytes=100-", 100);
+        assertThat(range.isSatisfiable(), is(false));
+    }
+
+    @Test
+    public void parse_when_multiple_ranges_then_ignored() throws Exception {
+        assertThat(AttachmentResponses.ByteRange.parseElseNull("bytes=0-9,20-29", 100), is(nullValue()));
+    }
+
+    @Test
+    public void parse_when_malformed_then_ignored() throws Exception {
+        assertThat(AttachmentResponses.ByteRange.parseElseNull("bytes=abc", 100), is(nullValue()));
+        assertThat(AttachmentResponses.ByteRange.parseElseNull("bytes=20-10", 100), is(nullValue()));
+        assertThat(AttachmentResponses.ByteRange.parseElseNull("items=0-9", 100), is(nullValue()));
+    }
+
+    @Test
+    public void response_for_whole() throws Exception {
+        final Response response = AttachmentResponses.responseFor(blob, null).build();
+
+        assertThat(response.getStatus(), is(200));
+        assertThat(response.getHeaderString("Accept-Ranges"), is("bytes"));
+        assertThat(entityOf(response), is(blob.getBytes()));
+    }
+
+    @Test
+    public void response_for_partial() throws Exception {
+        final Response response = AttachmentResponses.responseFor(blob, "bytes=2-4").build();
+
+        assertThat(response.getStatus(), is(206));
+        assertThat(response.getHeaderString("Content-Range"), is("bytes 2-4/10"));
+        assertThat(entityOf(response), is(new byte[] { 2, 3, 4 }));
+    }
+
+    @Test
+    public void response_when_not_satisfiable() throws Exception {
+        final Response response = AttachmentResponses.responseFor(blob, "bytes=10-").build();
+
+        assertThat(response.getStatus(), is(416));
+        assertThat(response.getHeaderString("Content-Range"), is("bytes */10"));
+    }
+
+    @Test
+    public void response_for_clob_is_utf8_encoded() throws Exception {
+        final Clob clob = new Clob("notes.txt", "text/plain", "caf\u00e9 \ud83d\ude00");
+        final byte[] expected = "caf\u00e9 \ud83d\ude00".getBytes(StandardCharsets.UTF_8);
+
+        final Response response = AttachmentResponses.responseFor(clob, null).build();
+
+        assertThat(response.getHeaderString("Content-Length"), is("" + expected.length));
+        assertThat(entityOf(response), is(expected));
+    }
+
+    @Test
+    public void response_for_clob_partial() throws Exception {
+        final Clob clob = new Clob("notes.txt", "text/plain", "caf\u00e9 ok");
+
+        final Response response = AttachmentResponses.responseFor(clob, "bytes=3-4").build();
+
+        assertThat(response.getStatus(), is(206));
+        assertThat(response.getHeaderString("Content-Range"), is("bytes 3-4/8"));
+        assertThat(entityOf(response), is("\u00e9".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void content_disposition_when_plain() throws Exception {
+        assertThat(AttachmentResponses.contentDispositionFor("doc.pdf"),
+                is("attachment; filename=\"doc.pdf\"; filename*=UTF-8''doc.pdf"));
+    }
+
+    @Test
+    public void content_disposition_when_quotes_and_non_ascii() throws Exception {
+        assertThat(AttachmentResponses.contentDispositionFor("a \"b\"\r\n\u00fc.pdf"),
+                is("attachment; filename=\"a-b-.pdf\"; filename*=UTF-8''a%20%22b%22%0D%0A%C3%BC.pdf"));
+    }
+
+    @Test
+    public void content_disposition_when_no_name() throws Exception {
+        assertThat(AttachmentResponses.contentDispositionFor(null), is("attachment; filename=\"attachment\""));
+    }
+
+    private static byte[] entityOf(final Response response) throws Exception {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ((StreamingOutput) response.getEntity()).write(baos);
+        return baos.toByteArray();
+    }
+
+}
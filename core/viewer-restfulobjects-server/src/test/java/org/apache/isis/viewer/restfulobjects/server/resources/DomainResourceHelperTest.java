@@ -0,0 +1,123 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.restfulobjects.server.resources;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.ws.rs.core.Response;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.metamodel.deployment.DeploymentCategory;
+import org.apache.isis.core.runtime.system.context.IsisContext;
+import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.schema.cmd.v1.CommandDto;
+import org.apache.isis.viewer.restfulobjects.applib.client.RestfulResponse.HttpStatusCode;
+import org.apache.isis.viewer.restfulobjects.rendering.RestfulObjectsApplicationException;
+import org.apache.isis.viewer.restfulobjects.rendering.service.async.AsyncActionInvocation;
+import org.apache.isis.viewer.restfulobjects.rendering.service.async.AsyncActionInvocationService;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class DomainResourceHelperTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private AsyncActionInvocationService mockAsyncService;
+    @Mock
+    private AsyncActionInvocation mockInvocation;
+    @Mock
+    private IsisSessionFactory mockIsisSessionFactory;
+    @Mock
+    private AuthenticationSession mockAuthenticationSession;
+
+    private final CommandDto commandDto = new CommandDto();
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            // as required to render JSON
+            allowing(mockIsisSessionFactory).getDeploymentCategory();
+            will(returnValue(DeploymentCategory.PRODUCTION));
+        }});
+        IsisContext.setSessionFactory(mockIsisSessionFactory);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        IsisContext.testReset();
+    }
+
+    @Test
+    public void submit_async_when_accepted() throws Exception {
+        final UUID id = UUID.randomUUID();
+        context.checking(new Expectations() {{
+            oneOf(mockAsyncService).submit(commandDto, mockAuthenticationSession);
+            will(returnValue(mockInvocation));
+
+            allowing(mockInvocation).getId();
+            will(returnValue(id));
+            allowing(mockInvocation).getMemberIdentifier();
+            will(returnValue("com.mycompany.Customer#placeOrder()"));
+            allowing(mockInvocation).getState();
+            will(returnValue(AsyncActionInvocation.State.PENDING));
+            allowing(mockInvocation).getSubmittedAt();
+            will(returnValue(new Timestamp(0)));
+            ignoring(mockInvocation);
+        }});
+
+        final Response response = DomainResourceHelper.submitAsync(
+                mockAsyncService, commandDto, mockAuthenticationSession, "http://localhost/restful/");
+
+        assertThat(response.getStatus(), is(202));
+        assertThat(response.getHeaderString("Preference-Applied"), is("respond-async"));
+        assertThat(response.getLocation().toString(), is("http://localhost/restful/async-invocations/" + id));
+        assertThat(AsyncActionInvocationResourceServersideTest.read(response).getString("state"), is("PENDING"));
+    }
+
+    @Test
+    public void submit_async_when_queue_is_full() throws Exception {
+        context.checking(new Expectations() {{
+            oneOf(mockAsyncService).submit(commandDto, mockAuthenticationSession);
+            will(throwException(new RejectedExecutionException()));
+        }});
+
+        try {
+            DomainResourceHelper.submitAsync(
+                    mockAsyncService, commandDto, mockAuthenticationSession, "http://localhost/restful/");
+            fail();
+        } catch(RestfulObjectsApplicationException ex) {
+            assertThat(ex.getHttpStatusCode(), is(HttpStatusCode.SERVICE_UNAVAILABLE));
+        }
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.restfulobjects.server.resources;
+
+import java.net.URI;
+
+import javax.ws.rs.core.MediaType;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class MetaModelRepresentationCacheTest {
+
+    private MetaModelRepresentationCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        cache = new MetaModelRepresentationCache();
+    }
+
+    @Test
+    public void lookup_when_cached_for_same_generation() throws Exception {
+        cache.cache("a", 1L, "{}", MediaType.APPLICATION_JSON_TYPE);
+
+        final MetaModelRepresentationCache.Entry entry = cache.lookup("a", 1L);
+
+        assertThat(entry, is(notNullValue()));
+        assertThat(new String(entry.getBytes(), "UTF-8"), is("{}"));
+        assertThat(entry.getMediaType(), is(MediaType.APPLICATION_JSON_TYPE));
+        assertThat(entry.getEntityTag().isWeak(), is(false));
+    }
+
+    @Test
+    public void lookup_discards_when_generation_has_moved_on() throws Exception {
+        cache.cache("a", 1L, "{}", MediaType.APPLICATION_JSON_TYPE);
+
+        assertThat(cache.lookup("a", 2L), is(nullValue()));
+        assertThat(cache.size(), is(0));
+    }
+
+    @Test
+    public void does_not_cache_if_rendered_from_earlier_generation() throws Exception {
+        cache.lookup("a", 2L);
+
+        cache.cache("a", 1L, "{}", MediaType.APPLICATION_JSON_TYPE);
+
+        assertThat(cache.size(), is(0));
+    }
+
+    @Test
+    public void entity_tag_depends_on_content() throws Exception {
+        final MetaModelRepresentationCache.Entry entry1 = cache.cache("a", 1L, "{}", MediaType.APPLICATION_JSON_TYPE);
+        final MetaModelRepresentationCache.Entry entry2 = cache.cache("b", 1L, "{}", MediaType.APPLICATION_JSON_TYPE);
+        final MetaModelRepresentationCache.Entry entry3 = cache.cache("c", 1L, "[]", MediaType.APPLICATION_JSON_TYPE);
+
+        assertThat(entry1.getEntityTag(), is(entry2.getEntityTag()));
+        assertThat(entry1.getEntityTag(), is(not(entry3.getEntityTag())));
+    }
+
+    @Test
+    public void number_of_entries_is_capped() throws Exception {
+        cache = new MetaModelRepresentationCache(10);
+
+        for (int i = 0; i < 100; i++) {
+            cache.cache("key" + i, 1L, "{}", MediaType.APPLICATION_JSON_TYPE);
+        }
+
+        assertThat(cache.size() <= 10, is(true));
+        assertThat(cache.lookup("key99", 1L), is(notNullValue()));
+    }
+
+    @Test
+    public void key_depends_on_base_uri_media_type_and_path_params_only() throws Exception {
+        final URI baseUri = URI.create("http://localhost:8080/restful/");
+
+        final String key = MetaModelRepresentationCache.keyFor(baseUri, MediaType.APPLICATION_JSON_TYPE, "CUS", "name");
+
+        assertThat(MetaModelRepresentationCache.keyFor(baseUri, MediaType.APPLICATION_JSON_TYPE, "CUS", "name"),
+                is(key));
+        assertThat(MetaModelRepresentationCache.keyFor(baseUri, MediaType.APPLICATION_XML_TYPE, "CUS", "name"),
+                is(not(key)));
+        assertThat(MetaModelRepresentationCache.keyFor(baseUri, MediaType.APPLICATION_JSON_TYPE, "CUS", "age"),
+                is(not(key)));
+        assertThat(MetaModelRepresentationCache.keyFor(
+                URI.create("https://example.com/restful/"), MediaType.APPLICATION_JSON_TYPE, "CUS", "name"),
+                is(not(key)));
+    }
+
+}
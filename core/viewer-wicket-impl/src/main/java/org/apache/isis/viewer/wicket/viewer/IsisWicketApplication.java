@@ -28,6 +28,7 @@
 import java.util.UUID;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
+import java.util.zip.Deflater;
 
 import com.google.common.base.Charsets;
 import com.google.common.base.Function;
@@ -42,8 +43,10 @@
 import org.apache.wicket.Application;
 import org.apache.wicket.Component;
 import org.apache.wicket.ConverterLocator;
+import org.apache.wicket.DefaultPageManagerProvider;
 import org.apache.wicket.IConverterLocator;
 import org.apache.wicket.Page;
+import org.apache.wicket.ResourceBundles;
 import org.apache.wicket.RuntimeConfigurationType;
 import org.apache.wicket.SharedResources;
 import org.apache.wicket.ajax.AjaxRequestTarget;
@@ -64,13 +67,21 @@
 import org.apache.wicket.markup.html.IHeaderContributor;
 import org.apache.wicket.markup.html.IHeaderResponseDecorator;
 import org.apache.wicket.markup.html.WebPage;
+import org.apache.wicket.pageStore.IDataStore;
 import org.apache.wicket.request.cycle.IRequestCycleListener;
 import org.apache.wicket.request.cycle.PageRequestHandlerTracker;
 import org.apache.wicket.request.cycle.RequestCycleListenerCollection;
 import org.apache.wicket.request.resource.CssResourceReference;
+import org.apache.wicket.request.resource.JavaScriptResourceReference;
+import org.apache.wicket.request.resource.PackageResource;
+import org.apache.wicket.request.resource.ResourceReferenceRegistry;
+import org.apache.wicket.resource.CompositeCssCompressor;
+import org.apache.wicket.resource.CssUrlReplacer;
 import org.apache.wicket.settings.DebugSettings;
 import org.apache.wicket.settings.RequestCycleSettings;
+import org.apache.wicket.settings.StoreSettings;
 import org.apache.wicket.util.IContextProvider;
+import org.apache.wicket.util.lang.Bytes;
 import org.apache.wicket.util.time.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -100,20 +111,30 @@
 import org.apache.isis.viewer.wicket.ui.app.registry.ComponentFactoryRegistry;
 import org.apache.isis.viewer.wicket.ui.app.registry.ComponentFactoryRegistryAccessor;
 import org.apache.isis.viewer.wicket.ui.components.actionmenu.entityactions.AdditionalLinksPanel;
+import org.apache.isis.viewer.wicket.ui.components.bookmarkedpages.BookmarkedPagesPanel;
+import org.apache.isis.viewer.wicket.ui.components.scalars.datepicker.TextFieldWithDateTimePicker;
 import org.apache.isis.viewer.wicket.ui.components.scalars.string.MultiLineStringPanel;
 import org.apache.isis.viewer.wicket.ui.components.widgets.select2.Select2BootstrapCssReference;
 import org.apache.isis.viewer.wicket.ui.components.widgets.select2.Select2JsReference;
+import org.apache.isis.viewer.wicket.ui.errors.JGrowlBehaviour;
+import org.apache.isis.viewer.wicket.ui.pages.PageAbstract;
 import org.apache.isis.viewer.wicket.ui.pages.PageClassRegistry;
 import org.apache.isis.viewer.wicket.ui.pages.PageClassRegistryAccessor;
 import org.apache.isis.viewer.wicket.ui.pages.accmngt.AccountConfirmationMap;
 import org.apache.isis.viewer.wicket.ui.pages.login.WicketLogoutPage;
+import org.apache.isis.viewer.wicket.ui.pages.rendertiming.RenderTimings;
 import org.apache.isis.viewer.wicket.ui.panels.PanelUtil;
 import org.apache.isis.viewer.wicket.viewer.integration.isis.DeploymentTypeWicketAbstract;
 import org.apache.isis.viewer.wicket.viewer.integration.isis.WicketServer;
 import org.apache.isis.viewer.wicket.viewer.integration.isis.WicketServerPrototype;
 import org.apache.isis.viewer.wicket.viewer.integration.wicket.AuthenticatedWebSessionForIsis;
+import org.apache.isis.viewer.wicket.viewer.integration.wicket.CachingDataStore;
+import org.apache.isis.viewer.wicket.viewer.integration.wicket.CompressingSerializer;
 import org.apache.isis.viewer.wicket.viewer.integration.wicket.ConverterForObjectAdapter;
 import org.apache.isis.viewer.wicket.viewer.integration.wicket.ConverterForObjectAdapterMemento;
+import org.apache.isis.viewer.wicket.viewer.integration.wicket.CssCompressorForIsis;
+import org.apache.isis.viewer.wicket.viewer.integration.wicket.PageStoreStatistics;
+import org.apache.isis.viewer.wicket.viewer.integration.wicket.ResourceBundlesForIsis;
 import org.apache.isis.viewer.wicket.viewer.integration.wicket.WebRequestCycleForIsis;
 import org.apache.isis.viewer.wicket.viewer.settings.IsisResourceSettings;
 
@@ -121,6 +142,7 @@
 import de.agilecoders.wicket.core.markup.html.bootstrap.behavior.BootstrapBaseBehavior;
 import de.agilecoders.wicket.core.settings.BootstrapSettings;
 import de.agilecoders.wicket.core.settings.IBootstrapSettings;
+import de.agilecoders.wicket.extensions.markup.html.bootstrap.button.DropdownAutoOpenJavaScriptReference;
 import de.agilecoders.wicket.themes.markup.html.bootswatch.BootswatchTheme;
 import de.agilecoders.wicket.themes.markup.html.bootswatch.BootswatchThemeProvider;
 import de.agilecoders.wicket.webjars.WicketWebjars;
@@ -183,10 +205,71 @@
 
     public static final BootswatchTheme BOOTSWATCH_THEME_DEFAULT = BootswatchTheme.Flatly;
 
+    /**
+     * Whether serialized pages are compressed, both in memory and in the disk store.
+     */
+    public static final String PAGE_STORE_COMPRESS_KEY = "isis.viewer.wicket.pageStore.compress";
+    public static final boolean PAGE_STORE_COMPRESS_DEFAULT = false;
+
+    /**
+     * Overrides Wicket's {@link StoreSettings#getMaxSizePerSession()}, eg <tt>5M</tt>.
+     */
+    public static final String PAGE_STORE_MAX_SIZE_PER_SESSION_KEY = "isis.viewer.wicket.pageStore.maxSizePerSession";
+
+    /**
+     * Overrides Wicket's {@link StoreSettings#getInmemoryCacheSize()}.
+     */
+    public static final String PAGE_STORE_INMEMORY_CACHE_SIZE_KEY = "isis.viewer.wicket.pageStore.inmemoryCacheSize";
+
+    /**
+     * Maximum total size of the (serialized) pages cached in heap in front of the disk store, eg <tt>50M</tt>; if
+     * not specified, then no such cache is used.
+     */
+    public static final String PAGE_STORE_HOT_PAGES_MAX_SIZE_KEY = "isis.viewer.wicket.pageStore.hotPages.maxSize";
+
+    /**
+     * Pages not accessed within this number of seconds are evicted from the cache of hot pages.
+     */
+    public static final String PAGE_STORE_HOT_PAGES_EXPIRE_AFTER_KEY = "isis.viewer.wicket.pageStore.hotPages.expireAfterSeconds";
+    public static final int PAGE_STORE_HOT_PAGES_EXPIRE_AFTER_DEFAULT = 30 * 60;
+
+    /**
+     * Whether the JavaScript resources used by (almost) every page are served as a single bundle.
+     *
+     * <p>
+     *     Disabled by default, because the bundle (rendered in place of the first of its resources to be referenced)
+     *     changes the order in which scripts are rendered, which custom components may depend upon.
+     * </p>
+     */
+    public static final String RESOURCES_BUNDLE_JAVASCRIPT_KEY = "isis.viewer.wicket.resources.bundleJavaScript";
+    public static final boolean RESOURCES_BUNDLE_JAVASCRIPT_DEFAULT = false;
+
+    /**
+     * Whether the CSS of every component (as provided by its {@link ComponentFactory}) is included in the CSS bundle.
+     */
+    public static final String RESOURCES_BUNDLE_COMPONENT_CSS_KEY = "isis.viewer.wicket.resources.bundleComponentCss";
+    public static final boolean RESOURCES_BUNDLE_COMPONENT_CSS_DEFAULT = false;
+
+    /**
+     * Whether bundles are served gzip-compressed (to clients that accept it).
+     */
+    public static final String RESOURCES_GZIP_BUNDLES_KEY = "isis.viewer.wicket.resources.gzipBundles";
+    public static final boolean RESOURCES_GZIP_BUNDLES_DEFAULT = true;
+
+    /**
+     * Whether CSS is minified; by default, only if not prototyping.
+     */
+    public static final String RESOURCES_MINIFY_CSS_KEY = "isis.viewer.wicket.resources.minifyCss";
+
 
 
     private final IsisLoggingConfigurer loggingConfigurer = new IsisLoggingConfigurer();
 
+    private final PageStoreStatistics pageStoreStatistics = new PageStoreStatistics();
+
+    private boolean bundleJavaScript;
+    private boolean bundleComponentCss;
+
     /**
      * Convenience locator, downcasts inherited functionality.
      */
@@ -382,10 +465,15 @@ protected void init() {
 
             configureSecurity(configuration);
 
+            configurePageStore(configuration);
+
             getDebugSettings().setAjaxDebugModeEnabled(determineAjaxDebugModeEnabled(configuration));
 
+            configureResources(configuration);
+
             // must be done after injected componentFactoryRegistry into the app itself
             buildCssBundle();
+            buildJavaScriptBundle();
 
             filterJavascriptContributions();
 
@@ -429,6 +517,8 @@ protected void init() {
                 }
             }
 
+            RenderTimings.installIfEnabled(this, configuration);
+
             LOG.info("storeSettings.inmemoryCacheSize        : {}", getStoreSettings().getInmemoryCacheSize());
             LOG.info("storeSettings.asynchronousQueueCapacity: {}", getStoreSettings().getAsynchronousQueueCapacity());
             LOG.info("storeSettings.maxSizePerSession        : {}", getStoreSettings().getMaxSizePerSession());
@@ -492,6 +582,82 @@ public String toString() {
         );
     }
 
+    /**
+     * Configures how the resources (JavaScript and CSS) referenced by pages are bundled, compressed and minified.
+     *
+     * <p>
+     *     Note that Wicket itself already fingerprints the URLs of resources and serves them with far-future
+     *     caching headers (using the content's digest, when not in prototype mode), and minifies JavaScript when not
+     *     in prototype mode.
+     * </p>
+     */
+    protected void configureResources(final IsisConfiguration configuration) {
+        bundleJavaScript = configuration.getBoolean(
+                RESOURCES_BUNDLE_JAVASCRIPT_KEY, RESOURCES_BUNDLE_JAVASCRIPT_DEFAULT);
+        bundleComponentCss = configuration.getBoolean(
+                RESOURCES_BUNDLE_COMPONENT_CSS_KEY, RESOURCES_BUNDLE_COMPONENT_CSS_DEFAULT);
+
+        final ResourceBundles resourceBundles = getResourceBundles();
+        if(resourceBundles instanceof ResourceBundlesForIsis) {
+            ((ResourceBundlesForIsis) resourceBundles).setGzip(
+                    configuration.getBoolean(RESOURCES_GZIP_BUNDLES_KEY, RESOURCES_GZIP_BUNDLES_DEFAULT));
+        }
+
+        final boolean minifyCss = configuration.getBoolean(
+                RESOURCES_MINIFY_CSS_KEY, !getDeploymentCategory().isPrototyping());
+        if(getResourceSettings().getCssCompressor() == null) {
+            // relative urls (eg of images) within CSS are replaced, so that they still resolve once bundled.
+            getResourceSettings().setCssCompressor(
+                    minifyCss
+                            ? new CompositeCssCompressor(new CssUrlReplacer(), new CssCompressorForIsis())
+                            : new CssUrlReplacer());
+        }
+    }
+
+    @Override
+    protected ResourceBundles newResourceBundles(final ResourceReferenceRegistry registry) {
+        return new ResourceBundlesForIsis(registry);
+    }
+
+    /**
+     * Optionally compresses serialized pages, and caches recently used pages in front of the disk store.
+     */
+    protected void configurePageStore(final IsisConfiguration configuration) {
+        final String maxSizePerSession = configuration.getString(PAGE_STORE_MAX_SIZE_PER_SESSION_KEY);
+        if(maxSizePerSession != null) {
+            getStoreSettings().setMaxSizePerSession(Bytes.valueOf(maxSizePerSession));
+        }
+        final String inmemoryCacheSize = configuration.getString(PAGE_STORE_INMEMORY_CACHE_SIZE_KEY);
+        if(inmemoryCacheSize != null) {
+            getStoreSettings().setInmemoryCacheSize(Integer.parseInt(inmemoryCacheSize));
+        }
+
+        if(configuration.getBoolean(PAGE_STORE_COMPRESS_KEY, PAGE_STORE_COMPRESS_DEFAULT)) {
+            getFrameworkSettings().setSerializer(
+                    new CompressingSerializer(
+                            getFrameworkSettings().getSerializer(), Deflater.BEST_SPEED, pageStoreStatistics));
+        }
+
+        final String hotPagesMaxSize = configuration.getString(PAGE_STORE_HOT_PAGES_MAX_SIZE_KEY);
+        if(hotPagesMaxSize != null) {
+            final long maxSizeInBytes = Bytes.valueOf(hotPagesMaxSize).bytes();
+            final int expireAfterSeconds = configuration.getInteger(
+                    PAGE_STORE_HOT_PAGES_EXPIRE_AFTER_KEY, PAGE_STORE_HOT_PAGES_EXPIRE_AFTER_DEFAULT);
+            setPageManagerProvider(new DefaultPageManagerProvider(this) {
+                @Override
+                protected IDataStore newDataStore() {
+                    return new CachingDataStore(
+                            super.newDataStore(), maxSizeInBytes, expireAfterSeconds, pageStoreStatistics);
+                }
+            });
+            LOG.info("pageStore.hotPages.maxSize             : {}", Bytes.bytes(maxSizeInBytes));
+        }
+    }
+
+    public PageStoreStatistics getPageStoreStatistics() {
+        return pageStoreStatistics;
+    }
+
     /**
      * protected visibility to allow ad-hoc overriding of some other authentication strategy.
      */
@@ -705,6 +871,40 @@ protected void buildCssBundle() {
                 references.toArray(new CssResourceReference[]{}));
     }
 
+    /**
+     * Made protected visibility for easy (informal) pluggability.
+     */
+    protected void buildJavaScriptBundle() {
+        if(!bundleJavaScript) {
+            return;
+        }
+        final List<JavaScriptResourceReference> references = Lists.newArrayList();
+        addToJavaScriptBundle(references);
+
+        getResourceBundles().addJavaScriptBundle(
+                IsisWicketApplication.class, "isis-wicket-viewer-bundle.js",
+                references.toArray(new JavaScriptResourceReference[]{}));
+    }
+
+    /**
+     * The JavaScript resources to be served as a single bundle.
+     *
+     * <p>
+     * These are those resources that are used by all (or most) pages, but other than jQuery and Bootstrap themselves
+     * (which are rendered with priority, at the top of the page, rather than in the footer).  The bundle is rendered
+     * in place of the first of these to be referenced, so libraries precede the scripts that use them.
+     */
+    protected void addToJavaScriptBundle(final List<JavaScriptResourceReference> references) {
+        references.add(PageAbstract.JQUERY_LIVEQUERY_JS);
+        references.add(new Select2JsReference());
+        references.add(TextFieldWithDateTimePicker.MOMENT_JS);
+        references.add(TextFieldWithDateTimePicker.BOOTSTRAP_DATETIMEPICKER_JS);
+        references.add(JGrowlBehaviour.BOOTSTRAP_GROWL_JS);
+        references.add(BookmarkedPagesPanel.SLIDE_PANEL_JS);
+        references.add(DropdownAutoOpenJavaScriptReference.instance());
+        references.add(PageAbstract.JQUERY_ISIS_WICKET_VIEWER_JS);
+    }
+
     /**
      * Additional special cases to be included in the main CSS bundle.
      *
@@ -725,6 +925,8 @@ protected void addSpecialCasesToCssBundle(final Set<CssResourceReference> refere
         // Adding them into the bundle would mean these CSS links are resolved relative to IsisWicketApplication.class
         // instead.
         // references.add(PanelUtil.cssResourceReferenceFor(LinksSelectorPanelAbstract.class));
+        // (The CssUrlReplacer now rewrites such URLs; this CSS is bundled along with that of all other components if
+        // RESOURCES_BUNDLE_COMPONENT_CSS_KEY is set).
 
         // components without factories
         references.add(PanelUtil.cssResourceReferenceFor(AdditionalLinksPanel.class));
@@ -746,6 +948,18 @@ public Iterable<CssResourceReference> apply(final ComponentFactory input) {
 
 
     protected Set<CssResourceReference> cssResourceReferencesForAllComponents() {
+        if(bundleComponentCss) {
+            final Set<CssResourceReference> references = Sets.newLinkedHashSet();
+            for (final ComponentFactory componentFactory : getComponentFactoryRegistry().listComponentFactories()) {
+                for (final CssResourceReference reference : getCssResourceReferences.apply(componentFactory)) {
+                    // not every component has its own CSS
+                    if(PackageResource.exists(reference.getKey())) {
+                        references.add(reference);
+                    }
+                }
+            }
+            return references;
+        }
         // TODO mgrigorov: ISIS-537 temporary disabled to not mess up with Bootstrap styles
 //        Collection<ComponentFactory> componentFactories = getComponentFactoryRegistry().listComponentFactories();
         return Sets.newLinkedHashSet(
@@ -0,0 +1,166 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.viewer.wicket.viewer.integration.wicket;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Objects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+
+import org.apache.wicket.pageStore.IDataStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decorates an {@link IDataStore} (typically Wicket's
+ * {@link org.apache.wicket.pageStore.DiskDataStore}) with a bounded, in-heap cache of recently stored or loaded
+ * pages, shared by all sessions.
+ *
+ * <p>
+ *     Pages are written through to the underlying store, but are read from it only if no longer in the cache; so
+ *     users navigating back and forth between recent pages do not cause disk reads.  The cache is bounded by the
+ *     total size of the (serialized, possibly compressed) pages it holds, and pages not accessed for a while are
+ *     expired; heap usage therefore does not grow with the number of pages visited.
+ * </p>
+ */
+public class CachingDataStore implements IDataStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CachingDataStore.class);
+
+    private static final int LOG_STATISTICS_EVERY = 100;
+
+    static final class PageKey {
+        private final String sessionId;
+        private final int pageId;
+
+        PageKey(final String sessionId, final int pageId) {
+            this.sessionId = sessionId;
+            this.pageId = pageId;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PageKey)) {
+                return false;
+            }
+            final PageKey other = (PageKey) o;
+            return pageId == other.pageId && sessionId.equals(other.sessionId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(sessionId, pageId);
+        }
+    }
+
+    private final IDataStore delegate;
+    private final PageStoreStatistics statistics;
+    private final Cache<PageKey, byte[]> hotPages;
+
+    public CachingDataStore(
+            final IDataStore delegate,
+            final long maxSizeInBytes,
+            final long expireAfterSeconds,
+            final PageStoreStatistics statistics) {
+        this.delegate = delegate;
+        this.statistics = statistics;
+        this.hotPages = CacheBuilder.newBuilder()
+                .maximumWeight(maxSizeInBytes)
+                .weigher(new Weigher<PageKey, byte[]>() {
+                    @Override
+                    public int weigh(final PageKey key, final byte[] data) {
+                        return data.length;
+                    }
+                })
+                .expireAfterAccess(expireAfterSeconds, TimeUnit.SECONDS)
+                .build();
+    }
+
+    @Override
+    public byte[] getData(final String sessionId, final int id) {
+        final PageKey key = new PageKey(sessionId, id);
+        final byte[] cached = hotPages.getIfPresent(key);
+        if(cached != null) {
+            statistics.hit();
+            return cached;
+        }
+        final long start = System.nanoTime();
+        final byte[] data = delegate.getData(sessionId, id);
+        statistics.missed(System.nanoTime() - start);
+        if(data != null) {
+            hotPages.put(key, data);
+        }
+        return data;
+    }
+
+    @Override
+    public void storeData(final String sessionId, final int id, final byte[] data) {
+        hotPages.put(new PageKey(sessionId, id), data);
+
+        final long start = System.nanoTime();
+        delegate.storeData(sessionId, id, data);
+        final long pagesStored = statistics.stored(data.length, System.nanoTime() - start);
+
+        if(LOG.isDebugEnabled() && pagesStored % LOG_STATISTICS_EVERY == 0) {
+            LOG.debug("page store: {}", statistics);
+        }
+    }
+
+    @Override
+    public void removeData(final String sessionId, final int id) {
+        hotPages.invalidate(new PageKey(sessionId, id));
+        delegate.removeData(sessionId, id);
+    }
+
+    @Override
+    public void removeData(final String sessionId) {
+        final Iterator<PageKey> iterator = hotPages.asMap().keySet().iterator();
+        while (iterator.hasNext()) {
+            if(iterator.next().sessionId.equals(sessionId)) {
+                iterator.remove();
+            }
+        }
+        delegate.removeData(sessionId);
+    }
+
+    @Override
+    public void destroy() {
+        hotPages.invalidateAll();
+        delegate.destroy();
+        LOG.info("page store: {}", statistics);
+    }
+
+    @Override
+    public boolean isReplicated() {
+        return delegate.isReplicated();
+    }
+
+    @Override
+    public boolean canBeAsynchronous() {
+        return delegate.canBeAsynchronous();
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.viewer.wicket.viewer.integration.wicket;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.apache.wicket.WicketRuntimeException;
+import org.apache.wicket.serialize.ISerializer;
+
+/**
+ * Decorates an {@link ISerializer}, deflating the serialized form of each page.
+ *
+ * <p>
+ *     Compressing at this level (rather than within the {@link org.apache.wicket.pageStore.IDataStore data store})
+ *     means that pages are held compressed both on disk and in Wicket's in-memory caches of serialized pages.
+ * </p>
+ */
+public class CompressingSerializer implements ISerializer {
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private final ISerializer delegate;
+    private final int level;
+    private final PageStoreStatistics statistics;
+
+    public CompressingSerializer(
+            final ISerializer delegate,
+            final int level,
+            final PageStoreStatistics statistics) {
+        this.delegate = delegate;
+        this.level = level;
+        this.statistics = statistics;
+    }
+
+    @Override
+    public byte[] serialize(final Object object) {
+        final byte[] serialized = delegate.serialize(object);
+        if(serialized == null) {
+            return null;
+        }
+        final byte[] compressed = deflate(serialized);
+        statistics.serialized(serialized.length, compressed.length);
+        return compressed;
+    }
+
+    @Override
+    public Object deserialize(final byte[] data) {
+        if(data == null) {
+            return null;
+        }
+        return delegate.deserialize(inflate(data));
+    }
+
+    private byte[] deflate(final byte[] data) {
+        final Deflater deflater = new Deflater(level);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            final ByteArrayOutputStream baos = new ByteArrayOutputStream(Math.max(data.length / 4, 64));
+            final byte[] buf = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                final int count = deflater.deflate(buf);
+                baos.write(buf, 0, count);
+            }
+            return baos.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(final byte[] data) {
+        final Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            final ByteArrayOutputStream baos = new ByteArrayOutputStream(data.length * 4);
+            final byte[] buf = new byte[BUFFER_SIZE];
+            while (!inflater.finished()) {
+                final int count = inflater.inflate(buf);
+                if(count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new WicketRuntimeException("Truncated or corrupt compressed page data");
+                }
+                baos.write(buf, 0, count);
+            }
+            return baos.toByteArray();
+        } catch (DataFormatException ex) {
+            throw new WicketRuntimeException("Corrupt compressed page data", ex);
+        } finally {
+            inflater.end();
+        }
+    }
+
+}
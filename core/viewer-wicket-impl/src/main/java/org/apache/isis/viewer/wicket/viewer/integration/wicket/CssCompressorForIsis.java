@@ -0,0 +1,118 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.wicket.viewer.integration.wicket;
+
+import org.apache.wicket.css.ICssCompressor;
+
+/**
+ * A conservative CSS minifier: removes comments (other than <tt>/*! ... *&#47;</tt> license comments), collapses
+ * whitespace, and removes whitespace adjacent to <tt>{</tt>, <tt>}</tt>, <tt>;</tt>, <tt>,</tt> and <tt>&gt;</tt>.
+ *
+ * <p>
+ *     Quoted strings are left untouched, and whitespace is never removed around <tt>:</tt> (which would change the
+ *     meaning of eg <tt>div :first-child</tt>) nor around <tt>+</tt> and <tt>-</tt> (significant within
+ *     <tt>calc(...)</tt>).
+ * </p>
+ */
+public class CssCompressorForIsis implements ICssCompressor {
+
+    @Override
+    public String compress(final String original) {
+        if(original == null) {
+            return null;
+        }
+        final int length = original.length();
+        final StringBuilder buf = new StringBuilder(length);
+        boolean pendingSpace = false;
+
+        int i = 0;
+        while (i < length) {
+            final char c = original.charAt(i);
+
+            if(c == '/' && i + 1 < length && original.charAt(i + 1) == '*') {
+                final int end = original.indexOf("*/", i + 2);
+                final int next = end < 0 ? length : end + 2;
+                if(i + 2 < length && original.charAt(i + 2) == '!') {
+                    appendPendingSpace(buf, pendingSpace, '/');
+                    buf.append(original, i, next);
+                    pendingSpace = false;
+                }
+                i = next;
+                continue;
+            }
+
+            if(c == '"' || c == '\'') {
+                appendPendingSpace(buf, pendingSpace, c);
+                pendingSpace = false;
+                final int end = endOfString(original, i, c);
+                buf.append(original, i, end);
+                i = end;
+                continue;
+            }
+
+            if(Character.isWhitespace(c)) {
+                pendingSpace = buf.length() > 0;
+                i++;
+                continue;
+            }
+
+            appendPendingSpace(buf, pendingSpace, c);
+            pendingSpace = false;
+
+            if(c == '}' && buf.length() > 0 && buf.charAt(buf.length() - 1) == ';') {
+                // the last declaration of a block doesn't need its semi-colon
+                buf.setLength(buf.length() - 1);
+            }
+            buf.append(c);
+            i++;
+        }
+        return buf.toString();
+    }
+
+    private static void appendPendingSpace(final StringBuilder buf, final boolean pendingSpace, final char next) {
+        if(!pendingSpace || isPunctuation(next) || isPunctuation(buf.charAt(buf.length() - 1))) {
+            return;
+        }
+        buf.append(' ');
+    }
+
+    private static boolean isPunctuation(final char c) {
+        return c == '{' || c == '}' || c == ';' || c == ',' || c == '>';
+    }
+
+    /**
+     * @return the index just beyond the closing quote (or the end of the text, if unterminated).
+     */
+    private static int endOfString(final String text, final int start, final char quote) {
+        int i = start + 1;
+        while (i < text.length()) {
+            final char c = text.charAt(i);
+            if(c == '\\') {
+                i += 2;
+                continue;
+            }
+            i++;
+            if(c == quote) {
+                break;
+            }
+        }
+        return Math.min(i, text.length());
+    }
+
+}
@@ -0,0 +1,171 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.wicket.viewer.integration.wicket;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.wicket.WicketRuntimeException;
+import org.apache.wicket.markup.head.HeaderItem;
+import org.apache.wicket.markup.head.IReferenceHeaderItem;
+import org.apache.wicket.request.Request;
+import org.apache.wicket.request.http.WebRequest;
+import org.apache.wicket.request.http.WebResponse;
+import org.apache.wicket.request.resource.IResource;
+import org.apache.wicket.resource.ITextResourceCompressor;
+import org.apache.wicket.resource.bundles.ConcatBundleResource;
+import org.apache.wicket.resource.bundles.ConcatResourceBundleReference;
+import org.apache.wicket.util.resource.IResourceStream;
+import org.apache.wicket.util.resource.ResourceStreamNotFoundException;
+
+/**
+ * A {@link ConcatResourceBundleReference bundle} that is served gzip-compressed to clients that accept it.
+ *
+ * <p>
+ *     The compressed form is computed once and then held (along with the uncompressed form that it was computed
+ *     from) for subsequent requests, until the content of the bundle changes.  Also, when requested through a
+ *     versioned (fingerprinted) URL, the response is marked as <tt>immutable</tt>, so that browsers do not revalidate
+ *     it even on reload.
+ * </p>
+ */
+public class GzippingConcatResourceBundleReference<T extends HeaderItem & IReferenceHeaderItem>
+        extends ConcatResourceBundleReference<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String ACCEPT_ENCODING = "Accept-Encoding";
+    private static final String CONTENT_ENCODING = "Content-Encoding";
+    private static final String GZIP = "gzip";
+
+    private static class Gzipped {
+        private final byte[] uncompressed;
+        private final byte[] compressed;
+
+        private Gzipped(final byte[] uncompressed, final byte[] compressed) {
+            this.uncompressed = uncompressed;
+            this.compressed = compressed;
+        }
+    }
+
+    private transient volatile Gzipped gzipped;
+
+    public GzippingConcatResourceBundleReference(
+            final Class<?> scope,
+            final String name,
+            final List<T> resources) {
+        super(scope, name, resources);
+    }
+
+    @Override
+    public IResource getResource() {
+        final ConcatBundleResource resource = new GzippingConcatBundleResource(getProvidedResources());
+        final ITextResourceCompressor compressor = getCompressor();
+        if (compressor != null) {
+            resource.setCompressor(compressor);
+        }
+        return resource;
+    }
+
+    byte[] gzippedFor(final byte[] uncompressed) {
+        final Gzipped current = gzipped;
+        if(current != null && Arrays.equals(current.uncompressed, uncompressed)) {
+            return current.compressed;
+        }
+        final byte[] compressed = gzip(uncompressed);
+        gzipped = new Gzipped(uncompressed, compressed);
+        return compressed;
+    }
+
+    static byte[] gzip(final byte[] bytes) {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream(Math.max(bytes.length / 4, 64));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(baos)) {
+            gzip.write(bytes);
+        } catch (IOException ex) {
+            throw new WicketRuntimeException(ex);
+        }
+        return baos.toByteArray();
+    }
+
+    static boolean acceptsGzip(final Request request) {
+        if(!(request instanceof WebRequest)) {
+            return false;
+        }
+        final String acceptEncoding = ((WebRequest) request).getHeader(ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains(GZIP);
+    }
+
+    private class GzippingConcatBundleResource extends ConcatBundleResource {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * As read (and compressed, if configured) for the current request.
+         */
+        private byte[] bytes;
+
+        GzippingConcatBundleResource(final List<? extends IReferenceHeaderItem> providedResources) {
+            super(providedResources);
+        }
+
+        @Override
+        protected byte[] readAllResources(final List<IResourceStream> resources)
+                throws IOException, ResourceStreamNotFoundException {
+            bytes = super.readAllResources(resources);
+            return bytes;
+        }
+
+        @Override
+        protected ResourceResponse newResourceResponse(final Attributes attributes) {
+            final ResourceResponse response = super.newResourceResponse(attributes);
+            if(bytes == null || response.getErrorCode() != null || !response.dataNeedsToBeWritten(attributes)) {
+                return response;
+            }
+            response.getHeaders().addHeader("Vary", ACCEPT_ENCODING);
+            if(!acceptsGzip(attributes.getRequest())) {
+                return response;
+            }
+            final byte[] compressed = gzippedFor(bytes);
+            response.getHeaders().addHeader(CONTENT_ENCODING, GZIP);
+            response.setContentLength(compressed.length);
+            response.setWriteCallback(new WriteCallback() {
+                @Override
+                public void writeData(final Attributes attributes) throws IOException {
+                    attributes.getResponse().write(compressed);
+                }
+            });
+            return response;
+        }
+
+        @Override
+        protected void configureCache(final ResourceResponse data, final Attributes attributes) {
+            super.configureCache(data, attributes);
+            if(WebResponse.MAX_CACHE_DURATION.equals(data.getCacheDuration())
+                    && data.getCacheScope() == WebResponse.CacheScope.PUBLIC
+                    && attributes.getResponse() instanceof WebResponse) {
+                // only the case if requested through a versioned url
+                ((WebResponse) attributes.getResponse()).setHeader("Cache-Control",
+                        "public, max-age=" + data.getCacheDuration().seconds() + ", immutable");
+            }
+        }
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.viewer.wicket.viewer.integration.wicket;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Running totals for the page store, as configured by {@link org.apache.isis.viewer.wicket.viewer.IsisWicketApplication}.
+ *
+ * <p>
+ *     Logged periodically (at <tt>DEBUG</tt>) and when the application is destroyed.
+ * </p>
+ */
+public class PageStoreStatistics {
+
+    private final AtomicLong pagesSerialized = new AtomicLong();
+    private final AtomicLong bytesSerialized = new AtomicLong();
+    private final AtomicLong bytesCompressed = new AtomicLong();
+
+    private final AtomicLong pagesStored = new AtomicLong();
+    private final AtomicLong bytesStored = new AtomicLong();
+    private final AtomicLong storeNanos = new AtomicLong();
+
+    private final AtomicLong hotPageHits = new AtomicLong();
+    private final AtomicLong hotPageMisses = new AtomicLong();
+    private final AtomicLong loadNanos = new AtomicLong();
+
+    void serialized(final int rawSize, final int compressedSize) {
+        pagesSerialized.incrementAndGet();
+        bytesSerialized.addAndGet(rawSize);
+        bytesCompressed.addAndGet(compressedSize);
+    }
+
+    /**
+     * @return the number of pages stored so far
+     */
+    long stored(final int size, final long nanos) {
+        bytesStored.addAndGet(size);
+        storeNanos.addAndGet(nanos);
+        return pagesStored.incrementAndGet();
+    }
+
+    void hit() {
+        hotPageHits.incrementAndGet();
+    }
+
+    void missed(final long nanos) {
+        hotPageMisses.incrementAndGet();
+        loadNanos.addAndGet(nanos);
+    }
+
+    /**
+     * Average size of a serialized page, before compression (populated only if compressing).
+     */
+    public long getAveragePageSize() {
+        final long pages = pagesSerialized.get();
+        return pages > 0 ? bytesSerialized.get() / pages : 0;
+    }
+
+    /**
+     * Average size of a page as stored, that is, after compression (if any).
+     */
+    public long getAverageStoredPageSize() {
+        final long pages = pagesStored.get();
+        return pages > 0 ? bytesStored.get() / pages : 0;
+    }
+
+    /**
+     * Ratio of compressed to uncompressed size, or <tt>1.0</tt> if not compressing.
+     */
+    public double getCompressionRatio() {
+        final long raw = bytesSerialized.get();
+        return raw > 0 ? (double) bytesCompressed.get() / raw : 1.0;
+    }
+
+    /**
+     * Average time taken to write a page to the underlying (disk) store, in microseconds.
+     */
+    public long getAverageStoreMicros() {
+        final long pages = pagesStored.get();
+        return pages > 0 ? TimeUnit.NANOSECONDS.toMicros(storeNanos.get() / pages) : 0;
+    }
+
+    /**
+     * Average time taken to read a page not held in memory from the underlying (disk) store, in microseconds.
+     */
+    public long getAverageLoadMicros() {
+        final long misses = hotPageMisses.get();
+        return misses > 0 ? TimeUnit.NANOSECONDS.toMicros(loadNanos.get() / misses) : 0;
+    }
+
+    public long getHotPageHits() {
+        return hotPageHits.get();
+    }
+
+    public long getHotPageMisses() {
+        return hotPageMisses.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "pagesSerialized=%d, averagePageSize=%d, compressionRatio=%.2f, "
+                + "pagesStored=%d, averageStoredPageSize=%d, averageStoreMicros=%d, "
+                + "hotPageHits=%d, hotPageMisses=%d, averageLoadMicros=%d",
+                pagesSerialized.get(), getAveragePageSize(), getCompressionRatio(),
+                pagesStored.get(), getAverageStoredPageSize(), getAverageStoreMicros(), getHotPageHits(), getHotPageMisses(), getAverageLoadMicros());
+    }
+}
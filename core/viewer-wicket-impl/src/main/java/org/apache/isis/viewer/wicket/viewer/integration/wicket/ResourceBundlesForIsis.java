@@ -0,0 +1,57 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.wicket.viewer.integration.wicket;
+
+import java.util.List;
+
+import org.apache.wicket.ResourceBundles;
+import org.apache.wicket.markup.head.HeaderItem;
+import org.apache.wicket.markup.head.IReferenceHeaderItem;
+import org.apache.wicket.request.resource.ResourceReferenceRegistry;
+import org.apache.wicket.resource.bundles.ConcatResourceBundleReference;
+
+/**
+ * Creates {@link GzippingConcatResourceBundleReference gzipping} bundles, if {@link #setGzip(boolean) configured}.
+ */
+public class ResourceBundlesForIsis extends ResourceBundles {
+
+    private boolean gzip;
+
+    public ResourceBundlesForIsis(final ResourceReferenceRegistry registry) {
+        super(registry);
+    }
+
+    /**
+     * Applies to bundles subsequently added.
+     */
+    public void setGzip(final boolean gzip) {
+        this.gzip = gzip;
+    }
+
+    @Override
+    protected <T extends HeaderItem & IReferenceHeaderItem> ConcatResourceBundleReference<T> newBundleResourceReference(
+            final Class<?> scope,
+            final String name,
+            final List<T> resources) {
+        return gzip
+                ? new GzippingConcatResourceBundleReference<>(scope, name, resources)
+                : super.newBundleResourceReference(scope, name, resources);
+    }
+
+}
@@ -42,10 +42,14 @@
 import org.apache.isis.viewer.wicket.ui.app.registry.ComponentFactoryRegistrar;
 import org.apache.isis.viewer.wicket.ui.app.registry.ComponentFactoryRegistrar.ComponentFactoryList;
 import org.apache.isis.viewer.wicket.ui.app.registry.ComponentFactoryRegistry;
+import org.apache.isis.viewer.wicket.ui.pages.rendertiming.RenderTimings;
 
 /**
  * Implementation of {@link ComponentFactoryRegistry} that delegates to a
  * provided {@link ComponentFactoryRegistrar}.
+ *
+ * <p>
+ * Components created are instrumented if {@link RenderTimings render timings} are enabled.
  */
 @Singleton
 public class ComponentFactoryRegistryDefault implements ComponentFactoryRegistry {
@@ -119,6 +123,7 @@ public Component addOrReplaceComponent(final MarkupContainer markupContainer, fi
     public Component createComponent(final ComponentType componentType, final IModel<?> model) {
         final ComponentFactory componentFactory = findComponentFactoryElseFailFast(componentType, model);
         final Component component = componentFactory.createComponent(model);
+        RenderTimings.instrumentIfEnabled(component, componentType);
         return component;
     }
 
@@ -126,6 +131,7 @@ public Component createComponent(final ComponentType componentType, final IModel
     public Component createComponent(final ComponentType componentType, final String id, final IModel<?> model) {
         final ComponentFactory componentFactory = findComponentFactoryElseFailFast(componentType, model);
         final Component component = componentFactory.createComponent(id, model);
+        RenderTimings.instrumentIfEnabled(component, componentType);
         return component;
     }
 
@@ -0,0 +1,116 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.wicket.viewer.integration.wicket;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import com.google.common.collect.Maps;
+
+import org.apache.wicket.pageStore.IDataStore;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class CachingDataStoreTest {
+
+    static class MapDataStore implements IDataStore {
+        final Map<String, byte[]> data = Maps.newHashMap();
+        int reads;
+
+        @Override public byte[] getData(final String sessionId, final int id) {
+            reads++;
+            return data.get(sessionId + ":" + id);
+        }
+        @Override public void removeData(final String sessionId, final int id) {
+            data.remove(sessionId + ":" + id);
+        }
+        @Override public void removeData(final String sessionId) {
+            final Iterator<String> iterator = data.keySet().iterator();
+            while (iterator.hasNext()) {
+                if(iterator.next().startsWith(sessionId + ":")) {
+                    iterator.remove();
+                }
+            }
+        }
+        @Override public void storeData(final String sessionId, final int id, final byte[] bytes) {
+            data.put(sessionId + ":" + id, bytes);
+        }
+        @Override public void destroy() {
+        }
+        @Override public boolean isReplicated() {
+            return false;
+        }
+        @Override public boolean canBeAsynchronous() {
+            return true;
+        }
+    }
+
+    private MapDataStore delegate;
+    private PageStoreStatistics statistics;
+
+    @Before
+    public void setUp() throws Exception {
+        delegate = new MapDataStore();
+        statistics = new PageStoreStatistics();
+    }
+
+    @Test
+    public void when_recently_stored_then_not_read_from_delegate() throws Exception {
+        final CachingDataStore store = new CachingDataStore(delegate, 1000, 60, statistics);
+
+        store.storeData("s1", 1, new byte[10]);
+        store.storeData("s1", 2, new byte[10]);
+
+        assertThat(store.getData("s1", 1).length, is(10));
+        assertThat(store.getData("s1", 2).length, is(10));
+        assertThat(delegate.reads, is(0));
+        assertThat(statistics.getHotPageHits(), is(2L));
+        assertThat(delegate.data.size(), is(2));
+    }
+
+    @Test
+    public void when_evicted_then_read_from_delegate() throws Exception {
+        final CachingDataStore store = new CachingDataStore(delegate, 15, 60, statistics);
+
+        store.storeData("s1", 1, new byte[10]);
+        store.storeData("s1", 2, new byte[10]);
+
+        assertThat(store.getData("s1", 1).length, is(10));
+        assertThat(delegate.reads, is(1));
+        assertThat(statistics.getHotPageMisses(), is(1L));
+    }
+
+    @Test
+    public void when_session_removed() throws Exception {
+        final CachingDataStore store = new CachingDataStore(delegate, 1000, 60, statistics);
+        store.storeData("s1", 1, new byte[10]);
+        store.storeData("s2", 1, new byte[10]);
+        delegate.data.clear();
+
+        store.removeData("s1");
+
+        assertThat(store.getData("s1", 1), is(nullValue()));
+        assertThat(store.getData("s2", 1).length, is(10));
+    }
+
+}
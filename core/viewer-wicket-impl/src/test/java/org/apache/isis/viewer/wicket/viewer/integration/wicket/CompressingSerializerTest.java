@@ -0,0 +1,51 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.wicket.viewer.integration.wicket;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+
+import org.apache.wicket.serialize.java.JavaSerializer;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+
+public class CompressingSerializerTest {
+
+    @Test
+    public void round_trip() throws Exception {
+        final PageStoreStatistics statistics = new PageStoreStatistics();
+        final CompressingSerializer serializer =
+                new CompressingSerializer(new JavaSerializer("test"), Deflater.BEST_SPEED, statistics);
+
+        final List<String> page = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            page.add("component-" + i % 10);
+        }
+
+        final byte[] data = serializer.serialize(page);
+
+        assertThat(serializer.deserialize(data), is((Object) page));
+        assertThat(statistics.getCompressionRatio(), is(lessThan(0.5)));
+    }
+
+}
@@ -0,0 +1,60 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.wicket.viewer.integration.wicket;
+
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class CssCompressorForIsisTest {
+
+    private final CssCompressorForIsis compressor = new CssCompressorForIsis();
+
+    @Test
+    public void removes_comments_and_collapses_whitespace() throws Exception {
+        final String css = "/* header */\n.a  .b ,\n.c {\n    color : red;\n    margin: 0  auto;\n}\n";
+        assertThat(compressor.compress(css), is(".a .b,.c{color : red;margin: 0 auto}"));
+    }
+
+    @Test
+    public void retains_license_comments() throws Exception {
+        assertThat(compressor.compress("/*! (c) someone */\n.a { color: red; }"), is("/*! (c) someone */ .a{color: red}"));
+    }
+
+    @Test
+    public void leaves_strings_untouched() throws Exception {
+        assertThat(compressor.compress(".a:before { content: \"  /* x */ ; \"; }"),
+                is(".a:before{content: \"  /* x */ ; \"}"));
+        assertThat(compressor.compress(".a { font-family: 'It\\'s  here'; }"),
+                is(".a{font-family: 'It\\'s  here'}"));
+    }
+
+    @Test
+    public void preserves_whitespace_significant_to_selectors_and_calc() throws Exception {
+        assertThat(compressor.compress("div :first-child { width: calc(100% - 10px); }"),
+                is("div :first-child{width: calc(100% - 10px)}"));
+    }
+
+    @Test
+    public void removes_whitespace_around_child_combinator() throws Exception {
+        assertThat(compressor.compress("ul > li { }"), is("ul>li{}"));
+    }
+
+}
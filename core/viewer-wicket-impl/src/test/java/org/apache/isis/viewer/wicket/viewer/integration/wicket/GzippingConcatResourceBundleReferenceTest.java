@@ -0,0 +1,68 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.wicket.viewer.integration.wicket;
+
+import java.io.ByteArrayInputStream;
+import java.util.Collections;
+import java.util.zip.GZIPInputStream;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.ByteStreams;
+
+import org.apache.wicket.markup.head.JavaScriptReferenceHeaderItem;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class GzippingConcatResourceBundleReferenceTest {
+
+    private final GzippingConcatResourceBundleReference<JavaScriptReferenceHeaderItem> reference =
+            new GzippingConcatResourceBundleReference<>(
+                    GzippingConcatResourceBundleReferenceTest.class, "test-bundle.js",
+                    Collections.<JavaScriptReferenceHeaderItem>emptyList());
+
+    @Test
+    public void round_trip() throws Exception {
+        final byte[] bytes = "var a = 1;\nvar b = 2;\n".getBytes(Charsets.UTF_8);
+
+        final byte[] gzipped = GzippingConcatResourceBundleReference.gzip(bytes);
+
+        assertThat(ByteStreams.toByteArray(new GZIPInputStream(new ByteArrayInputStream(gzipped))), is(bytes));
+    }
+
+    @Test
+    public void compressed_once_for_same_content() throws Exception {
+        final byte[] gzipped1 = reference.gzippedFor("var a = 1;".getBytes(Charsets.UTF_8));
+        final byte[] gzipped2 = reference.gzippedFor("var a = 1;".getBytes(Charsets.UTF_8));
+
+        assertThat(gzipped2, is(sameInstance(gzipped1)));
+    }
+
+    @Test
+    public void compressed_again_when_content_changes() throws Exception {
+        final byte[] gzipped1 = reference.gzippedFor("var a = 1;".getBytes(Charsets.UTF_8));
+        final byte[] gzipped2 = reference.gzippedFor("var a = 2;".getBytes(Charsets.UTF_8));
+
+        assertThat(gzipped2, is(not(sameInstance(gzipped1))));
+    }
+
+}
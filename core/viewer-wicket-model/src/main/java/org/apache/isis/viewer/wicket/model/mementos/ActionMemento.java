@@ -19,6 +19,10 @@
 
 package org.apache.isis.viewer.wicket.model.mementos;
 
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.io.Serializable;
 
 import org.apache.isis.applib.annotation.ActionSemantics;
@@ -32,17 +36,23 @@
 /**
  * {@link Serializable} represention of a {@link ObjectAction}
  */
-public class ActionMemento implements Serializable {
+public class ActionMemento implements Externalizable {
 
     private static final long serialVersionUID = 1L;
     
-    private final ObjectSpecId owningType;
-    private final ActionType actionType;
-    private final String nameParmsId;
-    private final ActionSemantics.Of actionSemantics;
+    private ObjectSpecId owningType;
+    private ActionType actionType;
+    private String nameParmsId;
+    private ActionSemantics.Of actionSemantics;
 
     private transient ObjectAction action;
 
+    /**
+     * For {@link Externalizable} only.
+     */
+    public ActionMemento() {
+    }
+
     public ActionMemento(final ObjectAction action) {
         this(action.getOnType().getSpecId(), action.getType(), action.getIdentifier().toNameParmsIdentityString(), action);
     }
@@ -90,6 +100,22 @@ public ObjectAction getAction(final SpecificationLoader specificationLoader) {
         return action;
     }
 
+    @Override
+    public void writeExternal(final ObjectOutput out) throws IOException {
+        ExternalizableUtils.writeSpecId(out, owningType);
+        ExternalizableUtils.writeEnum(out, actionType);
+        ExternalizableUtils.writeInterned(out, nameParmsId);
+        ExternalizableUtils.writeEnum(out, actionSemantics);
+    }
+
+    @Override
+    public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
+        owningType = ExternalizableUtils.readSpecId(in);
+        actionType = ExternalizableUtils.readEnum(in, ActionType.class);
+        nameParmsId = ExternalizableUtils.readString(in);
+        actionSemantics = ExternalizableUtils.readEnum(in, ActionSemantics.Of.class);
+    }
+
     private static ObjectAction actionFor(
             ObjectSpecId owningType,
             ActionType actionType,
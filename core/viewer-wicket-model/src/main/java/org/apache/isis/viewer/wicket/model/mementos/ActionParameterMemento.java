@@ -19,6 +19,10 @@
 
 package org.apache.isis.viewer.wicket.model.mementos;
 
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.io.Serializable;
 
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
@@ -32,15 +36,21 @@
  * 
  * @see ActionMemento
  */
-public class ActionParameterMemento implements Serializable {
+public class ActionParameterMemento implements Externalizable {
 
     private static final long serialVersionUID = 1L;
 
-    private final ActionMemento actionMemento;
-    private final int number;
+    private ActionMemento actionMemento;
+    private int number;
 
     private transient ObjectActionParameter actionParameter;
 
+    /**
+     * For {@link Externalizable} only.
+     */
+    public ActionParameterMemento() {
+    }
+
     public ActionParameterMemento(
             final ActionMemento actionMemento,
             final int number,
@@ -76,6 +86,18 @@ public ObjectActionParameter getActionParameter(final SpecificationLoader specif
         return actionParameter;
     }
 
+    @Override
+    public void writeExternal(final ObjectOutput out) throws IOException {
+        out.writeObject(actionMemento);
+        out.writeByte(number);
+    }
+
+    @Override
+    public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
+        actionMemento = (ActionMemento) in.readObject();
+        number = in.readByte();
+    }
+
     private static ObjectActionParameter actionParameterFor(
             final ActionMemento actionMemento,
             final int number,
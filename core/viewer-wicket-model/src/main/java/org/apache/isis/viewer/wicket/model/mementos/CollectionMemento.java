@@ -19,6 +19,10 @@
 
 package org.apache.isis.viewer.wicket.model.mementos;
 
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.io.Serializable;
 
 import org.apache.isis.core.metamodel.spec.ObjectSpecId;
@@ -31,7 +35,7 @@
  * {@link Serializable} representation of a {@link OneToManyAssociation} (a
  * parented collection of entities).
  */
-public class CollectionMemento implements Serializable {
+public class CollectionMemento implements Externalizable {
 
     private static final long serialVersionUID = 1L;
 
@@ -42,13 +46,19 @@ private static ObjectSpecification owningSpecFor(
         return specificationLoader.loadSpecification(association.getIdentifier().toClassIdentityString());
     }
 
-    private final ObjectSpecId owningType;
-    private final String id;
-    private final String collectionId;
-    private final String collectionName;
+    private ObjectSpecId owningType;
+    private String id;
+    private String collectionId;
+    private String collectionName;
 
     private transient OneToManyAssociation collection;
 
+    /**
+     * For {@link Externalizable} only.
+     */
+    public CollectionMemento() {
+    }
+
     public CollectionMemento(final OneToManyAssociation collection, final IsisSessionFactory isisSessionFactory) {
         this(owningSpecFor(collection, isisSessionFactory).getSpecId(), collection.getIdentifier().toNameIdentityString(), collection);
     }
@@ -98,6 +108,22 @@ public OneToManyAssociation getCollection(final SpecificationLoader specificatio
         return collection;
     }
 
+    @Override
+    public void writeExternal(final ObjectOutput out) throws IOException {
+        ExternalizableUtils.writeSpecId(out, owningType);
+        ExternalizableUtils.writeInterned(out, id);
+        ExternalizableUtils.writeInterned(out, collectionId);
+        ExternalizableUtils.writeInterned(out, collectionName);
+    }
+
+    @Override
+    public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
+        owningType = ExternalizableUtils.readSpecId(in);
+        id = ExternalizableUtils.readString(in);
+        collectionId = ExternalizableUtils.readString(in);
+        collectionName = ExternalizableUtils.readString(in);
+    }
+
     private static OneToManyAssociation collectionFor(
             ObjectSpecId owningType,
             String id,
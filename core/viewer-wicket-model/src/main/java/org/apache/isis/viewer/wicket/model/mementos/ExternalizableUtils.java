@@ -0,0 +1,98 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.viewer.wicket.model.mementos;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.google.common.collect.Maps;
+
+import org.apache.isis.core.metamodel.spec.ObjectSpecId;
+
+/**
+ * Helpers for the {@link java.io.Externalizable} mementos.
+ *
+ * <p>
+ *     Metamodel-derived strings (spec ids, member ids, enum names) are interned before being written.  Java
+ *     serialization writes each distinct string instance only once per stream (thereafter just a 5-byte back
+ *     reference), so a page that refers to the same type or member many times over pays for its name just once.
+ *     This gives the benefit of a dictionary of spec ids, but (unlike a dictionary of indices computed from the
+ *     metamodel) without any coupling between the serialized form and the metamodel of the JVM that wrote it.
+ * </p>
+ */
+final class ExternalizableUtils {
+
+    private ExternalizableUtils() {
+    }
+
+    /**
+     * Bounded by the size of the metamodel, so a strong interner is fine.
+     */
+    private static final Interner<String> STRINGS = Interners.newStrongInterner();
+
+    private static final ConcurrentMap<String, ObjectSpecId> SPEC_IDS = Maps.newConcurrentMap();
+
+    static void writeSpecId(final ObjectOutput out, final ObjectSpecId specId) throws IOException {
+        writeInterned(out, specId != null ? specId.asString() : null);
+    }
+
+    static ObjectSpecId readSpecId(final ObjectInput in) throws IOException, ClassNotFoundException {
+        final String specIdStr = readString(in);
+        if(specIdStr == null) {
+            return null;
+        }
+        final ObjectSpecId specId = SPEC_IDS.get(specIdStr);
+        if(specId != null) {
+            return specId;
+        }
+        final ObjectSpecId newSpecId = ObjectSpecId.of(specIdStr);
+        final ObjectSpecId existing = SPEC_IDS.putIfAbsent(specIdStr, newSpecId);
+        return existing != null ? existing : newSpecId;
+    }
+
+    /**
+     * For strings drawn from a bounded set, eg identifiers of members of the metamodel.
+     */
+    static void writeInterned(final ObjectOutput out, final String str) throws IOException {
+        out.writeObject(str != null ? STRINGS.intern(str) : null);
+    }
+
+    static void writeString(final ObjectOutput out, final String str) throws IOException {
+        out.writeObject(str);
+    }
+
+    static String readString(final ObjectInput in) throws IOException, ClassNotFoundException {
+        return (String) in.readObject();
+    }
+
+    static void writeEnum(final ObjectOutput out, final Enum<?> value) throws IOException {
+        out.writeObject(value != null ? value.name() : null);
+    }
+
+    static <T extends Enum<T>> T readEnum(final ObjectInput in, final Class<T> enumType) throws IOException, ClassNotFoundException {
+        final String name = readString(in);
+        return name != null ? Enum.valueOf(enumType, name) : null;
+    }
+
+}
@@ -19,7 +19,10 @@
 
 package org.apache.isis.viewer.wicket.model.mementos;
 
-import java.io.Serializable;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -51,7 +54,17 @@
 import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
 import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
 
-public class ObjectAdapterMemento implements Serializable {
+/**
+ * Serializable (for storing in Wicket's page store) memento of an {@link ObjectAdapter} or a list of adapters.
+ *
+ * <p>
+ *     Uses a compact {@link Externalizable externalized} form: only the fields relevant to the {@link Sort sort} and
+ *     {@link Type type} of memento are written, the {@link Bookmark} is derived from the oid rather than stored,
+ *     spec ids are interned (see {@link ExternalizableUtils}), and the elements of a list are written inline rather
+ *     than as nested objects.
+ * </p>
+ */
+public class ObjectAdapterMemento implements Externalizable {
 
     private static final long serialVersionUID = 1L;
 
@@ -343,19 +356,14 @@ public abstract void resetVersion(
 
 
 
-    private final Sort sort;
-    private final ObjectSpecId objectSpecId;
+    private Sort sort;
+    private ObjectSpecId objectSpecId;
 
     /**
      * Populated only if {@link #getSort() sort} is {@link Sort#SCALAR scalar}
      */
     private Type type;
 
-    /**
-     * Populated only if {@link #getSort() sort} is {@link Sort#SCALAR scalar}
-     */
-    private String titleHint;
-
     /**
      * The current value, if {@link Type#ENCODEABLE}; will be <tt>null</tt> otherwise.
      *
@@ -373,12 +381,12 @@ public abstract void resetVersion(
     private String persistentOidStr;
 
     /**
-     * The current value, if {@link Type#PERSISTENT}, will be <tt>null</tt> otherwise.
+     * Derived from {@link #persistentOidStr}, so not serialized.
      *
      * <p>
-     * Also, populated only if {@link #getSort() sort} is {@link Sort#SCALAR scalar}
+     * Populated (lazily) only if {@link #getSort() sort} is {@link Sort#SCALAR scalar} and {@link Type#PERSISTENT}.
      */
-    private Bookmark bookmark;
+    private transient Bookmark bookmark;
 
     /**
      * Only populated for {@link ObjectAdapter#getObject() domain object}s that implement {@link HintStore.HintIdProvider}.
@@ -394,10 +402,16 @@ public abstract void resetVersion(
     private Memento transientMemento;
 
     /**
-     * opulated only if {@link #getSort() sort} is {@link Sort#VECTOR vector}
+     * Populated only if {@link #getSort() sort} is {@link Sort#VECTOR vector}
      */
     private ArrayList<ObjectAdapterMemento> list;
 
+    /**
+     * For {@link Externalizable} only.
+     */
+    public ObjectAdapterMemento() {
+    }
+
     public ObjectAdapterMemento(final ArrayList<ObjectAdapterMemento> list, final ObjectSpecId objectSpecId) {
         this.sort = Sort.VECTOR;
         this.list = list;
@@ -474,6 +488,9 @@ public void resetVersion(
 
     public Bookmark asBookmark() {
         ensureScalar();
+        if(bookmark == null && type == Type.PERSISTENT) {
+            bookmark = OID_MARSHALLER.unmarshal(persistentOidStr, RootOid.class).asBookmark();
+        }
         return bookmark;
     }
 
@@ -543,6 +560,82 @@ public boolean containedIn(
         return false;
     }
 
+    //////////////////////////////////////////////////
+    // Externalizable
+    //////////////////////////////////////////////////
+
+    @Override
+    public void writeExternal(final ObjectOutput out) throws IOException {
+        out.writeByte(sort.ordinal());
+        ExternalizableUtils.writeSpecId(out, objectSpecId);
+        if(sort == Sort.VECTOR) {
+            out.writeInt(list.size());
+            for (final ObjectAdapterMemento element : list) {
+                out.writeBoolean(element != null);
+                if(element != null) {
+                    element.writeExternal(out);
+                }
+            }
+            return;
+        }
+        out.writeByte(type.ordinal());
+        switch (type) {
+        case ENCODEABLE:
+            ExternalizableUtils.writeString(out, encodableValue);
+            break;
+        case PERSISTENT:
+            // the oid (usually) starts with the spec id, already written above
+            final String oidPrefix = oidPrefix();
+            final boolean hasPrefix = persistentOidStr.startsWith(oidPrefix);
+            out.writeBoolean(hasPrefix);
+            ExternalizableUtils.writeString(out, hasPrefix ? persistentOidStr.substring(oidPrefix.length()) : persistentOidStr);
+            ExternalizableUtils.writeString(out, hintId);
+            break;
+        case TRANSIENT:
+            out.writeObject(transientMemento);
+            break;
+        }
+    }
+
+    @Override
+    public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
+        sort = Sort.values()[in.readByte()];
+        objectSpecId = ExternalizableUtils.readSpecId(in);
+        if(sort == Sort.VECTOR) {
+            final int size = in.readInt();
+            list = Lists.newArrayListWithCapacity(size);
+            for (int i = 0; i < size; i++) {
+                if(in.readBoolean()) {
+                    final ObjectAdapterMemento element = new ObjectAdapterMemento();
+                    element.readExternal(in);
+                    list.add(element);
+                } else {
+                    list.add(null);
+                }
+            }
+            return;
+        }
+        type = Type.values()[in.readByte()];
+        switch (type) {
+        case ENCODEABLE:
+            encodableValue = ExternalizableUtils.readString(in);
+            break;
+        case PERSISTENT:
+            final boolean hasPrefix = in.readBoolean();
+            final String oidStr = ExternalizableUtils.readString(in);
+            persistentOidStr = hasPrefix ? oidPrefix() + oidStr : oidStr;
+            hintId = ExternalizableUtils.readString(in);
+            break;
+        case TRANSIENT:
+            transientMemento = (Memento) in.readObject();
+            break;
+        }
+    }
+
+    private String oidPrefix() {
+        return objectSpecId.asString() + ":";
+    }
+
     @Override
     public int hashCode() {
         return sort.hashCode(this);
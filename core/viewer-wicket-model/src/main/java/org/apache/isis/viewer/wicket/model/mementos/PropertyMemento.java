@@ -19,7 +19,10 @@
 
 package org.apache.isis.viewer.wicket.model.mementos;
 
-import java.io.Serializable;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 
 import org.apache.isis.core.metamodel.spec.ObjectSpecId;
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
@@ -28,7 +31,7 @@
 import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
 import org.apache.isis.viewer.wicket.model.models.EntityModel;
 
-public class PropertyMemento implements Serializable {
+public class PropertyMemento implements Externalizable {
 
     private static final long serialVersionUID = 1L;
 
@@ -39,9 +42,15 @@ private static ObjectSpecification owningSpecFor(
         return specificationLoader.loadSpecification(property.getIdentifier().toClassIdentityString());
     }
 
-    private final ObjectSpecId owningSpecId;
-    private final String identifier;
-    private final ObjectSpecId specId;
+    private ObjectSpecId owningSpecId;
+    private String identifier;
+    private ObjectSpecId specId;
+
+    /**
+     * For {@link Externalizable} only.
+     */
+    public PropertyMemento() {
+    }
 
     public PropertyMemento(
             final OneToOneAssociation property, final IsisSessionFactory isisSessionFactory) {
@@ -77,6 +86,20 @@ public OneToOneAssociation getProperty(final SpecificationLoader specificationLo
         return propertyFor(owningSpecId, identifier, specificationLoader);
     }
 
+    @Override
+    public void writeExternal(final ObjectOutput out) throws IOException {
+        ExternalizableUtils.writeSpecId(out, owningSpecId);
+        ExternalizableUtils.writeInterned(out, identifier);
+        ExternalizableUtils.writeSpecId(out, specId);
+    }
+
+    @Override
+    public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
+        owningSpecId = ExternalizableUtils.readSpecId(in);
+        identifier = ExternalizableUtils.readString(in);
+        specId = ExternalizableUtils.readSpecId(in);
+    }
+
     private static OneToOneAssociation propertyFor(
             ObjectSpecId owningType,
             String identifier,
@@ -91,13 +91,31 @@ List<ObjectAdapter> load(final EntityCollectionModel entityCollectionModel) {
                 final boolean bulkLoad = entityCollectionModel.getPersistenceSession().getConfiguration()
                         .getBoolean(KEY_BULK_LOAD, false);
                 final Iterable<ObjectAdapter> values = bulkLoad
-                                ? loadInBulk(entityCollectionModel)
-                                : loadOneByOne(entityCollectionModel);
+                                ? loadInBulk(entityCollectionModel, entityCollectionModel.mementoList)
+                                : loadOneByOne(entityCollectionModel, entityCollectionModel.mementoList);
                 return Lists.newArrayList(values);
             }
 
-            private Iterable<ObjectAdapter> loadInBulk(final EntityCollectionModel model) {
-                final List<ObjectAdapterMemento> mementoList = model.mementoList;
+            @Override
+            Iterable<ObjectAdapter> iterate(final EntityCollectionModel entityCollectionModel, final int chunkSize) {
+                final boolean bulkLoad = entityCollectionModel.getPersistenceSession().getConfiguration()
+                        .getBoolean(KEY_BULK_LOAD, false);
+                final Iterable<List<ObjectAdapterMemento>> chunks =
+                        Iterables.partition(entityCollectionModel.mementoList, chunkSize);
+                return Iterables.concat(Iterables.transform(chunks,
+                        new Function<List<ObjectAdapterMemento>, Iterable<ObjectAdapter>>() {
+                            @Override
+                            public Iterable<ObjectAdapter> apply(final List<ObjectAdapterMemento> chunk) {
+                                return bulkLoad
+                                        ? loadInBulk(entityCollectionModel, chunk)
+                                        : loadOneByOne(entityCollectionModel, chunk);
+                            }
+                        }));
+            }
+
+            private Iterable<ObjectAdapter> loadInBulk(
+                    final EntityCollectionModel model,
+                    final List<ObjectAdapterMemento> mementoList) {
 
                 final PersistenceSession persistenceSession = model.getPersistenceSession();
 
@@ -110,8 +128,9 @@ private Iterable<ObjectAdapter> loadInBulk(final EntityCollectionModel model) {
                         .filter(Predicates.<ObjectAdapter>notNull());
             }
 
-            private Iterable<ObjectAdapter> loadOneByOne(final EntityCollectionModel model) {
-                final List<ObjectAdapterMemento> mementoList = model.mementoList;
+            private Iterable<ObjectAdapter> loadOneByOne(
+                    final EntityCollectionModel model,
+                    final List<ObjectAdapterMemento> mementoList) {
                 return FluentIterable.from(mementoList)
                             .transform(
                                 ObjectAdapterMemento.Functions.fromMemento(
@@ -157,33 +176,39 @@ public EntityModel.RenderingHint renderingHint() {
         PARENTED {
             @Override
             List<ObjectAdapter> load(final EntityCollectionModel entityCollectionModel) {
-                final ObjectAdapter adapter = entityCollectionModel.getParentObjectAdapterMemento().getObjectAdapter(
-                        ConcurrencyChecking.NO_CHECK, entityCollectionModel.getPersistenceSession(),
-                        entityCollectionModel.getSpecificationLoader());
-                final OneToManyAssociation collection = entityCollectionModel.collectionMemento.getCollection(
-                        entityCollectionModel.getSpecificationLoader());
-                final ObjectAdapter collectionAsAdapter = collection.get(adapter, InteractionInitiatedBy.USER);
+                final Iterable<ObjectAdapter> adapterIterable = iterate(entityCollectionModel, Integer.MAX_VALUE);
+                final List<ObjectAdapter> adapterList = Lists.newArrayList(adapterIterable);
+
+                return adapterList;
+            }
+
+            @Override
+            Iterable<ObjectAdapter> iterate(final EntityCollectionModel entityCollectionModel, final int chunkSize) {
+                final ObjectAdapter collectionAsAdapter = collectionAsAdapter(entityCollectionModel);
 
-                final List<Object> objectList = asIterable(collectionAsAdapter);
+                Iterable<Object> objects = EntityCollectionModel.asIterable(collectionAsAdapter);
 
                 final Class<? extends Comparator<?>> sortedBy = entityCollectionModel.sortedBy;
                 if(sortedBy != null) {
                     @SuppressWarnings("unchecked")
                     final Comparator<Object> comparator = (Comparator<Object>) InstanceUtil.createInstance(sortedBy);
                     entityCollectionModel.getIsisSessionFactory().getServicesInjector().injectServicesInto(comparator);
+                    final List<Object> objectList = Lists.newArrayList(objects);
                     Collections.sort(objectList, comparator);
+                    objects = objectList;
                 }
 
-                final Iterable<ObjectAdapter> adapterIterable = Iterables.transform(objectList, ObjectAdapter.Functions.adapterForUsing( entityCollectionModel.getPersistenceSession()));
-                final List<ObjectAdapter> adapterList = Lists.newArrayList(adapterIterable);
-
-                return adapterList;
+                // adapters are created lazily
+                return Iterables.transform(objects, ObjectAdapter.Functions.adapterForUsing( entityCollectionModel.getPersistenceSession()));
             }
 
-            @SuppressWarnings("unchecked")
-            private List<Object> asIterable(final ObjectAdapter collectionAsAdapter) {
-                final Iterable<Object> objects = (Iterable<Object>) collectionAsAdapter.getObject();
-                return Lists.newArrayList(objects);
+            private ObjectAdapter collectionAsAdapter(final EntityCollectionModel entityCollectionModel) {
+                final ObjectAdapter adapter = entityCollectionModel.getParentObjectAdapterMemento().getObjectAdapter(
+                        ConcurrencyChecking.NO_CHECK, entityCollectionModel.getPersistenceSession(),
+                        entityCollectionModel.getSpecificationLoader());
+                final OneToManyAssociation collection = entityCollectionModel.collectionMemento.getCollection(
+                        entityCollectionModel.getSpecificationLoader());
+                return collection.get(adapter, InteractionInitiatedBy.USER);
             }
 
             @Override
@@ -203,7 +228,8 @@ public String getName(EntityCollectionModel model) {
 
             @Override
             public int getCount(EntityCollectionModel model) {
-                return load(model).size();
+                final Integer size = sizeOf(collectionAsAdapter(model));
+                return size != null ? size : load(model).size();
             }
 
             @Override
@@ -215,6 +241,8 @@ public EntityModel.RenderingHint renderingHint() {
 
         abstract List<ObjectAdapter> load(EntityCollectionModel entityCollectionModel);
 
+        abstract Iterable<ObjectAdapter> iterate(EntityCollectionModel entityCollectionModel, int chunkSize);
+
         abstract void setObject(EntityCollectionModel entityCollectionModel, List<ObjectAdapter> list);
 
         public abstract String getId(EntityCollectionModel entityCollectionModel);
@@ -454,6 +482,18 @@ protected List<ObjectAdapter> load() {
         return type.load(this);
     }
 
+    /**
+     * The elements of the collection, obtained lazily rather than all at once (as per {@link #getObject()}); the
+     * mementos of a {@link Type#STANDALONE standalone} collection are resolved in chunks of the specified size.
+     *
+     * <p>
+     *     For iterating over very large collections, eg to export them; the elements are not retained by this model.
+     * </p>
+     */
+    public Iterable<ObjectAdapter> iterateElements(final int chunkSize) {
+        return type.iterate(this, Math.max(1, chunkSize));
+    }
+
     public ObjectSpecification getTypeOfSpecification() {
         if (typeOfSpec == null) {
             typeOfSpec = getSpecificationLoader().loadSpecification(typeOf);
@@ -497,6 +537,18 @@ public CollectionMemento getCollectionMemento() {
         return collectionMemento;
     }
 
+    /**
+     * The size of the underlying collection, if it is a {@link Collection}, obtained without loading (and creating
+     * adapters for, and sorting) its elements; for lazily-loaded persistent collections, size() is typically
+     * evaluated using a count query.
+     *
+     * @return <tt>null</tt> if the size cannot be obtained this way, in which case the elements must be loaded.
+     */
+    static Integer sizeOf(final ObjectAdapter collectionAsAdapter) {
+        final Object collection = collectionAsAdapter != null ? collectionAsAdapter.getObject() : null;
+        return collection instanceof Collection ? ((Collection<?>) collection).size() : null;
+    }
+
     @SuppressWarnings("unchecked")
     private static Iterable<Object> asIterable(final ObjectAdapter resultAdapter) {
         return (Iterable<Object>) resultAdapter.getObject();
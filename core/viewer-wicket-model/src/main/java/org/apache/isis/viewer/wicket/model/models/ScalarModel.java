@@ -695,6 +695,7 @@ private void init() {
     }
     
     public void reset() {
+        clearChoicesMemo();
         kind.reset(this);
     }
 
@@ -889,6 +890,80 @@ public List<ObjectAdapter> getChoices(
         return kind.getChoices(this, argumentsIfAvailable, authenticationSession, deploymentCategory);
     }
 
+    // //////////////////////////////////////
+
+    /**
+     * The arguments that the {@link #choicesMemo memoized choices} were obtained for (or rather, just those that the
+     * choices depend upon); populated only if {@link #getKind()} is {@link Kind#PARAMETER}.
+     */
+    private ArrayList<ObjectAdapterMemento> choicesMemoDependentArgs;
+    private ArrayList<ObjectAdapterMemento> choicesMemo;
+
+    /**
+     * As {@link #getChoices(ObjectAdapter[], AuthenticationSession, DeploymentCategory)}, but returning mementos.
+     *
+     * <p>
+     *     For {@link Kind#PARAMETER parameter}s, the choices are memoized for the lifetime of the prompt, keyed on
+     *     the values of those (preceding) arguments that the choices actually depend upon (as per
+     *     {@link ObjectActionParameter#getChoicesDependentArgumentCount()}).  The <tt>choicesNXxx()</tt> supporting
+     *     method is therefore only invoked again once one of those arguments has changed, rather than on every
+     *     update of any other parameter of the prompt.
+     * </p>
+     */
+    public List<ObjectAdapterMemento> getChoiceMementos(
+            final ObjectAdapter[] argumentsIfAvailable,
+            final AuthenticationSession authenticationSession,
+            final DeploymentCategory deploymentCategory) {
+
+        final ArrayList<ObjectAdapterMemento> dependentArgs = choicesDependentArgsFor(argumentsIfAvailable);
+        if(dependentArgs != null && choicesMemo != null && dependentArgs.equals(choicesMemoDependentArgs)) {
+            return Lists.newArrayList(choicesMemo);
+        }
+
+        final List<ObjectAdapter> choices = getChoices(argumentsIfAvailable, authenticationSession, deploymentCategory);
+        // take a copy (otherwise is only lazily evaluated)
+        final ArrayList<ObjectAdapterMemento> choiceMementos =
+                Lists.newArrayList(Lists.transform(choices, ObjectAdapterMemento.Functions.fromAdapter()));
+
+        if(dependentArgs != null) {
+            this.choicesMemoDependentArgs = dependentArgs;
+            this.choicesMemo = Lists.newArrayList(choiceMementos);
+        }
+        return choiceMementos;
+    }
+
+    /**
+     * Whether a call to {@link #getChoiceMementos(ObjectAdapter[], AuthenticationSession, DeploymentCategory)} with
+     * these arguments would just return the previously obtained choices.
+     */
+    public boolean hasMemoizedChoicesFor(final ObjectAdapter[] argumentsIfAvailable) {
+        if(choicesMemo == null) {
+            return false;
+        }
+        final ArrayList<ObjectAdapterMemento> dependentArgs = choicesDependentArgsFor(argumentsIfAvailable);
+        return dependentArgs != null && dependentArgs.equals(choicesMemoDependentArgs);
+    }
+
+    private ArrayList<ObjectAdapterMemento> choicesDependentArgsFor(final ObjectAdapter[] argumentsIfAvailable) {
+        if(kind != Kind.PARAMETER) {
+            return null;
+        }
+        final ObjectActionParameter actionParameter = getParameterMemento().getActionParameter(getSpecificationLoader());
+        final int dependentArgCount = actionParameter.getChoicesDependentArgumentCount();
+        final ArrayList<ObjectAdapterMemento> dependentArgs = Lists.newArrayList();
+        for (int i = 0; i < dependentArgCount; i++) {
+            final ObjectAdapter argument =
+                    argumentsIfAvailable != null && i < argumentsIfAvailable.length ? argumentsIfAvailable[i] : null;
+            dependentArgs.add(ObjectAdapterMemento.createOrNull(argument));
+        }
+        return dependentArgs;
+    }
+
+    private void clearChoicesMemo() {
+        this.choicesMemoDependentArgs = null;
+        this.choicesMemo = null;
+    }
+
     public boolean hasAutoComplete() {
         return kind.hasAutoComplete(this);
     }
@@ -0,0 +1,109 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.wicket.model.mementos;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.adapter.oid.RootOid;
+import org.apache.isis.core.metamodel.spec.ObjectSpecId;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class ObjectAdapterMemento_serializationTest {
+
+    private final ObjectSpecId specId = ObjectSpecId.of("simple.SimpleObject");
+
+    @Test
+    public void persistent_round_trip() throws Exception {
+        final RootOid rootOid = RootOid.create(specId, "L_1", 3L, "sven", 1500000000000L);
+        final ObjectAdapterMemento oam = ObjectAdapterMemento.createPersistent(rootOid);
+
+        final ObjectAdapterMemento roundTripped = roundTrip(oam);
+
+        assertThat(roundTripped, is(oam));
+        assertThat(roundTripped.asString(), is(rootOid.enString()));
+        assertThat(roundTripped.getObjectSpecId(), is(specId));
+        assertThat(roundTripped.asBookmark(), is(rootOid.asBookmark()));
+    }
+
+    @Test
+    public void persistent_view_model_round_trip() throws Exception {
+        final RootOid rootOid = RootOid.create(specId, "abc", null);
+        final ObjectAdapterMemento oam = ObjectAdapterMemento.createPersistent(rootOid);
+
+        final ObjectAdapterMemento roundTripped = roundTrip(oam);
+
+        assertThat(roundTripped.asString(), is(rootOid.enString()));
+        assertThat(roundTripped.asBookmark(), is(rootOid.asBookmark()));
+    }
+
+    @Test
+    public void list_round_trip() throws Exception {
+        final List<ObjectAdapterMemento> elements = Lists.newArrayList();
+        elements.add(ObjectAdapterMemento.createPersistent(RootOid.create(specId, "L_1")));
+        elements.add(null);
+        elements.add(ObjectAdapterMemento.createPersistent(RootOid.create(specId, "L_2")));
+        final ObjectAdapterMemento oam = ObjectAdapterMemento.createForList(elements, specId);
+
+        final ObjectAdapterMemento roundTripped = roundTrip(oam);
+
+        assertThat(roundTripped, is(oam));
+        assertThat(roundTripped.getList().size(), is(3));
+        assertThat(roundTripped.getList().get(1), is(nullValue()));
+        assertThat(roundTripped.getList().get(2).asBookmark(), is(elements.get(2).asBookmark()));
+    }
+
+    @Test
+    public void list_is_compact() throws Exception {
+        final List<ObjectAdapterMemento> elements = Lists.newArrayList();
+        for (int i = 0; i < 100; i++) {
+            final RootOid rootOid = RootOid.create(ObjectSpecId.of(specId.asString()), "L_" + i, 3L, "sven", 1500000000000L);
+            elements.add(ObjectAdapterMemento.createPersistent(rootOid));
+        }
+        final ObjectAdapterMemento oam = ObjectAdapterMemento.createForList(elements, specId);
+
+        // was over 13k using default serialization
+        assertThat(serialize(oam).length, is(lessThan(5000)));
+    }
+
+    private static ObjectAdapterMemento roundTrip(final ObjectAdapterMemento oam) throws Exception {
+        final ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(serialize(oam)));
+        return (ObjectAdapterMemento) ois.readObject();
+    }
+
+    private static byte[] serialize(final Object obj) throws Exception {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final ObjectOutputStream oos = new ObjectOutputStream(baos);
+        oos.writeObject(obj);
+        oos.close();
+        return baos.toByteArray();
+    }
+
+}
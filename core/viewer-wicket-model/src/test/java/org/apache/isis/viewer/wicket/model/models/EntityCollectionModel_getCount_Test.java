@@ -0,0 +1,89 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.wicket.model.models;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class EntityCollectionModel_getCount_Test {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private ObjectAdapter mockCollectionAdapter;
+
+    /**
+     * As for a lazily-loaded persistent collection, whose size is known without loading its elements.
+     */
+    static class NotLoadable extends AbstractList<Object> {
+        @Override
+        public Object get(final int index) {
+            throw new AssertionError("elements should not be loaded");
+        }
+        @Override
+        public int size() {
+            return 3;
+        }
+    }
+
+    @Test
+    public void when_collection_then_size_obtained_without_loading_elements() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockCollectionAdapter).getObject();
+            will(returnValue(new NotLoadable()));
+        }});
+
+        assertThat(EntityCollectionModel.sizeOf(mockCollectionAdapter), is(3));
+    }
+
+    @Test
+    public void when_only_iterable_then_must_be_loaded() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockCollectionAdapter).getObject();
+            will(returnValue(new Iterable<Object>() {
+                @Override
+                public Iterator<Object> iterator() {
+                    return Arrays.<Object>asList("a", "b").iterator();
+                }
+            }));
+        }});
+
+        assertThat(EntityCollectionModel.sizeOf(mockCollectionAdapter), is(nullValue()));
+    }
+
+    @Test
+    public void when_no_adapter_then_must_be_loaded() throws Exception {
+        assertThat(EntityCollectionModel.sizeOf(null), is(nullValue()));
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.viewer.wicket.ui.components.collection;
+
+import org.apache.wicket.Component;
+import org.apache.wicket.extensions.ajax.markup.html.AjaxLazyLoadPanel;
+import org.apache.wicket.markup.head.IHeaderResponse;
+import org.apache.wicket.markup.head.OnDomReadyHeaderItem;
+
+import org.apache.isis.viewer.wicket.model.models.EntityCollectionModel;
+import org.apache.isis.viewer.wicket.ui.ComponentType;
+import org.apache.isis.viewer.wicket.ui.app.registry.ComponentFactoryRegistry;
+import org.apache.isis.viewer.wicket.ui.app.registry.ComponentFactoryRegistryAccessor;
+
+/**
+ * Defers the rendering of the {@link ComponentType#COLLECTION_CONTENTS contents} of a collection until the collection
+ * is scrolled into view, so that (the elements of) collections further down the page are only loaded if required.
+ *
+ * <p>
+ *     The contents are requested by an Ajax callback, triggered by an <tt>IntersectionObserver</tt>; browsers that
+ *     do not support <tt>IntersectionObserver</tt> simply request the contents as soon as the page has loaded.
+ * </p>
+ */
+public class CollectionContentsLazyLoadPanel extends AjaxLazyLoadPanel {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * How far outside of the viewport that a collection is requested, so that it has (usually) been rendered
+     * by the time that it is scrolled to.
+     */
+    private static final String ROOT_MARGIN = "200px";
+
+    public CollectionContentsLazyLoadPanel(final String id, final EntityCollectionModel model) {
+        super(id, model);
+    }
+
+    @Override
+    public Component getLazyLoadComponent(final String markupId) {
+        final ComponentFactoryRegistry componentFactoryRegistry =
+                ((ComponentFactoryRegistryAccessor) getApplication()).getComponentFactoryRegistry();
+        return componentFactoryRegistry.createComponent(ComponentType.COLLECTION_CONTENTS, markupId, getDefaultModel());
+    }
+
+    @Override
+    protected void handleCallbackScript(
+            final IHeaderResponse response,
+            final CharSequence callbackScript,
+            final Component component) {
+        final String markupId = component.getMarkupId();
+        final String script =
+                "(function() {"
+                + " var load = function() { " + callbackScript + " };"
+                + " var el = document.getElementById('" + markupId + "');"
+                + " if (!el || !('IntersectionObserver' in window)) { load(); return; }"
+                + " var observer = new IntersectionObserver(function(entries) {"
+                + "  for (var i = 0; i < entries.length; i++) {"
+                + "   if (entries[i].isIntersecting || entries[i].intersectionRatio > 0) {"
+                + "    observer.disconnect(); load(); return;"
+                + "   }"
+                + "  }"
+                + " }, { rootMargin: '" + ROOT_MARGIN + "' });"
+                + " observer.observe(el);"
+                + "})();";
+        response.render(OnDomReadyHeaderItem.forScript(script));
+    }
+}
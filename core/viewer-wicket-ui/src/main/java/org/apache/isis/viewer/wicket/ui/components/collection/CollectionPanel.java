@@ -31,6 +31,7 @@
 
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.adapter.mgr.AdapterManager;
+import org.apache.isis.core.metamodel.facets.collections.collection.lazyload.LazyLoadFacet;
 import org.apache.isis.core.metamodel.spec.feature.ObjectAction;
 import org.apache.isis.core.metamodel.spec.feature.OneToManyAssociation;
 import org.apache.isis.viewer.wicket.model.common.OnSelectionHandler;
@@ -102,13 +103,31 @@ protected void onInitialize() {
     }
 
     private void buildGui() {
-        collectionContents = getComponentFactoryRegistry().addOrReplaceComponent(this, ComponentType.COLLECTION_CONTENTS, getModel());
+        if(isLazyLoad()) {
+            collectionContents = new CollectionContentsLazyLoadPanel(ComponentType.COLLECTION_CONTENTS.getWicketId(), getModel());
+            addOrReplace(collectionContents);
+        } else {
+            collectionContents = getComponentFactoryRegistry().addOrReplaceComponent(this, ComponentType.COLLECTION_CONTENTS, getModel());
+        }
 
         addOrReplace(new NotificationPanel(ID_FEEDBACK, collectionContents, new ComponentFeedbackMessageFilter(collectionContents)));
 
         setOutputMarkupId(true);
     }
 
+    /**
+     * Whether the contents of this (parented) collection should only be loaded once scrolled into view.
+     */
+    public boolean isLazyLoad() {
+        final EntityCollectionModel model = getModel();
+        if(!model.isParented()) {
+            return false;
+        }
+        final OneToManyAssociation collection = model.getCollectionMemento().getCollection(model.getSpecificationLoader());
+        final LazyLoadFacet facet = collection.getFacet(LazyLoadFacet.class);
+        return facet != null && facet.isLazy();
+    }
+
     public Label createLabel(final String id, final String collectionName) {
         this.label = new Label(id, collectionName);
         label.setOutputMarkupId(true);
@@ -19,9 +19,10 @@
 package org.apache.isis.viewer.wicket.ui.components.collection.bulk;
 
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 import com.google.common.base.Predicate;
-import com.google.common.collect.FluentIterable;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 
@@ -29,12 +30,8 @@
 import org.apache.wicket.markup.html.link.Link;
 
 import org.apache.isis.applib.RecoverableException;
-import org.apache.isis.applib.annotation.Bulk;
-import org.apache.isis.applib.annotation.InvokedOn;
-import org.apache.isis.applib.services.actinvoc.ActionInvocationContext;
-import org.apache.isis.applib.services.command.Command;
+import org.apache.isis.applib.services.bookmark.Bookmark;
 import org.apache.isis.applib.services.command.Command.Executor;
-import org.apache.isis.applib.services.command.CommandContext;
 import org.apache.isis.applib.services.xactn.TransactionService;
 import org.apache.isis.core.commons.authentication.AuthenticationSession;
 import org.apache.isis.core.commons.authentication.MessageBroker;
@@ -45,6 +42,9 @@
 import org.apache.isis.core.metamodel.services.ServicesInjector;
 import org.apache.isis.core.metamodel.spec.feature.ObjectAction;
 import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.core.runtime.services.bulk.BulkActionExecution;
+import org.apache.isis.core.runtime.services.bulk.BulkActionExecutionService;
+import org.apache.isis.core.runtime.services.bulk.BulkActionInvoker;
 import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
 import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
 import org.apache.isis.viewer.wicket.model.links.LinkAndLabel;
@@ -95,63 +95,37 @@ public void onClick() {
                         ConcurrencyChecking.concurrencyCheckingFor(objectAction.getSemantics());
 
                 try {
-                    final List<ObjectAdapterMemento> toggleMementosList = model.getToggleMementosList();
+                    final List<ObjectAdapterMemento> toggleMementosList =
+                            ImmutableList.copyOf(model.getToggleMementosList());
 
-                    final List<ObjectAdapter> toggledAdapters =
-                            FluentIterable.from(toggleMementosList)
-                            .transform(
-                                    ObjectAdapterMemento.Functions.fromMemento(
-                                            concurrencyChecking, getPersistenceSession(), getSpecificationLoader()))
-                                    .toList();
-
-                    final List<Object> domainObjects = Lists.newArrayList(Iterables.transform(toggledAdapters, ObjectAdapter.Functions.getObject()));
-
-
-                    final ActionInvocationContext actionInvocationContext = getServicesInjector().lookupService(ActionInvocationContext.class);
-                    if (actionInvocationContext != null) {
-                        actionInvocationContext.setInvokedOn(InvokedOn.COLLECTION);
-                        actionInvocationContext.setDomainObjects(domainObjects);
+                    int numParameters = objectAction.getParameterCount();
+                    if(numParameters != 0) {
+                        return;
                     }
 
-                    final Bulk.InteractionContext bulkInteractionContext = getServicesInjector().lookupService(Bulk.InteractionContext.class);
-                    if (bulkInteractionContext != null) {
-                        bulkInteractionContext.setInvokedAs(Bulk.InteractionContext.InvokedAs.BULK);
-                        bulkInteractionContext.setDomainObjects(domainObjects);
+                    final int backgroundThreshold =
+                            BulkActionExecution.backgroundThresholdFrom(getIsisSessionFactory().getConfiguration());
+                    if(backgroundThreshold > 0 && toggleMementosList.size() >= backgroundThreshold) {
+                        runInBackground(objectAction, toggleMementosList);
+                        return;
                     }
 
+                    // each selected object is resolved only when invoked upon, within the transaction of its chunk
+                    final BulkActionInvoker<ObjectAdapterMemento> invoker = new BulkActionInvoker<>(
+                            objectAction,
+                            ObjectAdapterMemento.Functions.fromMemento(
+                                    concurrencyChecking, getPersistenceSession(), getSpecificationLoader()),
+                            getServicesInjector(),
+                            Executor.USER, InteractionInitiatedBy.USER, ActionModel.WHERE_FOR_ACTION_INVOCATION);
+                    invoker.init(toggleMementosList);
 
+                    // in chunks, each chunk committed in its own transaction
+                    final ObjectAdapter lastReturnedAdapter =
+                            new BulkActionExecution(getPersistenceSession()).execute(toggleMementosList, invoker);
 
-                    ObjectAdapter lastReturnedAdapter = null;
-                    int i=0;
-                    for(final ObjectAdapter adapter : toggledAdapters) {
-
-                        final CommandContext commandContext = getServicesInjector().lookupService(CommandContext.class);
-                        final Command command;
-                        if (commandContext != null) {
-                            command = commandContext.getCommand();
-                            command.setExecutor(Executor.USER);
-                        }
-
-                        int numParameters = objectAction.getParameterCount();
-                        if(numParameters != 0) {
-                            return;
-                        }
-                        if (bulkInteractionContext != null) {
-                            bulkInteractionContext.setIndex(i++);
-                        }
-
-                        final ObjectAdapter mixedInAdapter = null;
-                        final ObjectAdapter[] arguments = {};
-
-                        lastReturnedAdapter = objectAction.executeWithRuleChecking(
-                                adapter, mixedInAdapter, arguments,
-                                InteractionInitiatedBy.USER, ActionModel.WHERE_FOR_ACTION_INVOCATION
-                        );
-                        TransactionService transactionService =
-                                getServicesInjector().lookupService(TransactionService.class);
-                        transactionService.nextTransaction();
-                    }
-
+                    final TransactionService transactionService =
+                            getServicesInjector().lookupService(TransactionService.class);
+                    transactionService.nextTransaction();
 
                     model.clearToggleMementosList();
                     toggleboxColumn.clearToggles();
@@ -195,6 +169,29 @@ concurrencyChecking, getPersistenceSession(), getSpecificationLoader()))
                 }
             }
 
+            private void runInBackground(
+                    final ObjectAction objectAction, final List<ObjectAdapterMemento> toggleMementosList) {
+                final List<Bookmark> targets = Lists.newArrayList();
+                for (final ObjectAdapterMemento memento : toggleMementosList) {
+                    targets.add(memento.asBookmark());
+                }
+                final BulkActionExecutionService bulkActionExecutionService =
+                        getServicesInjector().lookupServiceElseFail(BulkActionExecutionService.class);
+                try {
+                    bulkActionExecutionService.submit(
+                            objectAction, targets, ActionModel.WHERE_FOR_ACTION_INVOCATION, getAuthenticationSession());
+                } catch(final RejectedExecutionException ex) {
+                    getMessageBroker().addWarning("Too many bulk actions are already running; please try again later");
+                    return;
+                }
+
+                model.clearToggleMementosList();
+                toggleboxColumn.clearToggles();
+
+                getMessageBroker().addMessage(String.format(
+                        "'%s' is being run on %d objects in the background", objectAction.getName(), targets.size()));
+            }
+
             private void recover() {
                 // resync with the objectstore
                 final List<ObjectAdapterMemento> toggleMementosList = Lists.newArrayList(model.getToggleMementosList());
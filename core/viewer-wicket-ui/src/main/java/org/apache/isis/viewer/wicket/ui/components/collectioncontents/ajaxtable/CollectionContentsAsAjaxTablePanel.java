@@ -19,32 +19,30 @@
 
 package org.apache.isis.viewer.wicket.ui.components.collectioncontents.ajaxtable;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
-import java.util.Map;
 
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 
 import org.apache.wicket.Component;
 import org.apache.wicket.ajax.AjaxRequestTarget;
 import org.apache.wicket.extensions.ajax.markup.html.repeater.data.table.AjaxFallbackDefaultDataTable;
 import org.apache.wicket.extensions.markup.html.repeater.data.table.IColumn;
+import org.apache.wicket.markup.html.link.Link;
 import org.apache.wicket.model.Model;
+import org.apache.wicket.request.handler.resource.ResourceStreamRequestHandler;
+import org.apache.wicket.request.resource.ContentDisposition;
+import org.apache.wicket.util.resource.AbstractResourceStreamWriter;
+import org.apache.wicket.util.resource.IResourceStream;
 
-import org.apache.isis.applib.annotation.Where;
-import org.apache.isis.applib.filter.Filter;
-import org.apache.isis.applib.filter.Filters;
-import org.apache.isis.applib.layout.grid.Grid;
-import org.apache.isis.applib.services.tablecol.TableColumnOrderService;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.adapter.mgr.AdapterManager.ConcurrencyChecking;
 import org.apache.isis.core.metamodel.adapter.version.ConcurrencyException;
-import org.apache.isis.core.metamodel.facets.all.hide.HiddenFacet;
 import org.apache.isis.core.metamodel.facets.all.named.NamedFacet;
-import org.apache.isis.core.metamodel.facets.object.grid.GridFacet;
-import org.apache.isis.core.metamodel.spec.ObjectSpecification;
-import org.apache.isis.core.metamodel.spec.feature.Contributed;
 import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.runtime.export.CollectionColumns;
+import org.apache.isis.core.runtime.export.CollectionCsvExporter;
 import org.apache.isis.viewer.wicket.model.common.OnConcurrencyExceptionHandler;
 import org.apache.isis.viewer.wicket.model.mementos.ObjectAdapterMemento;
 import org.apache.isis.viewer.wicket.model.models.EntityCollectionModel;
@@ -55,6 +53,7 @@
 import org.apache.isis.viewer.wicket.ui.components.collectioncontents.ajaxtable.columns.ObjectAdapterTitleColumn;
 import org.apache.isis.viewer.wicket.ui.components.collectioncontents.ajaxtable.columns.ObjectAdapterToggleboxColumn;
 import org.apache.isis.viewer.wicket.ui.panels.PanelAbstract;
+import org.apache.isis.viewer.wicket.ui.util.Components;
 
 /**
  * {@link PanelAbstract Panel} that represents a {@link EntityCollectionModel
@@ -66,6 +65,7 @@
     private static final long serialVersionUID = 1L;
 
     private static final String ID_TABLE = "table";
+    private static final String ID_EXPORT_CSV = "exportCsv";
 
     private IsisAjaxFallbackDataTable<ObjectAdapter,String> dataTable;
 
@@ -106,6 +106,8 @@ private void buildGui() {
         addOrReplace(dataTable);
         dataTable.honourHints();
 
+        addOrReplaceExportLink();
+
         if(toggleboxColumn != null) {
             final OnConcurrencyExceptionHandler handler2 = new OnConcurrencyExceptionHandler() {
 
@@ -157,103 +159,25 @@ private void addTitleColumn(
     }
 
     private void addPropertyColumnsIfRequired(final List<IColumn<ObjectAdapter,String>> columns) {
-        final ObjectSpecification typeOfSpec = getModel().getTypeOfSpecification();
-
-        // same code also appears in EntityPage.
-        // we need to do this here otherwise any tables will render the columns in the wrong order until at least
-        // one object of that type has been rendered via EntityPage.
-        final GridFacet gridFacet = typeOfSpec.getFacet(GridFacet.class);
-        if(gridFacet != null) {
-            // the facet should always exist, in fact
-            // just enough to ask for the metadata.
-            // This will cause the current ObjectSpec to be updated as a side effect.
-            final Grid unused = gridFacet.getGrid();
-        }
-
-        final Where whereContext =
-                getModel().isParented()
-                    ? Where.PARENTED_TABLES
-                    : Where.STANDALONE_TABLES;
-        
-        final ObjectSpecification parentSpecIfAny = 
-                getModel().isParented() 
-                    ? getModel().getParentObjectAdapterMemento().getObjectAdapter(ConcurrencyChecking.NO_CHECK,
-                        getPersistenceSession(), getSpecificationLoader()).getSpecification()
-                    : null;
-        
-        @SuppressWarnings("unchecked")
-        final Filter<ObjectAssociation> filter = Filters.and(
-                ObjectAssociation.Filters.PROPERTIES, 
-                ObjectAssociation.Filters.staticallyVisible(whereContext),
-                associationDoesNotReferenceParent(parentSpecIfAny));
-        
-        final List<? extends ObjectAssociation> propertyList = typeOfSpec.getAssociations(Contributed.INCLUDED, filter);
-        final Map<String, ObjectAssociation> propertyById = Maps.newLinkedHashMap();
-        for (final ObjectAssociation property : propertyList) {
-            propertyById.put(property.getId(), property);
-        }
-        List<String> propertyIds = Lists.newArrayList(propertyById.keySet());
-
-        // optional SPI to reorder
-        final List<TableColumnOrderService> tableColumnOrderServices =
-                getServicesInjector().lookupServices(TableColumnOrderService.class);
-
-        for (final TableColumnOrderService tableColumnOrderService : tableColumnOrderServices) {
-            final List<String> propertyReorderedIds = reordered(tableColumnOrderService, propertyIds);
-            if(propertyReorderedIds != null) {
-                propertyIds = propertyReorderedIds;
-                break;
-            }
-        }
-
-        for (final String propertyId : propertyIds) {
-            final ObjectAssociation property = propertyById.get(propertyId);
-            if(property != null) {
-                final ColumnAbstract<ObjectAdapter> nopc = createObjectAdapterPropertyColumn(property);
-                columns.add(nopc);
-            }
+        final List<ObjectAssociation> properties = CollectionColumns.propertiesFor(
+                getModel().getTypeOfSpecification(), getParentAdapterIfAny(), getCollectionIdIfAny(),
+                getServicesInjector());
+        for (final ObjectAssociation property : properties) {
+            final ColumnAbstract<ObjectAdapter> nopc = createObjectAdapterPropertyColumn(property);
+            columns.add(nopc);
         }
     }
 
-    private List<String> reordered(
-            final TableColumnOrderService tableColumnOrderService,
-            final List<String> propertyIds) {
-
-        final Class<?> collectionType = getModel().getTypeOfSpecification().getCorrespondingClass();
-
+    private ObjectAdapter getParentAdapterIfAny() {
         final ObjectAdapterMemento parentObjectAdapterMemento = getModel().getParentObjectAdapterMemento();
-        if(parentObjectAdapterMemento != null) {
-            final ObjectAdapter parentObjectAdapter = parentObjectAdapterMemento
-                    .getObjectAdapter(ConcurrencyChecking.NO_CHECK, getPersistenceSession(), getSpecificationLoader());
-            final Object parent = parentObjectAdapter.getObject();
-            final String collectionId = getModel().getCollectionMemento().getId();
-
-            return tableColumnOrderService.orderParented(parent, collectionId, collectionType, propertyIds);
-        } else {
-            return tableColumnOrderService.orderStandalone(collectionType, propertyIds);
-        }
+        return parentObjectAdapterMemento != null
+                ? parentObjectAdapterMemento.getObjectAdapter(
+                        ConcurrencyChecking.NO_CHECK, getPersistenceSession(), getSpecificationLoader())
+                : null;
     }
 
-    static Filter<ObjectAssociation> associationDoesNotReferenceParent(final ObjectSpecification parentSpec) {
-        if(parentSpec == null) {
-            return Filters.any();
-        }
-        return new Filter<ObjectAssociation>() {
-            @Override
-            public boolean accept(ObjectAssociation association) {
-                final HiddenFacet facet = association.getFacet(HiddenFacet.class);
-                if(facet == null) {
-                    return true;
-                }
-                if (facet.where() != Where.REFERENCES_PARENT) {
-                    return true;
-                }
-                final ObjectSpecification assocSpec = association.getSpecification();
-                final boolean associationSpecIsOfParentSpec = parentSpec.isOfType(assocSpec);
-                final boolean isVisible = !associationSpecIsOfParentSpec;
-                return isVisible;
-            }
-        };
+    private String getCollectionIdIfAny() {
+        return getModel().isParented() ? getModel().getCollectionMemento().getId() : null;
     }
 
     private ObjectAdapterPropertyColumn createObjectAdapterPropertyColumn(final ObjectAssociation property) {
@@ -267,6 +191,52 @@ private ObjectAdapterPropertyColumn createObjectAdapterPropertyColumn(final Obje
 
 
 
+    private void addOrReplaceExportLink() {
+        final Link<Void> exportLink = new Link<Void>(ID_EXPORT_CSV) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public void onClick() {
+                final ResourceStreamRequestHandler handler =
+                        new ResourceStreamRequestHandler(newCsvResourceStream(), fileName());
+                handler.setContentDisposition(ContentDisposition.ATTACHMENT);
+                getRequestCycle().scheduleRequestHandlerAfterCurrent(handler);
+            }
+        };
+        addOrReplace(exportLink);
+        if(!CollectionCsvExporter.isEnabled(getConfiguration())) {
+            Components.permanentlyHide(this, ID_EXPORT_CSV);
+        }
+    }
+
+    private String fileName() {
+        return CollectionCsvExporter.fileNameFor(getModel().getName());
+    }
+
+    /**
+     * Streams the elements straight to the response (rather than building up the content in memory), resolving them
+     * in chunks and evicting them from the session as it goes.
+     */
+    private IResourceStream newCsvResourceStream() {
+        return new AbstractResourceStreamWriter() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public void write(final OutputStream output) throws IOException {
+                final EntityCollectionModel model = getModel();
+                final CollectionCsvExporter exporter = new CollectionCsvExporter(
+                        model.getTypeOfSpecification(), getParentAdapterIfAny(), getCollectionIdIfAny(),
+                        getPersistenceSession());
+                exporter.export(model.iterateElements(exporter.getChunkSize()), output);
+            }
+
+            @Override
+            public String getContentType() {
+                return CollectionCsvExporter.MIME_TYPE + ";charset=UTF-8";
+            }
+        };
+    }
+
     @Override
     protected void onModelChanged() {
         buildGui();
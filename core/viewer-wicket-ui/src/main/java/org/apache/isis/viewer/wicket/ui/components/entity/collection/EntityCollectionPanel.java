@@ -28,6 +28,7 @@
 import org.apache.wicket.behavior.AttributeAppender;
 import org.apache.wicket.markup.html.WebMarkupContainer;
 import org.apache.wicket.markup.html.basic.Label;
+import org.apache.wicket.model.AbstractReadOnlyModel;
 import org.apache.wicket.model.Model;
 
 import org.apache.isis.applib.annotation.Where;
@@ -61,6 +62,7 @@ public class EntityCollectionPanel extends PanelAbstract<EntityModel> implements
 
     private static final String ID_COLLECTION_GROUP = "collectionGroup";
     private static final String ID_COLLECTION_NAME = "collectionName";
+    private static final String ID_COLLECTION_COUNT = "collectionCount";
     private static final String ID_COLLECTION = "collection";
 
     private static final String ID_ADDITIONAL_LINKS = "additionalLinks";
@@ -135,6 +137,19 @@ private WebMarkupContainer buildGui() {
                 labelComponent.add(new AttributeAppender("title", Model.of(description)));
             }
 
+            if(collectionPanel.isLazyLoad()) {
+                // the contents aren't rendered until scrolled to, so indicate how many elements there are.
+                div.add(new Label(ID_COLLECTION_COUNT, new AbstractReadOnlyModel<Integer>() {
+                    private static final long serialVersionUID = 1L;
+                    @Override
+                    public Integer getObject() {
+                        return entityCollectionModel.getCount();
+                    }
+                }));
+            } else {
+                Components.permanentlyHide(div, ID_COLLECTION_COUNT);
+            }
+
             final List<LinkAndLabel> links = entityCollectionModel.getLinks();
             AdditionalLinksPanel.addAdditionalLinks (div,ID_ADDITIONAL_LINKS, links, AdditionalLinksPanel.Style.INLINE_LIST);
 
@@ -165,13 +165,17 @@ protected void onSwitchFormForInlinePrompt(
      *
      * <p>
      * called from onUpdate callback
+     *
+     * @return false if the choices are unchanged (none of the arguments they depend upon has changed), so there is
+     *         no need to repaint.
      */
     public boolean updateChoices(ObjectAdapter[] argsIfAvailable) {
         if (select2 == null) {
             return false;
         }
+        final boolean unchanged = getModel().hasMemoizedChoicesFor(argsIfAvailable);
         setProviderAndCurrAndPending(select2, argsIfAvailable);
-        return true;
+        return !unchanged;
     }
 
 
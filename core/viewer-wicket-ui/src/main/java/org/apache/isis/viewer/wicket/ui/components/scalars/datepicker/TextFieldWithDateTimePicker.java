@@ -50,6 +50,9 @@
 
     private static final long serialVersionUID = 1L;
 
+    public static final JavaScriptResourceReference MOMENT_JS = new JavaScriptResourceReference(TextFieldWithDateTimePicker.class, "js/moment.js");
+    public static final JavaScriptResourceReference BOOTSTRAP_DATETIMEPICKER_JS = new JavaScriptResourceReference(TextFieldWithDateTimePicker.class, "js/bootstrap-datetimepicker.js");
+
     /**
      * As per http://eonasdan.github.io/bootstrap-datetimepicker/Options/#mindate, in ISO format (per https://github.com/moment/moment/issues/1407).
      */
@@ -145,8 +148,8 @@ public void renderHead(final IHeaderResponse response) {
 
         response.render(CssHeaderItem.forReference(new CssResourceReference(TextFieldWithDateTimePicker.class, "css/bootstrap-datetimepicker.css")));
 
-        response.render(JavaScriptHeaderItem.forReference(new JavaScriptResourceReference(TextFieldWithDateTimePicker.class, "js/moment.js")));
-        response.render(JavaScriptHeaderItem.forReference(new JavaScriptResourceReference(TextFieldWithDateTimePicker.class, "js/bootstrap-datetimepicker.js")));
+        response.render(JavaScriptHeaderItem.forReference(MOMENT_JS));
+        response.render(JavaScriptHeaderItem.forReference(BOOTSTRAP_DATETIMEPICKER_JS));
 
         response.render(OnDomReadyHeaderItem.forScript(createScript(config)));
     }
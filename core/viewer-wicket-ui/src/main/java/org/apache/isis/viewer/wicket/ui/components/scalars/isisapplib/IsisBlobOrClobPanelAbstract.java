@@ -18,13 +18,9 @@
  */
 package org.apache.isis.viewer.wicket.ui.components.scalars.isisapplib;
 
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
 import java.util.List;
 
 import javax.activation.MimeType;
-import javax.imageio.ImageIO;
 
 import org.apache.wicket.AttributeModifier;
 import org.apache.wicket.Component;
@@ -38,7 +34,6 @@
 import org.apache.wicket.markup.html.form.upload.FileUploadField;
 import org.apache.wicket.markup.html.image.Image;
 import org.apache.wicket.markup.html.image.NonCachingImage;
-import org.apache.wicket.markup.html.image.resource.BufferedDynamicImageResource;
 import org.apache.wicket.markup.html.link.ResourceLink;
 import org.apache.wicket.model.IModel;
 import org.apache.wicket.model.Model;
@@ -48,7 +43,6 @@
 
 import org.apache.isis.applib.value.Blob;
 import org.apache.isis.applib.value.NamedWithMimeType;
-import org.apache.isis.core.commons.lang.CloseableExtensions;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.viewer.wicket.model.models.ScalarModel;
 import org.apache.isis.viewer.wicket.ui.components.scalars.ScalarPanelAbstract2;
@@ -143,50 +137,23 @@ protected Component createComponentForCompact() {
 
     private Image asWicketImage(String id) {
 
-        final ObjectAdapter adapter = getModel().getObject();
-        if(adapter == null) {
-            return null;
-        }
-
-        final Object object = adapter.getObject();
-        if(!(object instanceof Blob)) {
+        final T blob = getBlobOrClobFromModel();
+        if(!(blob instanceof Blob)) {
             return null;
         }
 
-        final Blob blob = (Blob)object;
         final MimeType mimeType = blob.getMimeType();
         if(mimeType == null || !mimeType.getPrimaryType().equals("image")) {
             return null;
         }
 
-        final BufferedImage image = asBufferedImage(blob);
-        if(image == null) {
-            return null;
-        }
-
-        final BufferedDynamicImageResource imageResource = new BufferedDynamicImageResource();
-        imageResource.setImage(image);
-        final ThumbnailImageResource thumbnailImageResource = new ThumbnailImageResource(imageResource, 300);
+        // the image is only read (and scaled) when the thumbnail is requested by the browser, rather than being
+        // decoded in full (and held as part of the page) every time the panel is rendered.
+        final ThumbnailImageResource thumbnailImageResource = new ThumbnailImageResource(newResource(blob), 300);
 
         return new NonCachingImage(id, thumbnailImageResource);
     }
 
-    private BufferedImage asBufferedImage(final Blob blob) {
-        final byte[] bytes = blob.getBytes();
-        if(bytes == null) {
-            return null;
-        }
-
-        final ByteArrayInputStream bais = new ByteArrayInputStream(bytes);
-        try {
-            return ImageIO.read(bais);
-        } catch (IOException ex) {
-            return null;
-        } finally {
-            CloseableExtensions.closeSafely(bais);
-        }
-    }
-
 
     // //////////////////////////////////////
 
@@ -343,7 +310,11 @@ private ResourceLink<?> createResourceLink(String id) {
         return new ResourceLink<Object>(id, bar);
     }
 
-    private T getBlobOrClobFromModel() {
+    /**
+     * The current value, obtained from the model (rather than captured, so that resources created by
+     * {@link #newResource(NamedWithMimeType)} need not hold onto it).
+     */
+    protected T getBlobOrClobFromModel() {
         return getBlobOrClob(getModel());
     }
 
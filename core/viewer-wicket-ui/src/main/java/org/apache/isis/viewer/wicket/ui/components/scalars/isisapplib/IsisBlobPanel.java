@@ -49,7 +49,17 @@ protected Blob getBlobOrClobFrom(final List<FileUpload> fileUploads) {
     }
 
     protected IResource newResource(final Blob blob) {
-        return new ByteArrayResource(blob.getMimeType().getBaseType(), blob.getBytes(), blob.getName());
+        // the bytes are obtained from the model only when requested, rather than being held by the resource (and
+        // thus serialized along with the page).
+        return new ByteArrayResource(blob.getMimeType().getBaseType(), null, blob.getName()) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected byte[] getData(final Attributes attributes) {
+                final Blob blob = getBlobOrClobFromModel();
+                return blob != null ? blob.getBytes() : null;
+            }
+        };
     }
 
 
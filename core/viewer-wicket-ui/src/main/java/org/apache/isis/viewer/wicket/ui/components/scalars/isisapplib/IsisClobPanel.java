@@ -56,7 +56,17 @@ protected Clob getBlobOrClobFrom(final List<FileUpload> fileUploads) {
     }
 
     protected IResource newResource(final Clob clob) {
-        return new CharSequenceResource(clob.getMimeType().getBaseType(), clob.getChars(), clob.getName());
+        // the chars are obtained from the model only when requested, rather than being held by the resource (and
+        // thus serialized along with the page).
+        return new CharSequenceResource(clob.getMimeType().getBaseType(), null, clob.getName()) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected CharSequence getData(final Attributes attributes) {
+                final Clob clob = getBlobOrClobFromModel();
+                return clob != null ? clob.getChars() : null;
+            }
+        };
     }
 
 }
\ No newline at end of file
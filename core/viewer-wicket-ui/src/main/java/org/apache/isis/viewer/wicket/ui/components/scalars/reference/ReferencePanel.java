@@ -346,12 +346,10 @@ protected ChoiceProvider<ObjectAdapterMemento> buildChoiceProvider(final ObjectA
 
     // called by setProviderAndCurrAndPending
     private List<ObjectAdapterMemento> obtainChoiceMementos(final ObjectAdapter[] argsIfAvailable) {
-        final List<ObjectAdapter> choices = Lists.newArrayList();
-        if(getModel().hasChoices()) {
-            choices.addAll(getModel().getChoices(argsIfAvailable, getAuthenticationSession(), getDeploymentCategory()));
+        if(!getModel().hasChoices()) {
+            return Lists.newArrayList();
         }
-        // take a copy (otherwise is only lazily evaluated)
-        return Lists.newArrayList(Lists.transform(choices, ObjectAdapterMemento.Functions.fromAdapter()));
+        return getModel().getChoiceMementos(argsIfAvailable, getAuthenticationSession(), getDeploymentCategory());
     }
 
     // called by setProviderAndCurrAndPending
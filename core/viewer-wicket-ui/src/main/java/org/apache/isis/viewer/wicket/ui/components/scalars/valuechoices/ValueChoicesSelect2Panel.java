@@ -18,8 +18,6 @@
 
 import java.util.List;
 
-import com.google.common.collect.Lists;
-
 import org.apache.wicket.AttributeModifier;
 import org.apache.wicket.Component;
 import org.apache.wicket.MarkupContainer;
@@ -72,11 +70,7 @@ protected MarkupContainer createComponentForRegular() {
 
 
     private List<ObjectAdapterMemento> getChoiceMementos(final ObjectAdapter[] argumentsIfAvailable) {
-        final List<ObjectAdapter> choices =
-                scalarModel.getChoices(argumentsIfAvailable, getAuthenticationSession(), getDeploymentCategory());
-        
-        // take a copy otherwise is only lazily evaluated
-        return Lists.newArrayList(Lists.transform(choices, ObjectAdapterMemento.Functions.fromAdapter()));
+        return scalarModel.getChoiceMementos(argumentsIfAvailable, getAuthenticationSession(), getDeploymentCategory());
     }
 
     // ///////////////////////////////////////////////////////////////////
@@ -49,6 +49,8 @@ public class JGrowlBehaviour extends AbstractDefaultAjaxBehavior {
 
     private static final long serialVersionUID = 1L;
 
+    public static final JavaScriptResourceReference BOOTSTRAP_GROWL_JS = new JavaScriptResourceReference(JGrowlBehaviour.class, "js/bootstrap-growl.js");
+
     @Override
     protected void respond(AjaxRequestTarget target) {
         String feedbackMsg = JGrowlUtil.asJGrowlCalls(getMessageBroker());
@@ -65,7 +67,7 @@ public void renderHead(Component component, IHeaderResponse response) {
     }
 
     public void renderFeedbackMessages(IHeaderResponse response) {
-        response.render(JavaScriptHeaderItem.forReference(new JavaScriptResourceReference(JGrowlBehaviour.class, "js/bootstrap-growl.js")));
+        response.render(JavaScriptHeaderItem.forReference(BOOTSTRAP_GROWL_JS));
 
         String feedbackMsg = JGrowlUtil.asJGrowlCalls(getMessageBroker());
         if(!Strings.isNullOrEmpty(feedbackMsg)) {
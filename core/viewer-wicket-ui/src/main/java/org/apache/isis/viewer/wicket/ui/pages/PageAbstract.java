@@ -88,6 +88,7 @@
 import org.apache.isis.viewer.wicket.ui.components.widgets.favicon.Favicon;
 import org.apache.isis.viewer.wicket.ui.errors.ExceptionModel;
 import org.apache.isis.viewer.wicket.ui.errors.JGrowlBehaviour;
+import org.apache.isis.viewer.wicket.ui.pages.rendertiming.RenderTimings;
 import org.apache.isis.viewer.wicket.ui.util.CssClassAppender;
 
 import de.agilecoders.wicket.core.Bootstrap;
@@ -109,8 +110,8 @@ public abstract class PageAbstract extends WebPage implements ActionPromptProvid
     /**
      * @see <a href="http://github.com/brandonaaron/livequery">livequery</a>
      */
-    private static final JavaScriptResourceReference JQUERY_LIVEQUERY_JS = new JavaScriptResourceReference(PageAbstract.class, "jquery.livequery.js");
-    private static final JavaScriptResourceReference JQUERY_ISIS_WICKET_VIEWER_JS = new JavaScriptResourceReference(PageAbstract.class, "jquery.isis.wicket.viewer.js");
+    public static final JavaScriptResourceReference JQUERY_LIVEQUERY_JS = new JavaScriptResourceReference(PageAbstract.class, "jquery.livequery.js");
+    public static final JavaScriptResourceReference JQUERY_ISIS_WICKET_VIEWER_JS = new JavaScriptResourceReference(PageAbstract.class, "jquery.isis.wicket.viewer.js");
 
     private static final String LIVE_RELOAD_URL_KEY = "isis.viewer.wicket.liveReloadUrl";
 
@@ -209,6 +210,8 @@ public PageAbstract(
 
             addActionPromptModalWindow(themeDiv);
 
+            RenderTimings.instrumentIfEnabled(this, null);
+
             this.childComponentIds = Collections.unmodifiableList(Arrays.asList(childComponentIds));
 
             // ensure that all collected JavaScript contributions are loaded at the page footer
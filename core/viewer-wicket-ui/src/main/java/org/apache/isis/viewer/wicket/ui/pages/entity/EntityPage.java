@@ -32,7 +32,6 @@
 import org.apache.isis.core.metamodel.adapter.version.ConcurrencyException;
 import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
 import org.apache.isis.core.metamodel.deployment.DeploymentCategory;
-import org.apache.isis.core.metamodel.facets.members.cssclass.CssClassFacet;
 import org.apache.isis.core.metamodel.facets.object.grid.GridFacet;
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
 import org.apache.isis.core.metamodel.spec.feature.ObjectMember;
@@ -171,9 +170,8 @@ private void buildPage() {
         CssClassAppender.appendCssClassTo(entityPageContainer,
                 CssClassAppender.asCssStyle("isis-" + objectSpec.getSpecId().asString().replace(".","-")));
 
-        CssClassFacet cssClassFacet = objectSpec.getFacet(CssClassFacet.class);
-        if(cssClassFacet != null) {
-            final String cssClass = cssClassFacet.cssClass(objectAdapter);
+        final String cssClass = objectAdapter.getCssClass();
+        if(cssClass != null) {
             CssClassAppender.appendCssClassTo(entityPageContainer, cssClass);
         }
 
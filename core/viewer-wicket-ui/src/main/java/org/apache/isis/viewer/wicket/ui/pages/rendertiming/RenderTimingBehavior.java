@@ -0,0 +1,99 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.wicket.ui.pages.rendertiming;
+
+import org.apache.wicket.Component;
+import org.apache.wicket.behavior.Behavior;
+
+import org.apache.isis.core.runtime.system.context.IsisContext;
+import org.apache.isis.core.runtime.system.session.IsisSession;
+import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
+import org.apache.isis.viewer.wicket.ui.ComponentType;
+
+/**
+ * Measures the component to which it is attached, reporting to {@link RenderTimings}.
+ *
+ * <p>
+ *     The start and end of the <i>load</i> phase are notified by {@link RenderTimings}' <tt>onBeforeRender</tt>
+ *     listeners; the <i>render</i> phase is measured by this behaviour's own {@link #beforeRender(Component)} and
+ *     {@link #afterRender(Component)} callbacks.
+ * </p>
+ */
+class RenderTimingBehavior extends Behavior {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ComponentType componentType;
+
+    // the measurements only ever span a single request
+    private transient long loadStartedNanos;
+    private transient long loadNanos;
+    private transient long renderStartedNanos;
+    private transient int adaptersAtStart = -1;
+
+    RenderTimingBehavior(final ComponentType componentType) {
+        this.componentType = componentType;
+    }
+
+    void loadStarted() {
+        adaptersAtStart = mappedAdapterCount();
+        loadNanos = 0;
+        loadStartedNanos = System.nanoTime();
+    }
+
+    void loadCompleted() {
+        if(loadStartedNanos != 0) {
+            loadNanos = System.nanoTime() - loadStartedNanos;
+            loadStartedNanos = 0;
+        }
+    }
+
+    @Override
+    public void beforeRender(final Component component) {
+        if(adaptersAtStart < 0) {
+            // eg a component rendered without being prepared first
+            adaptersAtStart = mappedAdapterCount();
+        }
+        renderStartedNanos = System.nanoTime();
+    }
+
+    @Override
+    public void afterRender(final Component component) {
+        final long renderNanos = System.nanoTime() - renderStartedNanos;
+        final int adaptersAtEnd = mappedAdapterCount();
+        final int adaptersResolved = adaptersAtStart >= 0 && adaptersAtEnd >= 0
+                ? Math.max(0, adaptersAtEnd - adaptersAtStart)
+                : 0;
+
+        final RenderTimings renderTimings = RenderTimings.current();
+        if(renderTimings != null) {
+            renderTimings.record(component, componentType, loadNanos, renderNanos, adaptersResolved);
+        }
+
+        loadNanos = 0;
+        adaptersAtStart = -1;
+    }
+
+    private static int mappedAdapterCount() {
+        final IsisSessionFactory sessionFactory = IsisContext.getSessionFactory();
+        final IsisSession session = sessionFactory != null ? sessionFactory.getCurrentSession() : null;
+        return session != null ? session.getPersistenceSession().getMappedAdapterCount() : -1;
+    }
+
+}
@@ -0,0 +1,407 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.wicket.ui.pages.rendertiming;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.Lists;
+
+import org.apache.wicket.Application;
+import org.apache.wicket.Component;
+import org.apache.wicket.MetaDataKey;
+import org.apache.wicket.Page;
+import org.apache.wicket.application.IComponentOnBeforeRenderListener;
+import org.apache.wicket.devutils.debugbar.DebugBar;
+import org.apache.wicket.request.cycle.RequestCycle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.core.commons.config.IsisConfiguration;
+import org.apache.isis.viewer.wicket.ui.ComponentType;
+
+/**
+ * Opt-in (see {@link #KEY_ENABLED}) instrumentation of the time taken to prepare and to render each of the
+ * components created by the {@link org.apache.isis.viewer.wicket.ui.app.registry.ComponentFactoryRegistry}, and of
+ * the number of adapters resolved while doing so; aggregated per page type and per {@link ComponentType}.
+ *
+ * <p>
+ *     For each instrumented component three measurements are taken, all of them inclusive of the component's children:
+ * </p>
+ * <ul>
+ *     <li><i>load</i>: the time spent in <tt>onBeforeRender()</tt>, which is where Isis' panels load their model and
+ *     build their child components;</li>
+ *     <li><i>render</i>: the time spent writing out the component's markup;</li>
+ *     <li><i>adapters</i>: the number of adapters mapped by the persistence session, across both of the above.</li>
+ * </ul>
+ *
+ * <p>
+ *     The results are available through a {@link RenderTimingsDebugPanel debug bar contributor} (if the development
+ *     utilities are enabled), and each page render is logged at <tt>DEBUG</tt>.
+ * </p>
+ */
+public class RenderTimings {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RenderTimings.class);
+
+    public static final String KEY_ENABLED = "isis.viewer.wicket.renderTimings.enabled";
+    public static final boolean KEY_ENABLED_DEFAULT = false;
+
+    /**
+     * The number of (slowest) components retained for the most recent render of each page type.
+     */
+    static final int MAX_ENTRIES_PER_RENDER = 50;
+
+    private static final MetaDataKey<RenderTimings> KEY = new MetaDataKey<RenderTimings>() {
+        private static final long serialVersionUID = 1L;
+    };
+
+    private static final MetaDataKey<ArrayList<Entry>> REQUEST_ENTRIES_KEY = new MetaDataKey<ArrayList<Entry>>() {
+        private static final long serialVersionUID = 1L;
+    };
+
+    //region > install, current
+
+    /**
+     * Installs the instrumentation into the application, if {@link #KEY_ENABLED enabled}.
+     */
+    public static void installIfEnabled(final Application application, final IsisConfiguration configuration) {
+        if(!configuration.getBoolean(KEY_ENABLED, KEY_ENABLED_DEFAULT)) {
+            return;
+        }
+        final RenderTimings renderTimings = new RenderTimings();
+        application.setMetaData(KEY, renderTimings);
+        application.getComponentPreOnBeforeRenderListeners().add(new IComponentOnBeforeRenderListener() {
+            @Override
+            public void onBeforeRender(final Component component) {
+                for (final RenderTimingBehavior behavior : component.getBehaviors(RenderTimingBehavior.class)) {
+                    behavior.loadStarted();
+                }
+            }
+        });
+        application.getComponentPostOnBeforeRenderListeners().add(new IComponentOnBeforeRenderListener() {
+            @Override
+            public void onBeforeRender(final Component component) {
+                for (final RenderTimingBehavior behavior : component.getBehaviors(RenderTimingBehavior.class)) {
+                    behavior.loadCompleted();
+                }
+            }
+        });
+        if(application.getDebugSettings().isDevelopmentUtilitiesEnabled()) {
+            DebugBar.registerContributor(RenderTimingsDebugPanel.DEBUG_BAR_CONTRIB, application);
+        }
+        LOG.info("render timings enabled");
+    }
+
+    /**
+     * The instrumentation for the current application, or <tt>null</tt> if not {@link #KEY_ENABLED enabled}.
+     */
+    public static RenderTimings current() {
+        return Application.exists() ? Application.get().getMetaData(KEY) : null;
+    }
+
+    /**
+     * Instruments the component, if {@link #KEY_ENABLED enabled}.
+     *
+     * @param componentType - <tt>null</tt> for a page.
+     */
+    public static void instrumentIfEnabled(final Component component, final ComponentType componentType) {
+        if(current() == null) {
+            return;
+        }
+        component.add(new RenderTimingBehavior(componentType));
+    }
+
+    //endregion
+
+    private final ConcurrentMap<String, PageTypeTimings> timingsByPageType = new ConcurrentHashMap<>();
+
+    //region > record
+
+    void record(
+            final Component component,
+            final ComponentType componentType,
+            final long loadNanos,
+            final long renderNanos,
+            final int adaptersResolved) {
+
+        // only ever called once rendered, so will be attached to a page
+        final Page page = component.getPage();
+        final PageTypeTimings pageTypeTimings = timingsFor(pageTypeOf(page));
+
+        final List<Entry> requestEntries = requestEntries();
+        if(component instanceof Page) {
+            pageTypeTimings.addPage(loadNanos, renderNanos, adaptersResolved, requestEntries);
+            if(LOG.isDebugEnabled()) {
+                LOG.debug("{}: load {}, render {}, {} adapters; slowest: {}",
+                        pageTypeTimings.getPageType(),
+                        formatMillis(loadNanos), formatMillis(renderNanos), adaptersResolved,
+                        requestEntries.subList(0, Math.min(5, requestEntries.size())));
+            }
+            requestEntries.clear();
+        } else {
+            final Entry entry = new Entry(
+                    componentType, component.getPageRelativePath(), component.getClass().getSimpleName(),
+                    loadNanos, renderNanos, adaptersResolved);
+            pageTypeTimings.addComponent(entry);
+            requestEntries.add(entry);
+        }
+    }
+
+    private static String pageTypeOf(final Page page) {
+        return page.getClass().getSimpleName();
+    }
+
+    private static List<Entry> requestEntries() {
+        final RequestCycle requestCycle = RequestCycle.get();
+        if(requestCycle == null) {
+            return Lists.newArrayList();
+        }
+        ArrayList<Entry> entries = requestCycle.getMetaData(REQUEST_ENTRIES_KEY);
+        if(entries == null) {
+            entries = Lists.newArrayList();
+            requestCycle.setMetaData(REQUEST_ENTRIES_KEY, entries);
+        }
+        return entries;
+    }
+
+    PageTypeTimings timingsFor(final String pageType) {
+        PageTypeTimings timings = timingsByPageType.get(pageType);
+        if(timings == null) {
+            timingsByPageType.putIfAbsent(pageType, new PageTypeTimings(pageType));
+            timings = timingsByPageType.get(pageType);
+        }
+        return timings;
+    }
+
+    //endregion
+
+    //region > query
+
+    /**
+     * The timings of each page type rendered so far, sorted by name.
+     */
+    public List<PageTypeTimings> getPageTypeTimings() {
+        final List<PageTypeTimings> timings = Lists.newArrayList(timingsByPageType.values());
+        Collections.sort(timings, new Comparator<PageTypeTimings>() {
+            @Override
+            public int compare(final PageTypeTimings o1, final PageTypeTimings o2) {
+                return o1.getPageType().compareTo(o2.getPageType());
+            }
+        });
+        return timings;
+    }
+
+    /**
+     * The timings for the type of the provided page, or <tt>null</tt> if none rendered yet.
+     */
+    public PageTypeTimings getPageTypeTimings(final Page page) {
+        return timingsByPageType.get(pageTypeOf(page));
+    }
+
+    public void reset() {
+        timingsByPageType.clear();
+    }
+
+    //endregion
+
+    //region > PageTypeTimings, Stats, Entry
+
+    public static class PageTypeTimings {
+
+        private final String pageType;
+        private final Stats pageStats = new Stats();
+        private final ConcurrentMap<ComponentType, Stats> statsByComponentType = new ConcurrentHashMap<>();
+        private volatile List<Entry> lastRender = Collections.emptyList();
+
+        PageTypeTimings(final String pageType) {
+            this.pageType = pageType;
+        }
+
+        void addComponent(final Entry entry) {
+            final ComponentType componentType = entry.getComponentType();
+            Stats stats = statsByComponentType.get(componentType);
+            if(stats == null) {
+                statsByComponentType.putIfAbsent(componentType, new Stats());
+                stats = statsByComponentType.get(componentType);
+            }
+            stats.add(entry.loadNanos, entry.renderNanos, entry.adaptersResolved);
+        }
+
+        void addPage(
+                final long loadNanos,
+                final long renderNanos,
+                final int adaptersResolved,
+                final List<Entry> entries) {
+            pageStats.add(loadNanos, renderNanos, adaptersResolved);
+            final List<Entry> slowestFirst = Lists.newArrayList(entries);
+            Collections.sort(slowestFirst, Entry.SLOWEST_FIRST);
+            lastRender = Collections.unmodifiableList(
+                    Lists.newArrayList(slowestFirst.subList(0, Math.min(MAX_ENTRIES_PER_RENDER, slowestFirst.size()))));
+        }
+
+        public String getPageType() {
+            return pageType;
+        }
+
+        public Stats getPageStats() {
+            return pageStats;
+        }
+
+        /**
+         * Sorted by {@link Stats#getTotalMillis() total time}, greatest first.
+         */
+        public List<Map.Entry<ComponentType, Stats>> getComponentTypeStats() {
+            final List<Map.Entry<ComponentType, Stats>> entries = Lists.newArrayList(statsByComponentType.entrySet());
+            Collections.sort(entries, new Comparator<Map.Entry<ComponentType, Stats>>() {
+                @Override
+                public int compare(final Map.Entry<ComponentType, Stats> o1, final Map.Entry<ComponentType, Stats> o2) {
+                    return Double.compare(o2.getValue().getTotalMillis(), o1.getValue().getTotalMillis());
+                }
+            });
+            return entries;
+        }
+
+        /**
+         * The slowest components of the most recent (full) render of this page type, slowest first.
+         */
+        public List<Entry> getLastRender() {
+            return lastRender;
+        }
+    }
+
+    public static class Stats {
+
+        private int count;
+        private long totalLoadNanos;
+        private long totalRenderNanos;
+        private long maxNanos;
+        private long totalAdapters;
+
+        synchronized void add(final long loadNanos, final long renderNanos, final int adaptersResolved) {
+            count++;
+            totalLoadNanos += loadNanos;
+            totalRenderNanos += renderNanos;
+            maxNanos = Math.max(maxNanos, loadNanos + renderNanos);
+            totalAdapters += Math.max(0, adaptersResolved);
+        }
+
+        public synchronized int getCount() {
+            return count;
+        }
+
+        public synchronized double getAverageLoadMillis() {
+            return count > 0 ? millis(totalLoadNanos) / count : 0;
+        }
+
+        public synchronized double getAverageRenderMillis() {
+            return count > 0 ? millis(totalRenderNanos) / count : 0;
+        }
+
+        public synchronized double getMaxMillis() {
+            return millis(maxNanos);
+        }
+
+        public synchronized double getTotalMillis() {
+            return millis(totalLoadNanos + totalRenderNanos);
+        }
+
+        public synchronized double getAverageAdapters() {
+            return count > 0 ? (double) totalAdapters / count : 0;
+        }
+    }
+
+    public static class Entry {
+
+        static final Comparator<Entry> SLOWEST_FIRST = new Comparator<Entry>() {
+            @Override
+            public int compare(final Entry o1, final Entry o2) {
+                return Long.compare(o2.loadNanos + o2.renderNanos, o1.loadNanos + o1.renderNanos);
+            }
+        };
+
+        private final ComponentType componentType;
+        private final String path;
+        private final String componentClass;
+        private final long loadNanos;
+        private final long renderNanos;
+        private final int adaptersResolved;
+
+        Entry(
+                final ComponentType componentType,
+                final String path,
+                final String componentClass,
+                final long loadNanos,
+                final long renderNanos,
+                final int adaptersResolved) {
+            this.componentType = componentType;
+            this.path = path;
+            this.componentClass = componentClass;
+            this.loadNanos = loadNanos;
+            this.renderNanos = renderNanos;
+            this.adaptersResolved = adaptersResolved;
+        }
+
+        public ComponentType getComponentType() {
+            return componentType;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public String getComponentClass() {
+            return componentClass;
+        }
+
+        public double getLoadMillis() {
+            return millis(loadNanos);
+        }
+
+        public double getRenderMillis() {
+            return millis(renderNanos);
+        }
+
+        public int getAdaptersResolved() {
+            return adaptersResolved;
+        }
+
+        @Override
+        public String toString() {
+            return path + " [" + componentType + "] " + formatMillis(loadNanos + renderNanos);
+        }
+    }
+
+    //endregion
+
+    static double millis(final long nanos) {
+        return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    static String formatMillis(final long nanos) {
+        return String.format("%.1fms", millis(nanos));
+    }
+
+}
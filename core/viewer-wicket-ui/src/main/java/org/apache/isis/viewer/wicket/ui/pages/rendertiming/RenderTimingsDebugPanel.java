@@ -0,0 +1,83 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.wicket.ui.pages.rendertiming;
+
+import org.apache.wicket.Component;
+import org.apache.wicket.Page;
+import org.apache.wicket.devutils.debugbar.DebugBar;
+import org.apache.wicket.devutils.debugbar.IDebugBarContributor;
+import org.apache.wicket.devutils.debugbar.StandardDebugPanel;
+import org.apache.wicket.model.AbstractReadOnlyModel;
+import org.apache.wicket.model.IModel;
+import org.apache.wicket.request.resource.PackageResourceReference;
+import org.apache.wicket.request.resource.ResourceReference;
+
+/**
+ * Debug bar contributor summarizing the {@link RenderTimings} of the current page's type, linking to the
+ * {@link RenderTimingsPage} for the breakdown per component.
+ */
+public class RenderTimingsDebugPanel extends StandardDebugPanel {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final IDebugBarContributor DEBUG_BAR_CONTRIB = new IDebugBarContributor() {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Component createComponent(final String id, final DebugBar debugBar) {
+            return new RenderTimingsDebugPanel(id);
+        }
+    };
+
+    public RenderTimingsDebugPanel(final String id) {
+        super(id);
+    }
+
+    @Override
+    protected Class<? extends Page> getLinkPageClass() {
+        return RenderTimingsPage.class;
+    }
+
+    @Override
+    protected ResourceReference getImageResourceReference() {
+        return new PackageResourceReference(DebugBar.class, "wicket.png");
+    }
+
+    @Override
+    protected IModel<String> getDataModel() {
+        return new AbstractReadOnlyModel<String>() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public String getObject() {
+                final RenderTimings renderTimings = RenderTimings.current();
+                final RenderTimings.PageTypeTimings timings =
+                        renderTimings != null ? renderTimings.getPageTypeTimings(getPage()) : null;
+                if(timings == null || timings.getPageStats().getCount() == 0) {
+                    return "render timings";
+                }
+                final RenderTimings.Stats stats = timings.getPageStats();
+                // this page is still being rendered, so these are for previous renders of pages of the same type
+                return String.format("%.0fms avg (%d)",
+                        stats.getAverageLoadMillis() + stats.getAverageRenderMillis(), stats.getCount());
+            }
+        };
+    }
+
+}
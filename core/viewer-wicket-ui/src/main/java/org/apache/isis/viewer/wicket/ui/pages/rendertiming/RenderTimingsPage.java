@@ -0,0 +1,135 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.wicket.ui.pages.rendertiming;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.wicket.devutils.DevUtilsPage;
+import org.apache.wicket.markup.html.basic.Label;
+import org.apache.wicket.markup.html.link.Link;
+import org.apache.wicket.markup.html.list.ListItem;
+import org.apache.wicket.markup.html.list.ListView;
+import org.apache.wicket.model.AbstractReadOnlyModel;
+import org.apache.wicket.model.IModel;
+import org.apache.wicket.model.Model;
+
+import org.apache.isis.viewer.wicket.ui.ComponentType;
+
+/**
+ * Lists the {@link RenderTimings} aggregated for each page type, and the slowest components of the most recent
+ * render of each.
+ *
+ * <p>
+ *     As for the other development utilities, only available if they are enabled.
+ * </p>
+ */
+public class RenderTimingsPage extends DevUtilsPage {
+
+    private static final long serialVersionUID = 1L;
+
+    public RenderTimingsPage() {
+
+        add(new Label("disabled", "Render timings are not enabled (" + RenderTimings.KEY_ENABLED + ")") {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected void onConfigure() {
+                super.onConfigure();
+                setVisible(RenderTimings.current() == null);
+            }
+        });
+
+        add(new Link<Void>("reset") {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public void onClick() {
+                final RenderTimings renderTimings = RenderTimings.current();
+                if(renderTimings != null) {
+                    renderTimings.reset();
+                }
+            }
+        });
+
+        final IModel<List<RenderTimings.PageTypeTimings>> pageTypesModel =
+                new AbstractReadOnlyModel<List<RenderTimings.PageTypeTimings>>() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public List<RenderTimings.PageTypeTimings> getObject() {
+                final RenderTimings renderTimings = RenderTimings.current();
+                return renderTimings != null
+                        ? renderTimings.getPageTypeTimings()
+                        : Collections.<RenderTimings.PageTypeTimings>emptyList();
+            }
+        };
+
+        add(new ListView<RenderTimings.PageTypeTimings>("pageTypes", pageTypesModel) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected void populateItem(final ListItem<RenderTimings.PageTypeTimings> item) {
+                final RenderTimings.PageTypeTimings timings = item.getModelObject();
+                item.add(new Label("pageType", timings.getPageType()));
+                addStats(item, timings.getPageStats());
+
+                item.add(new ListView<Map.Entry<ComponentType, RenderTimings.Stats>>(
+                        "componentTypes", Model.ofList(timings.getComponentTypeStats())) {
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    protected void populateItem(final ListItem<Map.Entry<ComponentType, RenderTimings.Stats>> item) {
+                        item.add(new Label("componentType", item.getModelObject().getKey().name()));
+                        addStats(item, item.getModelObject().getValue());
+                    }
+                });
+
+                item.add(new ListView<RenderTimings.Entry>("lastRender", Model.ofList(timings.getLastRender())) {
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    protected void populateItem(final ListItem<RenderTimings.Entry> item) {
+                        final RenderTimings.Entry entry = item.getModelObject();
+                        item.add(new Label("path", entry.getPath()));
+                        item.add(new Label("componentType", entry.getComponentType().name()));
+                        item.add(new Label("componentClass", entry.getComponentClass()));
+                        item.add(new Label("load", format(entry.getLoadMillis())));
+                        item.add(new Label("render", format(entry.getRenderMillis())));
+                        item.add(new Label("adapters", entry.getAdaptersResolved()));
+                    }
+                });
+            }
+        });
+    }
+
+    private static void addStats(final ListItem<?> item, final RenderTimings.Stats stats) {
+        item.add(new Label("count", stats.getCount()));
+        item.add(new Label("avgLoad", format(stats.getAverageLoadMillis())));
+        item.add(new Label("avgRender", format(stats.getAverageRenderMillis())));
+        item.add(new Label("max", format(stats.getMaxMillis())));
+        item.add(new Label("avgAdapters", format(stats.getAverageAdapters())));
+    }
+
+    private static String format(final double value) {
+        return String.format("%.1f", value);
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.wicket.ui.pages.rendertiming;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.Lists;
+
+import org.junit.Test;
+
+import org.apache.isis.viewer.wicket.ui.ComponentType;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class RenderTimingsTest {
+
+    private final RenderTimings renderTimings = new RenderTimings();
+
+    @Test
+    public void aggregates_per_component_type() throws Exception {
+        final RenderTimings.PageTypeTimings timings = renderTimings.timingsFor("EntityPage");
+
+        timings.addComponent(entry(ComponentType.SCALAR_NAME_AND_VALUE, "a", 2, 4, 1));
+        timings.addComponent(entry(ComponentType.SCALAR_NAME_AND_VALUE, "b", 4, 6, 3));
+        timings.addComponent(entry(ComponentType.COLLECTION_CONTENTS, "c", 20, 30, 10));
+
+        final List<Map.Entry<ComponentType, RenderTimings.Stats>> componentTypeStats = timings.getComponentTypeStats();
+        assertThat(componentTypeStats.size(), is(2));
+
+        // slowest first
+        assertThat(componentTypeStats.get(0).getKey(), is(ComponentType.COLLECTION_CONTENTS));
+
+        final RenderTimings.Stats scalarStats = componentTypeStats.get(1).getValue();
+        assertThat(scalarStats.getCount(), is(2));
+        assertThat(scalarStats.getAverageLoadMillis(), is(3.0));
+        assertThat(scalarStats.getAverageRenderMillis(), is(5.0));
+        assertThat(scalarStats.getMaxMillis(), is(10.0));
+        assertThat(scalarStats.getTotalMillis(), is(16.0));
+        assertThat(scalarStats.getAverageAdapters(), is(2.0));
+    }
+
+    @Test
+    public void retains_slowest_components_of_last_render() throws Exception {
+        final RenderTimings.PageTypeTimings timings = renderTimings.timingsFor("EntityPage");
+
+        final List<RenderTimings.Entry> entries = Lists.newArrayList();
+        for (int i = 0; i < RenderTimings.MAX_ENTRIES_PER_RENDER + 10; i++) {
+            entries.add(entry(ComponentType.SCALAR_NAME_AND_VALUE, "scalar" + i, 0, i, 0));
+        }
+        timings.addPage(millis(5), millis(100), 20, entries);
+
+        final List<RenderTimings.Entry> lastRender = timings.getLastRender();
+        assertThat(lastRender.size(), is(RenderTimings.MAX_ENTRIES_PER_RENDER));
+        assertThat(lastRender.get(0).getPath(), is("scalar" + (RenderTimings.MAX_ENTRIES_PER_RENDER + 9)));
+
+        assertThat(timings.getPageStats().getCount(), is(1));
+        assertThat(timings.getPageStats().getAverageRenderMillis(), is(100.0));
+
+        // a subsequent render replaces the breakdown, but adds to the aggregate
+        timings.addPage(millis(5), millis(50), 20, Collections.<RenderTimings.Entry>emptyList());
+        assertThat(timings.getLastRender().size(), is(0));
+        assertThat(timings.getPageStats().getCount(), is(2));
+        assertThat(timings.getPageStats().getAverageRenderMillis(), is(75.0));
+    }
+
+    @Test
+    public void page_types_sorted_and_reset() throws Exception {
+        renderTimings.timingsFor("StandaloneCollectionPage");
+        renderTimings.timingsFor("EntityPage");
+        assertThat(renderTimings.timingsFor("EntityPage"), is(renderTimings.getPageTypeTimings().get(0)));
+        assertThat(renderTimings.getPageTypeTimings().size(), is(2));
+
+        renderTimings.reset();
+        assertThat(renderTimings.getPageTypeTimings().size(), is(0));
+    }
+
+    private static RenderTimings.Entry entry(
+            final ComponentType componentType,
+            final String path,
+            final long loadMillis,
+            final long renderMillis,
+            final int adapters) {
+        return new RenderTimings.Entry(
+                componentType, path, "SomePanel", millis(loadMillis), millis(renderMillis), adapters);
+    }
+
+    private static long millis(final long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+}